@@ -0,0 +1,39 @@
+#!/bin/sh
+#
+# TrainStartupArchives.sh
+#
+# This script builds the game jar and makes a dynamic AppCDS (application class data sharing) archive for each of
+# its programs from a training run:
+#
+#   game/target/WordEm.jsa              - the game, launched until it is interactive and warm, then exited
+#   game/target/DatabaseConstructor.jsa - the database constructor, run on copies of the word lists in a scratch folder
+#
+# The archives hold every class the training runs loaded, already parsed and verified, so later launches skip that
+# work. An archive only matches the jar and the JDK it was made with, so run this again after either changes.
+# The game's training run needs a display. Compare startup with and without the archives using:
+#
+#   java -cp game/target/WordEm.jar wordem.StartupBenchmark [game | constructor] [run count]
+#
+set -e
+cd "$(dirname "$0")"
+
+PROJECT=$(pwd)
+JAR=$PROJECT/game/target/WordEm.jar
+
+mvn -B -q package -pl game -am
+
+rm -f game/target/WordEm.jsa game/target/DatabaseConstructor.jsa
+
+echo "Training the game archive"
+java -XX:ArchiveClassesAtExit=game/target/WordEm.jsa -Dwordem.exitWhenStarted=true -cp "$JAR" wordem.GameLauncher
+
+echo "Training the database constructor archive"
+SCRATCH=$(mktemp -d)
+trap 'rm -rf "$SCRATCH"' EXIT
+cp Words_en.txt Words_es.txt "$SCRATCH"
+for FREQUENCIES in Frequencies_en.txt Frequencies_es.txt; do
+    if [ -f "$FREQUENCIES" ]; then cp "$FREQUENCIES" "$SCRATCH"; fi
+done
+(cd "$SCRATCH" && java -XX:ArchiveClassesAtExit="$PROJECT/game/target/DatabaseConstructor.jsa" -cp "$JAR" wordem.DatabaseConstructor)
+
+echo "Finished Training"
@@ -1,4 +1,8 @@
-:: This batch file creates and runs a .jar of all byte code in the "wordem" package.
+:: This batch file launches the game from the jar built by "mvn -B package", game\target\WordEm.jar.
 @echo off
-jar cfm WordEm.jar manifest.txt -C ./bin wordem
-start javaw -jar -Dsun.java2d.uiScale=1.0 .\WordEm.jar
\ No newline at end of file
+cd /d "%~dp0"
+if not exist game\target\WordEm.jar (
+    echo WordEm.bat ^>^> game\target\WordEm.jar not found, build it with: mvn -B package
+    exit /b 1
+)
+start javaw -Dsun.java2d.uiScale=1.0 -jar game\target\WordEm.jar
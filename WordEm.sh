@@ -0,0 +1,23 @@
+#!/bin/sh
+#
+# WordEm.sh
+#
+# This script launches the game on Linux from the jar built by "mvn -B package". If TrainStartupArchives.sh
+# has made a class data sharing archive for the jar, the game starts from it; an archive that no longer matches
+# the jar or the JDK is ignored by the JVM, and the game starts as usual.
+#
+cd "$(dirname "$0")" || exit 1
+
+JAR=game/target/WordEm.jar
+ARCHIVE=game/target/WordEm.jsa
+
+if [ ! -f "$JAR" ]; then
+    echo "WordEm.sh >> $JAR not found, build it with: mvn -B package"
+    exit 1
+fi
+
+if [ -f "$ARCHIVE" ]; then
+    exec java -XX:SharedArchiveFile="$ARCHIVE" -Xshare:auto -Dsun.java2d.uiScale=1.0 -cp "$JAR" wordem.GameLauncher "$@"
+else
+    exec java -Dsun.java2d.uiScale=1.0 -cp "$JAR" wordem.GameLauncher "$@"
+fi
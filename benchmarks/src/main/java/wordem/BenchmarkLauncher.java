@@ -0,0 +1,141 @@
+//
+// BenchmarkLauncher.java
+//
+// This class runs the JMH benchmarks. It takes the usual JMH command line, but unless told otherwise writes the results
+// as JSON to benchmarks/results/<commit>.json, named after the checked-out commit, so runs can be compared across commits.
+//
+// The MIT License (MIT)
+// 
+// Copyright (c) 2022 WordEm Development Group.  All Rights Reserved.
+// 
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this
+// software and associated documentation files (the "Software"), to deal in the Software
+// without restriction, including without limitation the rights to use, copy, modify, merge,
+// publish, distribute, sub-license, and/or sell copies of the Software, and to permit persons
+// to whom the Software is furnished to do so, subject to the following conditions:
+// 
+// * The above copyright notice and this permission notice shall be included in all copies or
+// substantial portions of the Software.
+// 
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+// INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+// PURPOSE AND NONINFRINGEMENT.  IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE
+// FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR 
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+// DEALINGS IN THE SOFTWARE.
+//
+package wordem;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+public abstract class BenchmarkLauncher
+{
+    //
+    // Program entry point.
+    //
+    public static void main(String[] args)
+    {
+        try
+        {
+            CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+            OptionsBuilder     options            = new OptionsBuilder();
+            
+            if (commandLineOptions.shouldHelp())
+            {
+                commandLineOptions.showHelp();
+                return;
+            }
+            
+            options.parent(commandLineOptions);
+            
+            if (!commandLineOptions.getResultFormat().hasValue())
+            {
+                options.resultFormat(ResultFormatType.JSON);
+            }
+            
+            if (!commandLineOptions.getResult().hasValue())
+            {
+                File resultFile = _getDefaultResultFile();
+                
+                resultFile.getParentFile().mkdirs();
+                options.result(resultFile.getPath());
+            }
+            
+            Runner runner = new Runner(options.build());
+            
+            if (commandLineOptions.shouldList())
+            {
+                runner.list();
+            }
+            else
+            {
+                runner.run();
+            }
+        }
+        catch (CommandLineOptionException ex)
+        {
+            System.out.println("BenchmarkLauncher.main >> " + ex.getMessage());
+        }
+        catch (IOException ex)
+        {
+            System.out.println(ex);
+        }
+        catch (RunnerException ex)
+        {
+            System.out.println(ex);
+            ex.printStackTrace();
+        }
+    }
+    
+    //
+    // This method gets the default result file, named after the checked-out commit, or the time if there is none.
+    //
+    private static File _getDefaultResultFile()
+    {
+        String name = null;
+        
+        try
+        {
+            Process        process = new ProcessBuilder("git", "rev-parse", "--short", "HEAD").start();
+            BufferedReader reader  = new BufferedReader(new InputStreamReader(process.getInputStream()));
+            
+            name = reader.readLine();
+            
+            if (process.waitFor() != 0)
+            {
+                name = null;
+            }
+        }
+        catch (IOException ex)
+        {
+            // No git, so fall back to the time
+        }
+        catch (InterruptedException ex)
+        {
+            Thread.currentThread().interrupt();
+        }
+        
+        if (name == null || name.isEmpty())
+        {
+            name = new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date());
+        }
+        
+        return new File(_RESULT_FOLDER, name + ".json");
+    }
+    
+    //
+    // Private member variables:
+    //
+    private static final String _RESULT_FOLDER = "benchmarks/results";
+}
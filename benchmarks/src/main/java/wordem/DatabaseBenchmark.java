@@ -0,0 +1,160 @@
+//
+// DatabaseBenchmark.java
+//
+// This class benchmarks the word queries of the database manager against Words.sqlite, for every language and word length
+// from 3 to 7: validating a real word, rejecting a non-word, and picking a random hidden word.
+//
+// The MIT License (MIT)
+// 
+// Copyright (c) 2022 WordEm Development Group.  All Rights Reserved.
+// 
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this
+// software and associated documentation files (the "Software"), to deal in the Software
+// without restriction, including without limitation the rights to use, copy, modify, merge,
+// publish, distribute, sub-license, and/or sell copies of the Software, and to permit persons
+// to whom the Software is furnished to do so, subject to the following conditions:
+// 
+// * The above copyright notice and this permission notice shall be included in all copies or
+// substantial portions of the Software.
+// 
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+// INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+// PURPOSE AND NONINFRINGEMENT.  IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE
+// FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR 
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+// DEALINGS IN THE SOFTWARE.
+//
+package wordem;
+
+import java.sql.SQLException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DatabaseBenchmark
+{
+    //
+    // This method connects to the databases, loads the word filters and picks the words to look up.
+    // Non-words are real words with their letters shuffled, so they look like plausible guesses.
+    //
+    @Setup
+    public void setUp() throws SQLException
+    {
+        String[] words  = Lexicon.getWords(language, length);
+        Random   random = new Random(_SEED);
+        
+        _databaseManager = new DatabaseManager();
+        _databaseManager.connect();
+        _databaseManager.loadWordFilters(language);
+        
+        _words    = new String[_WORD_COUNT];
+        _nonWords = new String[_WORD_COUNT];
+        
+        for (int index = 0; index < _WORD_COUNT; ++index)
+        {
+            _words[index]    = words[random.nextInt(words.length)];
+            _nonWords[index] = _shuffle(_words[index], random);
+            
+            if (_databaseManager.isWord(_nonWords[index], language))
+            {
+                _nonWords[index] = "q" + _nonWords[index].substring(1); // Most shuffles are not words, so retrying once is enough
+            }
+        }
+    }
+    
+    //
+    // This method severs the connections.
+    //
+    @TearDown
+    public void tearDown() throws SQLException
+    {
+        _databaseManager.disconnect();
+    }
+    
+    //
+    // This method validates the next real word, which passes the word filter and is confirmed by a query.
+    //
+    @Benchmark
+    public boolean isWordAccepted() throws SQLException
+    {
+        _index = (_index + 1) & (_WORD_COUNT - 1);
+        
+        return _databaseManager.isWord(_words[_index], language);
+    }
+    
+    //
+    // This method validates the next non-word, which the word filter usually rejects without a query.
+    //
+    @Benchmark
+    public boolean isWordRejected() throws SQLException
+    {
+        _index = (_index + 1) & (_WORD_COUNT - 1);
+        
+        return _databaseManager.isWord(_nonWords[_index], language);
+    }
+    
+    //
+    // This method picks a random hidden word by weight.
+    //
+    @Benchmark
+    public String getRandomWord() throws SQLException
+    {
+        return _databaseManager.getRandomWord(language, length);
+    }
+    
+    //
+    // This method shuffles the letters of a word.
+    //
+    private static String _shuffle(String word, Random random)
+    {
+        char[] letters = word.toCharArray();
+        
+        for (int index = letters.length - 1; index > 0; --index)
+        {
+            int  swapIndex = random.nextInt(index + 1);
+            char letter    = letters[index];
+            
+            letters[index]     = letters[swapIndex];
+            letters[swapIndex] = letter;
+        }
+        
+        return new String(letters);
+    }
+    
+    //
+    // Benchmark parameters. JMH sets them by name, so they go without the member prefix:
+    //
+    @Param({"English", "Spanish"})
+    public Language language;
+    
+    @Param({"3", "4", "5", "6", "7"})
+    public int length;
+    
+    //
+    // Private member variables:
+    //
+    private DatabaseManager _databaseManager;
+    private String[]        _words;
+    private String[]        _nonWords;
+    private int             _index;
+    
+    private static final int  _WORD_COUNT = 1024; // A power of two, so the index wraps with a mask
+    private static final long _SEED       = 20220101L;
+}
@@ -0,0 +1,99 @@
+//
+// IngestBenchmark.java
+//
+// This class benchmarks the ingest step of the database constructor: reading a word list into a new word table.
+// Every invocation reads the whole list into an empty database of its own, so this is measured as single shots.
+//
+// The MIT License (MIT)
+// 
+// Copyright (c) 2022 WordEm Development Group.  All Rights Reserved.
+// 
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this
+// software and associated documentation files (the "Software"), to deal in the Software
+// without restriction, including without limitation the rights to use, copy, modify, merge,
+// publish, distribute, sub-license, and/or sell copies of the Software, and to permit persons
+// to whom the Software is furnished to do so, subject to the following conditions:
+// 
+// * The above copyright notice and this permission notice shall be included in all copies or
+// substantial portions of the Software.
+// 
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+// INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+// PURPOSE AND NONINFRINGEMENT.  IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE
+// FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR 
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+// DEALINGS IN THE SOFTWARE.
+//
+package wordem;
+
+import java.io.File;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class IngestBenchmark
+{
+    //
+    // This method creates the empty database an invocation reads into.
+    //
+    @Setup(Level.Invocation)
+    public void setUp() throws IOException, SQLException
+    {
+        _file = File.createTempFile("WordEm-Ingest", ".sqlite");
+        _conn = DriverManager.getConnection("jdbc:sqlite:" + _file.getPath());
+    }
+    
+    //
+    // This method deletes the database an invocation read into.
+    //
+    @TearDown(Level.Invocation)
+    public void tearDown() throws SQLException
+    {
+        _conn.close();
+        _file.delete();
+    }
+    
+    //
+    // This method reads the word list of the language into a new word table.
+    //
+    @Benchmark
+    public void readWordsToTable() throws IOException, SQLException
+    {
+        String table = DatabaseManager.getWordTableName(language);
+        
+        DatabaseConstructor.readWordsToTable(_conn, table + ".txt", table);
+    }
+    
+    //
+    // Benchmark parameters. JMH sets them by name, so they go without the member prefix:
+    //
+    @Param({"English", "Spanish"})
+    public Language language;
+    
+    //
+    // Private member variables:
+    //
+    private File       _file;
+    private Connection _conn;
+}
@@ -0,0 +1,168 @@
+//
+// ScoringBenchmark.java
+//
+// This class benchmarks scoring a guessed word against the hidden word, for every language and word length from 3 to 7.
+// The shared scorer in Feedback is measured against the string-rebuilding scorer the game panels used before it, which
+// is kept here as the reference. A new scorer is compared by adding a benchmark method that calls it.
+//
+// The MIT License (MIT)
+// 
+// Copyright (c) 2022 WordEm Development Group.  All Rights Reserved.
+// 
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this
+// software and associated documentation files (the "Software"), to deal in the Software
+// without restriction, including without limitation the rights to use, copy, modify, merge,
+// publish, distribute, sub-license, and/or sell copies of the Software, and to permit persons
+// to whom the Software is furnished to do so, subject to the following conditions:
+// 
+// * The above copyright notice and this permission notice shall be included in all copies or
+// substantial portions of the Software.
+// 
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+// INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+// PURPOSE AND NONINFRINGEMENT.  IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE
+// FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR 
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+// DEALINGS IN THE SOFTWARE.
+//
+package wordem;
+
+import java.sql.SQLException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ScoringBenchmark
+{
+    //
+    // This method picks the pairs of words to score, the same pairs on every run.
+    //
+    @Setup
+    public void setUp() throws SQLException
+    {
+        String[] words  = Lexicon.getWords(language, length);
+        Random   random = new Random(_SEED);
+        
+        _guessedWords = new String[_PAIR_COUNT];
+        _hiddenWords  = new String[_PAIR_COUNT];
+        
+        for (int index = 0; index < _PAIR_COUNT; ++index)
+        {
+            _guessedWords[index] = words[random.nextInt(words.length)];
+            _hiddenWords[index]  = words[random.nextInt(words.length)];
+        }
+    }
+    
+    //
+    // This method scores the next pair with the shared scorer.
+    //
+    @Benchmark
+    public int scoreWithFeedback()
+    {
+        _index = (_index + 1) & (_PAIR_COUNT - 1);
+        
+        return Feedback.score(_guessedWords[_index], _hiddenWords[_index]);
+    }
+    
+    //
+    // This method scores the next pair with the reference scorer.
+    //
+    @Benchmark
+    public int scoreWithStrings()
+    {
+        _index = (_index + 1) & (_PAIR_COUNT - 1);
+        
+        return _scoreWithStrings(_guessedWords[_index], _hiddenWords[_index]);
+    }
+    
+    //
+    // This method scores a guessed word the way the game panels did before scoring was shared: matched letters are
+    // blanked out of copies of both words, which are rebuilt for every tile. Returns the pattern Feedback would.
+    //
+    private static int _scoreWithStrings(String guessedWord, String hiddenWord)
+    {
+        int    length         = hiddenWord.length();
+        int[]  tiles          = new int[length];
+        String hiddenWordTemp = hiddenWord;
+        int    pattern        = 0;
+        
+        if (guessedWord.equals(hiddenWord))
+        {
+            return Feedback.getSolvedPattern(length);
+        }
+        
+        //
+        // Determine green tiles:
+        //
+        for (int letterIndex = 0; letterIndex < length; ++letterIndex)
+        {
+            if (hiddenWordTemp.charAt(letterIndex) == guessedWord.charAt(letterIndex))
+            {
+                tiles[letterIndex] = Feedback.GREEN;
+                
+                hiddenWordTemp = hiddenWordTemp.substring(0, letterIndex) + '-' + hiddenWordTemp.substring(letterIndex + 1);
+                guessedWord    = guessedWord.substring(0, letterIndex) + '+' + guessedWord.substring(letterIndex + 1);
+            }
+        }
+        
+        //
+        // Determine yellow tiles:
+        //
+        for (int letterIndex = 0; letterIndex < length; ++letterIndex)
+        {
+            String guessedLetter = "" + guessedWord.charAt(letterIndex);
+            
+            if (hiddenWordTemp.contains(guessedLetter))
+            {
+                int index = hiddenWordTemp.indexOf(guessedLetter);
+                
+                tiles[letterIndex] = Feedback.YELLOW;
+                
+                hiddenWordTemp = hiddenWordTemp.substring(0, index) + '-' + hiddenWordTemp.substring(index + 1);
+                guessedWord    = guessedWord.substring(0, letterIndex) + '+' + guessedWord.substring(letterIndex + 1);
+            }
+        }
+        
+        for (int letterIndex = length - 1; letterIndex >= 0; --letterIndex)
+        {
+            pattern = pattern * 3 + tiles[letterIndex];
+        }
+        
+        return pattern;
+    }
+    
+    //
+    // Benchmark parameters. JMH sets them by name, so they go without the member prefix:
+    //
+    @Param({"English", "Spanish"})
+    public Language language;
+    
+    @Param({"3", "4", "5", "6", "7"})
+    public int length;
+    
+    //
+    // Private member variables:
+    //
+    private String[] _guessedWords;
+    private String[] _hiddenWords;
+    private int      _index;
+    
+    private static final int  _PAIR_COUNT = 1024; // A power of two, so the index wraps with a mask
+    private static final long _SEED       = 20220101L;
+}
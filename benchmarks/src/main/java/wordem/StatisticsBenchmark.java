@@ -0,0 +1,121 @@
+//
+// StatisticsBenchmark.java
+//
+// This class benchmarks reading the statistics shown on the statistics panel from Data.sqlite. The panel used to run one
+// query per statistic per game mode; it now reads a snapshot of the rollup tables, which is reused until the next write.
+// Both are measured, along with reading a fresh snapshot.
+//
+// The MIT License (MIT)
+// 
+// Copyright (c) 2022 WordEm Development Group.  All Rights Reserved.
+// 
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this
+// software and associated documentation files (the "Software"), to deal in the Software
+// without restriction, including without limitation the rights to use, copy, modify, merge,
+// publish, distribute, sub-license, and/or sell copies of the Software, and to permit persons
+// to whom the Software is furnished to do so, subject to the following conditions:
+// 
+// * The above copyright notice and this permission notice shall be included in all copies or
+// substantial portions of the Software.
+// 
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+// INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+// PURPOSE AND NONINFRINGEMENT.  IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE
+// FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR 
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+// DEALINGS IN THE SOFTWARE.
+//
+package wordem;
+
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class StatisticsBenchmark
+{
+    //
+    // This method connects to the databases.
+    //
+    @Setup
+    public void setUp() throws SQLException
+    {
+        _databaseManager = new DatabaseManager();
+        _databaseManager.connect();
+    }
+    
+    //
+    // This method severs the connections.
+    //
+    @TearDown
+    public void tearDown() throws SQLException
+    {
+        _databaseManager.disconnect();
+    }
+    
+    //
+    // This method reads every statistic with one query each, for the global table and every game mode.
+    //
+    @Benchmark
+    public int readEachStatistic() throws SQLException
+    {
+        int sum = _readStatistics(null);
+        
+        for (GameMode gameMode : GameMode.values())
+        {
+            sum += _readStatistics(gameMode);
+        }
+        
+        return sum;
+    }
+    
+    //
+    // This method gets the statistics snapshot, which nothing has invalidated, as the panel does when it is reopened.
+    //
+    @Benchmark
+    public StatisticsSnapshot getCachedSnapshot() throws SQLException
+    {
+        return GameStatistics.getSnapshot();
+    }
+    
+    //
+    // This method reads a fresh statistics snapshot, as the panel does after a game.
+    //
+    @Benchmark
+    public StatisticsSnapshot readSnapshot() throws SQLException
+    {
+        return GameStatistics.readSnapshot();
+    }
+    
+    //
+    // This method reads the five statistics of a game mode, or the global ones if the game mode is null.
+    //
+    private int _readStatistics(GameMode gameMode) throws SQLException
+    {
+        return _databaseManager.getGamesPlayedStatistic(gameMode)
+             + _databaseManager.getGamesQuitStatistic(gameMode)
+             + _databaseManager.getGamesWonStatistic(gameMode)
+             + _databaseManager.getGamesLostStatistic(gameMode)
+             + _databaseManager.getWinPercentageStatistic(gameMode);
+    }
+    
+    //
+    // Private member variables:
+    //
+    private DatabaseManager _databaseManager;
+}
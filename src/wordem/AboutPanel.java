@@ -58,8 +58,7 @@ public class AboutPanel extends JPanel
     //
     private void _initialize()
     {
-        _toolkit         = Toolkit.getDefaultToolkit();
-        _backgroundImage = _toolkit.getImage("art/About Panel Background.png");
+        _backgroundImage = ImageLoader.loadImage("art/About Panel Background.png");
         
         this.setFocusable(false);
         this.setLayout(null);
@@ -100,7 +99,6 @@ public class AboutPanel extends JPanel
     //
     // Private member variables:
     //
-    private Toolkit     _toolkit;
     private Image       _backgroundImage;
     private JTextArea   _aboutText;
 }
@@ -0,0 +1,195 @@
+//
+// Achievement.java
+//
+// This enum defines the achievements that can be unlocked. Each achievement listens for games ending with one result and
+// keeps a single integer of progress, which is advanced by every such game until it reaches the goal of the achievement.
+//
+// The MIT License (MIT)
+// 
+// Copyright (c) 2022 WordEm Development Group.  All Rights Reserved.
+// 
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this
+// software and associated documentation files (the "Software"), to deal in the Software
+// without restriction, including without limitation the rights to use, copy, modify, merge,
+// publish, distribute, sub-license, and/or sell copies of the Software, and to permit persons
+// to whom the Software is furnished to do so, subject to the following conditions:
+// 
+// * The above copyright notice and this permission notice shall be included in all copies or
+// substantial portions of the Software.
+// 
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+// INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+// PURPOSE AND NONINFRINGEMENT.  IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE
+// FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR 
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+// DEALINGS IN THE SOFTWARE.
+//
+package wordem;
+
+public enum Achievement
+{
+    FirstWin("First Win", "Win a game", GameResult.Won, 1),
+    TenWins("Getting the Hang of It", "Win 10 games", GameResult.Won, 10),
+    HundredWins("Wordsmith", "Win 100 games", GameResult.Won, 100),
+    HoleInOne("Hole in One", "Win a game with your first guess", GameResult.Won, 1)
+    {
+        public int advance(int progress, GameRecord record, int streak)
+        {
+            return (record.getGuessCount() == 1) ? progress + 1 : progress;
+        }
+    },
+    Sharpshooter("Sharpshooter", "Win a game in 2 guesses or fewer", GameResult.Won, 1)
+    {
+        public int advance(int progress, GameRecord record, int streak)
+        {
+            return (record.getGuessCount() <= 2) ? progress + 1 : progress;
+        }
+    },
+    Clutch("Clutch", "Win a game with your last guess", GameResult.Won, 1)
+    {
+        public int advance(int progress, GameRecord record, int streak)
+        {
+            return (record.getGuessCount() == record.getGameMode().getGuessLimit()) ? progress + 1 : progress;
+        }
+    },
+    OnARoll("On a Roll", "Win 5 games of a mode in a row", GameResult.Won, 5)
+    {
+        public int advance(int progress, GameRecord record, int streak)
+        {
+            return Math.max(progress, streak);
+        }
+    },
+    Unstoppable("Unstoppable", "Win 20 games of a mode in a row", GameResult.Won, 20)
+    {
+        public int advance(int progress, GameRecord record, int streak)
+        {
+            return Math.max(progress, streak);
+        }
+    },
+    Explorer("Explorer", "Win a game in every mode", GameResult.Won, (1 << GameMode.values().length) - 1)
+    {
+        public int advance(int progress, GameRecord record, int streak)
+        {
+            return progress | (1 << record.getGameMode().ordinal());
+        }
+        
+        public int getStepCount(int progress)
+        {
+            return Integer.bitCount(progress);
+        }
+        
+        public int getStepGoal()
+        {
+            return GameMode.values().length;
+        }
+    },
+    Polyglot("Polyglot", "Win a game in every language", GameResult.Won, (1 << Language.values().length) - 1)
+    {
+        public int advance(int progress, GameRecord record, int streak)
+        {
+            return progress | (1 << record.getLanguage().ordinal());
+        }
+        
+        public int getStepCount(int progress)
+        {
+            return Integer.bitCount(progress);
+        }
+        
+        public int getStepGoal()
+        {
+            return Language.values().length;
+        }
+    },
+    Ludicrous("Ludicrous Speed", "Win a Ludicrous game", GameResult.Won, 1)
+    {
+        public int advance(int progress, GameRecord record, int streak)
+        {
+            return (record.getGameMode() == GameMode.Ludicrous) ? progress + 1 : progress;
+        }
+    },
+    DailyHabit("Daily Habit", "Win 7 daily puzzles", GameResult.Won, 7)
+    {
+        public int advance(int progress, GameRecord record, int streak)
+        {
+            return record.isDailyPuzzle() ? progress + 1 : progress;
+        }
+    },
+    GoodSport("Good Sport", "Lose 10 games", GameResult.Lost, 10),
+    SecondThoughts("Second Thoughts", "Quit a game", GameResult.Quit, 1);
+    
+    //
+    // Overloaded constructor. Constructs with the title, description, triggering result and goal of the achievement.
+    //
+    private Achievement(String title, String description, GameResult trigger, int goal)
+    {
+        _title       = title;
+        _description = description;
+        _trigger     = trigger;
+        _goal        = goal;
+    }
+    
+    //
+    // This method gets the progress of the achievement after a game ending with its triggering result.
+    // By default every such game counts once. The streak is the current win streak of the game's mode.
+    //
+    public int advance(int progress, GameRecord record, int streak)
+    {
+        return progress + 1;
+    }
+    
+    //
+    // This method determines if a given progress unlocks the achievement.
+    //
+    public boolean isReached(int progress)
+    {
+        return progress >= _goal; // Also holds for masks, whose goal has every bit set
+    }
+    
+    //
+    // This method gets the number of steps a given progress has completed, for display.
+    //
+    public int getStepCount(int progress)
+    {
+        return Math.min(progress, _goal);
+    }
+    
+    //
+    // This method gets the number of steps needed to unlock the achievement, for display.
+    //
+    public int getStepGoal()
+    {
+        return _goal;
+    }
+    
+    //
+    // This method gets the title of the achievement.
+    //
+    public String getTitle()
+    {
+        return _title;
+    }
+    
+    //
+    // This method gets the description of the achievement.
+    //
+    public String getDescription()
+    {
+        return _description;
+    }
+    
+    //
+    // This method gets the result of the games that advance the achievement.
+    //
+    public GameResult getTrigger()
+    {
+        return _trigger;
+    }
+    
+    //
+    // Private member variables:
+    //
+    private final String     _title;
+    private final String     _description;
+    private final GameResult _trigger;
+    private final int        _goal;
+}
@@ -0,0 +1,257 @@
+//
+// AchievementsEngine.java
+//
+// This class evaluates the achievements as games end. Achievements are indexed by the game result that triggers them,
+// so a finished game only advances the achievements listening for its result. The progress and unlock time of every
+// achievement are kept in arrays indexed by the achievement's ordinal and are persisted through the database writer.
+//
+// The MIT License (MIT)
+// 
+// Copyright (c) 2022 WordEm Development Group.  All Rights Reserved.
+// 
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this
+// software and associated documentation files (the "Software"), to deal in the Software
+// without restriction, including without limitation the rights to use, copy, modify, merge,
+// publish, distribute, sub-license, and/or sell copies of the Software, and to permit persons
+// to whom the Software is furnished to do so, subject to the following conditions:
+// 
+// * The above copyright notice and this permission notice shall be included in all copies or
+// substantial portions of the Software.
+// 
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+// INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+// PURPOSE AND NONINFRINGEMENT.  IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE
+// FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR 
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+// DEALINGS IN THE SOFTWARE.
+//
+package wordem;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+
+public class AchievementsEngine
+{
+    //
+    // Default constructor. Loads the saved progress of every achievement.
+    //
+    private AchievementsEngine() throws SQLException
+    {
+        Achievement[]      achievements = Achievement.values();
+        GameMode[]         gameModes    = GameMode.values();
+        StatisticsSnapshot snapshot     = GameStatistics.getSnapshot();
+        Connection         conn         = DatabaseManager.createConnection();
+        
+        _progress    = new int[achievements.length];
+        _unlockTimes = new long[achievements.length];
+        _streaks     = new int[gameModes.length];
+        
+        try
+        {
+            Statement stmt = conn.createStatement();
+            ResultSet rs   = stmt.executeQuery("SELECT \"Name\", \"Progress\", \"UnlockTime\" FROM \"Achievements\"");
+            
+            while (rs.next())
+            {
+                try
+                {
+                    int index = Achievement.valueOf(rs.getString("Name")).ordinal();
+                    
+                    _progress[index]    = rs.getInt("Progress");
+                    _unlockTimes[index] = rs.getLong("UnlockTime");
+                }
+                catch (IllegalArgumentException ex)
+                {
+                    // Achievement no longer exists
+                }
+            }
+        }
+        finally
+        {
+            conn.close();
+        }
+        
+        for (GameMode gameMode : gameModes)
+        {
+            _streaks[gameMode.ordinal()] = snapshot.getCurrentStreak(gameMode);
+        }
+    }
+    
+    //
+    // This method gets the shared engine, loading it on first use.
+    //
+    public static synchronized AchievementsEngine getInstance() throws SQLException
+    {
+        if (_instance == null)
+        {
+            _instance = new AchievementsEngine();
+        }
+        
+        return _instance;
+    }
+    
+    //
+    // This method advances the achievements triggered by a finished game and returns the ones it unlocked.
+    // Changes are queued on the database writer.
+    //
+    public synchronized ArrayList<Achievement> handle(GameRecord record)
+    {
+        ArrayList<Achievement> unlocked  = new ArrayList<Achievement>();
+        ArrayList<Achievement> advanced  = new ArrayList<Achievement>();
+        int                    modeIndex = record.getGameMode().ordinal();
+        
+        if (record.getResult() == GameResult.Won)
+        {
+            ++_streaks[modeIndex];
+        }
+        else
+        {
+            _streaks[modeIndex] = 0;
+        }
+        
+        for (Achievement achievement : _RULES_BY_TRIGGER[record.getResult().ordinal()])
+        {
+            int index = achievement.ordinal();
+            
+            if (_unlockTimes[index] != 0)
+            {
+                continue;
+            }
+            
+            int progress = achievement.advance(_progress[index], record, _streaks[modeIndex]);
+            
+            if (progress != _progress[index])
+            {
+                _progress[index] = progress;
+                advanced.add(achievement);
+                
+                if (achievement.isReached(progress))
+                {
+                    _unlockTimes[index] = record.getEndTime();
+                    unlocked.add(achievement);
+                }
+            }
+        }
+        
+        if (!advanced.isEmpty())
+        {
+            _save(advanced);
+        }
+        
+        return unlocked;
+    }
+    
+    //
+    // This method gets the progress of a given achievement.
+    //
+    public synchronized int getProgress(Achievement achievement)
+    {
+        return _progress[achievement.ordinal()];
+    }
+    
+    //
+    // This method determines if a given achievement has been unlocked.
+    //
+    public synchronized boolean isUnlocked(Achievement achievement)
+    {
+        return _unlockTimes[achievement.ordinal()] != 0;
+    }
+    
+    //
+    // This method gets the time a given achievement was unlocked in milliseconds since the epoch, or 0 if it is locked.
+    //
+    public synchronized long getUnlockTime(Achievement achievement)
+    {
+        return _unlockTimes[achievement.ordinal()];
+    }
+    
+    //
+    // This method creates the achievements table if it does not exist yet.
+    //
+    public static void prepareSchema(Connection conn) throws SQLException
+    {
+        Statement stmt = conn.createStatement();
+        
+        stmt.execute("CREATE TABLE IF NOT EXISTS \"Achievements\" (\"Name\" TEXT PRIMARY KEY, \"Progress\" INTEGER, \"UnlockTime\" INTEGER)");
+    }
+    
+    //
+    // This method queues a write of the current progress of given achievements.
+    //
+    private void _save(ArrayList<Achievement> achievements)
+    {
+        final String[] names       = new String[achievements.size()];
+        final int[]    progress    = new int[achievements.size()];
+        final long[]   unlockTimes = new long[achievements.size()];
+        
+        for (int index = 0; index < names.length; ++index)
+        {
+            Achievement achievement = achievements.get(index);
+            
+            names[index]       = achievement.toString();
+            progress[index]    = _progress[achievement.ordinal()];
+            unlockTimes[index] = _unlockTimes[achievement.ordinal()];
+        }
+        
+        DatabaseWriter.getInstance().submit(new IDatabaseTask()
+        {
+            public void execute(Connection conn) throws SQLException
+            {
+                try (PreparedStatement stmt = conn.prepareStatement("INSERT INTO \"Achievements\" (\"Name\", \"Progress\", \"UnlockTime\") VALUES (?, ?, ?) "
+                                                                  + "ON CONFLICT (\"Name\") DO UPDATE SET \"Progress\" = excluded.\"Progress\", \"UnlockTime\" = excluded.\"UnlockTime\""))
+                {
+                    for (int index = 0; index < names.length; ++index)
+                    {
+                        stmt.setString(1, names[index]);
+                        stmt.setInt(2, progress[index]);
+                        stmt.setLong(3, unlockTimes[index]);
+                        stmt.addBatch();
+                    }
+                    
+                    stmt.executeBatch();
+                }
+            }
+        });
+    }
+    
+    //
+    // This method groups the achievements by the game result that triggers them.
+    //
+    private static Achievement[][] _groupByTrigger()
+    {
+        GameResult[]    results = GameResult.values();
+        Achievement[][] rules   = new Achievement[results.length][];
+        
+        for (GameResult result : results)
+        {
+            ArrayList<Achievement> group = new ArrayList<Achievement>();
+            
+            for (Achievement achievement : Achievement.values())
+            {
+                if (achievement.getTrigger() == result)
+                {
+                    group.add(achievement);
+                }
+            }
+            
+            rules[result.ordinal()] = group.toArray(new Achievement[group.size()]);
+        }
+        
+        return rules;
+    }
+    
+    //
+    // Private member variables:
+    //
+    private final int[]  _progress;
+    private final long[] _unlockTimes;
+    private final int[]  _streaks;
+    
+    private static AchievementsEngine _instance = null;
+    
+    private static final Achievement[][] _RULES_BY_TRIGGER = _groupByTrigger();
+}
@@ -27,6 +27,7 @@ package wordem;
 
 import javax.swing.*;
 import java.awt.*;
+import java.sql.SQLException;
 
 public class AchievementsPanel extends JPanel
 {
@@ -36,6 +37,40 @@ public class AchievementsPanel extends JPanel
     public AchievementsPanel()
     {
         _initialize();
+        _initializeAchievementsText();
+        _initializeScrollPane();
+    }
+    
+    //
+    // This method clears the achievements text and reconstructs it with the current progress of every achievement.
+    //
+    public void update() throws SQLException
+    {
+        AchievementsEngine engine        = AchievementsEngine.getInstance();
+        int                unlockedCount = 0;
+        
+        _achievementsText.setText("");
+        
+        for (Achievement achievement : Achievement.values())
+        {
+            if (engine.isUnlocked(achievement))
+            {
+                ++unlockedCount;
+            }
+        }
+        
+        _achievementsText.append(unlockedCount + "/" + Achievement.values().length + " unlocked\n\n");
+        
+        for (Achievement achievement : Achievement.values())
+        {
+            int progress = engine.getProgress(achievement);
+            
+            _achievementsText.append((engine.isUnlocked(achievement) ? "[X] " : "[ ] ") + achievement.getTitle() + "\n");
+            _achievementsText.append("    " + achievement.getDescription() + "\n");
+            _achievementsText.append("    " + achievement.getStepCount(progress) + "/" + achievement.getStepGoal() + "\n\n");
+        }
+        
+        _achievementsText.select(0,0); // Force scroll bar to top
     }
     
     //
@@ -57,17 +92,46 @@ public class AchievementsPanel extends JPanel
     //
     private void _initialize()
     {
-        _toolkit         = Toolkit.getDefaultToolkit();
-        _backgroundImage = _toolkit.getImage("art/Achievements Panel Background.png");
+        _backgroundImage = ImageLoader.loadImage("art/Achievements Panel Background.png");
         
         this.setFocusable(false);
         this.setLayout(null);
         this.setVisible(false);
     }
     
+    //
+    // This method initializes the achievements text area for the scroll pane.
+    //
+    private void _initializeAchievementsText()
+    {
+        Font font = new Font("Monospaced", Font.BOLD, 20);
+        
+        _achievementsText = new JTextArea();
+        _achievementsText.setBackground(new Color(249,249,249));
+        _achievementsText.setEditable(false);
+        _achievementsText.setLineWrap(true);
+        _achievementsText.setWrapStyleWord(true);
+        _achievementsText.setFont(font);
+    }
+    
+    //
+    // This method initializes the scroll pane in this panel. It covers the placeholder drawn on the background.
+    //
+    private void _initializeScrollPane()
+    {
+        _scrollPane = new JScrollPane(_achievementsText);
+        _scrollPane.setBounds(298, 162, 380, 487);
+        _scrollPane.setBorder(BorderFactory.createEmptyBorder());
+        _scrollPane.setHorizontalScrollBarPolicy(JScrollPane.HORIZONTAL_SCROLLBAR_NEVER);
+        _scrollPane.setVerticalScrollBarPolicy(JScrollPane.VERTICAL_SCROLLBAR_AS_NEEDED);
+        
+        this.add(_scrollPane);
+    }
+    
     //
     // Private member variables:
     //
-    private Toolkit _toolkit;
-    private Image   _backgroundImage;
+    private Image       _backgroundImage;
+    private JTextArea   _achievementsText;
+    private JScrollPane _scrollPane;
 }
\ No newline at end of file
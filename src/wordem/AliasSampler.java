@@ -0,0 +1,143 @@
+//
+// AliasSampler.java
+//
+// This class samples indices in proportion to their weights in constant time using Vose's alias method.
+// Construction takes time linear in the number of weights; each sample then costs one random index and one
+// random comparison. Samplers are immutable and safe to share between threads.
+//
+// The MIT License (MIT)
+// 
+// Copyright (c) 2022 WordEm Development Group.  All Rights Reserved.
+// 
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this
+// software and associated documentation files (the "Software"), to deal in the Software
+// without restriction, including without limitation the rights to use, copy, modify, merge,
+// publish, distribute, sub-license, and/or sell copies of the Software, and to permit persons
+// to whom the Software is furnished to do so, subject to the following conditions:
+// 
+// * The above copyright notice and this permission notice shall be included in all copies or
+// substantial portions of the Software.
+// 
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+// INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+// PURPOSE AND NONINFRINGEMENT.  IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE
+// FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR 
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+// DEALINGS IN THE SOFTWARE.
+//
+package wordem;
+
+import java.util.Random;
+
+public class AliasSampler
+{
+    //
+    // Overloaded constructor. Constructs the alias table of the given non-negative weights.
+    // At least one weight must be positive.
+    //
+    public AliasSampler(double[] weights)
+    {
+        int    count       = weights.length;
+        double totalWeight = 0.0;
+        
+        for (double weight : weights)
+        {
+            if (weight < 0.0 || Double.isNaN(weight) || Double.isInfinite(weight))
+            {
+                throw new IllegalArgumentException("AliasSampler >> Invalid weight: " + weight);
+            }
+            
+            totalWeight += weight;
+        }
+        
+        if (totalWeight <= 0.0)
+        {
+            throw new IllegalArgumentException("AliasSampler >> No positive weights to sample from");
+        }
+        
+        _probabilities = new double[count];
+        _aliases       = new int[count];
+        
+        //
+        // Scale the weights so they average 1, then split them into under-full and over-full columns:
+        //
+        double[] scaled     = new double[count];
+        int[]    small      = new int[count];
+        int[]    large      = new int[count];
+        int      smallCount = 0;
+        int      largeCount = 0;
+        
+        for (int index = 0; index < count; ++index)
+        {
+            scaled[index] = weights[index] * count / totalWeight;
+            
+            if (scaled[index] < 1.0)
+            {
+                small[smallCount++] = index;
+            }
+            else
+            {
+                large[largeCount++] = index;
+            }
+        }
+        
+        //
+        // Top up each under-full column from an over-full one:
+        //
+        while (smallCount > 0 && largeCount > 0)
+        {
+            int smallIndex = small[--smallCount];
+            int largeIndex = large[--largeCount];
+            
+            _probabilities[smallIndex] = scaled[smallIndex];
+            _aliases[smallIndex]       = largeIndex;
+            scaled[largeIndex]         = (scaled[largeIndex] + scaled[smallIndex]) - 1.0;
+            
+            if (scaled[largeIndex] < 1.0)
+            {
+                small[smallCount++] = largeIndex;
+            }
+            else
+            {
+                large[largeCount++] = largeIndex;
+            }
+        }
+        
+        //
+        // Whatever is left is full up to rounding error:
+        //
+        while (largeCount > 0)
+        {
+            _probabilities[large[--largeCount]] = 1.0;
+        }
+        
+        while (smallCount > 0)
+        {
+            _probabilities[small[--smallCount]] = 1.0;
+        }
+    }
+    
+    //
+    // This method samples an index with probability proportional to its weight.
+    //
+    public int sample(Random random)
+    {
+        int column = random.nextInt(_probabilities.length);
+        
+        return random.nextDouble() < _probabilities[column] ? column : _aliases[column];
+    }
+    
+    //
+    // This method gets the number of weights sampled from.
+    //
+    public int size()
+    {
+        return _probabilities.length;
+    }
+    
+    //
+    // Private member variables:
+    //
+    private final double[] _probabilities;
+    private final int[]    _aliases;
+}
@@ -0,0 +1,196 @@
+//
+// BloomFilter.java
+//
+// This class is a blocked Bloom filter over words. It answers whether a word is definitely not a member
+// of the set it was built from, or whether it might be. Every word maps to a single 512-bit block, so a
+// lookup touches one cache line regardless of the filter size.
+//
+// The filter keeps a count of its hits (words that might be members) and misses (words that were rejected)
+// so callers can tell how much work it is saving.
+//
+// The MIT License (MIT)
+// 
+// Copyright (c) 2022 WordEm Development Group.  All Rights Reserved.
+// 
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this
+// software and associated documentation files (the "Software"), to deal in the Software
+// without restriction, including without limitation the rights to use, copy, modify, merge,
+// publish, distribute, sub-license, and/or sell copies of the Software, and to permit persons
+// to whom the Software is furnished to do so, subject to the following conditions:
+// 
+// * The above copyright notice and this permission notice shall be included in all copies or
+// substantial portions of the Software.
+// 
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+// INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+// PURPOSE AND NONINFRINGEMENT.  IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE
+// FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR 
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+// DEALINGS IN THE SOFTWARE.
+//
+package wordem;
+
+import java.util.concurrent.atomic.LongAdder;
+
+public class BloomFilter
+{
+    //
+    // Overloaded constructor. Sizes the filter for an expected number of words and a desired false-positive rate.
+    //
+    //      expectedCount     - the number of words expected to be added to the filter
+    //      falsePositiveRate - the desired probability that a non-member is reported as a possible member
+    //
+    public BloomFilter(int expectedCount, double falsePositiveRate)
+    {
+        if (falsePositiveRate <= 0.0 || falsePositiveRate >= 1.0)
+        {
+            throw new IllegalArgumentException("BloomFilter >> False-positive rate out of range: " + falsePositiveRate);
+        }
+        
+        //
+        // Size with the classic formulas, then add headroom because confining every word's bits to
+        // one block loads some blocks more heavily than a flat filter would:
+        //
+        int    count     = Math.max(expectedCount, 1);
+        double bitCount  = -count * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2));
+        int    hashCount = (int)Math.round(bitCount / count * Math.log(2));
+        
+        bitCount *= _BLOCK_HEADROOM;
+        
+        _falsePositiveRate = falsePositiveRate;
+        _hashCount         = Math.min(Math.max(hashCount, 1), _MAX_HASH_COUNT);
+        _blockCount        = Math.max((int)Math.ceil(bitCount / _BLOCK_BITS), 1);
+        _bits              = new long[_blockCount * _BLOCK_LONGS];
+        _hitCount          = new LongAdder();
+        _missCount         = new LongAdder();
+    }
+    
+    //
+    // This method adds a word to the filter.
+    //
+    public void add(String word)
+    {
+        long hash   = _hash(word);
+        int  offset = _blockOffset(hash);
+        int  probe  = (int)hash;
+        int  step   = (int)(hash >>> 32) | 1;
+        
+        for (int index = 0; index < _hashCount; ++index)
+        {
+            int bit = (probe + index * step) & (_BLOCK_BITS - 1);
+            
+            _bits[offset + (bit >>> 6)] |= 1L << bit;
+        }
+    }
+    
+    //
+    // This method determines if a word might have been added to the filter.
+    // Returns false only if the word was definitely never added.
+    //
+    public boolean mightContain(String word)
+    {
+        boolean mightContain = true;
+        long    hash         = _hash(word);
+        int     offset       = _blockOffset(hash);
+        int     probe        = (int)hash;
+        int     step         = (int)(hash >>> 32) | 1;
+        
+        for (int index = 0; index < _hashCount && mightContain; ++index)
+        {
+            int bit = (probe + index * step) & (_BLOCK_BITS - 1);
+            
+            mightContain = (_bits[offset + (bit >>> 6)] & (1L << bit)) != 0;
+        }
+        
+        if (mightContain)
+        {
+            _hitCount.increment();
+        }
+        else
+        {
+            _missCount.increment();
+        }
+        
+        return mightContain;
+    }
+    
+    //
+    // This method gets the number of lookups that reported a possible member.
+    //
+    public long getHitCount()
+    {
+        return _hitCount.sum();
+    }
+    
+    //
+    // This method gets the number of lookups that rejected a word outright.
+    //
+    public long getMissCount()
+    {
+        return _missCount.sum();
+    }
+    
+    //
+    // This method gets the false-positive rate the filter was sized for.
+    //
+    public double getFalsePositiveRate()
+    {
+        return _falsePositiveRate;
+    }
+    
+    //
+    // This method gets the number of bits used by the filter.
+    //
+    public long getBitCount()
+    {
+        return (long)_bits.length * Long.SIZE;
+    }
+    
+    //
+    // This method gets the offset into the bit array of the block a hash maps to.
+    //
+    private int _blockOffset(long hash)
+    {
+        long mixed = hash * 0x9E3779B97F4A7C15L;
+        int  block = (int)(((mixed >>> 32) * _blockCount) >>> 32);
+        
+        return block * _BLOCK_LONGS;
+    }
+    
+    //
+    // This method computes a 64-bit hash of a word (FNV-1a followed by a MurmurHash3 finalizer).
+    //
+    private static long _hash(String word)
+    {
+        long hash = 0xCBF29CE484222325L;
+        
+        for (int index = 0; index < word.length(); ++index)
+        {
+            hash ^= word.charAt(index);
+            hash *= 0x100000001B3L;
+        }
+        
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB9FE1A85EC53L;
+        hash ^= hash >>> 33;
+        
+        return hash;
+    }
+    
+    //
+    // Private member variables:
+    //
+    private final long[]    _bits;
+    private final int       _blockCount;
+    private final int       _hashCount;
+    private final double    _falsePositiveRate;
+    private final LongAdder _hitCount;
+    private final LongAdder _missCount;
+    
+    private static final int    _BLOCK_BITS     = 512;
+    private static final int    _BLOCK_LONGS    = _BLOCK_BITS / Long.SIZE;
+    private static final int    _MAX_HASH_COUNT = 16;
+    private static final double _BLOCK_HEADROOM = 1.2;
+}
@@ -0,0 +1,111 @@
+//
+// CandidateSolverStrategy.java
+//
+// This class is the reference solving strategy. It keeps the constraints revealed so far and always guesses a
+// word that could still be the hidden word, preferring the candidate that tests the most untested letters.
+// Candidates are found with the word pattern index, so each guess costs a few bitset intersections.
+//
+// The MIT License (MIT)
+// 
+// Copyright (c) 2022 WordEm Development Group.  All Rights Reserved.
+// 
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this
+// software and associated documentation files (the "Software"), to deal in the Software
+// without restriction, including without limitation the rights to use, copy, modify, merge,
+// publish, distribute, sub-license, and/or sell copies of the Software, and to permit persons
+// to whom the Software is furnished to do so, subject to the following conditions:
+// 
+// * The above copyright notice and this permission notice shall be included in all copies or
+// substantial portions of the Software.
+// 
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+// INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+// PURPOSE AND NONINFRINGEMENT.  IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE
+// FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR 
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+// DEALINGS IN THE SOFTWARE.
+//
+package wordem;
+
+import java.util.HashSet;
+
+public class CandidateSolverStrategy implements ISolverStrategy
+{
+    //
+    // Default constructor.
+    //
+    public CandidateSolverStrategy()
+    {
+        _index         = null;
+        _constraints   = null;
+        _testedLetters = new HashSet<Character>();
+    }
+    
+    //
+    // This method prepares the strategy for a new game of a given language and game mode.
+    //
+    public void reset(Language language, GameMode gameMode) throws Exception
+    {
+        _index       = WordPatternIndex.getIndex(language, gameMode.getWordSize());
+        _constraints = new WordConstraints(gameMode.getWordSize());
+        _testedLetters.clear();
+    }
+    
+    //
+    // This method gets the next word to guess, or null if no word fits what has been revealed.
+    //
+    public String nextGuess()
+    {
+        String bestGuess = null;
+        int    bestScore = -1;
+        int    examined  = 0;
+        
+        for (String candidate : _index.query(_constraints))
+        {
+            HashSet<Character> newLetters = new HashSet<Character>();
+            
+            for (int letterIndex = 0; letterIndex < candidate.length(); ++letterIndex)
+            {
+                if (!_testedLetters.contains(candidate.charAt(letterIndex)))
+                {
+                    newLetters.add(candidate.charAt(letterIndex));
+                }
+            }
+            
+            if (newLetters.size() > bestScore)
+            {
+                bestGuess = candidate;
+                bestScore = newLetters.size();
+            }
+            
+            if (++examined == _CANDIDATE_LIMIT)
+            {
+                break;
+            }
+        }
+        
+        return bestGuess;
+    }
+    
+    //
+    // This method records the scored pattern of a guessed word.
+    //
+    public void update(String guessedWord, int pattern)
+    {
+        _constraints.addFeedback(guessedWord, pattern);
+        
+        for (int letterIndex = 0; letterIndex < guessedWord.length(); ++letterIndex)
+        {
+            _testedLetters.add(guessedWord.charAt(letterIndex));
+        }
+    }
+    
+    //
+    // Private member variables:
+    //
+    private WordPatternIndex   _index;
+    private WordConstraints    _constraints;
+    private HashSet<Character> _testedLetters;
+    
+    private static final int _CANDIDATE_LIMIT = 64; // Bounds the cost of a guess when many words still fit
+}
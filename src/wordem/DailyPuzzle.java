@@ -0,0 +1,192 @@
+//
+// DailyPuzzle.java
+//
+// This abstract class schedules the daily puzzle: one hidden word per date, language and game mode, the same for
+// every player. The schedule is never stored. Each date's word is computed in constant time by passing the date's
+// position within the current cycle through a keyed Feistel permutation of the word indices, so within a cycle of
+// as many days as there are words no word repeats. Each cycle uses a new key, so cycles are ordered differently.
+//
+// The schedule only depends on the lexicon, so it works offline. Adding or removing words of a length reshuffles
+// that length's schedule.
+//
+// Running this class verifies the schedule of each language and game mode over a number of years (10 by default)
+// and prints today's words.
+//
+// The MIT License (MIT)
+// 
+// Copyright (c) 2022 WordEm Development Group.  All Rights Reserved.
+// 
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this
+// software and associated documentation files (the "Software"), to deal in the Software
+// without restriction, including without limitation the rights to use, copy, modify, merge,
+// publish, distribute, sub-license, and/or sell copies of the Software, and to permit persons
+// to whom the Software is furnished to do so, subject to the following conditions:
+// 
+// * The above copyright notice and this permission notice shall be included in all copies or
+// substantial portions of the Software.
+// 
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+// INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+// PURPOSE AND NONINFRINGEMENT.  IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE
+// FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR 
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+// DEALINGS IN THE SOFTWARE.
+//
+package wordem;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.BitSet;
+
+public abstract class DailyPuzzle
+{
+    //
+    // Program entry point.
+    //
+    public static void main(String[] args)
+    {
+        try
+        {
+            int       years     = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+            LocalDate today     = LocalDate.now();
+            long      startTime = System.nanoTime();
+            long      dayCount  = 0;
+            
+            System.out.println("Verifying " + years + " years of daily puzzles from " + today);
+            
+            for (Language language : Language.values())
+            {
+                for (GameMode gameMode : GameMode.values())
+                {
+                    int wordCount = Lexicon.getWords(language, gameMode.getWordSize()).length;
+                    
+                    if (wordCount != 0)
+                    {
+                        dayCount += _verify(language, gameMode, today, today.plusYears(years), wordCount);
+                        
+                        System.out.println(language + " " + gameMode + " today: " + getWord(language, gameMode, today));
+                    }
+                }
+            }
+            
+            System.out.println("Verified " + dayCount + " days in " + (System.nanoTime() - startTime) / 1000000 + " ms");
+        }
+        catch (Exception ex)
+        {
+            System.out.println(ex);
+            ex.printStackTrace();
+            System.exit(-1);
+        }
+    }
+    
+    //
+    // This method gets the daily puzzle word of a given language, game mode and date.
+    //
+    public static String getWord(Language language, GameMode gameMode, LocalDate date) throws SQLException
+    {
+        String[] words = Lexicon.getWords(language, gameMode.getWordSize());
+        
+        if (words.length == 0)
+        {
+            throw new SQLException("DailyPuzzle.getWord >> No words of length " + gameMode.getWordSize() + " for language: " + language);
+        }
+        
+        return words[getWordIndex(language, gameMode, date, words.length)];
+    }
+    
+    //
+    // This method gets the index of the daily puzzle word of a given language, game mode and date among a given
+    // number of words.
+    //
+    public static int getWordIndex(Language language, GameMode gameMode, LocalDate date, int wordCount)
+    {
+        long day      = date.toEpochDay() - _FIRST_DAY.toEpochDay();
+        long cycle    = Math.floorDiv(day, (long)wordCount);
+        int  position = (int)Math.floorMod(day, (long)wordCount);
+        long key      = _mix(_SEED ^ _mix((language + ":" + gameMode).hashCode()) ^ _mix(cycle));
+        
+        return _permute(position, wordCount, key);
+    }
+    
+    //
+    // This method checks that the schedule between two dates never repeats a word within a cycle and returns
+    // the number of days checked.
+    //
+    private static long _verify(Language language, GameMode gameMode, LocalDate first, LocalDate last, int wordCount)
+    {
+        BitSet scheduled    = new BitSet(wordCount);
+        long   currentCycle = Long.MIN_VALUE;
+        long   dayCount     = 0;
+        
+        for (LocalDate date = first; date.isBefore(last); date = date.plusDays(1))
+        {
+            long cycle = Math.floorDiv(date.toEpochDay() - _FIRST_DAY.toEpochDay(), (long)wordCount);
+            int  index = getWordIndex(language, gameMode, date, wordCount);
+            
+            if (cycle != currentCycle)
+            {
+                scheduled.clear();
+                currentCycle = cycle;
+            }
+            
+            if (index < 0 || index >= wordCount || scheduled.get(index))
+            {
+                throw new IllegalStateException("DailyPuzzle._verify >> " + language + " " + gameMode + " repeats word " + index + " on " + date);
+            }
+            
+            scheduled.set(index);
+            ++dayCount;
+        }
+        
+        return dayCount;
+    }
+    
+    //
+    // This method maps a value below a given count to a distinct value below the count. A balanced Feistel network
+    // permutes the smallest even-bit domain holding the count, and values that land outside the count are walked
+    // through the network again until they land inside it.
+    //
+    private static int _permute(int value, int count, long key)
+    {
+        int bits     = Math.max(32 - Integer.numberOfLeadingZeros(Math.max(count - 1, 1)), 2);
+        int halfBits = (bits + 1) / 2;
+        int halfMask = (1 << halfBits) - 1;
+        
+        do
+        {
+            int left  = value >>> halfBits;
+            int right = value & halfMask;
+            
+            for (int round = 0; round < _ROUND_COUNT; ++round)
+            {
+                int newRight = left ^ ((int)_mix(right ^ key ^ (round * 0x9E3779B97F4A7C15L)) & halfMask);
+                
+                left  = right;
+                right = newRight;
+            }
+            
+            value = (left << halfBits) | right;
+        }
+        while (value >= count);
+        
+        return value;
+    }
+    
+    //
+    // This method scrambles the bits of a value (the SplitMix64 finalizer).
+    //
+    private static long _mix(long value)
+    {
+        value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+        
+        return value ^ (value >>> 31);
+    }
+    
+    //
+    // Private member variables:
+    //
+    private static final LocalDate _FIRST_DAY   = LocalDate.of(2022, 5, 10); // The day the game was created
+    private static final long      _SEED        = 0x5765726445D2022L;
+    private static final int       _ROUND_COUNT = 4;
+}
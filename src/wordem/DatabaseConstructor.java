@@ -1,7 +1,8 @@
 //
 // DatabaseConstructor.java
 //
-// This class constructs the SQL database for the WordEm game.
+// This class constructs the word database for the WordEm game. The user database holding statistics is never touched,
+// so rebuilding the words keeps every statistic.
 //
 // The MIT License (MIT)
 // 
@@ -27,7 +28,6 @@ package wordem;
 
 import java.io.*;
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.sql.PreparedStatement;
@@ -43,20 +43,20 @@ public class DatabaseConstructor
         {
             System.out.println("Starting Construction");
             
-            File file = new File("Data.sqlite");
+            File file = new File(DatabaseManager.WORD_DATABASE_FILE_NAME);
             file.delete();
             
-            _conn = DriverManager.getConnection("jdbc:sqlite:Data.sqlite");    
+            _conn = DatabaseManager.createWritableWordConnection();
 
-            _readWordsToTable("Words_en.txt", "Words_en");
-            _readWordsToTable("Words_es.txt", "Words_es");
-            _constructGlobalStatisticsTable();
-            _constructNurseryStatisticsTable();
-            _constructElementaryStatisticsTable();
-            _constructClassicStatisticsTable();
-            _constructAdvancedStatisticsTable();
-            _constructLudicrousStatisticsTable();
+            readWordsToTable(_conn, "Words_en.txt", "Words_en");
+            readWordsToTable(_conn, "Words_es.txt", "Words_es");
+            _readWeightsToTable("Frequencies_en.txt", "Words_en");
+            _readWeightsToTable("Frequencies_es.txt", "Words_es");
+            _constructDifficultyChecksumsTable();
+            
+            DifficultyRater.rateWords(_conn, true); // Banded hidden-word selection needs every word rated
 
+            _conn.createStatement().execute("VACUUM");
             _conn.close();
             
             System.out.println("Finished Constructing");
@@ -72,13 +72,16 @@ public class DatabaseConstructor
     }
     
     //
-    // This method reads the words from a given text file and creates a respective table in the database for those words.
+    // This method reads the words from a given text file and creates a respective table in a given database for those words.
+    // The words are uniquely indexed, so looking one up is a search of the index rather than a scan of the table, and a word
+    // listed twice is only stored once.
     //
-    private static void _readWordsToTable(String fileName, String tableName) throws IOException, SQLException
+    public static void readWordsToTable(Connection conn, String fileName, String tableName) throws IOException, SQLException
     {
-        Statement stmt = _conn.createStatement();
+        Statement stmt = conn.createStatement();
         
-        stmt.execute("CREATE TABLE \"" + tableName + "\" (\"Word\" TEXT)");
+        stmt.execute("CREATE TABLE \"" + tableName + "\" (\"Word\" TEXT, \"Difficulty\" REAL, \"Weight\" REAL NOT NULL DEFAULT 1.0)");
+        stmt.execute("CREATE UNIQUE INDEX \"" + tableName + "_Word\" ON \"" + tableName + "\" (\"Word\")");
 
         PreparedStatement pstmt             = null;
         FileInputStream   fileInputStream   = new FileInputStream(fileName);
@@ -86,7 +89,7 @@ public class DatabaseConstructor
         BufferedReader    bufferedReader    = new BufferedReader(inputStreamReader);
         String            line              = null; 
         
-        pstmt = _conn.prepareStatement("INSERT INTO \"" + tableName + "\" (Word) VALUES(?);");
+        pstmt = conn.prepareStatement("INSERT OR IGNORE INTO \"" + tableName + "\" (Word) VALUES(?);");
         
         stmt.execute("BEGIN TRANSACTION;");
         do
@@ -106,115 +109,92 @@ public class DatabaseConstructor
     }
     
     //
-    // This methods constructs the global statistics table.
-    //
-    private static void _constructGlobalStatisticsTable() throws SQLException
-    {
-        Statement stmt = _conn.createStatement();
-
-        stmt.execute("CREATE TABLE \"Statistics_Global\" (\"Statistic\" TEXT, \"Value\" INTEGER)");
-
-        stmt.execute("BEGIN TRANSACTION;");
-        stmt.execute("INSERT INTO \"Statistics_Global\" (\"Statistic\", \"Value\") VALUES (\"Games Played\", 0)");
-        stmt.execute("INSERT INTO \"Statistics_Global\" (\"Statistic\", \"Value\") VALUES (\"Games Quit\", 0)");
-        stmt.execute("INSERT INTO \"Statistics_Global\" (\"Statistic\", \"Value\") VALUES (\"Games Won\", 0)");
-        stmt.execute("INSERT INTO \"Statistics_Global\" (\"Statistic\", \"Value\") VALUES (\"Games Lost\", 0)");
-        stmt.execute("INSERT INTO \"Statistics_Global\" (\"Statistic\", \"Value\") VALUES (\"Win Percentage\", 0)");   
-        stmt.execute("COMMIT TRANSACTION;");
-    }
-    
-    //
-    // This methods constructs the statistics table for the nursery game mode.
+    // This method reads word frequencies from a given text file, if it exists, into the weights of a word table.
+    // Each line holds a word and its frequency separated by whitespace. Words not listed keep a weight of 1, and
+    // malformed lines are reported and skipped.
     //
-    private static void _constructNurseryStatisticsTable() throws SQLException
+    private static void _readWeightsToTable(String fileName, String tableName) throws IOException, SQLException
     {
-        Statement stmt = _conn.createStatement();
-
-        stmt.execute("CREATE TABLE \"Statistics_Nursery\" (\"Statistic\" TEXT, \"Value\" INTEGER)");
+        File file = new File(fileName);
         
-        stmt.execute("BEGIN TRANSACTION;");       
-        stmt.execute("INSERT INTO \"Statistics_Nursery\" (\"Statistic\", \"Value\") VALUES (\"Games Played\", 0)");
-        stmt.execute("INSERT INTO \"Statistics_Nursery\" (\"Statistic\", \"Value\") VALUES (\"Games Quit\", 0)");
-        stmt.execute("INSERT INTO \"Statistics_Nursery\" (\"Statistic\", \"Value\") VALUES (\"Games Won\", 0)");
-        stmt.execute("INSERT INTO \"Statistics_Nursery\" (\"Statistic\", \"Value\") VALUES (\"Games Lost\", 0)");
-        stmt.execute("INSERT INTO \"Statistics_Nursery\" (\"Statistic\", \"Value\") VALUES (\"Win Percentage\", 0)");   
-        stmt.execute("COMMIT TRANSACTION;");
-    }
-    
-    //
-    // This methods constructs the statistics table for the elementary game mode.
-    //
-    private static void _constructElementaryStatisticsTable() throws SQLException
-    {
-        Statement stmt = _conn.createStatement();
+        if (!file.exists())
+        {
+            System.out.println("No word frequencies found in " + fileName + ", words of " + tableName + " are weighted equally");
+            return;
+        }
         
-        stmt.execute("CREATE TABLE \"Statistics_Elementary\" (\"Statistic\" TEXT, \"Value\" INTEGER)");
-    
-        stmt.execute("BEGIN TRANSACTION;");
-        stmt.execute("INSERT INTO \"Statistics_Elementary\" (\"Statistic\", \"Value\") VALUES (\"Games Played\", 0)");
-        stmt.execute("INSERT INTO \"Statistics_Elementary\" (\"Statistic\", \"Value\") VALUES (\"Games Quit\", 0)");
-        stmt.execute("INSERT INTO \"Statistics_Elementary\" (\"Statistic\", \"Value\") VALUES (\"Games Won\", 0)");
-        stmt.execute("INSERT INTO \"Statistics_Elementary\" (\"Statistic\", \"Value\") VALUES (\"Games Lost\", 0)");
-        stmt.execute("INSERT INTO \"Statistics_Elementary\" (\"Statistic\", \"Value\") VALUES (\"Win Percentage\", 0)");   
-        stmt.execute("COMMIT TRANSACTION;");
-    }
-    
-    //
-    // This methods constructs the statistics table for the classic game mode.
-    //
-    private static void _constructClassicStatisticsTable() throws SQLException
-    {
         Statement stmt = _conn.createStatement();
+        
+        stmt.execute("CREATE TEMP TABLE \"Frequencies\" (\"Word\" TEXT PRIMARY KEY, \"Frequency\" REAL)");
 
-        stmt.execute("CREATE TABLE \"Statistics_Classic\" (\"Statistic\" TEXT, \"Value\" INTEGER)");
+        PreparedStatement pstmt          = _conn.prepareStatement("INSERT OR REPLACE INTO \"Frequencies\" (\"Word\", \"Frequency\") VALUES(?, ?);");
+        BufferedReader    bufferedReader = new BufferedReader(new InputStreamReader(new FileInputStream(file), "UTF-8"));
+        String            line           = null;
+        int               lineNumber     = 0;
         
         stmt.execute("BEGIN TRANSACTION;");
-        stmt.execute("INSERT INTO \"Statistics_Classic\" (\"Statistic\", \"Value\") VALUES (\"Games Played\", 0)");
-        stmt.execute("INSERT INTO \"Statistics_Classic\" (\"Statistic\", \"Value\") VALUES (\"Games Quit\", 0)");
-        stmt.execute("INSERT INTO \"Statistics_Classic\" (\"Statistic\", \"Value\") VALUES (\"Games Won\", 0)");
-        stmt.execute("INSERT INTO \"Statistics_Classic\" (\"Statistic\", \"Value\") VALUES (\"Games Lost\", 0)");
-        stmt.execute("INSERT INTO \"Statistics_Classic\" (\"Statistic\", \"Value\") VALUES (\"Win Percentage\", 0)");   
+        do
+        {
+            line = bufferedReader.readLine();
+            ++lineNumber;
+            
+            if (line != null && !line.trim().isEmpty())
+            {
+                String[] fields    = line.trim().split("\\s+");
+                double   frequency = (fields.length == 2) ? _parseFrequency(fields[1]) : Double.NaN;
+                
+                if (Double.isNaN(frequency))
+                {
+                    System.out.println("Skipping malformed line " + lineNumber + " of " + fileName + ": " + line);
+                }
+                else
+                {
+                    pstmt.setString(1, fields[0]);
+                    pstmt.setDouble(2, frequency);
+                    pstmt.execute();
+                }
+            }
+        }
+        while (line != null);
+        
+        stmt.execute("UPDATE \"" + tableName + "\" SET \"Weight\" = (SELECT \"Frequency\" FROM \"Frequencies\" WHERE \"Frequencies\".\"Word\" = \"" + tableName + "\".\"Word\") "
+                   + "WHERE \"Word\" IN (SELECT \"Word\" FROM \"Frequencies\")");
         stmt.execute("COMMIT TRANSACTION;");
+        stmt.execute("DROP TABLE \"Frequencies\"");
+        
+        bufferedReader.close();
     }
     
     //
-    // This methods constructs the statistics table for the advanced game mode.
+    // This method parses a word frequency, returning NaN if it is not a finite number of zero or more.
     //
-    private static void _constructAdvancedStatisticsTable() throws SQLException
+    private static double _parseFrequency(String field)
     {
-        Statement stmt = _conn.createStatement();
-
-        stmt.execute("CREATE TABLE \"Statistics_Advanced\" (\"Statistic\" TEXT, \"Value\" INTEGER)");
-        
-        stmt.execute("BEGIN TRANSACTION;");
-        stmt.execute("INSERT INTO \"Statistics_Advanced\" (\"Statistic\", \"Value\") VALUES (\"Games Played\", 0)");
-        stmt.execute("INSERT INTO \"Statistics_Advanced\" (\"Statistic\", \"Value\") VALUES (\"Games Quit\", 0)");
-        stmt.execute("INSERT INTO \"Statistics_Advanced\" (\"Statistic\", \"Value\") VALUES (\"Games Won\", 0)");
-        stmt.execute("INSERT INTO \"Statistics_Advanced\" (\"Statistic\", \"Value\") VALUES (\"Games Lost\", 0)");
-        stmt.execute("INSERT INTO \"Statistics_Advanced\" (\"Statistic\", \"Value\") VALUES (\"Win Percentage\", 0)"); 
-        stmt.execute("COMMIT TRANSACTION;");
+        try
+        {
+            double frequency = Double.parseDouble(field);
+            
+            return (Double.isFinite(frequency) && frequency >= 0.0) ? frequency : Double.NaN;
+        }
+        catch (NumberFormatException ex)
+        {
+            return Double.NaN;
+        }
     }
     
     //
-    // This methods constructs the statistics table for the ludicrous game mode.
+    // This method constructs the table of checksums that lets the difficulty rater skip unchanged word lists.
     //
-    private static void _constructLudicrousStatisticsTable() throws SQLException
+    private static void _constructDifficultyChecksumsTable() throws SQLException
     {
         Statement stmt = _conn.createStatement();
-
-        stmt.execute("CREATE TABLE \"Statistics_Ludicrous\" (\"Statistic\" TEXT, \"Value\" INTEGER)");
         
-        stmt.execute("BEGIN TRANSACTION;");        
-        stmt.execute("INSERT INTO \"Statistics_Ludicrous\" (\"Statistic\", \"Value\") VALUES (\"Games Played\", 0)");
-        stmt.execute("INSERT INTO \"Statistics_Ludicrous\" (\"Statistic\", \"Value\") VALUES (\"Games Quit\", 0)");
-        stmt.execute("INSERT INTO \"Statistics_Ludicrous\" (\"Statistic\", \"Value\") VALUES (\"Games Won\", 0)");
-        stmt.execute("INSERT INTO \"Statistics_Ludicrous\" (\"Statistic\", \"Value\") VALUES (\"Games Lost\", 0)");
-        stmt.execute("INSERT INTO \"Statistics_Ludicrous\" (\"Statistic\", \"Value\") VALUES (\"Win Percentage\", 0)");
-        stmt.execute("COMMIT TRANSACTION;");
+        stmt.execute("CREATE TABLE \"Difficulty_Checksums\" (\"WordTable\" TEXT, \"Length\" INTEGER, \"Checksum\" INTEGER, "
+                   + "PRIMARY KEY (\"WordTable\", \"Length\"))");
     }
 
     //
     // Private member variables:
     //
-    private static Connection _conn;    
+    private static Connection _conn;
 }
\ No newline at end of file
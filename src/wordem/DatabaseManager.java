@@ -1,8 +1,9 @@
 //
 // DatabaseManager.java
 //
-// This class contains methods for modifying and retrieving data from the game database.
-// The game's database should already be constructed and valid before construction of this manager.
+// This class contains methods for modifying and retrieving data from the game databases. Words are read from the word
+// database, which should already be constructed and valid before construction of this manager. Statistics are kept in
+// the user database, which is created and migrated on first use.
 // Any exceptions during construction are the result of an invalid database and thus not the responsibility of this manager. 
 // These exceptions are thrown to the caller for handling.
 //
@@ -28,7 +29,14 @@
 //
 package wordem;
 
+import java.io.File;
 import java.sql.*;
+import java.util.ArrayList;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 public class DatabaseManager
 {
@@ -37,67 +45,277 @@ public class DatabaseManager
     //
     public DatabaseManager()
     {
-        _conn = null;
+        _conn     = null;
+        _wordConn = null;
+    }
+    
+    //
+    // Overloaded constructor. Constructs on an open user database connection that stays owned by the caller.
+    // Only statistics can be used through such a manager.
+    //
+    public DatabaseManager(Connection conn)
+    {
+        _conn     = conn;
+        _wordConn = null;
     }
     
     //
     // This method gets a random word of a specified language and length from the database.
+    // Words are picked in proportion to their weights.
     //
     public String getRandomWord(Language language, int length) throws SQLException
     {
-        String    table = null;
-        String    word  = null;
-        Statement stmt  = null;
-        ResultSet rs    = null;
+        return getRandomWord(language, length, null);
+    }
+    
+    //
+    // This method gets a random word of a specified language, length and difficulty band from the database.
+    // Words are picked in proportion to their weights. If the band is null, or no word of the length has
+    // been rated into the band yet, any word of the length may be picked.
+    //
+    public String getRandomWord(Language language, int length, DifficultyBand band) throws SQLException
+    {
+        long           startNanos    = System.nanoTime();
+        _WeightedWords weightedWords = _getWeightedWords(language, length, band);
+        
+        if (weightedWords == null && band != null)
+        {
+            weightedWords = _getWeightedWords(language, length, null);
+        }
+        
+        if (weightedWords == null)
+        {
+            throw new SQLException("DatabaseManager.getRandomWord >> No words of length " + length + " for language: " + language);
+        }
+        
+        String word = weightedWords.words[weightedWords.sampler.sample(ThreadLocalRandom.current())];
+        
+        _GET_RANDOM_WORD_LATENCY.recordSince(startNanos);
         
-        table = _getWordTableName(language);
-        stmt  = _conn.createStatement();  
-        rs    = stmt.executeQuery("SELECT \"Word\" FROM \"" + table + "\" WHERE LENGTH(\"Word\") = " + length + " ORDER BY RANDOM() LIMIT 1");
-        word  = rs.getString("Word");
-
         return word;
     }
     
+    //
+    // This method sets the weights of given words of a specified language. Word samplers are rebuilt on their next use.
+    // The word database is opened immutable by the game, so this must not be used while a game is running.
+    //
+    public void setWordWeights(Language language, String[] words, double[] weights) throws SQLException
+    {
+        String            table    = getWordTableName(language);
+        Connection        wordConn = createWritableWordConnection();
+        Statement         stmt     = wordConn.createStatement();
+        PreparedStatement pstmt    = wordConn.prepareStatement("UPDATE \"" + table + "\" SET \"Weight\" = ? WHERE \"Word\" = ?");
+        DatabaseEvent     event    = new DatabaseEvent("setWordWeights", table);
+        
+        try
+        {
+            stmt.execute("BEGIN TRANSACTION;");
+            
+            for (int index = 0; index < words.length; ++index)
+            {
+                pstmt.setDouble(1, weights[index]);
+                pstmt.setString(2, words[index]);
+                pstmt.addBatch();
+            }
+            
+            pstmt.executeBatch();
+            stmt.execute("COMMIT TRANSACTION;");
+        }
+        finally
+        {
+            wordConn.close();
+        }
+        
+        _weightsVersion.incrementAndGet();
+        event.commit();
+    }
+    
+    //
+    // This method gets every word of a specified language and length from the database in alphabetical order.
+    //
+    public String[] getWords(Language language, int length) throws SQLException
+    {
+        long              startNanos = System.nanoTime();
+        String            table      = null;
+        ArrayList<String> words      = new ArrayList<String>();
+        Statement         stmt       = null;
+        ResultSet         rs         = null;
+        DatabaseEvent     event      = null;
+        
+        table = getWordTableName(language);
+        event = new DatabaseEvent("getWords", table);
+        stmt  = _wordConn.createStatement();
+        rs    = stmt.executeQuery("SELECT \"Word\" FROM \"" + table + "\" WHERE LENGTH(\"Word\") = " + length + " ORDER BY \"Word\"");
+        
+        while (rs.next())
+        {
+            words.add(rs.getString("Word"));
+        }
+        
+        event.commit();
+        _GET_WORDS_LATENCY.recordSince(startNanos);
+        
+        return words.toArray(new String[words.size()]);
+    }
+    
     //
     // This method determines if a given word of a specified language is recognized by the database.
+    // The word filter of the language is consulted first, so most non-words are rejected without a query.
     //
     public boolean isWord(String word, Language language) throws SQLException
     {
-        boolean   isWord = false;  
-        String    table  = null;
-        Statement stmt   = null;
-        ResultSet rs     = null;
-        int       count  = 0;
+        long              startNanos = System.nanoTime();
+        boolean           isWord     = false;  
+        String            table      = null;
+        PreparedStatement stmt       = null;
+        ResultSet         rs         = null;
+        int               count      = 0;
+        BloomFilter       wordFilter = null;
+        DatabaseEvent     event      = null;
+        
+        loadWordFilters(language);
+        wordFilter = getWordFilter(language, word.length());
+        
+        if (wordFilter == null || !wordFilter.mightContain(word))
+        {
+            _WORD_FILTER_REJECTIONS.increment();
+            _IS_WORD_LATENCY.recordSince(startNanos);
+            
+            return false;
+        }
 
-        table = _getWordTableName(language);  
-        stmt  = _conn.createStatement();
-        rs    = stmt.executeQuery("SELECT COUNT() FROM \"" + table + "\" WHERE \"Word\" = \"" + word + "\"");
-        count = rs.getInt("COUNT()");
+        table = getWordTableName(language);  
+        event = new DatabaseEvent("isWord", table);
+        stmt  = _wordConn.prepareStatement("SELECT COUNT() FROM \"" + table + "\" WHERE \"Word\" = ?");
+        
+        //
+        // The word is bound rather than spliced into the query, since it may come from a network client:
+        //
+        try
+        {
+            stmt.setString(1, word);
+            
+            rs    = stmt.executeQuery();
+            count = rs.getInt("COUNT()");
+        }
+        finally
+        {
+            stmt.close();
+        }
         
         if (count != 0)
         {
             isWord = true;
         }
         
+        event.commit();
+        _IS_WORD_LATENCY.recordSince(startNanos);
+        
         return isWord;
     }
     
+    //
+    // This method builds the word filters of a given language, one per word length, from a single pass over its word table.
+    // The filters are shared by every manager and are only built once per language.
+    //
+    public void loadWordFilters(Language language) throws SQLException
+    {
+        if (_wordFilters.containsKey(language))
+        {
+            return;
+        }
+        
+        long                         startNanos    = System.nanoTime();
+        String                       table         = getWordTableName(language);
+        ArrayList<ArrayList<String>> wordsByLength = new ArrayList<ArrayList<String>>();
+        DatabaseEvent                event         = new DatabaseEvent("loadWordFilters", table);
+        Statement                    stmt          = _wordConn.createStatement();
+        ResultSet                    rs            = stmt.executeQuery("SELECT \"Word\" FROM \"" + table + "\"");
+        
+        while (rs.next())
+        {
+            String word = rs.getString("Word");
+            
+            while (wordsByLength.size() <= word.length())
+            {
+                wordsByLength.add(new ArrayList<String>());
+            }
+            
+            wordsByLength.get(word.length()).add(word);
+        }
+        
+        BloomFilter[] wordFilters = new BloomFilter[wordsByLength.size()];
+        
+        for (int length = 0; length < wordFilters.length; ++length)
+        {
+            ArrayList<String> words = wordsByLength.get(length);
+            
+            if (!words.isEmpty())
+            {
+                wordFilters[length] = new BloomFilter(words.size(), _wordFilterFalsePositiveRate);
+                
+                for (String word : words)
+                {
+                    wordFilters[length].add(word);
+                }
+            }
+        }
+        
+        _wordFilters.putIfAbsent(language, wordFilters);
+        event.commit();
+        _LOAD_WORD_FILTERS_LATENCY.recordSince(startNanos);
+    }
+    
+    //
+    // This method gets the word filter of a given language and word length, or null if it has not been loaded
+    // or the language has no words of that length. The filter's hit and miss counts are its metrics.
+    //
+    public static BloomFilter getWordFilter(Language language, int length)
+    {
+        BloomFilter   wordFilter  = null;
+        BloomFilter[] wordFilters = _wordFilters.get(language);
+        
+        if (wordFilters != null && length >= 0 && length < wordFilters.length)
+        {
+            wordFilter = wordFilters[length];
+        }
+        
+        return wordFilter;
+    }
+    
+    //
+    // This method sets the false-positive rate of the word filters. Filters already built are discarded
+    // and rebuilt with the new rate on their next use.
+    //
+    public static void setWordFilterFalsePositiveRate(double falsePositiveRate)
+    {
+        if (falsePositiveRate <= 0.0 || falsePositiveRate >= 1.0)
+        {
+            throw new IllegalArgumentException("DatabaseManager.setWordFilterFalsePositiveRate >> Rate out of range: " + falsePositiveRate);
+        }
+        
+        _wordFilterFalsePositiveRate = falsePositiveRate;
+        _wordFilters.clear();
+    }
+    
     //
     // This method increments the number of games played of a given game mode.
     //
     public void incrementGamesPlayedStatistic(GameMode gameMode) throws SQLException
     {
-        String table = _getStatisticTableName(gameMode);
+        String        table = _getStatisticTableName(gameMode);
+        DatabaseEvent event = new DatabaseEvent("incrementGamesPlayedStatistic", table);
         
-        try
+        try (Statement stmt = _conn.createStatement())
         {
-            Statement stmt = _conn.createStatement();
             stmt.execute("UPDATE \"" + table + "\" SET \"Value\" = \"Value\" + 1 WHERE \"Statistic\" = \"Games Played\"");
         }
         catch (SQLException ex)
         {
             throw new SQLException("DatabaseManager.incrementGamesPlayedStatistic >> \"Games Played\" statistic not found in table: " + table);
         }
+        
+        event.commit();
     }
     
     //
@@ -105,13 +323,13 @@ public class DatabaseManager
     //
     public int getGamesPlayedStatistic(GameMode gameMode) throws SQLException
     {
-        int    value = 0;
-        String table = _getStatisticTableName(gameMode);
+        int           value = 0;
+        String        table = _getStatisticTableName(gameMode);
+        DatabaseEvent event = new DatabaseEvent("getGamesPlayedStatistic", table);
         
-        try
+        try (Statement stmt = _conn.createStatement())
         {
-            Statement stmt = _conn.createStatement();
-            ResultSet rs   = null;
+            ResultSet rs = null;
             
             rs    = stmt.executeQuery("SELECT \"Value\" FROM \"" + table + "\" WHERE \"Statistic\" = \"Games Played\"");
             value = rs.getInt(1);
@@ -121,6 +339,8 @@ public class DatabaseManager
             throw new SQLException("DatabaseManager.getGamesPlayedStatistic >> \"Games Played\" statistic not found in table: " + table);
         }
         
+        event.commit();
+        
         return value;
     }
        
@@ -129,17 +349,19 @@ public class DatabaseManager
     //
     public void incrementGamesQuitStatistic(GameMode gameMode) throws SQLException
     {
-        String table = _getStatisticTableName(gameMode);
+        String        table = _getStatisticTableName(gameMode);
+        DatabaseEvent event = new DatabaseEvent("incrementGamesQuitStatistic", table);
         
-        try
+        try (Statement stmt = _conn.createStatement())
         {
-            Statement stmt = _conn.createStatement();
             stmt.execute("UPDATE \"" + table + "\" SET \"Value\" = \"Value\" + 1 WHERE \"Statistic\" = \"Games Quit\"");
         }
         catch (SQLException ex)
         {
             throw new SQLException("DatabaseManager.incrementGamesPlayedStatistic >> \"Games Quit\" statistic not found in table: " + table);
         }
+        
+        event.commit();
     }
     
     //
@@ -147,13 +369,13 @@ public class DatabaseManager
     //
     public int getGamesQuitStatistic(GameMode gameMode) throws SQLException
     {
-        int    value = 0;
-        String table = _getStatisticTableName(gameMode);
+        int           value = 0;
+        String        table = _getStatisticTableName(gameMode);
+        DatabaseEvent event = new DatabaseEvent("getGamesQuitStatistic", table);
         
-        try
+        try (Statement stmt = _conn.createStatement())
         {
-            Statement stmt = _conn.createStatement();
-            ResultSet rs   = null;
+            ResultSet rs = null;
             
             rs    = stmt.executeQuery("SELECT \"Value\" FROM \"" + table + "\" WHERE \"Statistic\" = \"Games Quit\"");
             value = rs.getInt(1);
@@ -163,6 +385,8 @@ public class DatabaseManager
             throw new SQLException("DatabaseManager.getGamesPlayedStatistic >> \"Games Quit\" statistic not found in table: " + table);
         }
         
+        event.commit();
+        
         return value;
     }
     
@@ -171,17 +395,19 @@ public class DatabaseManager
     //
     public void incrementGamesWonStatistic(GameMode gameMode) throws SQLException
     {
-        String table = _getStatisticTableName(gameMode);
+        String        table = _getStatisticTableName(gameMode);
+        DatabaseEvent event = new DatabaseEvent("incrementGamesWonStatistic", table);
         
-        try
+        try (Statement stmt = _conn.createStatement())
         {
-            Statement stmt = _conn.createStatement();
             stmt.execute("UPDATE \"" + table + "\" SET \"Value\" = \"Value\" + 1 WHERE \"Statistic\" = \"Games Won\"");
         }
         catch (SQLException ex)
         {
             throw new SQLException("DatabaseManager.incrementGamesWonStatistic >> \"Games Won\" statistic not found in table: " + table);
         }
+        
+        event.commit();
     }
     
     //
@@ -189,13 +415,13 @@ public class DatabaseManager
     //
     public int getGamesWonStatistic(GameMode gameMode) throws SQLException
     {
-        int    value = 0;
-        String table = _getStatisticTableName(gameMode);
+        int           value = 0;
+        String        table = _getStatisticTableName(gameMode);
+        DatabaseEvent event = new DatabaseEvent("getGamesWonStatistic", table);
         
-        try
+        try (Statement stmt = _conn.createStatement())
         {
-            Statement stmt = _conn.createStatement();
-            ResultSet rs   = null;
+            ResultSet rs = null;
             
             rs    = stmt.executeQuery("SELECT \"Value\" FROM \"" + table + "\" WHERE \"Statistic\" = \"Games Won\"");
             value = rs.getInt(1);
@@ -205,6 +431,8 @@ public class DatabaseManager
             throw new SQLException("DatabaseManager.getGamesWonStatistic >> \"Games Won\" statistic not found in table: " + table);
         }
         
+        event.commit();
+        
         return value;
     }
     
@@ -213,17 +441,19 @@ public class DatabaseManager
     //
     public void incrementGamesLostStatistic(GameMode gameMode) throws SQLException
     {
-        String table = _getStatisticTableName(gameMode);
+        String        table = _getStatisticTableName(gameMode);
+        DatabaseEvent event = new DatabaseEvent("incrementGamesLostStatistic", table);
         
-        try
+        try (Statement stmt = _conn.createStatement())
         {
-            Statement stmt = _conn.createStatement();
             stmt.execute("UPDATE \"" + table + "\" SET \"Value\" = \"Value\" + 1 WHERE \"Statistic\" = \"Games Lost\"");
         }
         catch (SQLException ex)
         {
             throw new SQLException("DatabaseManager.incrementGamesLostStatistic >> \"Games Lost\" statistic not found in table: " + table);
         }
+        
+        event.commit();
     }
     
     //
@@ -231,13 +461,13 @@ public class DatabaseManager
     //
     public int getGamesLostStatistic(GameMode gameMode) throws SQLException
     {
-        int    value = 0;
-        String table = _getStatisticTableName(gameMode);
+        int           value = 0;
+        String        table = _getStatisticTableName(gameMode);
+        DatabaseEvent event = new DatabaseEvent("getGamesLostStatistic", table);
         
-        try
+        try (Statement stmt = _conn.createStatement())
         {
-            Statement stmt = _conn.createStatement();
-            ResultSet rs   = null;
+            ResultSet rs = null;
             
             rs    = stmt.executeQuery("SELECT \"Value\" FROM \"" + table + "\" WHERE \"Statistic\" = \"Games Lost\"");
             value = rs.getInt(1);
@@ -247,6 +477,8 @@ public class DatabaseManager
             throw new SQLException("DatabaseManager.getGamesLostStatistic >> \"Games Lost\" statistic not found in table: " + table);
         }
         
+        event.commit();
+        
         return value;
     }
     
@@ -255,14 +487,14 @@ public class DatabaseManager
     //
     public void updateWinPercentageStatistic(GameMode gameMode) throws SQLException
     {
-        String    table         = _getStatisticTableName(gameMode);
-        Statement stmt          = _conn.createStatement();
-        ResultSet rs            = null;
-        int       gamesPlayed   = 0;
-        int       wins          = 0;
-        int       winPercentage = 0;
+        String        table         = _getStatisticTableName(gameMode);
+        DatabaseEvent event         = new DatabaseEvent("updateWinPercentageStatistic", table);
+        ResultSet     rs            = null;
+        int           gamesPlayed   = 0;
+        int           wins          = 0;
+        int           winPercentage = 0;
         
-        try
+        try (Statement stmt = _conn.createStatement())
         {
             rs = stmt.executeQuery("SELECT \"Value\" FROM \"" + table + "\" WHERE \"Statistic\" = \"Games Played\"");
             gamesPlayed = rs.getInt(1);
@@ -285,6 +517,8 @@ public class DatabaseManager
         {
             throw new SQLException("DatabaseManager.updateWinPercentageStatistic >> Could not find one or more necessary statistics for game mode: " + gameMode);
         }
+        
+        event.commit();
     }
     
     //
@@ -292,13 +526,13 @@ public class DatabaseManager
     //
     public int getWinPercentageStatistic(GameMode gameMode) throws SQLException
     {
-        int    value = 0;
-        String table = _getStatisticTableName(gameMode);
+        int           value = 0;
+        String        table = _getStatisticTableName(gameMode);
+        DatabaseEvent event = new DatabaseEvent("getWinPercentageStatistic", table);
         
-        try
+        try (Statement stmt = _conn.createStatement())
         {
-            Statement stmt = _conn.createStatement();
-            ResultSet rs   = null;
+            ResultSet rs = null;
             
             rs    = stmt.executeQuery("SELECT \"Value\" FROM \"" + table + "\" WHERE \"Statistic\" = \"Win Percentage\"");
             value = rs.getInt(1);
@@ -308,30 +542,538 @@ public class DatabaseManager
             throw new SQLException("DatabaseManager.getWinPercentageStatistic >> \"Win Percentage\" statistic not found in table: " + table);
         }
         
+        event.commit();
+        
         return value;
     }
     
     //
-    // This method establishes a permanent connection with the database.
+    // This method establishes permanent connections with the user database and the word database.
     //
     public void connect() throws SQLException
     {
-        _conn = DriverManager.getConnection("jdbc:sqlite:Data.sqlite"); 
+        _conn     = createConnection();
+        _wordConn = createWordConnection();
+    }
+    
+    //
+    // This method establishes a permanent connection with the word database only. It is all that word lookups need,
+    // and being immutable it opens without touching the user database, its pragmas or its migrations.
+    //
+    public void connectWords() throws SQLException
+    {
+        _wordConn = createWordConnection();
+    }
+    
+    //
+    // This method opens a new read-only connection with the word database. The caller owns the connection and must close it.
+    // The word database is opened immutable, so SQLite neither locks the file nor checks it for changes, and any number of
+    // threads can read words through their own connections without contending.
+    //
+    public static Connection createWordConnection() throws SQLException
+    {
+        Properties properties = new Properties();
+        
+        properties.setProperty("open_mode", Integer.toString(_SQLITE_OPEN_READONLY | _SQLITE_OPEN_URI));
+        
+        return DriverManager.getConnection("jdbc:sqlite:file:" + WORD_DATABASE_FILE_NAME + "?immutable=1", properties);
+    }
+    
+    //
+    // This method opens a new writable connection with the word database, for the tools that build and rate it.
+    // The rollback journal is kept, since a write-ahead log would be ignored by immutable readers.
+    //
+    public static Connection createWritableWordConnection() throws SQLException
+    {
+        Connection conn = DriverManager.getConnection("jdbc:sqlite:" + WORD_DATABASE_FILE_NAME);
+        Statement  stmt = conn.createStatement();
+        
+        stmt.execute("PRAGMA journal_mode = DELETE");
+        stmt.close();
+        
+        return conn;
+    }
+    
+    //
+    // This method opens a new connection with the user database. The caller owns the connection and must close it.
+    // The database is kept in write-ahead log mode, so readers and the writer never block each other, and the
+    // log is checkpointed by a background thread started with the first connection.
+    //
+    public static Connection createConnection() throws SQLException
+    {
+        Connection conn     = DriverManager.getConnection("jdbc:sqlite:" + USER_DATABASE_FILE_NAME);
+        boolean    isOpened = false;
+        
+        try
+        {
+            Statement stmt = conn.createStatement();
+            
+            stmt.execute("PRAGMA journal_mode = WAL");
+            stmt.execute("PRAGMA synchronous = NORMAL");
+            stmt.execute("PRAGMA busy_timeout = " + _BUSY_TIMEOUT_MS);
+            stmt.execute("PRAGMA cache_size = -" + _CACHE_SIZE_KIB);
+            stmt.execute("PRAGMA mmap_size = " + _MMAP_SIZE);
+            stmt.close();
+            
+            _startCheckpointer();
+            _migrateOnce(conn);
+            
+            isOpened = true;
+        }
+        finally
+        {
+            if (!isOpened)
+            {
+                closeQuietly(conn); // The caller never gets the connection to close
+            }
+        }
+        
+        return conn;
+    }
+    
+    //
+    // This method brings the schema of a connection's database up to date. Every pending migration is applied in one
+    // transaction, so a failure leaves the database at its previous version with its data intact. The version is kept
+    // in the database's user_version.
+    //
+    public static void migrate(Connection conn) throws SQLException
+    {
+        IMigration[] migrations = SchemaMigrations.getMigrations();
+        int          version    = _getUserVersion(conn);
+        
+        if (version == migrations.length)
+        {
+            return;
+        }
+        
+        Statement stmt = conn.createStatement();
+        
+        //
+        // Take the write lock before reading the version again, in case another process is migrating too:
+        //
+        stmt.execute("BEGIN IMMEDIATE TRANSACTION;");
+        
+        boolean isCommitted = false;
+        
+        try
+        {
+            version = _getUserVersion(conn);
+            
+            if (version > migrations.length)
+            {
+                throw new SQLException("DatabaseManager.migrate >> Database version " + version + " is newer than the game's: " + migrations.length);
+            }
+            
+            if (version == 0 && !hasTable(conn, "Statistics_Global"))
+            {
+                SchemaMigrations.createBaseline(conn);
+            }
+            
+            for (int index = version; index < migrations.length; ++index)
+            {
+                migrations[index].migrate(conn);
+            }
+            
+            stmt.execute("PRAGMA user_version = " + migrations.length);
+            stmt.execute("COMMIT TRANSACTION;");
+            
+            isCommitted = true;
+        }
+        finally
+        {
+            //
+            // Any exception rolls back, runtime ones from a migration included. A failed rollback is only reported,
+            // so it does not hide the exception that caused it:
+            //
+            if (!isCommitted)
+            {
+                try
+                {
+                    stmt.execute("ROLLBACK TRANSACTION;");
+                }
+                catch (SQLException ex)
+                {
+                    System.out.println("DatabaseManager.migrate >> Rollback failed: " + ex);
+                }
+            }
+            
+            stmt.close();
+        }
+    }
+    
+    //
+    // This method gets the number of background checkpoints run so far.
+    //
+    public static long getCheckpointCount()
+    {
+        return _checkpointCount.get();
+    }
+    
+    //
+    // This method gets the number of background checkpoints that could not finish because a reader or writer was busy.
+    //
+    public static long getBusyCheckpointCount()
+    {
+        return _busyCheckpointCount.get();
+    }
+    
+    //
+    // This method gets the number of frames in the write-ahead log at the last checkpoint.
+    //
+    public static int getWalFrameCount()
+    {
+        return _walFrameCount;
     }
     
     //
-    // This method severs the permanent connection with the database.
+    // This method gets the number of write-ahead log frames copied into the database by the last checkpoint.
+    //
+    public static int getCheckpointedFrameCount()
+    {
+        return _checkpointedFrameCount;
+    }
+    
+    //
+    // This method gets the current size of the write-ahead log file in bytes. The file only shrinks when the last connection closes.
+    //
+    public static long getWalFileSize()
+    {
+        return new File(USER_DATABASE_FILE_NAME + "-wal").length();
+    }
+    
+    //
+    // This method severs the permanent connections with the databases.
     //
     public void disconnect() throws SQLException
     {
-        _conn.close();
-        _conn = null;
+        if (_conn != null)
+        {
+            _conn.close();
+            _conn = null;
+        }
+        
+        if (_wordConn != null)
+        {
+            _wordConn.close();
+            _wordConn = null;
+        }
+    }
+    
+    //
+    // This method closes a connection that has failed, if any. A second failure while closing it is only reported.
+    //
+    public static void closeQuietly(Connection conn)
+    {
+        if (conn == null)
+        {
+            return;
+        }
+        
+        try
+        {
+            conn.close();
+        }
+        catch (SQLException ex)
+        {
+            System.out.println("DatabaseManager.closeQuietly >> Connection not closed: " + ex);
+        }
+    }
+    
+    //
+    // This method gets the schema version of the database of a connection.
+    //
+    private static int _getUserVersion(Connection conn) throws SQLException
+    {
+        Statement stmt    = conn.createStatement();
+        int       version = stmt.executeQuery("PRAGMA user_version").getInt(1);
+        
+        stmt.close(); // Open statements would block the schema changes of migrations
+        
+        return version;
+    }
+    
+    //
+    // This method migrates the database the first time a connection is opened, then queues the background backfill
+    // of every migration. A backfill that was cut short by an exit resumes on the next start.
+    //
+    private static synchronized void _migrateOnce(Connection conn) throws SQLException
+    {
+        if (_isMigrated)
+        {
+            return;
+        }
+        
+        migrate(conn);
+        _isMigrated = true;
+        
+        for (IMigration migration : SchemaMigrations.getMigrations())
+        {
+            DatabaseWriter.getInstance().submit(new _BackfillTask(migration));
+        }
+    }
+    
+    //
+    // This method starts the checkpoint thread if it is not running yet.
+    //
+    private static synchronized void _startCheckpointer()
+    {
+        if (_checkpointer != null)
+        {
+            return;
+        }
+        
+        _checkpointer = new Thread(new Runnable()
+        {
+            public void run()
+            {
+                _runCheckpointer();
+            }
+        }, "DatabaseCheckpointer");
+        
+        _checkpointer.setDaemon(true);
+        _checkpointer.start();
+        
+        _registerGauges();
+    }
+    
+    //
+    // This method registers the checkpoint and word filter metrics with the metrics registry.
+    //
+    private static void _registerGauges()
+    {
+        Metrics.registerGauge("database.checkpoints", new IGauge()
+        {
+            public long getValue()
+            {
+                return getCheckpointCount();
+            }
+        });
+        
+        Metrics.registerGauge("database.busyCheckpoints", new IGauge()
+        {
+            public long getValue()
+            {
+                return getBusyCheckpointCount();
+            }
+        });
+        
+        Metrics.registerGauge("database.walFrames", new IGauge()
+        {
+            public long getValue()
+            {
+                return getWalFrameCount();
+            }
+        });
+        
+        Metrics.registerGauge("database.walFileSize", new IGauge()
+        {
+            public long getValue()
+            {
+                return getWalFileSize();
+            }
+        });
+        
+        Metrics.registerGauge("database.wordFilterHits", new IGauge()
+        {
+            public long getValue()
+            {
+                return _sumWordFilterCounts(true);
+            }
+        });
+        
+        Metrics.registerGauge("database.wordFilterMisses", new IGauge()
+        {
+            public long getValue()
+            {
+                return _sumWordFilterCounts(false);
+            }
+        });
+    }
+    
+    //
+    // This method sums the hit or miss counts of every loaded word filter.
+    //
+    private static long _sumWordFilterCounts(boolean isHitCount)
+    {
+        long sum = 0;
+        
+        for (BloomFilter[] wordFilters : _wordFilters.values())
+        {
+            for (BloomFilter wordFilter : wordFilters)
+            {
+                if (wordFilter != null)
+                {
+                    sum += isHitCount ? wordFilter.getHitCount() : wordFilter.getMissCount();
+                }
+            }
+        }
+        
+        return sum;
     }
     
     //
-    // This method gets the string name of the table of a given language.
+    // This method is the body of the checkpoint thread. It periodically copies the write-ahead log back into the database
+    // with passive checkpoints, which never wait on readers or the writer, so the log does not grow without bound.
     //
-    private String _getWordTableName(Language language) throws SQLException
+    private static void _runCheckpointer()
+    {
+        Connection conn = null;
+        
+        while (true)
+        {
+            try
+            {
+                Thread.sleep(_CHECKPOINT_INTERVAL_MS);
+                
+                if (conn == null)
+                {
+                    conn = createConnection();
+                }
+                
+                Statement stmt = conn.createStatement();
+                
+                try
+                {
+                    ResultSet rs = stmt.executeQuery("PRAGMA wal_checkpoint(PASSIVE)");
+                    
+                    if (rs.next())
+                    {
+                        if (rs.getInt(1) != 0)
+                        {
+                            _busyCheckpointCount.incrementAndGet();
+                        }
+                        
+                        _walFrameCount          = rs.getInt(2);
+                        _checkpointedFrameCount = rs.getInt(3);
+                    }
+                }
+                finally
+                {
+                    stmt.close(); // Closes its result set too
+                }
+                
+                _checkpointCount.incrementAndGet();
+            }
+            catch (InterruptedException ex)
+            {
+                closeQuietly(conn);
+                return;
+            }
+            catch (SQLException ex)
+            {
+                System.out.println("DatabaseManager._runCheckpointer >> Checkpoint failed: " + ex);
+                
+                closeQuietly(conn);
+                conn = null; // Reconnect on the next checkpoint
+            }
+        }
+    }
+    
+    //
+    // This method gets the weighted words of a given language, length and (possibly null) difficulty band, or null
+    // if there are none. The words and their alias sampler are cached until any weights change.
+    //
+    private _WeightedWords _getWeightedWords(Language language, int length, DifficultyBand band) throws SQLException
+    {
+        String         key           = language + ":" + length + ":" + band;
+        long           version       = _weightsVersion.get();
+        _WeightedWords weightedWords = _weightedWords.get(key);
+        
+        if (weightedWords != null && weightedWords.version == version)
+        {
+            return weightedWords;
+        }
+        
+        String            table   = getWordTableName(language);
+        String            weight  = _hasColumn(table, "Weight") ? "\"Weight\"" : "1.0";
+        String            query   = "SELECT \"Word\", " + weight + " FROM \"" + table + "\" WHERE LENGTH(\"Word\") = " + length;
+        ArrayList<String> words   = new ArrayList<String>();
+        ArrayList<Double> weights = new ArrayList<Double>();
+        double            total   = 0.0;
+        
+        if (band != null)
+        {
+            if (!_hasColumn(table, "Difficulty"))
+            {
+                return null;
+            }
+            
+            query += " AND \"Difficulty\" >= " + band.getMinimum() + " AND \"Difficulty\" " + (band == DifficultyBand.Hard ? "<= " : "< ") + band.getMaximum();
+        }
+        
+        try (Statement stmt = _wordConn.createStatement(); ResultSet rs = stmt.executeQuery(query))
+        {
+            while (rs.next())
+            {
+                words.add(rs.getString(1));
+                weights.add(Math.max(rs.getDouble(2), 0.0));
+                total += Math.max(rs.getDouble(2), 0.0);
+            }
+        }
+        
+        if (total <= 0.0)
+        {
+            return null;
+        }
+        
+        double[] weightArray = new double[weights.size()];
+        
+        for (int index = 0; index < weightArray.length; ++index)
+        {
+            weightArray[index] = weights.get(index);
+        }
+        
+        weightedWords = new _WeightedWords(words.toArray(new String[words.size()]), new AliasSampler(weightArray), version);
+        _weightedWords.put(key, weightedWords);
+        
+        return weightedWords;
+    }
+    
+    //
+    // This method determines if a given word table has a given column.
+    //
+    private boolean _hasColumn(String table, String column) throws SQLException
+    {
+        return hasColumn(_wordConn, table, column);
+    }
+    
+    //
+    // This method determines if the database of a connection has a given table.
+    //
+    public static boolean hasTable(Connection conn, String table) throws SQLException
+    {
+        PreparedStatement stmt     = conn.prepareStatement("SELECT COUNT(*) FROM \"sqlite_master\" WHERE \"type\" = 'table' AND \"name\" = ?");
+        boolean           hasTable = false;
+        
+        stmt.setString(1, table);
+        hasTable = stmt.executeQuery().getInt(1) != 0;
+        stmt.close();
+        
+        return hasTable;
+    }
+    
+    //
+    // This method determines if a given table of a connection has a given column.
+    //
+    public static boolean hasColumn(Connection conn, String table, String column) throws SQLException
+    {
+        boolean hasColumn = false;
+        
+        try (Statement stmt = conn.createStatement(); ResultSet rs = stmt.executeQuery("PRAGMA table_info(\"" + table + "\")"))
+        {
+            while (rs.next())
+            {
+                hasColumn |= rs.getString("name").equals(column);
+            }
+        }
+        
+        return hasColumn;
+    }
+    
+    //
+    // This method gets the string name of the word table of a given language.
+    //
+    public static String getWordTableName(Language language) throws SQLException
     {
         String name = null;
         
@@ -417,4 +1159,94 @@ public class DatabaseManager
     // Private members variables:
     //
     private Connection _conn;
+    private Connection _wordConn;
+    
+    public static final String USER_DATABASE_FILE_NAME = "Data.sqlite";
+    public static final String WORD_DATABASE_FILE_NAME = "Words.sqlite";
+    
+    private static final ConcurrentHashMap<Language, BloomFilter[]> _wordFilters = new ConcurrentHashMap<Language, BloomFilter[]>();
+    
+    private static volatile double _wordFilterFalsePositiveRate = Double.parseDouble(System.getProperty("wordem.wordFilterFalsePositiveRate", "0.01"));
+    
+    private static final ConcurrentHashMap<String, _WeightedWords> _weightedWords  = new ConcurrentHashMap<String, _WeightedWords>();
+    private static final AtomicLong                                _weightsVersion = new AtomicLong();
+    
+    private static boolean          _isMigrated             = false;
+    private static Thread           _checkpointer           = null;
+    private static final AtomicLong _checkpointCount        = new AtomicLong();
+    private static final AtomicLong _busyCheckpointCount    = new AtomicLong();
+    private static volatile int     _walFrameCount          = 0;
+    private static volatile int     _checkpointedFrameCount = 0;
+    
+    private static final int    _BUSY_TIMEOUT_MS        = 5000;
+    private static final long   _CACHE_SIZE_KIB         = Math.max(2048, Math.min(65536, Runtime.getRuntime().maxMemory() / 1024 / 64)); // 1/64 of the heap limit, 2 to 64 MiB
+    private static final long   _MMAP_SIZE              = Long.getLong("wordem.mmapSize", 256L * 1024 * 1024);
+    private static final long   _CHECKPOINT_INTERVAL_MS = Long.getLong("wordem.checkpointIntervalMillis", 10000);
+    private static final int    _BACKFILL_CHUNK_SIZE    = 500;
+    private static final int    _SQLITE_OPEN_READONLY   = 0x00000001;
+    private static final int    _SQLITE_OPEN_URI        = 0x00000040;
+    
+    private static final LatencyHistogram _GET_RANDOM_WORD_LATENCY   = Metrics.getHistogram("database.getRandomWord");
+    private static final LatencyHistogram _GET_WORDS_LATENCY         = Metrics.getHistogram("database.getWords");
+    private static final LatencyHistogram _IS_WORD_LATENCY           = Metrics.getHistogram("database.isWord");
+    private static final LatencyHistogram _LOAD_WORD_FILTERS_LATENCY = Metrics.getHistogram("database.loadWordFilters");
+    private static final LongAdder        _WORD_FILTER_REJECTIONS    = Metrics.getCounter("database.isWord.filterRejected");
+    
+    ///////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    //
+    // This nested class pairs a list of words with the alias sampler of their weights and the weights version it was built from.
+    //
+    private static class _WeightedWords
+    {
+        //
+        // Overloaded constructor.
+        //
+        public _WeightedWords(String[] words, AliasSampler sampler, long version)
+        {
+            this.words   = words;
+            this.sampler = sampler;
+            this.version = version;
+        }
+        
+        //
+        // Public member variables:
+        //
+        public final String[]     words;
+        public final AliasSampler sampler;
+        public final long         version;
+    }    
+    ///////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    //
+    // This nested class is a writer task that backfills one chunk of a migration and queues itself again until the
+    // migration has no rows left. Each chunk is a short transaction, so game writes are never held up for long.
+    // The next chunk is only queued once this one is committed, so a retried batch never starts a second chain.
+    //
+    private static class _BackfillTask implements IDatabaseTask
+    {
+        //
+        // Overloaded constructor.
+        //
+        public _BackfillTask(IMigration migration)
+        {
+            _migration = migration;
+        }
+        
+        public void execute(Connection conn) throws SQLException
+        {
+            DatabaseWriter writer = DatabaseWriter.getInstance();
+            
+            if (_migration.backfill(conn, _BACKFILL_CHUNK_SIZE) >= _BACKFILL_CHUNK_SIZE)
+            {
+                writer.runAfterCommit(new Runnable()
+                {
+                    public void run()
+                    {
+                        writer.submit(_BackfillTask.this);
+                    }
+                });
+            }
+        }
+        
+        private final IMigration _migration;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,103 @@
+//
+// DatabaseManagerPool.java
+//
+// This class is a fixed pool of connected database managers, for code serving many threads at once. A database manager
+// holds open connections and is not safe to share between threads, so threads borrow one, use it and release it, rather
+// than connecting for every query as the game panels do.
+//
+// The MIT License (MIT)
+// 
+// Copyright (c) 2022 WordEm Development Group.  All Rights Reserved.
+// 
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this
+// software and associated documentation files (the "Software"), to deal in the Software
+// without restriction, including without limitation the rights to use, copy, modify, merge,
+// publish, distribute, sub-license, and/or sell copies of the Software, and to permit persons
+// to whom the Software is furnished to do so, subject to the following conditions:
+// 
+// * The above copyright notice and this permission notice shall be included in all copies or
+// substantial portions of the Software.
+// 
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+// INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+// PURPOSE AND NONINFRINGEMENT.  IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE
+// FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR 
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+// DEALINGS IN THE SOFTWARE.
+//
+package wordem;
+
+import java.sql.SQLException;
+import java.util.concurrent.LinkedBlockingQueue;
+
+public class DatabaseManagerPool
+{
+    //
+    // Overloaded constructor. Connects a given number of database managers.
+    //
+    public DatabaseManagerPool(int size) throws SQLException
+    {
+        _databaseManagers = new LinkedBlockingQueue<DatabaseManager>();
+        _size             = size;
+        
+        for (int index = 0; index < size; ++index)
+        {
+            DatabaseManager databaseManager = new DatabaseManager();
+            
+            databaseManager.connect();
+            _databaseManagers.add(databaseManager);
+        }
+    }
+    
+    //
+    // This method takes a database manager from the pool, waiting for one if they are all in use. The caller must
+    // release it, in a finally block.
+    //
+    public DatabaseManager borrow() throws SQLException
+    {
+        try
+        {
+            return _databaseManagers.take();
+        }
+        catch (InterruptedException ex)
+        {
+            Thread.currentThread().interrupt();
+            throw new SQLException("DatabaseManagerPool.borrow >> Interrupted waiting for a database manager");
+        }
+    }
+    
+    //
+    // This method returns a borrowed database manager to the pool.
+    //
+    public void release(DatabaseManager databaseManager)
+    {
+        _databaseManagers.add(databaseManager);
+    }
+    
+    //
+    // This method gets the number of database managers in the pool.
+    //
+    public int getSize()
+    {
+        return _size;
+    }
+    
+    //
+    // This method disconnects the database managers in the pool. Borrowed ones are not waited for.
+    //
+    public void close() throws SQLException
+    {
+        DatabaseManager databaseManager;
+        
+        while ((databaseManager = _databaseManagers.poll()) != null)
+        {
+            databaseManager.disconnect();
+        }
+    }
+    
+    //
+    // Private member variables:
+    //
+    private final LinkedBlockingQueue<DatabaseManager> _databaseManagers;
+    private final int                                  _size;
+}
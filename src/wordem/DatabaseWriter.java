@@ -0,0 +1,363 @@
+//
+// DatabaseWriter.java
+//
+// This class is the background writer of the game database. Writes are submitted as tasks and executed in order
+// on a single daemon thread, which commits whatever has queued up in one transaction. Callers on the event
+// dispatch thread therefore never wait on the disk, and bursts of writes cost one commit instead of many.
+//
+// Callers that need to read their own writes call flush(), which waits until everything submitted so far has been
+// committed. Pending writes are flushed when the program exits.
+//
+// A task that has more work to do once its writes are in, such as submitting a follow-up task, registers it with
+// runAfterCommit(). A batch that fails is rolled back and retried task by task, so anything done during execute()
+// itself may happen more than once; work registered to run after the commit is dropped with a rolled-back attempt.
+//
+// The MIT License (MIT)
+// 
+// Copyright (c) 2022 WordEm Development Group.  All Rights Reserved.
+// 
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this
+// software and associated documentation files (the "Software"), to deal in the Software
+// without restriction, including without limitation the rights to use, copy, modify, merge,
+// publish, distribute, sub-license, and/or sell copies of the Software, and to permit persons
+// to whom the Software is furnished to do so, subject to the following conditions:
+// 
+// * The above copyright notice and this permission notice shall be included in all copies or
+// substantial portions of the Software.
+// 
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+// INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+// PURPOSE AND NONINFRINGEMENT.  IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE
+// FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR 
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+// DEALINGS IN THE SOFTWARE.
+//
+package wordem;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+public class DatabaseWriter
+{
+    //
+    // Default constructor. Starts the writer thread.
+    //
+    private DatabaseWriter()
+    {
+        _queue  = new LinkedBlockingQueue<IDatabaseTask>();
+        _thread = new Thread(new Runnable()
+        {
+            public void run()
+            {
+                _run();
+            }
+        }, "DatabaseWriter");
+        
+        _thread.setDaemon(true);
+        _thread.start();
+        
+        Runtime.getRuntime().addShutdownHook(new Thread(new Runnable()
+        {
+            public void run()
+            {
+                try
+                {
+                    flush(_SHUTDOWN_TIMEOUT_MS);
+                }
+                catch (InterruptedException ex)
+                {
+                    // Exiting regardless
+                }
+            }
+        }, "DatabaseWriter Shutdown"));
+        
+        Metrics.registerGauge("databaseWriter.queueLength", new IGauge()
+        {
+            public long getValue()
+            {
+                return getQueueLength();
+            }
+        });
+        
+        Metrics.registerGauge("databaseWriter.commits", new IGauge()
+        {
+            public long getValue()
+            {
+                return getCommitCount();
+            }
+        });
+    }
+    
+    //
+    // This method gets the shared writer, starting it on first use.
+    //
+    public static synchronized DatabaseWriter getInstance()
+    {
+        if (_instance == null)
+        {
+            _instance = new DatabaseWriter();
+        }
+        
+        return _instance;
+    }
+    
+    //
+    // This method queues a task to be executed and committed by the writer thread.
+    //
+    public void submit(IDatabaseTask task)
+    {
+        _queue.add(task);
+    }
+    
+    //
+    // This method waits until every task submitted before the call has been committed. Throws if any of them was not.
+    //
+    public void flush() throws InterruptedException, SQLException
+    {
+        if (!flush(Long.MAX_VALUE))
+        {
+            throw new SQLException("DatabaseWriter.flush >> Tasks submitted before the flush were not committed");
+        }
+    }
+    
+    //
+    // This method waits up to a given number of milliseconds until every task submitted before the call has been committed.
+    // Returns true if they were, and false if the time ran out or a write submitted since the previous flush was lost.
+    //
+    public boolean flush(long timeoutMillis) throws InterruptedException
+    {
+        _FlushTask flushTask = new _FlushTask();
+        
+        _queue.add(flushTask);
+        
+        return flushTask.latch.await(timeoutMillis, TimeUnit.MILLISECONDS) && !flushTask.isFailed;
+    }
+    
+    //
+    // This method registers an action to run once the transaction of the task being executed has been committed. It is
+    // dropped if the transaction is rolled back. It may only be called by a task's execute method, on the writer thread.
+    //
+    public void runAfterCommit(Runnable action)
+    {
+        if (Thread.currentThread() != _thread)
+        {
+            throw new IllegalStateException("DatabaseWriter.runAfterCommit >> Not called by a task on the writer thread");
+        }
+        
+        _afterCommitActions.add(action);
+    }
+    
+    //
+    // This method gets the number of transactions committed so far. It changes only after a commit, so it can serve
+    // as the version of anything read back from the database.
+    //
+    public long getCommitCount()
+    {
+        return _commitCount.get();
+    }
+    
+    //
+    // This method gets the number of tasks waiting to be executed.
+    //
+    public int getQueueLength()
+    {
+        return _queue.size();
+    }
+    
+    //
+    // This method is the body of the writer thread. It waits for a task, then executes it together with
+    // every task queued behind it (up to a limit) in a single transaction.
+    //
+    private void _run()
+    {
+        Connection               conn     = null;
+        ArrayList<IDatabaseTask> batch    = new ArrayList<IDatabaseTask>();
+        boolean                  isFailed = false;
+        
+        while (true)
+        {
+            try
+            {
+                batch.add(_queue.take());
+                _queue.drainTo(batch, _BATCH_LIMIT - 1);
+                
+                if (conn == null)
+                {
+                    conn = DatabaseManager.createConnection();
+                }
+                
+                if (!_executeBatch(conn, batch))
+                {
+                    isFailed = true;
+                }
+            }
+            catch (InterruptedException ex)
+            {
+                return;
+            }
+            catch (SQLException ex)
+            {
+                System.out.println("DatabaseWriter._run >> Batch of " + batch.size() + " tasks not committed: " + ex);
+                _DROPPED_WRITES.add(batch.size());
+                isFailed = true;
+                
+                DatabaseManager.closeQuietly(conn);
+                conn = null; // Reconnect on the next batch
+            }
+            finally
+            {
+                //
+                // A lost write is reported to the next flush, which may be in a later batch if its own held none:
+                //
+                boolean isReported = false;
+                
+                for (IDatabaseTask task : batch)
+                {
+                    if (task instanceof _FlushTask)
+                    {
+                        ((_FlushTask)task).isFailed = isFailed;
+                        ((_FlushTask)task).latch.countDown();
+                        isReported = true;
+                    }
+                }
+                
+                if (isReported)
+                {
+                    isFailed = false;
+                }
+                
+                batch.clear();
+            }
+        }
+    }
+    
+    //
+    // This method executes a batch of tasks in one transaction. If the batch fails, it is rolled back and each task
+    // is retried in a transaction of its own, so one bad task does not lose the writes around it.
+    // Returns false if any task was dropped.
+    //
+    private boolean _executeBatch(Connection conn, ArrayList<IDatabaseTask> batch) throws SQLException
+    {
+        long    startNanos = System.nanoTime();
+        boolean isWriter   = false;
+        
+        for (IDatabaseTask task : batch)
+        {
+            isWriter = isWriter || !(task instanceof _FlushTask);
+        }
+        
+        if (!isWriter)
+        {
+            return true; // Only flushes, so there is nothing to commit
+        }
+        
+        try (Statement stmt = conn.createStatement())
+        {
+            try
+            {
+                _afterCommitActions.clear();
+                
+                stmt.execute("BEGIN TRANSACTION;");
+                
+                for (IDatabaseTask task : batch)
+                {
+                    task.execute(conn);
+                }
+                
+                stmt.execute("COMMIT TRANSACTION;");
+                _commitCount.incrementAndGet();
+                _BATCH_LATENCY.recordSince(startNanos);
+                _runAfterCommitActions();
+                
+                return true;
+            }
+            catch (Exception ex)
+            {
+                _afterCommitActions.clear();
+                
+                stmt.execute("ROLLBACK TRANSACTION;");
+                
+                if (batch.size() == 1)
+                {
+                    System.out.println("DatabaseWriter._executeBatch >> Dropping failed write: " + ex);
+                    _DROPPED_WRITES.increment();
+                    return false;
+                }
+            }
+        }
+        
+        boolean isCommitted = true;
+        
+        for (IDatabaseTask task : batch)
+        {
+            ArrayList<IDatabaseTask> single = new ArrayList<IDatabaseTask>();
+            
+            single.add(task);
+            isCommitted = _executeBatch(conn, single) && isCommitted;
+        }
+        
+        return isCommitted;
+    }
+    
+    //
+    // This method runs the actions registered by the tasks of a committed transaction. A failing action is reported
+    // rather than thrown, since the transaction can no longer be rolled back.
+    //
+    private void _runAfterCommitActions()
+    {
+        ArrayList<Runnable> actions = new ArrayList<Runnable>(_afterCommitActions);
+        
+        _afterCommitActions.clear();
+        
+        for (Runnable action : actions)
+        {
+            try
+            {
+                action.run();
+            }
+            catch (RuntimeException ex)
+            {
+                System.out.println("DatabaseWriter._runAfterCommitActions >> Action after commit failed: " + ex);
+            }
+        }
+    }
+    
+    //
+    // Private member variables:
+    //
+    private final LinkedBlockingQueue<IDatabaseTask> _queue;
+    private final Thread                             _thread;
+    private final AtomicLong                         _commitCount        = new AtomicLong();
+    private final ArrayList<Runnable>                _afterCommitActions = new ArrayList<Runnable>(); // Only touched on the writer thread
+    
+    private static DatabaseWriter _instance = null;
+    
+    private static final int  _BATCH_LIMIT         = 256;
+    private static final long _SHUTDOWN_TIMEOUT_MS = 2000;
+    
+    private static final LatencyHistogram _BATCH_LATENCY  = Metrics.getHistogram("databaseWriter.batch");
+    private static final LongAdder        _DROPPED_WRITES = Metrics.getCounter("databaseWriter.droppedWrites");
+    
+    ///////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    //
+    // This nested class is a task that writes nothing. Its latch is released once the batch it belongs to is done,
+    // and it is marked failed if a write submitted since the previous flush was lost.
+    //
+    private static class _FlushTask implements IDatabaseTask
+    {
+        public void execute(Connection conn)
+        {
+            // Nothing to write
+        }
+        
+        public final CountDownLatch latch    = new CountDownLatch(1);
+        public boolean              isFailed = false; // Set before the latch is released
+    }
+}
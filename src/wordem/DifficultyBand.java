@@ -0,0 +1,65 @@
+//
+// DifficultyBand.java
+//
+// This enum defines bands of hidden-word difficulty. Difficulty ratings are percentile ranks between 0 and 1
+// within a word's language and length, as computed by the DifficultyRater, so each band holds about a third of the words.
+//
+// The MIT License (MIT)
+// 
+// Copyright (c) 2022 WordEm Development Group.  All Rights Reserved.
+// 
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this
+// software and associated documentation files (the "Software"), to deal in the Software
+// without restriction, including without limitation the rights to use, copy, modify, merge,
+// publish, distribute, sub-license, and/or sell copies of the Software, and to permit persons
+// to whom the Software is furnished to do so, subject to the following conditions:
+// 
+// * The above copyright notice and this permission notice shall be included in all copies or
+// substantial portions of the Software.
+// 
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+// INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+// PURPOSE AND NONINFRINGEMENT.  IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE
+// FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR 
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+// DEALINGS IN THE SOFTWARE.
+//
+package wordem;
+
+public enum DifficultyBand
+{
+    Easy(0.0, 1.0 / 3.0),
+    Medium(1.0 / 3.0, 2.0 / 3.0),
+    Hard(2.0 / 3.0, 1.0);
+    
+    //
+    // Overloaded constructor. Constructs with the range of ratings in the band.
+    //
+    private DifficultyBand(double minimum, double maximum)
+    {
+        _minimum = minimum;
+        _maximum = maximum;
+    }
+    
+    //
+    // This method gets the lowest rating in the band (inclusive).
+    //
+    public double getMinimum()
+    {
+        return _minimum;
+    }
+    
+    //
+    // This method gets the highest rating in the band (exclusive, except for the hardest band).
+    //
+    public double getMaximum()
+    {
+        return _maximum;
+    }
+    
+    //
+    // Private member variables:
+    //
+    private final double _minimum;
+    private final double _maximum;
+}
@@ -0,0 +1,442 @@
+//
+// DifficultyRater.java
+//
+// This class is the entry point of the offline difficulty rating job. It rates every word of each game mode's
+// length in each language and stores the rating in the "Difficulty" column of the word tables, where hidden-word
+// selection can filter on it by difficulty band.
+//
+// A word's rating combines three measures, each ranked within its language and length:
+//     - the number of guesses the reference solver needs to find it (half of the rating),
+//     - the number of neighbors, words sharing all but one letter position with it (three tenths),
+//     - the rarity of its letters within the word length (one fifth).
+// The neighbor counts come from a pass over the feedback matrix (every word scored against every other word),
+// which is split across processors with a fork-join pool. The combined score is ranked again so ratings are
+// spread evenly between 0 (easiest) and 1 (hardest).
+//
+// The job is incremental: a checksum of each word list is stored, and lists that have not changed since the
+// last run are skipped. Within a changed list only ratings that differ are written. Pass "--full" to rate every list.
+//
+// The MIT License (MIT)
+// 
+// Copyright (c) 2022 WordEm Development Group.  All Rights Reserved.
+// 
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this
+// software and associated documentation files (the "Software"), to deal in the Software
+// without restriction, including without limitation the rights to use, copy, modify, merge,
+// publish, distribute, sub-license, and/or sell copies of the Software, and to permit persons
+// to whom the Software is furnished to do so, subject to the following conditions:
+// 
+// * The above copyright notice and this permission notice shall be included in all copies or
+// substantial portions of the Software.
+// 
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+// INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+// PURPOSE AND NONINFRINGEMENT.  IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE
+// FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR 
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+// DEALINGS IN THE SOFTWARE.
+//
+package wordem;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+public class DifficultyRater
+{
+    //
+    // Program entry point.
+    //
+    public static void main(String[] args)
+    {
+        try
+        {
+            boolean    isFullRun = Arrays.asList(args).contains("--full");
+            Connection conn      = DatabaseManager.createWritableWordConnection();
+            
+            System.out.println("Starting Rating");
+            
+            try
+            {
+                rateWords(conn, isFullRun);
+            }
+            finally
+            {
+                conn.close();
+            }
+            
+            System.out.println("Finished Rating");
+        }
+        catch (Exception ex)
+        {
+            System.out.println(ex);
+            ex.printStackTrace();
+        }
+    }
+    
+    //
+    // This method rates the words of every language and game mode in the word database of a given connection.
+    // Word lists unchanged since the last run are skipped, unless it is a full run.
+    //
+    public static synchronized void rateWords(Connection conn, boolean isFullRun) throws SQLException
+    {
+        _conn = conn;
+        _pool = new ForkJoinPool();
+        
+        try
+        {
+            for (Language language : Language.values())
+            {
+                for (GameMode gameMode : GameMode.values())
+                {
+                    _rateWords(language, gameMode, isFullRun);
+                }
+            }
+        }
+        finally
+        {
+            _pool.shutdown();
+            
+            _conn = null;
+            _pool = null;
+        }
+    }
+    
+    //
+    // This method rates the words of a given language and game mode, unless they are unchanged since the last run.
+    //
+    private static void _rateWords(Language language, GameMode gameMode, boolean isFullRun) throws SQLException
+    {
+        String                           table     = DatabaseManager.getWordTableName(language);
+        int                              length    = gameMode.getWordSize();
+        HashMap<String, ArrayList<Long>> rowIds    = new HashMap<String, ArrayList<Long>>();
+        HashMap<String, Double>          ratings   = new HashMap<String, Double>();
+        boolean                          isUnrated = false;
+        
+        try (Statement stmt = _conn.createStatement())
+        {
+            ResultSet rs = stmt.executeQuery("SELECT rowid, \"Word\", \"Difficulty\" FROM \"" + table + "\" WHERE LENGTH(\"Word\") = " + length);
+            
+            while (rs.next())
+            {
+                long   rowId  = rs.getLong(1);
+                String word   = rs.getString("Word");
+                double rating = rs.getDouble("Difficulty");
+                
+                if (rs.wasNull())
+                {
+                    isUnrated = true;
+                    ratings.put(word, null); // Duplicate rows of a word are all rewritten if any is unrated
+                }
+                else if (!ratings.containsKey(word))
+                {
+                    ratings.put(word, rating);
+                }
+                
+                rowIds.putIfAbsent(word, new ArrayList<Long>());
+                rowIds.get(word).add(rowId);
+            }
+            
+            String[] words    = rowIds.keySet().toArray(new String[rowIds.size()]);
+            long     checksum = 0;
+            
+            Arrays.sort(words);
+            
+            for (String word : words)
+            {
+                checksum = (checksum ^ word.hashCode()) * 0x100000001B3L;
+            }
+            
+            rs = stmt.executeQuery("SELECT \"Checksum\" FROM \"Difficulty_Checksums\" WHERE \"WordTable\" = '" + table + "' AND \"Length\" = " + length);
+            
+            if (words.length == 0 || (!isFullRun && !isUnrated && rs.next() && rs.getLong(1) == checksum))
+            {
+                System.out.println(language + " " + gameMode + ": unchanged, skipped");
+                return;
+            }
+            
+            //
+            // Measure every word in parallel, then rank and combine the measures:
+            //
+            long        startTime = System.nanoTime();
+            _RatingTask task      = new _RatingTask(language, gameMode, words, 0, words.length);
+            
+            _pool.invoke(task);
+            
+            double[] guessRanks    = _rank(task.guessCounts);
+            double[] neighborRanks = _rank(task.neighborCounts);
+            double[] rarityRanks   = _rank(_getLetterRarities(words));
+            double[] scores        = new double[words.length];
+            
+            for (int wordIndex = 0; wordIndex < words.length; ++wordIndex)
+            {
+                scores[wordIndex] = 0.5 * guessRanks[wordIndex] + 0.3 * neighborRanks[wordIndex] + 0.2 * rarityRanks[wordIndex];
+            }
+            
+            double[] newRatings = _rank(scores);
+            
+            //
+            // Write only the ratings that changed, all or none:
+            //
+            int     changedCount = 0;
+            boolean isCommitted  = false;
+            
+            stmt.execute("BEGIN TRANSACTION;");
+            
+            try (PreparedStatement pstmt = _conn.prepareStatement("UPDATE \"" + table + "\" SET \"Difficulty\" = ? WHERE rowid = ?"))
+            {
+                for (int wordIndex = 0; wordIndex < words.length; ++wordIndex)
+                {
+                    Double oldRating = ratings.get(words[wordIndex]);
+                    
+                    if (oldRating == null || Math.abs(oldRating - newRatings[wordIndex]) > 1e-9)
+                    {
+                        for (long rowId : rowIds.get(words[wordIndex]))
+                        {
+                            pstmt.setDouble(1, newRatings[wordIndex]);
+                            pstmt.setLong(2, rowId);
+                            pstmt.addBatch();
+                        }
+                        
+                        ++changedCount;
+                    }
+                }
+                
+                pstmt.executeBatch();
+                stmt.execute("INSERT OR REPLACE INTO \"Difficulty_Checksums\" (\"WordTable\", \"Length\", \"Checksum\") VALUES ('" + table + "', " + length + ", " + checksum + ")");
+                stmt.execute("COMMIT TRANSACTION;");
+                
+                isCommitted = true;
+            }
+            finally
+            {
+                if (!isCommitted)
+                {
+                    stmt.execute("ROLLBACK TRANSACTION;"); // Leaves the ratings as they were, to be rated again by the next run
+                }
+            }
+            
+            System.out.println(language + " " + gameMode + ": rated " + words.length + " words, " + changedCount + " changed, in "
+                             + (System.nanoTime() - startTime) / 1000000 + " ms");
+        }
+    }
+    
+    //
+    // This method gets the rarity of each word's letters: the mean of -log2 of each letter's frequency among all the words.
+    //
+    private static double[] _getLetterRarities(String[] words)
+    {
+        HashMap<Character, Integer> letterCounts = new HashMap<Character, Integer>();
+        double[]                    rarities     = new double[words.length];
+        int                         totalCount   = 0;
+        
+        for (String word : words)
+        {
+            for (int letterIndex = 0; letterIndex < word.length(); ++letterIndex)
+            {
+                Integer count = letterCounts.get(word.charAt(letterIndex));
+                
+                letterCounts.put(word.charAt(letterIndex), count == null ? 1 : count + 1);
+                ++totalCount;
+            }
+        }
+        
+        for (int wordIndex = 0; wordIndex < words.length; ++wordIndex)
+        {
+            String word = words[wordIndex];
+            
+            for (int letterIndex = 0; letterIndex < word.length(); ++letterIndex)
+            {
+                rarities[wordIndex] -= Math.log((double)letterCounts.get(word.charAt(letterIndex)) / totalCount) / Math.log(2);
+            }
+            
+            rarities[wordIndex] /= word.length();
+        }
+        
+        return rarities;
+    }
+    
+    //
+    // This method converts values to percentile ranks between 0 and 1. Equal values share their average rank.
+    //
+    private static double[] _rank(double[] values)
+    {
+        Integer[] order = new Integer[values.length];
+        double[]  ranks = new double[values.length];
+        
+        for (int index = 0; index < order.length; ++index)
+        {
+            order[index] = index;
+        }
+        
+        Arrays.sort(order, new Comparator<Integer>()
+        {
+            public int compare(Integer first, Integer second)
+            {
+                return Double.compare(values[first], values[second]);
+            }
+        });
+        
+        for (int start = 0; start < order.length; )
+        {
+            int end = start;
+            
+            while (end + 1 < order.length && values[order[end + 1]] == values[order[start]])
+            {
+                ++end;
+            }
+            
+            double rank = order.length == 1 ? 0.0 : (start + end) / 2.0 / (order.length - 1);
+            
+            for (int index = start; index <= end; ++index)
+            {
+                ranks[order[index]] = rank;
+            }
+            
+            start = end + 1;
+        }
+        
+        return ranks;
+    }
+    
+    //
+    // Private member variables:
+    //
+    private static Connection   _conn;
+    private static ForkJoinPool _pool;
+    
+    ///////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    //
+    // This nested class measures a range of words: the guesses the reference solver needs for each, and each word's
+    // row of the feedback matrix, from which its neighbors are counted. Large ranges are split in half and measured in parallel.
+    //
+    private static class _RatingTask extends RecursiveAction
+    {
+        //
+        // Overloaded constructor. Constructs a task for the whole word array; subtasks share its result arrays.
+        //
+        public _RatingTask(Language language, GameMode gameMode, String[] words, int start, int end)
+        {
+            this(language, gameMode, words, start, end, new double[words.length], new double[words.length]);
+        }
+        
+        //
+        // Overloaded constructor. Constructs a task for a range of words that writes into shared result arrays.
+        //
+        private _RatingTask(Language language, GameMode gameMode, String[] words, int start, int end, double[] guessCounts, double[] neighborCounts)
+        {
+            this.guessCounts    = guessCounts;
+            this.neighborCounts = neighborCounts;
+            _language           = language;
+            _gameMode           = gameMode;
+            _words              = words;
+            _start              = start;
+            _end                = end;
+        }
+        
+        //
+        // This method measures the range, splitting it first if it is large.
+        //
+        @Override
+        protected void compute()
+        {
+            if (_end - _start > _SPLIT_THRESHOLD)
+            {
+                int middle = (_start + _end) >>> 1;
+                
+                invokeAll(new _RatingTask(_language, _gameMode, _words, _start, middle, guessCounts, neighborCounts),
+                          new _RatingTask(_language, _gameMode, _words, middle, _end, guessCounts, neighborCounts));
+                return;
+            }
+            
+            try
+            {
+                ISolverStrategy strategy      = new CandidateSolverStrategy();
+                int             length        = _gameMode.getWordSize();
+                int             solvedPattern = Feedback.getSolvedPattern(length);
+                
+                for (int hiddenIndex = _start; hiddenIndex < _end; ++hiddenIndex)
+                {
+                    String hiddenWord = _words[hiddenIndex];
+                    
+                    //
+                    // Feedback matrix row: a neighbor scores exactly one non-green tile against the hidden word.
+                    //
+                    for (String guessedWord : _words)
+                    {
+                        int pattern    = Feedback.score(guessedWord, hiddenWord);
+                        int greenCount = 0;
+                        
+                        for (int letterIndex = 0; letterIndex < length; ++letterIndex)
+                        {
+                            if (Feedback.getTile(pattern, letterIndex) == Feedback.GREEN)
+                            {
+                                ++greenCount;
+                            }
+                        }
+                        
+                        if (greenCount == length - 1)
+                        {
+                            ++neighborCounts[hiddenIndex];
+                        }
+                    }
+                    
+                    //
+                    // Reference solver: games it loses count as one guess over the limit.
+                    //
+                    int guessCount = 0;
+                    int pattern    = -1;
+                    
+                    strategy.reset(_language, _gameMode);
+                    
+                    while (pattern != solvedPattern && guessCount <= _gameMode.getGuessLimit())
+                    {
+                        String guessedWord = strategy.nextGuess();
+                        
+                        if (guessedWord == null)
+                        {
+                            guessCount = _gameMode.getGuessLimit() + 1;
+                            break;
+                        }
+                        
+                        pattern = Feedback.score(guessedWord, hiddenWord);
+                        strategy.update(guessedWord, pattern);
+                        ++guessCount;
+                    }
+                    
+                    guessCounts[hiddenIndex] = Math.min(guessCount, _gameMode.getGuessLimit() + 1);
+                }
+            }
+            catch (Exception ex)
+            {
+                throw new RuntimeException(ex);
+            }
+        }
+        
+        //
+        // Public member variables:
+        //
+        public final double[] guessCounts;
+        public final double[] neighborCounts;
+        
+        //
+        // Private member variables:
+        //
+        private final Language _language;
+        private final GameMode _gameMode;
+        private final String[] _words;
+        private final int      _start;
+        private final int      _end;
+        
+        private static final int  _SPLIT_THRESHOLD = 32;
+        private static final long serialVersionUID = 1L;
+    }
+}
@@ -0,0 +1,282 @@
+//
+// EdtWatchdog.java
+//
+// This class watches the event dispatch thread for stalls. A watchdog thread posts a heartbeat to the event queue
+// and measures how long it waits to be dispatched. If a heartbeat waits longer than the stall threshold, the stack of the
+// event dispatch thread is captured while it is still stuck, showing what is blocking the interface.
+//
+// Dispatch delays and stall durations are recorded in the metrics registry. A report of the stalls, grouped by the
+// game code they were stuck in, is written on exit. Set "wordem.edtWatchdog" to false to turn the watchdog off.
+//
+// The MIT License (MIT)
+// 
+// Copyright (c) 2022 WordEm Development Group.  All Rights Reserved.
+// 
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this
+// software and associated documentation files (the "Software"), to deal in the Software
+// without restriction, including without limitation the rights to use, copy, modify, merge,
+// publish, distribute, sub-license, and/or sell copies of the Software, and to permit persons
+// to whom the Software is furnished to do so, subject to the following conditions:
+// 
+// * The above copyright notice and this permission notice shall be included in all copies or
+// substantial portions of the Software.
+// 
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+// INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+// PURPOSE AND NONINFRINGEMENT.  IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE
+// FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR 
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+// DEALINGS IN THE SOFTWARE.
+//
+package wordem;
+
+import java.awt.EventQueue;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.SimpleDateFormat;
+import java.util.ArrayDeque;
+import java.util.Date;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAdder;
+
+public abstract class EdtWatchdog
+{
+    //
+    // This method starts the watchdog, unless it is already running or turned off. The report is written on exit.
+    //
+    public static synchronized void start()
+    {
+        if (_watchdog != null || !_IS_ENABLED)
+        {
+            return;
+        }
+        
+        _watchdog = new Thread(new Runnable()
+        {
+            public void run()
+            {
+                _runWatchdog();
+            }
+        }, "EdtWatchdog");
+        
+        _watchdog.setDaemon(true);
+        _watchdog.start();
+        
+        Runtime.getRuntime().addShutdownHook(new Thread(new Runnable()
+        {
+            public void run()
+            {
+                try
+                {
+                    writeReport(Paths.get(_REPORT_FILE_NAME));
+                }
+                catch (IOException ex)
+                {
+                    System.out.println("EdtWatchdog.start >> Report not written: " + ex);
+                }
+            }
+        }, "EdtWatchdog Shutdown"));
+    }
+    
+    //
+    // This method writes a report of the dispatch delays and the stalls seen so far to a given file, replacing it.
+    //
+    public static void writeReport(Path path) throws IOException
+    {
+        MetricsSnapshot       snapshot     = Metrics.getSnapshot();
+        SimpleDateFormat      format       = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+        TreeMap<String, Long> stallsByCode = new TreeMap<String, Long>();
+        _Stall[]              stalls       = null;
+        
+        synchronized (_recentStalls)
+        {
+            stalls = _recentStalls.toArray(new _Stall[_recentStalls.size()]);
+            stallsByCode.putAll(_stallsByCode);
+        }
+        
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(path, StandardCharsets.UTF_8)))
+        {
+            writer.println("# WordEm event dispatch thread report at " + format.format(new Date(snapshot.getTime())));
+            writer.println();
+            writer.println(_formatHistogram(snapshot, _DISPATCH_DELAY.getName(), "Heartbeats"));
+            writer.println(_formatHistogram(snapshot, _STALL_DURATION.getName(), "Stalls over " + _STALL_THRESHOLD_MS + "ms"));
+            writer.println();
+            writer.println("Stalls by the game code they were stuck in:");
+            
+            for (Map.Entry<String, Long> entry : stallsByCode.entrySet())
+            {
+                writer.println(String.format("%8d  %s", entry.getValue(), entry.getKey()));
+            }
+            
+            writer.println();
+            writer.println("Most recent stalls:");
+            
+            for (_Stall stall : stalls)
+            {
+                writer.println();
+                writer.println("Stalled for " + Metrics.formatNanos(stall.durationNanos) + " at " + format.format(new Date(stall.time)));
+                
+                for (StackTraceElement frame : stall.stackTrace)
+                {
+                    writer.println("    at " + frame);
+                }
+            }
+        }
+    }
+    
+    //
+    // This method is the body of the watchdog thread. It posts a heartbeat whenever none is waiting, and captures
+    // the stack of the event dispatch thread once per heartbeat that has waited past the threshold.
+    //
+    private static void _runWatchdog()
+    {
+        while (true)
+        {
+            try
+            {
+                Thread.sleep(_POLL_INTERVAL_MS);
+            }
+            catch (InterruptedException ex)
+            {
+                return;
+            }
+            
+            long nowNanos = System.nanoTime();
+            
+            if (!_isPending)
+            {
+                _postedNanos = nowNanos;
+                _isPending   = true;
+                
+                EventQueue.invokeLater(_HEARTBEAT);
+            }
+            else if (_stalledPostedNanos != _postedNanos && nowNanos - _postedNanos > _STALL_THRESHOLD_MS * 1000000 && _edtThread != null)
+            {
+                _stallStackTrace    = _edtThread.getStackTrace();
+                _stalledPostedNanos = _postedNanos;
+            }
+        }
+    }
+    
+    //
+    // This method runs on the event dispatch thread when a heartbeat is dispatched.
+    //
+    private static void _beat()
+    {
+        long delayNanos = System.nanoTime() - _postedNanos;
+        
+        _edtThread = Thread.currentThread();
+        _DISPATCH_DELAY.record(delayNanos);
+        
+        if (_stalledPostedNanos == _postedNanos && _stallStackTrace != null)
+        {
+            _STALL_DURATION.record(delayNanos);
+            _STALL_COUNT.increment();
+            _addStall(new _Stall(System.currentTimeMillis(), delayNanos, _stallStackTrace));
+            
+            _stallStackTrace = null;
+        }
+        
+        _isPending = false;
+    }
+    
+    //
+    // This method adds a stall to the recent stalls, dropping the oldest beyond the limit, and counts it under
+    // the innermost frame of game code on the stack.
+    //
+    private static void _addStall(_Stall stall)
+    {
+        String code = "(no game code on the stack)";
+        
+        for (StackTraceElement frame : stall.stackTrace)
+        {
+            if (frame.getClassName().startsWith(_GAME_PACKAGE_PREFIX))
+            {
+                code = frame.getClassName() + "." + frame.getMethodName() + "(" + frame.getFileName() + ":" + frame.getLineNumber() + ")";
+                break;
+            }
+        }
+        
+        synchronized (_recentStalls)
+        {
+            Long count = _stallsByCode.get(code);
+            
+            _stallsByCode.put(code, count == null ? 1 : count + 1);
+            _recentStalls.addLast(stall);
+            
+            if (_recentStalls.size() > _MAX_RECENT_STALLS)
+            {
+                _recentStalls.removeFirst();
+            }
+        }
+    }
+    
+    //
+    // This method formats the count and percentiles of a histogram in a snapshot as a line of the report.
+    //
+    private static String _formatHistogram(MetricsSnapshot snapshot, String name, String title)
+    {
+        return String.format("%s: %d, p50 %s, p99 %s, max %s", title, snapshot.getCount(name),
+                             Metrics.formatNanos(snapshot.getPercentile(name, 50)),
+                             Metrics.formatNanos(snapshot.getPercentile(name, 99)),
+                             Metrics.formatNanos(snapshot.getMax(name)));
+    }
+    
+    //
+    // Private member variables:
+    //
+    private static Thread                       _watchdog           = null;
+    private static volatile Thread              _edtThread          = null;
+    private static volatile boolean             _isPending          = false;
+    private static volatile long                _postedNanos        = 0;
+    private static volatile long                _stalledPostedNanos = 0;
+    private static volatile StackTraceElement[] _stallStackTrace    = null;
+    
+    private static final ArrayDeque<_Stall>    _recentStalls = new ArrayDeque<_Stall>();
+    private static final TreeMap<String, Long> _stallsByCode = new TreeMap<String, Long>();
+    
+    private static final Runnable _HEARTBEAT = new Runnable()
+    {
+        public void run()
+        {
+            _beat();
+        }
+    };
+    
+    private static final LatencyHistogram _DISPATCH_DELAY = Metrics.getHistogram("edt.dispatchDelay");
+    private static final LatencyHistogram _STALL_DURATION = Metrics.getHistogram("edt.stall");
+    private static final LongAdder        _STALL_COUNT    = Metrics.getCounter("edt.stalls");
+    
+    private static final boolean _IS_ENABLED          = Boolean.parseBoolean(System.getProperty("wordem.edtWatchdog", "true"));
+    private static final long    _POLL_INTERVAL_MS    = Long.getLong("wordem.edtPollIntervalMillis", 50);
+    private static final long    _STALL_THRESHOLD_MS  = Long.getLong("wordem.edtStallThresholdMillis", 200);
+    private static final String  _REPORT_FILE_NAME    = System.getProperty("wordem.edtReportFile", "EdtReport.txt");
+    private static final String  _GAME_PACKAGE_PREFIX = "wordem.";
+    private static final int     _MAX_RECENT_STALLS   = 20;
+    
+    ///////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    //
+    // This nested class is a stall of the event dispatch thread: when it ended, how long it lasted, and where the thread was stuck.
+    //
+    private static class _Stall
+    {
+        //
+        // Overloaded constructor.
+        //
+        public _Stall(long time, long durationNanos, StackTraceElement[] stackTrace)
+        {
+            this.time          = time;
+            this.durationNanos = durationNanos;
+            this.stackTrace    = stackTrace;
+        }
+        
+        public final long                time;
+        public final long                durationNanos;
+        public final StackTraceElement[] stackTrace;
+    }
+}
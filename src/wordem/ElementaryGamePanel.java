@@ -33,6 +33,7 @@ import javax.swing.text.DefaultEditorKit;
 import java.awt.*;
 import java.awt.event.*;
 import java.sql.SQLException;
+import java.time.LocalDate;
 
 public class ElementaryGamePanel extends JPanel implements IGamePanel, ActionListener, KeyListener
 {
@@ -70,9 +71,21 @@ public class ElementaryGamePanel extends JPanel implements IGamePanel, ActionLis
         _initializeWordTextField();
         
         _databaseManager.connect();
-        _hiddenWord = _databaseManager.getRandomWord(_mainFrame.getLanguage(), _WORD_SIZE);        
+        
+        if (_mainFrame.isDailyPuzzle())
+        {
+            _hiddenWord = DailyPuzzle.getWord(_mainFrame.getLanguage(), _GAME_MODE, LocalDate.now());
+        }
+        else
+        {
+            _hiddenWord = _databaseManager.getRandomWord(_mainFrame.getLanguage(), _WORD_SIZE);
+        }
+        
+        _databaseManager.loadWordFilters(_mainFrame.getLanguage());
         _databaseManager.disconnect();
         
+        _gameRecord = new GameRecord(_GAME_MODE, _mainFrame.getLanguage(), _hiddenWord, _mainFrame.isDailyPuzzle());
+        
         _hiddenWordLabel.setText(_hiddenWord);
         _hiddenWordLabel.setVisible(false);
         _gameIsRunning      = true;
@@ -103,6 +116,11 @@ public class ElementaryGamePanel extends JPanel implements IGamePanel, ActionLis
     //
     public void quit()
     {
+        if (_gameRecord != null)
+        {
+            _recordGame(GameResult.Quit);
+        }
+        
         _wordTextField = null;
         _gameIsRunning = false;
     }
@@ -185,6 +203,7 @@ public class ElementaryGamePanel extends JPanel implements IGamePanel, ActionLis
     //
     public void keyTyped(KeyEvent event)
     {
+        long     startNanos   = System.nanoTime();
         KeyEvent eventForward = null;
         char     keyChar      = event.getKeyChar();
         String   keyCharStr   = "" + keyChar;
@@ -226,6 +245,8 @@ public class ElementaryGamePanel extends JPanel implements IGamePanel, ActionLis
             ex.printStackTrace();
         }
         
+        _KEY_TYPED_LATENCY.recordSince(startNanos);
+        
         //
         // If a key event was created, pass it to every handler of this panel:
         //
@@ -261,10 +282,10 @@ public class ElementaryGamePanel extends JPanel implements IGamePanel, ActionLis
         _wordTextField      = null;
         _databaseManager    = new DatabaseManager();
         _hiddenWord         = "";
+        _gameRecord         = null;
         _actionListeners    = new ActionListener[0];
         _keyListeners       = new KeyListener[0];
-        _toolkit            = Toolkit.getDefaultToolkit();
-        _backgroundImage    = _toolkit.getImage("art/Game Panel Background.png");
+        _backgroundImage    = ImageLoader.loadImage("art/Game Panel Background.png");
         _currentWordIndex   = 0;
         _currentLetterIndex = 0;
         _gameIsRunning      = false;
@@ -357,15 +378,19 @@ public class ElementaryGamePanel extends JPanel implements IGamePanel, ActionLis
         {
             if (_gameIsRunning && _currentWordIndex < _GUESS_LIMIT && _currentLetterIndex == _WORD_SIZE)
             {
-                _databaseManager.connect();
-                String  guessedWord = _wordTextField.extractWord(_currentWordIndex);        
-                boolean isWord      = _databaseManager.isWord(guessedWord, _mainFrame.getLanguage());
+                _databaseManager.connectWords();
+                String     guessedWord = _wordTextField.extractWord(_currentWordIndex);        
+                GuessEvent guessEvent  = new GuessEvent(_GAME_MODE, _mainFrame.getLanguage(), guessedWord);
+                boolean    isWord      = _databaseManager.isWord(guessedWord, _mainFrame.getLanguage());
                 _databaseManager.disconnect();
                 
                 if (isWord)
                 {
                     boolean isCorrectWord = _handleGuessedWord(guessedWord);                    
                     
+                    guessEvent.setOutcome(true, _gameRecord.getPattern(_gameRecord.getGuessCount() - 1));
+                    guessEvent.commit();
+                    
                     if (isCorrectWord || _currentWordIndex == _GUESS_LIMIT - 1)
                     {
                         _endGame(isCorrectWord);
@@ -378,7 +403,8 @@ public class ElementaryGamePanel extends JPanel implements IGamePanel, ActionLis
                 }
                 else
                 {
-                    _notAWordLabel.setVisible(true);
+                    guessEvent.commit();
+                    _showNotAWordLabel(guessedWord);
                 }
             }
             else
@@ -396,6 +422,38 @@ public class ElementaryGamePanel extends JPanel implements IGamePanel, ActionLis
         }
     }
     
+    //
+    // This method shows the "not a word" label. If a valid word is close enough to the guessed word,
+    // the label suggests it instead.
+    //
+    private void _showNotAWordLabel(String guessedWord)
+    {
+        String[] suggestions = new String[0];
+        
+        try
+        {
+            suggestions = SpellingSuggester.getSuggester(_mainFrame.getLanguage(), _WORD_SIZE).suggest(guessedWord, 2, 1);
+        }
+        catch (SQLException ex)
+        {
+            System.out.println(ex);
+            ex.printStackTrace();
+        }
+        
+        if (suggestions.length > 0)
+        {
+            _notAWordLabel.setFont(new Font("SansSerif", Font.BOLD, 22));
+            _notAWordLabel.setText("Did you mean " + suggestions[0].toUpperCase() + "?");
+        }
+        else
+        {
+            _notAWordLabel.setFont(new Font("SansSerif", Font.BOLD, 30));
+            _notAWordLabel.setText("That's not a word!");
+        }
+        
+        _notAWordLabel.setVisible(true);
+    }
+    
     //
     // This method handles a typed character.
     //
@@ -432,69 +490,35 @@ public class ElementaryGamePanel extends JPanel implements IGamePanel, ActionLis
         
         try
         {
-            if (guessedWord.equals(_hiddenWord))
-            {
-                for (int letterIndex = 0; letterIndex < _WORD_SIZE; ++letterIndex)
-                {
-                    _wordTextField.colorTileGreen(_currentWordIndex, letterIndex);
-                }
-                
-                isCorrectWord = true;
-            }
-            else
+            int pattern = Feedback.score(guessedWord, _hiddenWord);
+            
+            _gameRecord.addGuess(guessedWord, pattern);
+            
+            for (int letterIndex = 0; letterIndex < _WORD_SIZE; ++letterIndex)
             {
-                String hiddenWordTemp  = _hiddenWord;
-                char   guessedLetter   = 0;
-                char   hiddenLetter    = 0;
-
-                //
-                // Determine green tiles:
-                //
-                for (int letterIndex = 0; letterIndex < _WORD_SIZE; ++letterIndex)
+                switch (Feedback.getTile(pattern, letterIndex))
                 {
-                    guessedLetter   = guessedWord.charAt(letterIndex);
-                    hiddenLetter    = hiddenWordTemp.charAt(letterIndex);
-                    
-                    if (hiddenLetter == guessedLetter)
+                    case Feedback.GREEN:
                     {
                         _wordTextField.colorTileGreen(_currentWordIndex, letterIndex);
-
-                        hiddenWordTemp  = hiddenWordTemp.substring(0, letterIndex) + '-' + hiddenWordTemp.substring(letterIndex + 1);
-                        guessedWord     = guessedWord.substring(0, letterIndex) + '+' + guessedWord.substring(letterIndex + 1);
+                        break;
                     }
-                }
-                
-                //
-                // Determine yellow tiles:
-                //
-                for (int letterIndex = 0; letterIndex < _WORD_SIZE; ++letterIndex)
-                {
-                    guessedLetter = guessedWord.charAt(letterIndex);
                     
-                    if (hiddenWordTemp.contains("" + guessedLetter))
+                    case Feedback.YELLOW:
                     {
                         _wordTextField.colorTileYellow(_currentWordIndex, letterIndex);
-                        
-                        int index = hiddenWordTemp.indexOf("" + guessedLetter);
-                        
-                        hiddenWordTemp  = hiddenWordTemp.substring(0, index) + '-' + hiddenWordTemp.substring(index + 1);
-                        guessedWord     = guessedWord.substring(0, letterIndex) + '+' + guessedWord.substring(letterIndex + 1);
+                        break;
                     }
-                }
-                
-                //
-                // Determine gray tiles:
-                //
-                for (int letterIndex = 0; letterIndex < _WORD_SIZE; ++letterIndex)
-                {
-                    guessedLetter = guessedWord.charAt(letterIndex);
                     
-                    if (guessedLetter != '+')
+                    default:
                     {
                         _wordTextField.colorTileGray(_currentWordIndex, letterIndex);
+                        break;
                     }
                 }
             }
+            
+            isCorrectWord = Feedback.isSolved(pattern, _WORD_SIZE);
         }
         catch (Exception ex)
         {
@@ -518,6 +542,7 @@ public class ElementaryGamePanel extends JPanel implements IGamePanel, ActionLis
         //
         _gameIsRunning = false;
         _hiddenWordLabel.setVisible(true);
+        _recordGame(isCorrectWord ? GameResult.Won : GameResult.Lost);
         
         //
         // Create and pass the action event to every handler of this panel:
@@ -542,6 +567,16 @@ public class ElementaryGamePanel extends JPanel implements IGamePanel, ActionLis
         }
     }
     
+    //
+    // This method finishes the record of the current game with a given result and appends it to the game history.
+    //
+    private void _recordGame(GameResult result)
+    {
+        _gameRecord.finish(result);
+        GameHistory.record(_gameRecord);
+        _gameRecord = null;
+    }
+    
     //
     // Private member variables:
     //
@@ -553,16 +588,18 @@ public class ElementaryGamePanel extends JPanel implements IGamePanel, ActionLis
     private DatabaseManager  _databaseManager;
     private ActionListener[] _actionListeners;
     private KeyListener[]    _keyListeners;
-    private Toolkit          _toolkit;
     private Image            _backgroundImage;
+    private GameRecord       _gameRecord;
     private _WordTextField     _wordTextField;
     private int              _currentWordIndex;
     private int              _currentLetterIndex;
     private boolean          _gameIsRunning;
     
     private final GameMode _GAME_MODE   = GameMode.Elementary;
-    private final int      _WORD_SIZE   = 4;
-    private final int      _GUESS_LIMIT = 7;
+    private final int      _WORD_SIZE   = _GAME_MODE.getWordSize();
+    private final int      _GUESS_LIMIT = _GAME_MODE.getGuessLimit();
+    
+    private static final LatencyHistogram _KEY_TYPED_LATENCY = Metrics.getHistogram("game.keyTyped");
     
     ///////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
     //
@@ -0,0 +1,169 @@
+//
+// Feedback.java
+//
+// This abstract class defines the scoring rules of the game. Scoring a guessed word against the hidden word
+// gives one tile per letter: green for the right letter in the right position, yellow for a letter of the
+// hidden word in the wrong position, and gray otherwise. Greens are assigned first; yellows are then assigned
+// left to right, each consuming the first unmatched occurrence of its letter in the hidden word.
+//
+// A score is encoded as a pattern: a base-3 number whose i-th digit is the tile of the i-th letter.
+// Every game panel, solver and tool scores guesses through this class so they all agree.
+//
+// The MIT License (MIT)
+// 
+// Copyright (c) 2022 WordEm Development Group.  All Rights Reserved.
+// 
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this
+// software and associated documentation files (the "Software"), to deal in the Software
+// without restriction, including without limitation the rights to use, copy, modify, merge,
+// publish, distribute, sub-license, and/or sell copies of the Software, and to permit persons
+// to whom the Software is furnished to do so, subject to the following conditions:
+// 
+// * The above copyright notice and this permission notice shall be included in all copies or
+// substantial portions of the Software.
+// 
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+// INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+// PURPOSE AND NONINFRINGEMENT.  IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE
+// FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR 
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+// DEALINGS IN THE SOFTWARE.
+//
+package wordem;
+
+public abstract class Feedback
+{
+    //
+    // This method scores a guessed word against the hidden word and returns the encoded pattern.
+    // Both words must have the same length.
+    //
+    public static int score(String guessedWord, String hiddenWord)
+    {
+        int length = hiddenWord.length();
+        
+        if (guessedWord.length() != length || length > MAX_WORD_SIZE)
+        {
+            throw new IllegalArgumentException("Feedback.score >> Cannot score \"" + guessedWord + "\" against a word of length " + length);
+        }
+        
+        char[] unmatchedLetters = new char[length];
+        int[]  tiles            = new int[length];
+        int    pattern          = 0;
+        
+        //
+        // Determine green tiles:
+        //
+        for (int letterIndex = 0; letterIndex < length; ++letterIndex)
+        {
+            if (guessedWord.charAt(letterIndex) == hiddenWord.charAt(letterIndex))
+            {
+                tiles[letterIndex] = GREEN;
+            }
+            else
+            {
+                unmatchedLetters[letterIndex] = hiddenWord.charAt(letterIndex);
+            }
+        }
+        
+        //
+        // Determine yellow tiles:
+        //
+        for (int letterIndex = 0; letterIndex < length; ++letterIndex)
+        {
+            if (tiles[letterIndex] != GREEN)
+            {
+                char guessedLetter = guessedWord.charAt(letterIndex);
+                
+                for (int hiddenIndex = 0; hiddenIndex < length; ++hiddenIndex)
+                {
+                    if (unmatchedLetters[hiddenIndex] == guessedLetter)
+                    {
+                        tiles[letterIndex]            = YELLOW;
+                        unmatchedLetters[hiddenIndex] = 0;
+                        break;
+                    }
+                }
+            }
+        }
+        
+        //
+        // Encode the tiles, first letter as the least significant digit:
+        //
+        for (int letterIndex = length - 1; letterIndex >= 0; --letterIndex)
+        {
+            pattern = pattern * 3 + tiles[letterIndex];
+        }
+        
+        return pattern;
+    }
+    
+    //
+    // This method gets the tile (GRAY, YELLOW or GREEN) of a given letter in an encoded pattern.
+    //
+    public static int getTile(int pattern, int letterIndex)
+    {
+        for (int index = 0; index < letterIndex; ++index)
+        {
+            pattern /= 3;
+        }
+        
+        return pattern % 3;
+    }
+    
+    //
+    // This method determines if an encoded pattern of a given word length is all green.
+    //
+    public static boolean isSolved(int pattern, int length)
+    {
+        return pattern == getSolvedPattern(length);
+    }
+    
+    //
+    // This method gets the all-green pattern of a given word length.
+    //
+    public static int getSolvedPattern(int length)
+    {
+        int pattern = 0;
+        
+        for (int letterIndex = 0; letterIndex < length; ++letterIndex)
+        {
+            pattern = pattern * 3 + GREEN;
+        }
+        
+        return pattern;
+    }
+    
+    //
+    // This method gets the number of distinct patterns of a given word length.
+    //
+    public static int getPatternCount(int length)
+    {
+        return getSolvedPattern(length) + 1;
+    }
+    
+    //
+    // This method formats an encoded pattern of a given word length as a string of 'G', 'Y' and '-' characters.
+    //
+    public static String toString(int pattern, int length)
+    {
+        StringBuilder builder = new StringBuilder();
+        
+        for (int letterIndex = 0; letterIndex < length; ++letterIndex)
+        {
+            int tile = pattern % 3;
+            
+            builder.append(tile == GREEN ? 'G' : (tile == YELLOW ? 'Y' : '-'));
+            pattern /= 3;
+        }
+        
+        return builder.toString();
+    }
+    
+    //
+    // Public constants:
+    //
+    public static final int GRAY          = 0;
+    public static final int YELLOW        = 1;
+    public static final int GREEN         = 2;
+    public static final int MAX_WORD_SIZE = 19; // 3^19 is the largest power of three that fits in an int
+}
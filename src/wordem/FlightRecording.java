@@ -0,0 +1,107 @@
+//
+// FlightRecording.java
+//
+// This class keeps a continuous flight recording of the game when the "wordem.flightRecording" system property is true.
+// The recording is a ring buffer bounded by age and size, so it can stay on indefinitely, and it is dumped to a file
+// when the game hits an error, capturing what led up to it.
+//
+// The MIT License (MIT)
+// 
+// Copyright (c) 2022 WordEm Development Group.  All Rights Reserved.
+// 
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this
+// software and associated documentation files (the "Software"), to deal in the Software
+// without restriction, including without limitation the rights to use, copy, modify, merge,
+// publish, distribute, sub-license, and/or sell copies of the Software, and to permit persons
+// to whom the Software is furnished to do so, subject to the following conditions:
+// 
+// * The above copyright notice and this permission notice shall be included in all copies or
+// substantial portions of the Software.
+// 
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+// INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+// PURPOSE AND NONINFRINGEMENT.  IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE
+// FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR 
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+// DEALINGS IN THE SOFTWARE.
+//
+package wordem;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.time.Duration;
+import java.util.Date;
+
+public abstract class FlightRecording
+{
+    //
+    // This method starts the continuous recording if it is enabled and not already running.
+    //
+    public static synchronized void start() throws IOException, ParseException
+    {
+        if (_recording != null || !Boolean.getBoolean("wordem.flightRecording"))
+        {
+            return;
+        }
+        
+        _recording = new Recording(Configuration.getConfiguration("default"));
+        _recording.setName("WordEm");
+        _recording.setToDisk(true);
+        _recording.setMaxAge(Duration.ofMinutes(_MAX_AGE_MINUTES));
+        _recording.setMaxSize(_MAX_SIZE_BYTES);
+        
+        _recording.enable(DatabaseEvent.class);
+        _recording.enable(GuessEvent.class);
+        _recording.enable(PanelEvent.class);
+        _recording.enable(ImageLoadEvent.class);
+        
+        _recording.start();
+    }
+    
+    //
+    // This method writes the contents of the recording to a new file in the game folder, and returns the file,
+    // or null if nothing is being recorded or the file could not be written.
+    //
+    public static synchronized Path dump()
+    {
+        if (_recording == null)
+        {
+            return null;
+        }
+        
+        Path path = Paths.get("WordEm-" + new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date()) + ".jfr");
+        
+        try
+        {
+            _recording.dump(path);
+        }
+        catch (IOException ex)
+        {
+            System.out.println("FlightRecording.dump >> Could not write recording: " + ex);
+            path = null;
+        }
+        
+        return path;
+    }
+    
+    //
+    // This method determines if the recording is running.
+    //
+    public static synchronized boolean isRecording()
+    {
+        return _recording != null;
+    }
+    
+    //
+    // Private member variables:
+    //
+    private static Recording _recording = null;
+    
+    private static final long _MAX_AGE_MINUTES = 30;
+    private static final long _MAX_SIZE_BYTES  = 64L * 1024 * 1024;
+}
@@ -0,0 +1,204 @@
+//
+// GameHistory.java
+//
+// This abstract class is the append-only history of played games. Each finished game becomes a row of the
+// Game_History table and each of its guesses a row of the Guess_History table, holding the guessed word, its
+// encoded pattern (see the Feedback class) and the time it was made. Rows are written by the database writer,
+// so recording a game never blocks the caller. Games are indexed by game mode and end time.
+//
+// The MIT License (MIT)
+// 
+// Copyright (c) 2022 WordEm Development Group.  All Rights Reserved.
+// 
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this
+// software and associated documentation files (the "Software"), to deal in the Software
+// without restriction, including without limitation the rights to use, copy, modify, merge,
+// publish, distribute, sub-license, and/or sell copies of the Software, and to permit persons
+// to whom the Software is furnished to do so, subject to the following conditions:
+// 
+// * The above copyright notice and this permission notice shall be included in all copies or
+// substantial portions of the Software.
+// 
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+// INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+// PURPOSE AND NONINFRINGEMENT.  IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE
+// FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR 
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+// DEALINGS IN THE SOFTWARE.
+//
+package wordem;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+
+public abstract class GameHistory
+{
+    //
+    // This method appends a finished game to the history and passes it to the achievements engine.
+    //
+    public static void record(GameRecord record)
+    {
+        if (!record.isFinished())
+        {
+            throw new IllegalArgumentException("GameHistory.record >> Game has not finished");
+        }
+        
+        //
+        // The engine loads its streaks from the statistics on first use, so it must see the game before it is written:
+        //
+        try
+        {
+            AchievementsEngine.getInstance().handle(record);
+        }
+        catch (SQLException ex)
+        {
+            System.out.println("GameHistory.record >> Achievements not updated: " + ex);
+        }
+        
+        DatabaseWriter.getInstance().submit(new IDatabaseTask()
+        {
+            public void execute(Connection conn) throws SQLException
+            {
+                _insert(conn, record);
+                GameStatistics.update(conn, record);
+            }
+        });
+    }
+    
+    //
+    // This method appends a finished game to the history only, leaving the statistics and achievements, which belong to
+    // the player of the game window, as they are. It is used for games played by others, such as the game server's.
+    //
+    public static void append(GameRecord record)
+    {
+        if (!record.isFinished())
+        {
+            throw new IllegalArgumentException("GameHistory.append >> Game has not finished");
+        }
+        
+        DatabaseWriter.getInstance().submit(new IDatabaseTask()
+        {
+            public void execute(Connection conn) throws SQLException
+            {
+                _insert(conn, record);
+            }
+        });
+    }
+    
+    //
+    // This method gets the most recent finished games of a given game mode, most recent first, including their guesses.
+    //
+    public static ArrayList<GameRecord> getRecentGames(GameMode gameMode, int limit) throws SQLException
+    {
+        ArrayList<GameRecord> records = new ArrayList<GameRecord>();
+        Connection            conn    = DatabaseManager.createConnection();
+        
+        try
+        {
+            PreparedStatement gameStmt  = conn.prepareStatement("SELECT \"Id\", \"Language\", \"HiddenWord\", \"IsDailyPuzzle\", \"Result\", \"StartTime\", \"EndTime\" "
+                                                              + "FROM \"Game_History\" WHERE \"GameMode\" = ? ORDER BY \"EndTime\" DESC LIMIT ?");
+            PreparedStatement guessStmt = conn.prepareStatement("SELECT \"Word\", \"Pattern\", \"Time\" FROM \"Guess_History\" WHERE \"GameId\" = ? ORDER BY \"GuessIndex\"");
+            
+            gameStmt.setString(1, gameMode.toString());
+            gameStmt.setInt(2, limit);
+            
+            ResultSet gameRs = gameStmt.executeQuery();
+            
+            while (gameRs.next())
+            {
+                GameRecord record = new GameRecord(gameMode,
+                                                   Language.valueOf(gameRs.getString("Language")),
+                                                   gameRs.getString("HiddenWord"),
+                                                   gameRs.getInt("IsDailyPuzzle") != 0,
+                                                   gameRs.getLong("StartTime"));
+                
+                guessStmt.setLong(1, gameRs.getLong("Id"));
+                
+                ResultSet guessRs = guessStmt.executeQuery();
+                
+                while (guessRs.next())
+                {
+                    record.addGuess(guessRs.getString("Word"), guessRs.getInt("Pattern"), guessRs.getLong("Time"));
+                }
+                
+                record.finish(GameResult.valueOf(gameRs.getString("Result")), gameRs.getLong("EndTime"));
+                records.add(record);
+            }
+        }
+        finally
+        {
+            conn.close();
+        }
+        
+        return records;
+    }
+    
+    //
+    // This method creates the history tables and their index if they do not exist yet. Later columns are added by migrations.
+    //
+    public static void prepareSchema(Connection conn) throws SQLException
+    {
+        Statement stmt = conn.createStatement();
+        
+        stmt.execute("CREATE TABLE IF NOT EXISTS \"Game_History\" (\"Id\" INTEGER PRIMARY KEY, \"GameMode\" TEXT, \"Language\" TEXT, \"HiddenWord\" TEXT, "
+                   + "\"IsDailyPuzzle\" INTEGER, \"Result\" TEXT, \"StartTime\" INTEGER, \"EndTime\" INTEGER)");
+        stmt.execute("CREATE INDEX IF NOT EXISTS \"Game_History_GameMode\" ON \"Game_History\" (\"GameMode\", \"EndTime\")");
+        stmt.execute("CREATE TABLE IF NOT EXISTS \"Guess_History\" (\"GameId\" INTEGER, \"GuessIndex\" INTEGER, \"Word\" TEXT, \"Pattern\" INTEGER, \"Time\" INTEGER, "
+                   + "PRIMARY KEY (\"GameId\", \"GuessIndex\")) WITHOUT ROWID");
+    }
+    
+    //
+    // This method inserts a finished game and its guesses. It runs on the writer thread.
+    //
+    private static void _insert(Connection conn, GameRecord record) throws SQLException
+    {
+        long gameId = 0;
+        
+        //
+        // Statements are closed as soon as they are used, since the writer's connection stays open and keeps every unclosed one:
+        //
+        try (PreparedStatement gameStmt = conn.prepareStatement("INSERT INTO \"Game_History\" (\"GameMode\", \"Language\", \"HiddenWord\", \"IsDailyPuzzle\", \"Result\", \"StartTime\", \"EndTime\", \"GuessCount\") "
+                                                              + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)"))
+        {
+            gameStmt.setString(1, record.getGameMode().toString());
+            gameStmt.setString(2, record.getLanguage().toString());
+            gameStmt.setString(3, record.getHiddenWord());
+            gameStmt.setInt(4, record.isDailyPuzzle() ? 1 : 0);
+            gameStmt.setString(5, record.getResult().toString());
+            gameStmt.setLong(6, record.getStartTime());
+            gameStmt.setLong(7, record.getEndTime());
+            gameStmt.setInt(8, record.getGuessCount());
+            gameStmt.executeUpdate();
+        }
+        
+        try (Statement keyStmt = conn.createStatement();
+             ResultSet keys    = keyStmt.executeQuery("SELECT last_insert_rowid()"))
+        {
+            gameId = keys.getLong(1);
+        }
+        
+        if (record.getGuessCount() == 0)
+        {
+            return;
+        }
+        
+        try (PreparedStatement guessStmt = conn.prepareStatement("INSERT INTO \"Guess_History\" (\"GameId\", \"GuessIndex\", \"Word\", \"Pattern\", \"Time\") VALUES (?, ?, ?, ?, ?)"))
+        {
+            for (int guessIndex = 0; guessIndex < record.getGuessCount(); ++guessIndex)
+            {
+                guessStmt.setLong(1, gameId);
+                guessStmt.setInt(2, guessIndex);
+                guessStmt.setString(3, record.getGuessedWord(guessIndex));
+                guessStmt.setInt(4, record.getPattern(guessIndex));
+                guessStmt.setLong(5, record.getGuessTime(guessIndex));
+                guessStmt.addBatch();
+            }
+            
+            guessStmt.executeBatch();
+        }
+    }
+}
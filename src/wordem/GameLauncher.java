@@ -30,6 +30,21 @@ public class GameLauncher
 {
     public static void main(String[] args)
     {
+        StartupTimeline.mark("main");
+        
+        try
+        {
+            FlightRecording.start();
+        }
+        catch (Exception ex)
+        {
+            System.out.println("GameLauncher.main >> Flight recording not started: " + ex);
+        }
+        
+        Metrics.startDumping();
+        EdtWatchdog.start();
+        StartupWarmer.start();
+        
         try
         {
             new MainFrame();
@@ -35,9 +35,40 @@ package wordem;
 
 public enum GameMode
 {
-    Nursery,    // 3-letter words
-    Elementary, // 4-letter words
-    Classic,    // 5-letter words
-    Advanced,   // 6-letter words
-    Ludicrous   // 7-letter words
+    Nursery(3, 9),    // 3-letter words
+    Elementary(4, 7), // 4-letter words
+    Classic(5, 6),    // 5-letter words
+    Advanced(6, 7),   // 6-letter words
+    Ludicrous(7, 8);  // 7-letter words
+    
+    //
+    // Overloaded constructor. Constructs with the word size and guess limit of the game mode.
+    //
+    private GameMode(int wordSize, int guessLimit)
+    {
+        _wordSize   = wordSize;
+        _guessLimit = guessLimit;
+    }
+    
+    //
+    // This method gets the number of letters in the words of the game mode.
+    //
+    public int getWordSize()
+    {
+        return _wordSize;
+    }
+    
+    //
+    // This method gets the number of guesses allowed in the game mode.
+    //
+    public int getGuessLimit()
+    {
+        return _guessLimit;
+    }
+    
+    //
+    // Private member variables:
+    //
+    private final int _wordSize;
+    private final int _guessLimit;
 }
@@ -32,8 +32,10 @@ public abstract class GamePanelFactory
 {
     public static IGamePanel createGamePanel(IMainFrame mainFrame) throws Exception
     {
-        IGamePanel gamePanel = null;
-        GameMode   gameMode  = mainFrame.getGameMode();
+        long       startNanos = System.nanoTime();
+        IGamePanel gamePanel  = null;
+        GameMode   gameMode   = mainFrame.getGameMode();
+        PanelEvent event      = new PanelEvent(gameMode);
         
         switch (gameMode)
         {
@@ -73,6 +75,15 @@ public abstract class GamePanelFactory
             }
         }
         
+        event.setPanel(gamePanel);
+        event.commit();
+        _CREATE_LATENCY.recordSince(startNanos);
+        
         return gamePanel;
     }
+    
+    //
+    // Private member variables:
+    //
+    private static final LatencyHistogram _CREATE_LATENCY = Metrics.getHistogram("game.createPanel");
 }
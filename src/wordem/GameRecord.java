@@ -0,0 +1,170 @@
+//
+// GameRecord.java
+//
+// This class records one game as it is played: its mode, language and hidden word, each guess with its scored
+// pattern and the time it was made, and finally how and when the game ended. Finished records are appended to
+// the game history.
+//
+// The MIT License (MIT)
+// 
+// Copyright (c) 2022 WordEm Development Group.  All Rights Reserved.
+// 
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this
+// software and associated documentation files (the "Software"), to deal in the Software
+// without restriction, including without limitation the rights to use, copy, modify, merge,
+// publish, distribute, sub-license, and/or sell copies of the Software, and to permit persons
+// to whom the Software is furnished to do so, subject to the following conditions:
+// 
+// * The above copyright notice and this permission notice shall be included in all copies or
+// substantial portions of the Software.
+// 
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+// INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+// PURPOSE AND NONINFRINGEMENT.  IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE
+// FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR 
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+// DEALINGS IN THE SOFTWARE.
+//
+package wordem;
+
+import java.util.ArrayList;
+
+public class GameRecord
+{
+    //
+    // Overloaded constructor. Constructs the record of a game starting now.
+    //
+    public GameRecord(GameMode gameMode, Language language, String hiddenWord, boolean isDailyPuzzle)
+    {
+        this(gameMode, language, hiddenWord, isDailyPuzzle, System.currentTimeMillis());
+    }
+    
+    //
+    // Overloaded constructor. Constructs the record of a game that started at a given time.
+    //
+    public GameRecord(GameMode gameMode, Language language, String hiddenWord, boolean isDailyPuzzle, long startTime)
+    {
+        _gameMode      = gameMode;
+        _language      = language;
+        _hiddenWord    = hiddenWord;
+        _isDailyPuzzle = isDailyPuzzle;
+        _startTime     = startTime;
+        _endTime       = 0;
+        _result        = null;
+        _guessedWords  = new ArrayList<String>();
+        _patterns      = new ArrayList<Integer>();
+        _guessTimes    = new ArrayList<Long>();
+    }
+    
+    //
+    // This method records a guess and its scored pattern made now.
+    //
+    public void addGuess(String guessedWord, int pattern)
+    {
+        addGuess(guessedWord, pattern, System.currentTimeMillis());
+    }
+    
+    //
+    // This method records a guess and its scored pattern made at a given time.
+    //
+    public void addGuess(String guessedWord, int pattern, long time)
+    {
+        _guessedWords.add(guessedWord);
+        _patterns.add(pattern);
+        _guessTimes.add(time);
+    }
+    
+    //
+    // This method records the end of the game now.
+    //
+    public void finish(GameResult result)
+    {
+        finish(result, System.currentTimeMillis());
+    }
+    
+    //
+    // This method records the end of the game at a given time.
+    //
+    public void finish(GameResult result, long endTime)
+    {
+        _result  = result;
+        _endTime = endTime;
+    }
+    
+    //
+    // Getters:
+    //
+    public GameMode getGameMode()
+    {
+        return _gameMode;
+    }
+    
+    public Language getLanguage()
+    {
+        return _language;
+    }
+    
+    public String getHiddenWord()
+    {
+        return _hiddenWord;
+    }
+    
+    public boolean isDailyPuzzle()
+    {
+        return _isDailyPuzzle;
+    }
+    
+    public long getStartTime()
+    {
+        return _startTime;
+    }
+    
+    public long getEndTime()
+    {
+        return _endTime;
+    }
+    
+    public GameResult getResult()
+    {
+        return _result;
+    }
+    
+    public boolean isFinished()
+    {
+        return _result != null;
+    }
+    
+    public int getGuessCount()
+    {
+        return _guessedWords.size();
+    }
+    
+    public String getGuessedWord(int guessIndex)
+    {
+        return _guessedWords.get(guessIndex);
+    }
+    
+    public int getPattern(int guessIndex)
+    {
+        return _patterns.get(guessIndex);
+    }
+    
+    public long getGuessTime(int guessIndex)
+    {
+        return _guessTimes.get(guessIndex);
+    }
+    
+    //
+    // Private member variables:
+    //
+    private final GameMode           _gameMode;
+    private final Language           _language;
+    private final String             _hiddenWord;
+    private final boolean            _isDailyPuzzle;
+    private final long               _startTime;
+    private long                     _endTime;
+    private GameResult               _result;
+    private final ArrayList<String>  _guessedWords;
+    private final ArrayList<Integer> _patterns;
+    private final ArrayList<Long>    _guessTimes;
+}
@@ -0,0 +1,780 @@
+//
+// GameServer.java
+//
+// This class is an embedded HTTP server for playing the game over the network, on the JDK's built-in HTTP server. Each
+// request runs on a thread of its own (a virtual thread when the JDK has them), games are played by the rules of
+// HeadlessGame, and guesses are validated by the game store (see GameStores). Running games are held in a session
+// store, which evicts games left idle, finishing them as quit, and is saved to a snapshot file when the server stops
+// and restored when it starts again. Finished games are recorded in the game store, apart from the statistics and
+// achievements of the game window's player, games of named players are added to their statistics, and games won by
+// named players are submitted to the leaderboards.
+//
+// Endpoints, with parameters in the query string or a form-encoded body, answering in JSON:
+//
+//     POST   /games?mode=Classic&language=English[&daily=true][&player=alice]              Starts a game. A named player
+//                                                                                           starts a daily puzzle once a day.
+//     GET    /games/<game ID>                                                               Gets the state of a game.
+//     POST   /games/<game ID>/guesses?word=crane                                            Guesses a word.
+//     DELETE /games/<game ID>                                                               Quits a game.
+//     GET    /statistics[?player=alice]                                                     Gets the statistics of every game mode,
+//                                                                                           or of a player's games.
+//     GET    /leaderboard?mode=Classic&ranking=FewestGuesses[&day=2022-06-01][&limit=10]     Gets the top of a leaderboard,
+//            [&player=alice]                                                                and a player's rank on it.
+//
+// Usage: GameServer [port]
+//
+// The MIT License (MIT)
+// 
+// Copyright (c) 2022 WordEm Development Group.  All Rights Reserved.
+// 
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this
+// software and associated documentation files (the "Software"), to deal in the Software
+// without restriction, including without limitation the rights to use, copy, modify, merge,
+// publish, distribute, sub-license, and/or sell copies of the Software, and to permit persons
+// to whom the Software is furnished to do so, subject to the following conditions:
+// 
+// * The above copyright notice and this permission notice shall be included in all copies or
+// substantial portions of the Software.
+// 
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+// INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+// PURPOSE AND NONINFRINGEMENT.  IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE
+// FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR 
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+// DEALINGS IN THE SOFTWARE.
+//
+package wordem;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+public class GameServer
+{
+    //
+    // Program entry point.
+    //
+    public static void main(String[] args)
+    {
+        try
+        {
+            int        port   = args.length > 0 ? Integer.parseInt(args[0]) : Integer.getInteger("wordem.serverPort", _DEFAULT_PORT);
+            GameServer server = new GameServer(port);
+            
+            Metrics.startDumping();
+            server.start();
+            
+            Runtime.getRuntime().addShutdownHook(new Thread(new Runnable()
+            {
+                public void run()
+                {
+                    server.stop();
+                }
+            }, "GameServer Shutdown"));
+            
+            System.out.println("Serving games on port " + port + " with " + VirtualThreads.getThreadKind() + " threads");
+        }
+        catch (Exception ex)
+        {
+            System.out.println(ex);
+            ex.printStackTrace();
+            System.exit(-1);
+        }
+    }
+    
+    //
+    // Overloaded constructor. Binds the server to a given port, opens the game store and restores the sessions saved when
+    // it last stopped.
+    //
+    public GameServer(int port) throws IOException, SQLException
+    {
+        _server   = HttpServer.create(new InetSocketAddress(port), Integer.getInteger("wordem.serverBacklog", _DEFAULT_BACKLOG));
+        _executor = VirtualThreads.newPerTaskExecutor(Integer.getInteger("wordem.serverThreads", _DEFAULT_PLATFORM_THREADS));
+        _store    = GameStores.getInstance();
+        _sessions = new SessionStore();
+        
+        //
+        // Games left idle until evicted are finished as quit, so abandoning a losing game does not spare a streak:
+        //
+        _sessions.setListener(new ISessionListener()
+        {
+            public void sessionAbandoned(HeadlessGame game) throws SQLException
+            {
+                _finishGame(game);
+            }
+        });
+        
+        //
+        // A snapshot that cannot be read only costs the games in it, so the server starts regardless:
+        //
+        if (Files.exists(_SESSIONS_PATH))
+        {
+            try
+            {
+                System.out.println("Restored " + _sessions.restore(_SESSIONS_PATH) + " sessions from " + _SESSIONS_PATH);
+            }
+            catch (IOException ex)
+            {
+                System.out.println("GameServer.GameServer >> Sessions not restored: " + ex);
+            }
+        }
+        
+        _server.createContext("/games", new _GamesHandler());
+        _server.createContext("/statistics", new _StatisticsHandler());
+        _server.createContext("/leaderboard", new _LeaderboardHandler());
+        _server.setExecutor(_executor);
+        
+        Metrics.registerGauge("server.games", new IGauge()
+        {
+            public long getValue()
+            {
+                return _sessions.getSize();
+            }
+        });
+    }
+    
+    //
+    // This method starts serving requests.
+    //
+    public void start()
+    {
+        _sessions.startEvicting();
+        Leaderboard.getInstance().startPersisting();
+        PlayerStatistics.startFlushing();
+        _server.start();
+    }
+    
+    //
+    // This method stops serving requests, giving those being handled a second to finish, saves the sessions of the games
+    // still running and closes the game store.
+    //
+    public void stop()
+    {
+        _server.stop(1);
+        _executor.shutdown();
+        _sessions.stopEvicting();
+        
+        try
+        {
+            _executor.awaitTermination(1, TimeUnit.SECONDS);
+            _sessions.save(_SESSIONS_PATH);
+            _store.close();
+        }
+        catch (InterruptedException ex)
+        {
+            Thread.currentThread().interrupt();
+        }
+        catch (IOException | SQLException ex)
+        {
+            System.out.println("GameServer.stop >> " + ex);
+        }
+    }
+    
+    //
+    // This method gets the number of games running.
+    //
+    public int getGameCount()
+    {
+        return _sessions.getSize();
+    }
+    
+    //
+    // This method starts a game.
+    //
+    private String _startGame(HashMap<String, String> parameters) throws _RequestException, SQLException
+    {
+        GameMode     gameMode      = _parseEnum(GameMode.class, parameters, "mode");
+        Language     language      = _parseEnum(Language.class, parameters, "language");
+        boolean      isDailyPuzzle = Boolean.parseBoolean(parameters.get("daily"));
+        String       player        = _parsePlayer(parameters);
+        HeadlessGame game          = HeadlessGame.start(_store, gameMode, language, isDailyPuzzle);
+        long         sessionId;
+        
+        try
+        {
+            sessionId = _sessions.create(gameMode, language, game.getHiddenWord(), isDailyPuzzle, player);
+        }
+        catch (IllegalStateException ex)
+        {
+            throw new _RequestException(503, "Too many games running, try again later");
+        }
+        
+        //
+        // A named player's daily puzzle is claimed once the game exists, so a game refused for lack of room does not use up
+        // the day. A second start is dropped unplayed, before anything about it is answered:
+        //
+        if (isDailyPuzzle && player != null && !Leaderboard.getInstance().claimDaily(player, gameMode, Leaderboard.getDay(game.getRecord())))
+        {
+            _sessions.quit(sessionId);
+            throw new _RequestException(409, "Daily puzzle of " + gameMode + " already started today by player " + player);
+        }
+        
+        game.setPlayer(player);
+        
+        return _formatGame(sessionId, game, null);
+    }
+    
+    //
+    // This method guesses a word in a running game. Words that are not in the dictionary are rejected without using up a guess.
+    //
+    private String _guess(String gameId, HashMap<String, String> parameters) throws _RequestException, SQLException
+    {
+        long         sessionId   = SessionStore.parseId(gameId);
+        HeadlessGame game        = _getGame(gameId);
+        String       guessedWord = parameters.get("word");
+        
+        if (guessedWord == null || guessedWord.length() != game.getGameMode().getWordSize())
+        {
+            throw new _RequestException(400, "Guess a word of " + game.getGameMode().getWordSize() + " letters");
+        }
+        
+        guessedWord = guessedWord.toLowerCase(Locale.ROOT);
+        
+        for (int index = 0; index < guessedWord.length(); ++index)
+        {
+            if (!Character.isLetter(guessedWord.charAt(index)))
+            {
+                throw new _RequestException(400, "Guess a word of letters only");
+            }
+        }
+        
+        if (!_store.isWord(guessedWord, game.getLanguage()))
+        {
+            return _formatGame(sessionId, game, false);
+        }
+        
+        //
+        // The store applies guesses on the same game one at a time, and ends the session of a game that is over,
+        // so a finished game is only ever returned once:
+        //
+        try
+        {
+            game = _sessions.guess(sessionId, guessedWord);
+        }
+        catch (IllegalArgumentException ex)
+        {
+            throw new _RequestException(400, "Guess \"" + guessedWord + "\" is not in the lexicon");
+        }
+        
+        if (game == null)
+        {
+            throw new _RequestException(404, "No running game " + gameId);
+        }
+        
+        if (game.isOver())
+        {
+            _finishGame(game);
+        }
+        
+        return _formatGame(sessionId, game, true);
+    }
+    
+    //
+    // This method quits a running game.
+    //
+    private String _quitGame(String gameId) throws _RequestException, SQLException
+    {
+        long         sessionId = SessionStore.parseId(gameId);
+        HeadlessGame game      = _sessions.quit(sessionId);
+        
+        if (game == null)
+        {
+            throw new _RequestException(404, "No running game " + gameId);
+        }
+        
+        _finishGame(game);
+        
+        return _formatGame(sessionId, game, null);
+    }
+    
+    //
+    // This method records a finished game in the game store and, if it was played by a named player, adds it to
+    // the player's statistics and submits it to the leaderboards.
+    //
+    private void _finishGame(HeadlessGame game) throws SQLException
+    {
+        _store.record(game.getRecord());
+        
+        if (game.getPlayer() != null)
+        {
+            PlayerStatistics.record(game.getPlayer(), game.getRecord());
+            Leaderboard.getInstance().submit(game.getPlayer(), game.getRecord());
+        }
+    }
+    
+    //
+    // This method gets a running game by its ID.
+    //
+    private HeadlessGame _getGame(String gameId) throws _RequestException, SQLException
+    {
+        HeadlessGame game = _sessions.get(SessionStore.parseId(gameId));
+        
+        if (game == null)
+        {
+            throw new _RequestException(404, "No running game " + gameId);
+        }
+        
+        return game;
+    }
+    
+    //
+    // This method formats the statistics of every game mode, of the server's games or of a player's games if the request names one.
+    //
+    private String _formatStatistics(HashMap<String, String> parameters) throws _RequestException, SQLException
+    {
+        String             player   = _parsePlayer(parameters);
+        StatisticsSnapshot snapshot = player == null ? _store.getStatistics() : PlayerStatistics.getSnapshot(player);
+        StringBuilder      builder  = new StringBuilder("{");
+        
+        for (GameMode gameMode : GameMode.values())
+        {
+            if (builder.length() > 1)
+            {
+                builder.append(',');
+            }
+            
+            builder.append('"').append(gameMode).append("\":{")
+                   .append("\"played\":").append(snapshot.getGamesPlayed(gameMode))
+                   .append(",\"won\":").append(snapshot.getGamesWon(gameMode))
+                   .append(",\"lost\":").append(snapshot.getGamesLost(gameMode))
+                   .append(",\"quit\":").append(snapshot.getGamesQuit(gameMode))
+                   .append(",\"winPercentage\":").append(snapshot.getWinPercentage(gameMode))
+                   .append(",\"currentStreak\":").append(snapshot.getCurrentStreak(gameMode))
+                   .append(",\"maxStreak\":").append(snapshot.getMaxStreak(gameMode))
+                   .append('}');
+        }
+        
+        return builder.append('}').toString();
+    }
+    
+    //
+    // This method formats the top of a leaderboard, and a player's rank on it if the request names one.
+    //
+    private static String _formatLeaderboard(HashMap<String, String> parameters) throws _RequestException, SQLException
+    {
+        GameMode           gameMode    = _parseEnum(GameMode.class, parameters, "mode");
+        LeaderboardRanking ranking     = _parseEnum(LeaderboardRanking.class, parameters, "ranking");
+        String             player      = _parsePlayer(parameters);
+        Leaderboard        leaderboard = Leaderboard.getInstance();
+        LocalDate          day;
+        int                limit;
+        
+        try
+        {
+            day   = parameters.containsKey("day") ? LocalDate.parse(parameters.get("day")) : LocalDate.now();
+            limit = parameters.containsKey("limit") ? Integer.parseInt(parameters.get("limit")) : _DEFAULT_LEADERBOARD_LIMIT;
+        }
+        catch (DateTimeParseException | NumberFormatException ex)
+        {
+            throw new _RequestException(400, "Parameter day must be a date like 2022-06-01 and limit a number");
+        }
+        
+        if (limit < 1 || limit > _MAX_LEADERBOARD_LIMIT)
+        {
+            throw new _RequestException(400, "Parameter limit must be from 1 to " + _MAX_LEADERBOARD_LIMIT);
+        }
+        
+        if (!Leaderboard.isRetained(day))
+        {
+            throw new _RequestException(400, "Parameter day must be today or a day of the last " + Leaderboard.getRetentionDays() + " days");
+        }
+        
+        ArrayList<LeaderboardEntry> entries = leaderboard.getTop(gameMode, day, ranking, limit);
+        StringBuilder               builder = new StringBuilder("{");
+        
+        builder.append("\"mode\":\"").append(gameMode).append('"')
+               .append(",\"day\":\"").append(day).append('"')
+               .append(",\"ranking\":\"").append(ranking).append('"')
+               .append(",\"players\":").append(leaderboard.getSize(gameMode, day, ranking))
+               .append(",\"entries\":[");
+        
+        for (int index = 0; index < entries.size(); ++index)
+        {
+            builder.append(index > 0 ? "," : "");
+            _formatEntry(builder, index + 1, entries.get(index));
+        }
+        
+        builder.append(']');
+        
+        if (player != null)
+        {
+            LeaderboardEntry entry = leaderboard.getEntry(gameMode, day, ranking, player);
+            
+            builder.append(",\"player\":");
+            
+            if (entry == null)
+            {
+                builder.append("null");
+            }
+            else
+            {
+                _formatEntry(builder, leaderboard.getRank(gameMode, day, ranking, player), entry);
+            }
+        }
+        
+        return builder.append('}').toString();
+    }
+    
+    //
+    // This method formats a leaderboard entry with its rank.
+    //
+    private static void _formatEntry(StringBuilder builder, int rank, LeaderboardEntry entry)
+    {
+        builder.append("{\"rank\":").append(rank)
+               .append(",\"player\":").append(_quote(entry.getPlayer()))
+               .append(",\"guesses\":").append(entry.getGuessCount())
+               .append(",\"solveMillis\":").append(entry.getSolveMillis())
+               .append('}');
+    }
+    
+    //
+    // This method formats the state of a game, and whether the last guess was accepted if it was a guess.
+    // The hidden word is given away once the game is over.
+    //
+    private static String _formatGame(long sessionId, HeadlessGame game, Boolean isAccepted)
+    {
+        GameRecord    record  = game.getRecord();
+        int           size    = game.getGameMode().getWordSize();
+        StringBuilder builder = new StringBuilder("{");
+        
+        builder.append("\"game\":\"").append(SessionStore.formatId(sessionId)).append('"')
+               .append(",\"mode\":\"").append(game.getGameMode()).append('"')
+               .append(",\"language\":\"").append(game.getLanguage()).append('"')
+               .append(",\"player\":").append(game.getPlayer() == null ? "null" : _quote(game.getPlayer()))
+               .append(",\"wordSize\":").append(size)
+               .append(",\"guessLimit\":").append(game.getGameMode().getGuessLimit());
+        
+        if (isAccepted != null)
+        {
+            builder.append(",\"accepted\":").append(isAccepted);
+        }
+        
+        builder.append(",\"guesses\":[");
+        
+        for (int guessIndex = 0; guessIndex < record.getGuessCount(); ++guessIndex)
+        {
+            builder.append(guessIndex > 0 ? ",{" : "{")
+                   .append("\"word\":\"").append(record.getGuessedWord(guessIndex)).append('"')
+                   .append(",\"feedback\":\"").append(Feedback.toString(record.getPattern(guessIndex), size)).append("\"}");
+        }
+        
+        builder.append("],\"guessesLeft\":").append(game.getGuessesLeft());
+        
+        if (game.isOver())
+        {
+            builder.append(",\"result\":\"").append(game.getResult()).append('"');
+            
+            //
+            // Everyone plays the same daily puzzle, so its word is only shown to those who solved it:
+            //
+            if (!game.getRecord().isDailyPuzzle() || game.getResult() == GameResult.Won)
+            {
+                builder.append(",\"hiddenWord\":\"").append(game.getHiddenWord()).append('"');
+            }
+        }
+        
+        return builder.append('}').toString();
+    }
+    
+    //
+    // This method parses a required enum parameter.
+    //
+    private static <E extends Enum<E>> E _parseEnum(Class<E> enumClass, HashMap<String, String> parameters, String name) throws _RequestException
+    {
+        String value = parameters.get(name);
+        
+        try
+        {
+            return Enum.valueOf(enumClass, value);
+        }
+        catch (IllegalArgumentException | NullPointerException ex)
+        {
+            throw new _RequestException(400, "Parameter " + name + " must be one of " + Arrays.toString(enumClass.getEnumConstants()));
+        }
+    }
+    
+    //
+    // This method parses the optional player parameter, returning null if there is none.
+    //
+    private static String _parsePlayer(HashMap<String, String> parameters) throws _RequestException
+    {
+        String player = parameters.get("player");
+        
+        if (player != null && (player.isEmpty() || player.length() > _MAX_PLAYER_LENGTH))
+        {
+            throw new _RequestException(400, "Parameter player must be from 1 to " + _MAX_PLAYER_LENGTH + " characters");
+        }
+        
+        return player;
+    }
+    
+    //
+    // This method parses the parameters of a request, from its query string and its form-encoded body.
+    //
+    private static HashMap<String, String> _parseParameters(HttpExchange exchange) throws IOException
+    {
+        HashMap<String, String> parameters = new HashMap<String, String>();
+        
+        _parseParameters(exchange.getRequestURI().getRawQuery(), parameters);
+        _parseParameters(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8), parameters);
+        
+        return parameters;
+    }
+    
+    //
+    // This method parses URL-encoded parameters into a map.
+    //
+    private static void _parseParameters(String encoded, HashMap<String, String> parameters)
+    {
+        if (encoded == null || encoded.isEmpty())
+        {
+            return;
+        }
+        
+        for (String pair : encoded.split("&"))
+        {
+            int separatorIndex = pair.indexOf('=');
+            
+            if (separatorIndex > 0)
+            {
+                parameters.put(URLDecoder.decode(pair.substring(0, separatorIndex), StandardCharsets.UTF_8),
+                               URLDecoder.decode(pair.substring(separatorIndex + 1), StandardCharsets.UTF_8));
+            }
+        }
+    }
+    
+    //
+    // This method sends a JSON response and closes the exchange.
+    //
+    private static void _respond(HttpExchange exchange, int status, String json) throws IOException
+    {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        
+        try (OutputStream output = exchange.getResponseBody())
+        {
+            output.write(body);
+        }
+    }
+    
+    //
+    // This method formats an error message as JSON.
+    //
+    private static String _formatError(String message)
+    {
+        return "{\"error\":" + _quote(message) + "}";
+    }
+    
+    //
+    // This method formats text as a JSON string, escaping the characters JSON requires.
+    //
+    private static String _quote(String text)
+    {
+        StringBuilder builder = new StringBuilder("\"");
+        
+        for (int index = 0; index < text.length(); ++index)
+        {
+            char character = text.charAt(index);
+            
+            if (character == '"' || character == '\\')
+            {
+                builder.append('\\').append(character);
+            }
+            else if (character < ' ')
+            {
+                builder.append(String.format("\\u%04x", (int)character));
+            }
+            else
+            {
+                builder.append(character);
+            }
+        }
+        
+        return builder.append('"').toString();
+    }
+    
+    //
+    // Private member variables:
+    //
+    private final HttpServer          _server;
+    private final ExecutorService     _executor;
+    private final IGameStore          _store;
+    private final SessionStore        _sessions;
+    
+    private static final LatencyHistogram _START_GAME_LATENCY  = Metrics.getHistogram("server.startGame");
+    private static final LatencyHistogram _GET_GAME_LATENCY    = Metrics.getHistogram("server.getGame");
+    private static final LatencyHistogram _GUESS_LATENCY       = Metrics.getHistogram("server.guess");
+    private static final LatencyHistogram _QUIT_GAME_LATENCY   = Metrics.getHistogram("server.quitGame");
+    private static final LatencyHistogram _STATISTICS_LATENCY  = Metrics.getHistogram("server.statistics");
+    private static final LatencyHistogram _LEADERBOARD_LATENCY = Metrics.getHistogram("server.leaderboard");
+    private static final LongAdder        _ERROR_COUNT         = Metrics.getCounter("server.errors");
+    
+    private static final Path _SESSIONS_PATH = Paths.get(System.getProperty("wordem.sessionsFile", "Sessions.dat"));
+    
+    private static final int _DEFAULT_PORT              = 8080;
+    private static final int _DEFAULT_BACKLOG           = 1024;
+    private static final int _DEFAULT_PLATFORM_THREADS  = 256;
+    private static final int _DEFAULT_LEADERBOARD_LIMIT = 10;
+    private static final int _MAX_LEADERBOARD_LIMIT     = 100;
+    private static final int _MAX_PLAYER_LENGTH         = 32;
+    
+    ///////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    //
+    // This nested class is an error to answer a request with, with its HTTP status.
+    //
+    private static class _RequestException extends Exception
+    {
+        public _RequestException(int status, String message)
+        {
+            super(message);
+            this.status = status;
+        }
+        
+        public final int status;
+        
+        private static final long serialVersionUID = 1L;
+    }
+    
+    ///////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    //
+    // This nested class handles the requests under /games.
+    //
+    private class _GamesHandler implements HttpHandler
+    {
+        public void handle(HttpExchange exchange) throws IOException
+        {
+            long     startNanos = System.nanoTime();
+            String   method     = exchange.getRequestMethod();
+            String[] segments   = exchange.getRequestURI().getPath().split("/"); // "", "games", game ID, "guesses"
+            
+            try
+            {
+                HashMap<String, String> parameters = _parseParameters(exchange);
+                
+                if (segments.length == 2 && method.equals("POST"))
+                {
+                    _respond(exchange, 201, _startGame(parameters));
+                    _START_GAME_LATENCY.recordSince(startNanos);
+                }
+                else if (segments.length == 3 && method.equals("GET"))
+                {
+                    _respond(exchange, 200, _formatGame(SessionStore.parseId(segments[2]), _getGame(segments[2]), null));
+                    _GET_GAME_LATENCY.recordSince(startNanos);
+                }
+                else if (segments.length == 3 && method.equals("DELETE"))
+                {
+                    _respond(exchange, 200, _quitGame(segments[2]));
+                    _QUIT_GAME_LATENCY.recordSince(startNanos);
+                }
+                else if (segments.length == 4 && segments[3].equals("guesses") && method.equals("POST"))
+                {
+                    _respond(exchange, 200, _guess(segments[2], parameters));
+                    _GUESS_LATENCY.recordSince(startNanos);
+                }
+                else
+                {
+                    throw new _RequestException(404, "No such endpoint: " + method + " " + exchange.getRequestURI().getPath());
+                }
+            }
+            catch (_RequestException ex)
+            {
+                _ERROR_COUNT.increment();
+                _respond(exchange, ex.status, _formatError(ex.getMessage()));
+            }
+            catch (SQLException | RuntimeException ex)
+            {
+                _ERROR_COUNT.increment();
+                System.out.println("GameServer._GamesHandler.handle >> " + ex);
+                _respond(exchange, 500, _formatError(ex.toString()));
+            }
+        }
+    }
+    
+    ///////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    //
+    // This nested class handles the requests for /statistics.
+    //
+    private class _StatisticsHandler implements HttpHandler
+    {
+        public void handle(HttpExchange exchange) throws IOException
+        {
+            long startNanos = System.nanoTime();
+            
+            try
+            {
+                if (!exchange.getRequestMethod().equals("GET") || !exchange.getRequestURI().getPath().equals("/statistics"))
+                {
+                    throw new _RequestException(404, "No such endpoint: " + exchange.getRequestMethod() + " " + exchange.getRequestURI().getPath());
+                }
+                
+                _respond(exchange, 200, _formatStatistics(_parseParameters(exchange)));
+                _STATISTICS_LATENCY.recordSince(startNanos);
+            }
+            catch (_RequestException ex)
+            {
+                _ERROR_COUNT.increment();
+                _respond(exchange, ex.status, _formatError(ex.getMessage()));
+            }
+            catch (SQLException | RuntimeException ex)
+            {
+                _ERROR_COUNT.increment();
+                System.out.println("GameServer._StatisticsHandler.handle >> " + ex);
+                _respond(exchange, 500, _formatError(ex.toString()));
+            }
+        }
+    }
+    
+    ///////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    //
+    // This nested class handles the requests for /leaderboard.
+    //
+    private class _LeaderboardHandler implements HttpHandler
+    {
+        public void handle(HttpExchange exchange) throws IOException
+        {
+            long startNanos = System.nanoTime();
+            
+            try
+            {
+                if (!exchange.getRequestMethod().equals("GET") || !exchange.getRequestURI().getPath().equals("/leaderboard"))
+                {
+                    throw new _RequestException(404, "No such endpoint: " + exchange.getRequestMethod() + " " + exchange.getRequestURI().getPath());
+                }
+                
+                _respond(exchange, 200, _formatLeaderboard(_parseParameters(exchange)));
+                _LEADERBOARD_LATENCY.recordSince(startNanos);
+            }
+            catch (_RequestException ex)
+            {
+                _ERROR_COUNT.increment();
+                _respond(exchange, ex.status, _formatError(ex.getMessage()));
+            }
+            catch (SQLException | RuntimeException ex)
+            {
+                _ERROR_COUNT.increment();
+                System.out.println("GameServer._LeaderboardHandler.handle >> " + ex);
+                _respond(exchange, 500, _formatError(ex.toString()));
+            }
+        }
+    }
+}
@@ -0,0 +1,237 @@
+//
+// GameStatistics.java
+//
+// This class maintains the statistics rollups: the win/loss counters, the number of wins at each guess count and the
+// current and longest win streaks of every game mode. Rollups are updated in the same transaction that records a game,
+// so reading them never depends on the size of the game history.
+//
+// The MIT License (MIT)
+// 
+// Copyright (c) 2022 WordEm Development Group.  All Rights Reserved.
+// 
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this
+// software and associated documentation files (the "Software"), to deal in the Software
+// without restriction, including without limitation the rights to use, copy, modify, merge,
+// publish, distribute, sub-license, and/or sell copies of the Software, and to permit persons
+// to whom the Software is furnished to do so, subject to the following conditions:
+// 
+// * The above copyright notice and this permission notice shall be included in all copies or
+// substantial portions of the Software.
+// 
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+// INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+// PURPOSE AND NONINFRINGEMENT.  IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE
+// FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR 
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+// DEALINGS IN THE SOFTWARE.
+//
+package wordem;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+public abstract class GameStatistics
+{
+    //
+    // This method gets a snapshot of the statistics. Pending writes are committed first, and the previous snapshot
+    // is returned as is if nothing has been committed since it was read.
+    //
+    public static StatisticsSnapshot getSnapshot() throws SQLException
+    {
+        DatabaseWriter     writer   = DatabaseWriter.getInstance();
+        StatisticsSnapshot snapshot = _snapshot;
+        
+        try
+        {
+            writer.flush(_FLUSH_TIMEOUT_MS);
+        }
+        catch (InterruptedException ex)
+        {
+            Thread.currentThread().interrupt();
+        }
+        
+        //
+        // The version is read before the tables, so a write committed while reading only makes the next call read again:
+        //
+        long version = writer.getCommitCount();
+        
+        if (snapshot == null || snapshot.getVersion() != version)
+        {
+            snapshot  = _readSnapshot(version);
+            _snapshot = snapshot;
+        }
+        
+        return snapshot;
+    }
+    
+    //
+    // This method reads a new snapshot of the statistics, without flushing pending writes or consulting the cached snapshot.
+    //
+    public static StatisticsSnapshot readSnapshot() throws SQLException
+    {
+        return _readSnapshot(DatabaseWriter.getInstance().getCommitCount());
+    }
+    
+    //
+    // This method updates the rollups with a finished game. It runs on the writer thread, inside the transaction recording the game.
+    //
+    public static void update(Connection conn, GameRecord record) throws SQLException
+    {
+        DatabaseManager databaseManager = new DatabaseManager(conn);
+        GameMode        gameMode        = record.getGameMode();
+        
+        switch (record.getResult())
+        {
+            case Won:
+            {
+                try (PreparedStatement stmt = conn.prepareStatement("INSERT INTO \"Statistics_Distribution\" (\"GameMode\", \"Guesses\", \"Count\") VALUES (?, ?, 1) "
+                                                                  + "ON CONFLICT (\"GameMode\", \"Guesses\") DO UPDATE SET \"Count\" = \"Count\" + 1"))
+                {
+                    stmt.setString(1, gameMode.toString());
+                    stmt.setInt(2, record.getGuessCount());
+                    stmt.executeUpdate();
+                }
+                
+                try (PreparedStatement stmt = conn.prepareStatement("INSERT INTO \"Statistics_Streaks\" (\"GameMode\", \"CurrentStreak\", \"MaxStreak\") VALUES (?, 1, 1) "
+                                                                  + "ON CONFLICT (\"GameMode\") DO UPDATE SET \"CurrentStreak\" = \"CurrentStreak\" + 1, "
+                                                                  + "\"MaxStreak\" = MAX(\"MaxStreak\", \"CurrentStreak\" + 1)"))
+                {
+                    stmt.setString(1, gameMode.toString());
+                    stmt.executeUpdate();
+                }
+                
+                databaseManager.incrementGamesPlayedStatistic(null);
+                databaseManager.incrementGamesPlayedStatistic(gameMode);
+                databaseManager.incrementGamesWonStatistic(null);
+                databaseManager.incrementGamesWonStatistic(gameMode);
+                databaseManager.updateWinPercentageStatistic(null);
+                databaseManager.updateWinPercentageStatistic(gameMode);
+                break;
+            }
+            
+            case Lost:
+            {
+                _breakStreak(conn, gameMode);
+                
+                databaseManager.incrementGamesPlayedStatistic(null);
+                databaseManager.incrementGamesPlayedStatistic(gameMode);
+                databaseManager.incrementGamesLostStatistic(null);
+                databaseManager.incrementGamesLostStatistic(gameMode);
+                databaseManager.updateWinPercentageStatistic(null);
+                databaseManager.updateWinPercentageStatistic(gameMode);
+                break;
+            }
+            
+            case Quit:
+            {
+                _breakStreak(conn, gameMode);
+                
+                databaseManager.incrementGamesQuitStatistic(null);
+                databaseManager.incrementGamesQuitStatistic(gameMode);
+                break;
+            }
+        }
+    }
+    
+    //
+    // This method creates the distribution and streak tables if they do not exist yet.
+    //
+    public static void prepareSchema(Connection conn) throws SQLException
+    {
+        Statement stmt = conn.createStatement();
+        
+        stmt.execute("CREATE TABLE IF NOT EXISTS \"Statistics_Distribution\" (\"GameMode\" TEXT, \"Guesses\" INTEGER, \"Count\" INTEGER, "
+                   + "PRIMARY KEY (\"GameMode\", \"Guesses\")) WITHOUT ROWID");
+        stmt.execute("CREATE TABLE IF NOT EXISTS \"Statistics_Streaks\" (\"GameMode\" TEXT PRIMARY KEY, \"CurrentStreak\" INTEGER, \"MaxStreak\" INTEGER)");
+    }
+    
+    //
+    // This method resets the current win streak of a given game mode.
+    //
+    private static void _breakStreak(Connection conn, GameMode gameMode) throws SQLException
+    {
+        try (PreparedStatement stmt = conn.prepareStatement("INSERT INTO \"Statistics_Streaks\" (\"GameMode\", \"CurrentStreak\", \"MaxStreak\") VALUES (?, 0, 0) "
+                                                          + "ON CONFLICT (\"GameMode\") DO UPDATE SET \"CurrentStreak\" = 0"))
+        {
+            stmt.setString(1, gameMode.toString());
+            stmt.executeUpdate();
+        }
+    }
+    
+    //
+    // This method reads every rollup into a new snapshot with a given version.
+    //
+    private static StatisticsSnapshot _readSnapshot(long version) throws SQLException
+    {
+        GameMode[]      gameModes        = GameMode.values();
+        int[]           gamesPlayed      = new int[gameModes.length + 1];
+        int[]           gamesQuit        = new int[gameModes.length + 1];
+        int[]           gamesWon         = new int[gameModes.length + 1];
+        int[]           gamesLost        = new int[gameModes.length + 1];
+        int[]           winPercentages   = new int[gameModes.length + 1];
+        int[][]         winDistributions = new int[gameModes.length][];
+        int[]           currentStreaks   = new int[gameModes.length];
+        int[]           maxStreaks       = new int[gameModes.length];
+        Connection      conn             = DatabaseManager.createConnection();
+        DatabaseManager databaseManager  = new DatabaseManager(conn);
+        
+        try
+        {
+            for (int index = 0; index <= gameModes.length; ++index)
+            {
+                GameMode gameMode = (index < gameModes.length) ? gameModes[index] : null;
+                
+                gamesPlayed[index]    = databaseManager.getGamesPlayedStatistic(gameMode);
+                gamesQuit[index]      = databaseManager.getGamesQuitStatistic(gameMode);
+                gamesWon[index]       = databaseManager.getGamesWonStatistic(gameMode);
+                gamesLost[index]      = databaseManager.getGamesLostStatistic(gameMode);
+                winPercentages[index] = databaseManager.getWinPercentageStatistic(gameMode);
+            }
+            
+            for (GameMode gameMode : gameModes)
+            {
+                winDistributions[gameMode.ordinal()] = new int[gameMode.getGuessLimit() + 1];
+            }
+            
+            Statement stmt = conn.createStatement();
+            ResultSet rs   = stmt.executeQuery("SELECT \"GameMode\", \"Guesses\", \"Count\" FROM \"Statistics_Distribution\"");
+            
+            while (rs.next())
+            {
+                int[] winDistribution = winDistributions[GameMode.valueOf(rs.getString("GameMode")).ordinal()];
+                int   guessCount      = rs.getInt("Guesses");
+                
+                if (guessCount > 0 && guessCount < winDistribution.length)
+                {
+                    winDistribution[guessCount] = rs.getInt("Count");
+                }
+            }
+            
+            rs = stmt.executeQuery("SELECT \"GameMode\", \"CurrentStreak\", \"MaxStreak\" FROM \"Statistics_Streaks\"");
+            
+            while (rs.next())
+            {
+                int index = GameMode.valueOf(rs.getString("GameMode")).ordinal();
+                
+                currentStreaks[index] = rs.getInt("CurrentStreak");
+                maxStreaks[index]     = rs.getInt("MaxStreak");
+            }
+        }
+        finally
+        {
+            conn.close();
+        }
+        
+        return new StatisticsSnapshot(version, gamesPlayed, gamesQuit, gamesWon, gamesLost, winPercentages, winDistributions, currentStreaks, maxStreaks);
+    }
+    
+    //
+    // Private member variables:
+    //
+    private static volatile StatisticsSnapshot _snapshot = null;
+    
+    private static final long _FLUSH_TIMEOUT_MS = 2000;
+}
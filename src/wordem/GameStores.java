@@ -0,0 +1,95 @@
+//
+// GameStores.java
+//
+// This class opens the game store the engine runs against, chosen when the game starts by -Dwordem.store:
+//     sqlite    Words.sqlite and Data.sqlite, as the game has always used (the default).
+//     memory    Words read from the word lists and everything else held in memory, gone when the game exits.
+//     log       Like memory, with every finished game appended to Games.log (-Dwordem.storeLogFile) and replayed from it.
+//
+// The MIT License (MIT)
+// 
+// Copyright (c) 2022 WordEm Development Group.  All Rights Reserved.
+// 
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this
+// software and associated documentation files (the "Software"), to deal in the Software
+// without restriction, including without limitation the rights to use, copy, modify, merge,
+// publish, distribute, sub-license, and/or sell copies of the Software, and to permit persons
+// to whom the Software is furnished to do so, subject to the following conditions:
+// 
+// * The above copyright notice and this permission notice shall be included in all copies or
+// substantial portions of the Software.
+// 
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+// INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+// PURPOSE AND NONINFRINGEMENT.  IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE
+// FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR 
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+// DEALINGS IN THE SOFTWARE.
+//
+package wordem;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.sql.SQLException;
+
+public abstract class GameStores
+{
+    //
+    // This method gets the game store chosen by -Dwordem.store, opening it the first time.
+    //
+    public static synchronized IGameStore getInstance() throws SQLException
+    {
+        if (_instance == null)
+        {
+            _instance = open(System.getProperty("wordem.store", SQLITE));
+        }
+        
+        return _instance;
+    }
+    
+    //
+    // This method opens a new game store of a given kind.
+    //
+    public static IGameStore open(String kind) throws SQLException
+    {
+        if (kind.equals(SQLITE))
+        {
+            return new SqliteGameStore(Integer.getInteger("wordem.storeConnections", Runtime.getRuntime().availableProcessors()));
+        }
+        
+        if (kind.equals(MEMORY))
+        {
+            return new MemoryGameStore();
+        }
+        
+        if (kind.equals(LOG))
+        {
+            String fileName = System.getProperty("wordem.storeLogFile", _DEFAULT_LOG_FILE_NAME);
+            
+            try
+            {
+                return new LogGameStore(Paths.get(fileName));
+            }
+            catch (IOException ex)
+            {
+                throw new SQLException("GameStores.open >> Cannot open game log " + fileName, ex);
+            }
+        }
+        
+        throw new IllegalArgumentException("GameStores.open >> Unknown game store \"" + kind + "\", expected " + SQLITE + ", " + MEMORY + " or " + LOG);
+    }
+    
+    //
+    // Public member variables:
+    //
+    public static final String SQLITE = "sqlite";
+    public static final String MEMORY = "memory";
+    public static final String LOG    = "log";
+    
+    //
+    // Private member variables:
+    //
+    private static IGameStore _instance;
+    
+    private static final String _DEFAULT_LOG_FILE_NAME = "Games.log";
+}
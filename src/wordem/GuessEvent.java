@@ -0,0 +1,84 @@
+//
+// GuessEvent.java
+//
+// This class is a flight recorder event timing the handling of one entered guess: validating it against the word list,
+// scoring it against the hidden word and coloring its tiles.
+//
+// The MIT License (MIT)
+// 
+// Copyright (c) 2022 WordEm Development Group.  All Rights Reserved.
+// 
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this
+// software and associated documentation files (the "Software"), to deal in the Software
+// without restriction, including without limitation the rights to use, copy, modify, merge,
+// publish, distribute, sub-license, and/or sell copies of the Software, and to permit persons
+// to whom the Software is furnished to do so, subject to the following conditions:
+// 
+// * The above copyright notice and this permission notice shall be included in all copies or
+// substantial portions of the Software.
+// 
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+// INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+// PURPOSE AND NONINFRINGEMENT.  IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE
+// FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR 
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+// DEALINGS IN THE SOFTWARE.
+//
+package wordem;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("wordem.Guess")
+@Label("Guess")
+@Category({ "WordEm", "Game" })
+@Description("Validation and scoring of an entered guess")
+@StackTrace(false)
+public class GuessEvent extends Event
+{
+    //
+    // Overloaded constructor. Constructs the event of a guess in a given game mode and language and starts timing it.
+    //
+    public GuessEvent(GameMode gameMode, Language language, String word)
+    {
+        this.gameMode = gameMode.toString();
+        this.language = language.toString();
+        this.word     = word;
+        this.isWord   = false;
+        this.pattern  = -1;
+        
+        begin();
+    }
+    
+    //
+    // This method sets the outcome of the guess: whether it was a word and, if so, its scored pattern.
+    //
+    public void setOutcome(boolean isWord, int pattern)
+    {
+        this.isWord  = isWord;
+        this.pattern = pattern;
+    }
+    
+    //
+    // Recorded fields. Their names are the field names shown in recordings, so they go without the member prefix:
+    //
+    @Label("Game Mode")
+    String gameMode;
+    
+    @Label("Language")
+    String language;
+    
+    @Label("Word")
+    String word;
+    
+    @Label("Is Word")
+    boolean isWord;
+    
+    @Label("Pattern")
+    @Description("Base-3 feedback pattern of the guess, or -1 if it was not a word")
+    int pattern;
+}
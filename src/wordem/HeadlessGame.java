@@ -0,0 +1,201 @@
+//
+// HeadlessGame.java
+//
+// This class plays one game by the rules of the game panels, without any interface. Guesses are scored with Feedback and
+// logged in a GameRecord; the game is won when a guess is solved and lost when the guess limit of the game mode is reached.
+// Like the panels, it expects the caller to have checked that a guess is a word before scoring it.
+//
+// Headless games are used by the simulator and the game server. A game is not thread-safe; give each its own owner.
+//
+// The MIT License (MIT)
+// 
+// Copyright (c) 2022 WordEm Development Group.  All Rights Reserved.
+// 
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this
+// software and associated documentation files (the "Software"), to deal in the Software
+// without restriction, including without limitation the rights to use, copy, modify, merge,
+// publish, distribute, sub-license, and/or sell copies of the Software, and to permit persons
+// to whom the Software is furnished to do so, subject to the following conditions:
+// 
+// * The above copyright notice and this permission notice shall be included in all copies or
+// substantial portions of the Software.
+// 
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+// INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+// PURPOSE AND NONINFRINGEMENT.  IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE
+// FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR 
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+// DEALINGS IN THE SOFTWARE.
+//
+package wordem;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+
+public class HeadlessGame
+{
+    //
+    // Overloaded constructor. Starts a game of a given mode and language with a given hidden word.
+    //
+    public HeadlessGame(GameMode gameMode, Language language, String hiddenWord, boolean isDailyPuzzle)
+    {
+        if (hiddenWord.length() != gameMode.getWordSize())
+        {
+            throw new IllegalArgumentException("HeadlessGame.HeadlessGame >> Hidden word \"" + hiddenWord + "\" does not fit game mode: " + gameMode);
+        }
+        
+        _gameMode = gameMode;
+        _record   = new GameRecord(gameMode, language, hiddenWord, isDailyPuzzle);
+    }
+    
+    //
+    // Overloaded constructor. Resumes a game from its record, which may already be finished.
+    //
+    public HeadlessGame(GameRecord record)
+    {
+        _gameMode = record.getGameMode();
+        _record   = record;
+    }
+    
+    //
+    // This method starts a game the way the game panels do: with the daily puzzle's word, or with a random word
+    // picked from a game store.
+    //
+    public static HeadlessGame start(IGameStore store, GameMode gameMode, Language language, boolean isDailyPuzzle) throws SQLException
+    {
+        String hiddenWord = isDailyPuzzle ? DailyPuzzle.getWord(language, gameMode, LocalDate.now())
+                                          : store.getRandomWord(language, gameMode.getWordSize());
+        
+        return new HeadlessGame(gameMode, language, hiddenWord, isDailyPuzzle);
+    }
+    
+    //
+    // This method scores a guessed word, which must be a word of the game's length, and returns its pattern.
+    // The game ends when the guess is solved or the last guess has been used.
+    //
+    public int guess(String guessedWord)
+    {
+        if (isOver())
+        {
+            throw new IllegalStateException("HeadlessGame.guess >> The game is over");
+        }
+        
+        if (guessedWord.length() != _gameMode.getWordSize())
+        {
+            throw new IllegalArgumentException("HeadlessGame.guess >> Guess \"" + guessedWord + "\" is not of length " + _gameMode.getWordSize());
+        }
+        
+        int pattern = Feedback.score(guessedWord, _record.getHiddenWord());
+        
+        _record.addGuess(guessedWord, pattern);
+        
+        if (Feedback.isSolved(pattern, _gameMode.getWordSize()))
+        {
+            _record.finish(GameResult.Won);
+        }
+        else if (_record.getGuessCount() == _gameMode.getGuessLimit())
+        {
+            _record.finish(GameResult.Lost);
+        }
+        
+        return pattern;
+    }
+    
+    //
+    // This method quits the game, unless it is already over.
+    //
+    public void quit()
+    {
+        if (!isOver())
+        {
+            _record.finish(GameResult.Quit);
+        }
+    }
+    
+    //
+    // This method determines if the game is over.
+    //
+    public boolean isOver()
+    {
+        return _record.isFinished();
+    }
+    
+    //
+    // This method gets how the game ended, or null while it is running.
+    //
+    public GameResult getResult()
+    {
+        return _record.getResult();
+    }
+    
+    //
+    // This method gets the number of guesses made so far.
+    //
+    public int getGuessCount()
+    {
+        return _record.getGuessCount();
+    }
+    
+    //
+    // This method gets the number of guesses left.
+    //
+    public int getGuessesLeft()
+    {
+        return isOver() ? 0 : _gameMode.getGuessLimit() - _record.getGuessCount();
+    }
+    
+    //
+    // This method gets the game mode.
+    //
+    public GameMode getGameMode()
+    {
+        return _gameMode;
+    }
+    
+    //
+    // This method gets the language.
+    //
+    public Language getLanguage()
+    {
+        return _record.getLanguage();
+    }
+    
+    //
+    // This method gets the hidden word.
+    //
+    public String getHiddenWord()
+    {
+        return _record.getHiddenWord();
+    }
+    
+    //
+    // This method gets the player of the game, or null if the game is anonymous.
+    //
+    public String getPlayer()
+    {
+        return _player;
+    }
+    
+    //
+    // This method sets the player of the game.
+    //
+    public void setPlayer(String player)
+    {
+        _player = player;
+    }
+    
+    //
+    // This method gets the record of the game, for the game history once the game is over.
+    //
+    public GameRecord getRecord()
+    {
+        return _record;
+    }
+    
+    //
+    // Private member variables:
+    //
+    private final GameMode   _gameMode;
+    private final GameRecord _record;
+    private String           _player;
+}
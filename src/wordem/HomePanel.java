@@ -41,6 +41,7 @@ public class HomePanel extends JPanel implements ActionListener
         _initializeLanguageButtons();
         _initializeGameModeButtons();
         _initializePlayButton();
+        _initializeDailyPuzzleCheckBox();
         _initializeTitle();
     }
     
@@ -82,6 +83,7 @@ public class HomePanel extends JPanel implements ActionListener
                     
                     _mainFrame.setLanguage(language);
                     _mainFrame.setGameMode(gameMode);
+                    _mainFrame.setDailyPuzzle(_dailyPuzzleCheckBox.isSelected());
                     
                     eventForward = new ActionEvent(this, event.getID(), "Play");
                 }
@@ -129,8 +131,7 @@ public class HomePanel extends JPanel implements ActionListener
     {
         _mainFrame       = mainFrame;
         _actionListeners = new ActionListener[0];
-        _toolkit         = Toolkit.getDefaultToolkit();
-        _backgroundImage = _toolkit.getImage("art/Home Panel Background.png");
+        _backgroundImage = ImageLoader.loadImage("art/Home Panel Background.png");
         
         this.setFocusable(false);
         this.setLayout(null);
@@ -156,7 +157,7 @@ public class HomePanel extends JPanel implements ActionListener
         {
             languageName          = language.toString();
             languageImageFileName = languageName + " Language.png";
-            languageIcon         = new ImageIcon("art/" + languageImageFileName);
+            languageIcon         = ImageLoader.loadIcon("art/" + languageImageFileName);
             
             if (languageIcon.getImageLoadStatus() != MediaTracker.COMPLETE)
             {
@@ -206,7 +207,7 @@ public class HomePanel extends JPanel implements ActionListener
         {
             gameModeName          = gameMode.toString();
             gameModeImageFileName = gameModeName + " Game Mode.png";
-            gameModeImage         = new ImageIcon("art/" + gameModeImageFileName);
+            gameModeImage         = ImageLoader.loadIcon("art/" + gameModeImageFileName);
             
             if (gameModeImage.getImageLoadStatus() != MediaTracker.COMPLETE)
             {
@@ -242,14 +243,14 @@ public class HomePanel extends JPanel implements ActionListener
     //
     private void _initializePlayButton() throws Exception
     {
-        ImageIcon playButtonStaticImage = new ImageIcon("art/Play Button Static.png");
+        ImageIcon playButtonStaticImage = ImageLoader.loadIcon("art/Play Button Static.png");
         
         if (playButtonStaticImage.getImageLoadStatus() != MediaTracker.COMPLETE)
         {
             throw new Exception("HomePanel._initializeGameModeButtons >> Could not load game mode image file: " + playButtonStaticImage);
         }
         
-        ImageIcon playButtonRolloverImage = new ImageIcon("art/Play Button Rollover.png");
+        ImageIcon playButtonRolloverImage = ImageLoader.loadIcon("art/Play Button Rollover.png");
         
         if (playButtonRolloverImage.getImageLoadStatus() != MediaTracker.COMPLETE)
         {
@@ -269,12 +270,26 @@ public class HomePanel extends JPanel implements ActionListener
         this.add(_playButton);
     }
     
+    //
+    // This method initializes the daily puzzle check box on this panel.
+    //
+    private void _initializeDailyPuzzleCheckBox()
+    {
+        _dailyPuzzleCheckBox = new JCheckBox("Daily Puzzle");
+        _dailyPuzzleCheckBox.setFont(new Font("SansSerif", Font.BOLD, 18));
+        _dailyPuzzleCheckBox.setBounds(422, 580, 150, 40);
+        _dailyPuzzleCheckBox.setHorizontalAlignment(SwingConstants.CENTER);
+        _dailyPuzzleCheckBox.setOpaque(false);
+        _dailyPuzzleCheckBox.setFocusable(false);
+        this.add(_dailyPuzzleCheckBox);
+    }
+    
     //
     // This method initialized the WordEm title label on this panel.
     //
     private void _initializeTitle() throws Exception
     {
-        ImageIcon titleImage = new ImageIcon("art/Title.png");
+        ImageIcon titleImage = ImageLoader.loadIcon("art/Title.png");
         
         if (titleImage.getImageLoadStatus() != MediaTracker.COMPLETE)
         {
@@ -296,6 +311,6 @@ public class HomePanel extends JPanel implements ActionListener
     private JButton              _playButton;
     private JComboBox<ImageIcon> _languageOptions;
     private JComboBox<ImageIcon> _gameModeOptions;
-    private Toolkit              _toolkit;
+    private JCheckBox            _dailyPuzzleCheckBox;
     private Image                _backgroundImage;
 }
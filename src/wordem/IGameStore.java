@@ -0,0 +1,49 @@
+//
+// IGameStore.java
+//
+// This interface specifies where the game engine keeps its words, statistics and game history, so the engine can run
+// against SQLite, in memory or on a log file (see GameStores). Words are lower case, and the words of a language and
+// length are returned sorted. A recorded game must have finished, and is added to both the history and the statistics.
+// Storage failures are reported as SQLExceptions whatever the store, as they are by DatabaseManager.
+//
+// The MIT License (MIT)
+// 
+// Copyright (c) 2022 WordEm Development Group.  All Rights Reserved.
+// 
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this
+// software and associated documentation files (the "Software"), to deal in the Software
+// without restriction, including without limitation the rights to use, copy, modify, merge,
+// publish, distribute, sub-license, and/or sell copies of the Software, and to permit persons
+// to whom the Software is furnished to do so, subject to the following conditions:
+// 
+// * The above copyright notice and this permission notice shall be included in all copies or
+// substantial portions of the Software.
+// 
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+// INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+// PURPOSE AND NONINFRINGEMENT.  IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE
+// FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR 
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+// DEALINGS IN THE SOFTWARE.
+//
+package wordem;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+
+public interface IGameStore
+{
+    public String getRandomWord(Language language, int length) throws SQLException;
+    
+    public String[] getWords(Language language, int length) throws SQLException;
+    
+    public boolean isWord(String word, Language language) throws SQLException;
+    
+    public void record(GameRecord record) throws SQLException;
+    
+    public StatisticsSnapshot getStatistics() throws SQLException;
+    
+    public ArrayList<GameRecord> getRecentGames(GameMode gameMode, int limit) throws SQLException;
+    
+    public void close() throws SQLException;
+}
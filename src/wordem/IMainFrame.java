@@ -34,4 +34,8 @@ public interface IMainFrame
     public void setGameMode(GameMode gameMode);
     
     public GameMode getGameMode();
+    
+    public void setDailyPuzzle(boolean isDailyPuzzle);
+    
+    public boolean isDailyPuzzle();
 }
@@ -0,0 +1,81 @@
+//
+// ImageLoadEvent.java
+//
+// This class is a flight recorder event timing the loading of one image from the art folder.
+//
+// The MIT License (MIT)
+// 
+// Copyright (c) 2022 WordEm Development Group.  All Rights Reserved.
+// 
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this
+// software and associated documentation files (the "Software"), to deal in the Software
+// without restriction, including without limitation the rights to use, copy, modify, merge,
+// publish, distribute, sub-license, and/or sell copies of the Software, and to permit persons
+// to whom the Software is furnished to do so, subject to the following conditions:
+// 
+// * The above copyright notice and this permission notice shall be included in all copies or
+// substantial portions of the Software.
+// 
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+// INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+// PURPOSE AND NONINFRINGEMENT.  IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE
+// FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR 
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+// DEALINGS IN THE SOFTWARE.
+//
+package wordem;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("wordem.ImageLoad")
+@Label("Image Load")
+@Category({ "WordEm", "Rendering" })
+@Description("Loading of an image file")
+@StackTrace(false)
+public class ImageLoadEvent extends Event
+{
+    //
+    // Overloaded constructor. Constructs the event of loading a given file and starts timing it.
+    //
+    public ImageLoadEvent(String fileName, boolean isAsynchronous)
+    {
+        this.fileName       = fileName;
+        this.isAsynchronous = isAsynchronous;
+        
+        begin();
+    }
+    
+    //
+    // This method sets the outcome of the load.
+    //
+    public void setOutcome(boolean isLoaded, int width, int height)
+    {
+        this.isLoaded = isLoaded;
+        this.width    = width;
+        this.height   = height;
+    }
+    
+    //
+    // Recorded fields. Their names are the field names shown in recordings, so they go without the member prefix:
+    //
+    @Label("File Name")
+    String fileName;
+    
+    @Label("Is Asynchronous")
+    @Description("Whether only the request was timed, with the pixels loaded later by the toolkit")
+    boolean isAsynchronous;
+    
+    @Label("Is Loaded")
+    boolean isLoaded;
+    
+    @Label("Width")
+    int width;
+    
+    @Label("Height")
+    int height;
+}
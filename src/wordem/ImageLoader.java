@@ -0,0 +1,63 @@
+//
+// ImageLoader.java
+//
+// This class loads the images of the art folder, recording an image load event for each one.
+//
+// The MIT License (MIT)
+// 
+// Copyright (c) 2022 WordEm Development Group.  All Rights Reserved.
+// 
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this
+// software and associated documentation files (the "Software"), to deal in the Software
+// without restriction, including without limitation the rights to use, copy, modify, merge,
+// publish, distribute, sub-license, and/or sell copies of the Software, and to permit persons
+// to whom the Software is furnished to do so, subject to the following conditions:
+// 
+// * The above copyright notice and this permission notice shall be included in all copies or
+// substantial portions of the Software.
+// 
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+// INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+// PURPOSE AND NONINFRINGEMENT.  IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE
+// FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR 
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+// DEALINGS IN THE SOFTWARE.
+//
+package wordem;
+
+import javax.swing.ImageIcon;
+import java.awt.Image;
+import java.awt.MediaTracker;
+import java.awt.Toolkit;
+
+public abstract class ImageLoader
+{
+    //
+    // This method loads an icon from a given file, waiting until its pixels are loaded.
+    // The icon's load status tells if the file could be read.
+    //
+    public static ImageIcon loadIcon(String fileName)
+    {
+        ImageLoadEvent event = new ImageLoadEvent(fileName, false);
+        ImageIcon      icon  = new ImageIcon(fileName);
+        
+        event.setOutcome(icon.getImageLoadStatus() == MediaTracker.COMPLETE, icon.getIconWidth(), icon.getIconHeight());
+        event.commit();
+        
+        return icon;
+    }
+    
+    //
+    // This method requests an image from a given file. The toolkit loads its pixels in the background as it is drawn.
+    //
+    public static Image loadImage(String fileName)
+    {
+        ImageLoadEvent event = new ImageLoadEvent(fileName, true);
+        Image          image = Toolkit.getDefaultToolkit().getImage(fileName);
+        
+        event.setOutcome(image.getWidth(null) >= 0, image.getWidth(null), image.getHeight(null));
+        event.commit();
+        
+        return image;
+    }
+}
@@ -0,0 +1,201 @@
+//
+// LatencyHistogram.java
+//
+// This class is a latency histogram with logarithmic buckets. Every power of two is split into eight linear
+// sub-buckets, so any recorded value is known to within 12.5% while every non-negative long fits in 488 buckets.
+//
+// Recording threads are spread over a fixed set of stripes by their thread IDs, a few per processor, so recording takes
+// no locks, rarely contends and never allocates, however many threads (virtual threads included) come and go. Readers
+// sum the stripes' buckets.
+//
+// The MIT License (MIT)
+// 
+// Copyright (c) 2022 WordEm Development Group.  All Rights Reserved.
+// 
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this
+// software and associated documentation files (the "Software"), to deal in the Software
+// without restriction, including without limitation the rights to use, copy, modify, merge,
+// publish, distribute, sub-license, and/or sell copies of the Software, and to permit persons
+// to whom the Software is furnished to do so, subject to the following conditions:
+// 
+// * The above copyright notice and this permission notice shall be included in all copies or
+// substantial portions of the Software.
+// 
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+// INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+// PURPOSE AND NONINFRINGEMENT.  IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE
+// FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR 
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+// DEALINGS IN THE SOFTWARE.
+//
+package wordem;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+public class LatencyHistogram
+{
+    //
+    // Overloaded constructor. Creates an empty histogram with a given name.
+    //
+    public LatencyHistogram(String name)
+    {
+        _name      = name;
+        _recorders = new _Recorder[1 << _STRIPE_BITS];
+        
+        for (int index = 0; index < _recorders.length; ++index)
+        {
+            _recorders[index] = new _Recorder();
+        }
+    }
+    
+    //
+    // This method gets the name of the histogram.
+    //
+    public String getName()
+    {
+        return _name;
+    }
+    
+    //
+    // This method records a value, in nanoseconds. Negative values are recorded as zero.
+    //
+    public void record(long nanos)
+    {
+        _Recorder recorder = _recorders[(int)((Thread.currentThread().getId() * _STRIPE_HASH_MULTIPLIER) >>> (64 - _STRIPE_BITS))];
+        long      value    = Math.max(nanos, 0);
+        long      max      = recorder.max.get();
+        
+        recorder.counts.incrementAndGet(getBucketIndex(value));
+        recorder.total.addAndGet(value);
+        
+        while (value > max && !recorder.max.compareAndSet(max, value))
+        {
+            max = recorder.max.get();
+        }
+    }
+    
+    //
+    // This method records the time elapsed since a given System.nanoTime() reading.
+    //
+    public void recordSince(long startNanos)
+    {
+        record(System.nanoTime() - startNanos);
+    }
+    
+    //
+    // This method gets the number of values recorded in each bucket, summed over every recording thread.
+    //
+    public long[] getBucketCounts()
+    {
+        long[] counts = new long[BUCKET_COUNT];
+        
+        for (_Recorder recorder : _recorders)
+        {
+            for (int index = 0; index < BUCKET_COUNT; ++index)
+            {
+                counts[index] += recorder.counts.get(index);
+            }
+        }
+        
+        return counts;
+    }
+    
+    //
+    // This method gets the sum of every value recorded, in nanoseconds.
+    //
+    public long getTotal()
+    {
+        long total = 0;
+        
+        for (_Recorder recorder : _recorders)
+        {
+            total += recorder.total.get();
+        }
+        
+        return total;
+    }
+    
+    //
+    // This method gets the largest value recorded, in nanoseconds.
+    //
+    public long getMax()
+    {
+        long max = 0;
+        
+        for (_Recorder recorder : _recorders)
+        {
+            max = Math.max(max, recorder.max.get());
+        }
+        
+        return max;
+    }
+    
+    //
+    // This method gets the index of the bucket a non-negative value falls into. Values below the sub-bucket count
+    // get a bucket each; above that, the bucket is picked by the value's highest bit and the three bits below it.
+    //
+    public static int getBucketIndex(long value)
+    {
+        if (value < _SUB_BUCKET_COUNT)
+        {
+            return (int)value;
+        }
+        
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int subIndex = (int)(value >>> (exponent - _SUB_BUCKET_BITS)) & (_SUB_BUCKET_COUNT - 1);
+        
+        return (exponent - _SUB_BUCKET_BITS + 1) * _SUB_BUCKET_COUNT + subIndex;
+    }
+    
+    //
+    // This method gets the smallest value that falls into a given bucket.
+    //
+    public static long getBucketLowerBound(int index)
+    {
+        if (index < _SUB_BUCKET_COUNT)
+        {
+            return index;
+        }
+        
+        int exponent = index / _SUB_BUCKET_COUNT + _SUB_BUCKET_BITS - 1;
+        int subIndex = index % _SUB_BUCKET_COUNT;
+        
+        return (long)(_SUB_BUCKET_COUNT + subIndex) << (exponent - _SUB_BUCKET_BITS);
+    }
+    
+    //
+    // This method gets the largest value that falls into a given bucket.
+    //
+    public static long getBucketUpperBound(int index)
+    {
+        return index == BUCKET_COUNT - 1 ? Long.MAX_VALUE : getBucketLowerBound(index + 1) - 1;
+    }
+    
+    //
+    // Public constants:
+    //
+    public static final int BUCKET_COUNT = (63 - 3 + 1) * 8; // Values below 8, then highest bits 3 to 62 with 8 sub-buckets each
+    
+    //
+    // Private member variables:
+    //
+    private final String      _name;
+    private final _Recorder[] _recorders;
+    
+    private static final int  _SUB_BUCKET_BITS        = 3;
+    private static final int  _SUB_BUCKET_COUNT       = 1 << _SUB_BUCKET_BITS;
+    private static final int  _STRIPE_BITS            = Math.min(6, 33 - Integer.numberOfLeadingZeros(Runtime.getRuntime().availableProcessors())); // Two to four per processor, at most 64
+    private static final long _STRIPE_HASH_MULTIPLIER = 0x9e3779b97f4a7c15L; // Spreads consecutive thread IDs over the stripes
+    
+    ///////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    //
+    // This nested class holds the buckets of one stripe of recording threads.
+    //
+    private static class _Recorder
+    {
+        public final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+        public final AtomicLong      total  = new AtomicLong();
+        public final AtomicLong      max    = new AtomicLong();
+    }
+}
@@ -0,0 +1,739 @@
+//
+// Leaderboard.java
+//
+// This class keeps the leaderboards of solved games: one per game mode, day and ranking, holding the best solve of
+// each player. A board keeps its entries in a concurrent skip list, for the top of the board, and counts them in a
+// Fenwick tree of atomic counters over score buckets, for ranks. Submissions and rank lookups are lock-free, so
+// lookups never hold up submissions: a rank is the count of the buckets ahead of a player's, read from the tree in
+// O(log n), plus the entries ahead of it in its own bucket.
+//
+// Boards are loaded from the user database on first use. Improved entries are written back in batches, every ten
+// seconds by default, through the database writer, and boards of days past the retention period are dropped from
+// memory once written.
+//
+// Everyone plays the same daily puzzle, so a player may only start one daily game of a game mode a day: a player who
+// played it before knows more than the others about the word. The daily games started are claimed when they start and
+// written with the improved entries, so the claim outlives an abandoned game and a restart.
+//
+// The MIT License (MIT)
+// 
+// Copyright (c) 2022 WordEm Development Group.  All Rights Reserved.
+// 
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this
+// software and associated documentation files (the "Software"), to deal in the Software
+// without restriction, including without limitation the rights to use, copy, modify, merge,
+// publish, distribute, sub-license, and/or sell copies of the Software, and to permit persons
+// to whom the Software is furnished to do so, subject to the following conditions:
+// 
+// * The above copyright notice and this permission notice shall be included in all copies or
+// substantial portions of the Software.
+// 
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+// INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+// PURPOSE AND NONINFRINGEMENT.  IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE
+// FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR 
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+// DEALINGS IN THE SOFTWARE.
+//
+package wordem;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.BiFunction;
+
+public class Leaderboard
+{
+    //
+    // Default constructor.
+    //
+    private Leaderboard()
+    {
+        _boards         = new ConcurrentHashMap<String, _Board>();
+        _dailyStarts    = new ConcurrentHashMap<LocalDate, Set<String>>();
+        _newDailyStarts = new ConcurrentLinkedQueue<String>();
+    }
+    
+    //
+    // This method gets the shared leaderboards.
+    //
+    public static synchronized Leaderboard getInstance()
+    {
+        if (_instance == null)
+        {
+            _instance = new Leaderboard();
+        }
+        
+        return _instance;
+    }
+    
+    //
+    // This method claims the daily puzzle of a game mode and day for a player about to start it. Returns false if the
+    // player has started it before, in which case the game must not be started.
+    //
+    public boolean claimDaily(String player, GameMode gameMode, LocalDate day) throws SQLException
+    {
+        if (!_getDailyStarts(day).add(gameMode + ":" + player))
+        {
+            return false;
+        }
+        
+        _newDailyStarts.add(day + ":" + gameMode + ":" + player);
+        
+        return true;
+    }
+    
+    //
+    // This method gets the day a game is ranked on: the day it started on.
+    //
+    public static LocalDate getDay(GameRecord record)
+    {
+        return Instant.ofEpochMilli(record.getStartTime()).atZone(ZoneId.systemDefault()).toLocalDate();
+    }
+    
+    //
+    // This method submits a finished game of a player to the leaderboards of its game mode and the day it started on.
+    // Only won games are ranked. Daily puzzles are claimed when they start, so a player's daily game is the only one.
+    // Returns true if the game improved the player's entry on any board.
+    //
+    public boolean submit(String player, GameRecord record) throws SQLException
+    {
+        LocalDate day = getDay(record);
+        
+        if (record.getResult() != GameResult.Won)
+        {
+            return false;
+        }
+        
+        return submit(player, record.getGameMode(), day, record.getGuessCount(), record.getEndTime() - record.getStartTime());
+    }
+    
+    //
+    // This method submits a solve of a player to the leaderboards of a game mode and day. Returns true if the solve
+    // improved the player's entry on any board. Solves on days that are not retained are not ranked.
+    //
+    public boolean submit(String player, GameMode gameMode, LocalDate day, int guessCount, long solveMillis) throws SQLException
+    {
+        LeaderboardEntry entry      = new LeaderboardEntry(player, guessCount, Math.max(0, solveMillis), System.currentTimeMillis());
+        boolean          isImproved = false;
+        
+        if (!isRetained(day))
+        {
+            return false;
+        }
+        
+        for (LeaderboardRanking ranking : LeaderboardRanking.values())
+        {
+            isImproved |= _getBoard(gameMode, day, ranking).submit(entry);
+        }
+        
+        return isImproved;
+    }
+    
+    //
+    // This method gets up to a given number of entries from the top of a board, best first.
+    //
+    public ArrayList<LeaderboardEntry> getTop(GameMode gameMode, LocalDate day, LeaderboardRanking ranking, int limit) throws SQLException
+    {
+        ArrayList<LeaderboardEntry> entries = new ArrayList<LeaderboardEntry>();
+        
+        for (LeaderboardEntry entry : _getBoard(gameMode, day, ranking).entries.keySet())
+        {
+            if (entries.size() == limit)
+            {
+                break;
+            }
+            
+            entries.add(entry);
+        }
+        
+        return entries;
+    }
+    
+    //
+    // This method gets a player's entry on a board, or null if the player is not on it.
+    //
+    public LeaderboardEntry getEntry(GameMode gameMode, LocalDate day, LeaderboardRanking ranking, String player) throws SQLException
+    {
+        return _getBoard(gameMode, day, ranking).bestByPlayer.get(player);
+    }
+    
+    //
+    // This method gets a player's rank on a board, starting from 1, or 0 if the player is not on it.
+    //
+    public int getRank(GameMode gameMode, LocalDate day, LeaderboardRanking ranking, String player) throws SQLException
+    {
+        _Board           board = _getBoard(gameMode, day, ranking);
+        LeaderboardEntry entry = board.bestByPlayer.get(player);
+        
+        return entry == null ? 0 : board.getRank(entry);
+    }
+    
+    //
+    // This method gets the number of players on a board.
+    //
+    public int getSize(GameMode gameMode, LocalDate day, LeaderboardRanking ranking) throws SQLException
+    {
+        return _getBoard(gameMode, day, ranking).bestByPlayer.size();
+    }
+    
+    //
+    // This method queues a write of every entry improved and every daily puzzle claimed since the last call, as one batch
+    // on the database writer, then drops the boards and claims of days past the retention period from memory. Returns true
+    // if anything was queued.
+    //
+    public boolean persist()
+    {
+        ArrayList<String>           keys        = new ArrayList<String>();
+        ArrayList<LeaderboardEntry> entries     = new ArrayList<LeaderboardEntry>();
+        ArrayList<String>           dailyStarts = new ArrayList<String>();
+        LocalDate                   oldest      = LocalDate.now().minusDays(_RETENTION_DAYS);
+        String                      dailyStart;
+        
+        while ((dailyStart = _newDailyStarts.poll()) != null)
+        {
+            dailyStarts.add(dailyStart);
+        }
+        
+        for (Map.Entry<String, _Board> boardEntry : _boards.entrySet())
+        {
+            _Board board = boardEntry.getValue();
+            
+            for (Map.Entry<String, LeaderboardEntry> dirtyEntry : board.dirty.entrySet())
+            {
+                //
+                // An entry improved again since it was read stays dirty for the next batch:
+                //
+                if (board.dirty.remove(dirtyEntry.getKey(), dirtyEntry.getValue()))
+                {
+                    keys.add(boardEntry.getKey());
+                    entries.add(dirtyEntry.getValue());
+                }
+            }
+            
+            if (board.day.isBefore(oldest) && board.dirty.isEmpty())
+            {
+                _boards.remove(boardEntry.getKey(), board);
+            }
+        }
+        
+        for (LocalDate day : _dailyStarts.keySet())
+        {
+            if (day.isBefore(oldest))
+            {
+                _dailyStarts.remove(day);
+            }
+        }
+        
+        if (entries.isEmpty() && dailyStarts.isEmpty())
+        {
+            return false;
+        }
+        
+        DatabaseWriter.getInstance().submit(new IDatabaseTask()
+        {
+            public void execute(Connection conn) throws SQLException
+            {
+                _write(conn, keys, entries);
+                _writeDailyStarts(conn, dailyStarts);
+            }
+        });
+        
+        return true;
+    }
+    
+    //
+    // This method determines if the boards of a given day are kept: from the oldest day of the retention period to today.
+    // Boards of other days would never be dropped from memory, so they must not be loaded.
+    //
+    public static boolean isRetained(LocalDate day)
+    {
+        LocalDate today = LocalDate.now();
+        
+        return !day.isAfter(today) && !day.isBefore(today.minusDays(_RETENTION_DAYS));
+    }
+    
+    //
+    // This method gets the number of days before today whose boards are kept.
+    //
+    public static long getRetentionDays()
+    {
+        return _RETENTION_DAYS;
+    }
+    
+    //
+    // This method starts the daemon thread persisting the leaderboards, which also persists them when the game exits.
+    // It does nothing if the thread is running.
+    //
+    public synchronized void startPersisting()
+    {
+        if (_persister != null)
+        {
+            return;
+        }
+        
+        _persister = new Thread(new Runnable()
+        {
+            public void run()
+            {
+                _runPersister();
+            }
+        }, "LeaderboardPersister");
+        
+        _persister.setDaemon(true);
+        _persister.start();
+        
+        Runtime.getRuntime().addShutdownHook(new Thread(new Runnable()
+        {
+            public void run()
+            {
+                //
+                // The writer is only waited for if there is something to write, since it cannot be started once exiting:
+                //
+                if (persist())
+                {
+                    try
+                    {
+                        DatabaseWriter.getInstance().flush(_PERSIST_INTERVAL_MS);
+                    }
+                    catch (InterruptedException ex)
+                    {
+                        // Exiting regardless
+                    }
+                }
+            }
+        }, "LeaderboardPersister Shutdown"));
+    }
+    
+    //
+    // This method creates the leaderboard table if it does not exist yet. Its key doubles as the index boards are loaded by.
+    //
+    public static void prepareSchema(Connection conn) throws SQLException
+    {
+        Statement stmt = conn.createStatement();
+        
+        stmt.execute("CREATE TABLE IF NOT EXISTS \"Leaderboard_Entries\" (\"Day\" TEXT, \"GameMode\" TEXT, \"Ranking\" TEXT, \"Player\" TEXT, "
+                   + "\"GuessCount\" INTEGER, \"SolveMillis\" INTEGER, \"SubmitTime\" INTEGER, "
+                   + "PRIMARY KEY (\"Day\", \"GameMode\", \"Ranking\", \"Player\")) WITHOUT ROWID");
+    }
+    
+    //
+    // This method creates the table of the daily puzzles claimed if it does not exist yet.
+    //
+    public static void prepareDailyStartSchema(Connection conn) throws SQLException
+    {
+        try (Statement stmt = conn.createStatement())
+        {
+            stmt.execute("CREATE TABLE IF NOT EXISTS \"Leaderboard_Daily_Starts\" (\"Day\" TEXT, \"GameMode\" TEXT, \"Player\" TEXT, "
+                       + "PRIMARY KEY (\"Day\", \"GameMode\", \"Player\")) WITHOUT ROWID");
+        }
+    }
+    
+    //
+    // This method is the body of the persister thread.
+    //
+    private void _runPersister()
+    {
+        while (true)
+        {
+            try
+            {
+                Thread.sleep(_PERSIST_INTERVAL_MS);
+            }
+            catch (InterruptedException ex)
+            {
+                return;
+            }
+            
+            persist();
+        }
+    }
+    
+    //
+    // This method gets a board, loading it from the database if it is not in memory.
+    //
+    private _Board _getBoard(GameMode gameMode, LocalDate day, LeaderboardRanking ranking) throws SQLException
+    {
+        String key   = _getKey(gameMode, day, ranking);
+        _Board board = _boards.get(key);
+        
+        if (board == null)
+        {
+            board = _load(gameMode, day, ranking);
+            
+            _Board existingBoard = _boards.putIfAbsent(key, board);
+            
+            if (existingBoard != null)
+            {
+                board = existingBoard;
+            }
+        }
+        
+        return board;
+    }
+    
+    //
+    // This method gets the game modes and players of the daily puzzles claimed on a day, loading them from the database
+    // if they are not in memory.
+    //
+    private Set<String> _getDailyStarts(LocalDate day) throws SQLException
+    {
+        Set<String> starts = _dailyStarts.get(day);
+        
+        if (starts == null)
+        {
+            starts = _loadDailyStarts(day);
+            
+            Set<String> existingStarts = _dailyStarts.putIfAbsent(day, starts);
+            
+            if (existingStarts != null)
+            {
+                starts = existingStarts;
+            }
+        }
+        
+        return starts;
+    }
+    
+    //
+    // This method loads the daily puzzles claimed on a day from the database.
+    //
+    private static Set<String> _loadDailyStarts(LocalDate day) throws SQLException
+    {
+        Set<String> starts = ConcurrentHashMap.newKeySet();
+        Connection  conn   = DatabaseManager.createConnection();
+        
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT \"GameMode\", \"Player\" FROM \"Leaderboard_Daily_Starts\" WHERE \"Day\" = ?"))
+        {
+            stmt.setString(1, day.toString());
+            
+            try (ResultSet rs = stmt.executeQuery())
+            {
+                while (rs.next())
+                {
+                    starts.add(rs.getString(1) + ":" + rs.getString(2));
+                }
+            }
+        }
+        finally
+        {
+            conn.close();
+        }
+        
+        return starts;
+    }
+    
+    //
+    // This method loads a board from the database.
+    //
+    private static _Board _load(GameMode gameMode, LocalDate day, LeaderboardRanking ranking) throws SQLException
+    {
+        _Board     board = new _Board(day, ranking);
+        Connection conn  = DatabaseManager.createConnection();
+        
+        try
+        {
+            PreparedStatement stmt = conn.prepareStatement("SELECT \"Player\", \"GuessCount\", \"SolveMillis\", \"SubmitTime\" FROM \"Leaderboard_Entries\" "
+                                                         + "WHERE \"Day\" = ? AND \"GameMode\" = ? AND \"Ranking\" = ?");
+            
+            stmt.setString(1, day.toString());
+            stmt.setString(2, gameMode.toString());
+            stmt.setString(3, ranking.toString());
+            
+            ResultSet rs = stmt.executeQuery();
+            
+            while (rs.next())
+            {
+                board.add(new LeaderboardEntry(rs.getString(1), rs.getInt(2), rs.getLong(3), rs.getLong(4)));
+            }
+        }
+        finally
+        {
+            conn.close();
+        }
+        
+        return board;
+    }
+    
+    //
+    // This method writes a batch of entries, each with the key of its board. It runs on the writer thread.
+    //
+    private static void _write(Connection conn, ArrayList<String> keys, ArrayList<LeaderboardEntry> entries) throws SQLException
+    {
+        try (PreparedStatement stmt = conn.prepareStatement("INSERT INTO \"Leaderboard_Entries\" (\"Day\", \"GameMode\", \"Ranking\", \"Player\", \"GuessCount\", \"SolveMillis\", \"SubmitTime\") "
+                                                          + "VALUES (?, ?, ?, ?, ?, ?, ?) ON CONFLICT (\"Day\", \"GameMode\", \"Ranking\", \"Player\") DO UPDATE SET "
+                                                          + "\"GuessCount\" = excluded.\"GuessCount\", \"SolveMillis\" = excluded.\"SolveMillis\", \"SubmitTime\" = excluded.\"SubmitTime\""))
+        {
+            for (int index = 0; index < entries.size(); ++index)
+            {
+                String[]         keyParts = keys.get(index).split(":");
+                LeaderboardEntry entry    = entries.get(index);
+                
+                stmt.setString(1, keyParts[0]);
+                stmt.setString(2, keyParts[1]);
+                stmt.setString(3, keyParts[2]);
+                stmt.setString(4, entry.getPlayer());
+                stmt.setInt(5, entry.getGuessCount());
+                stmt.setLong(6, entry.getSolveMillis());
+                stmt.setLong(7, entry.getSubmitTime());
+                stmt.addBatch();
+            }
+            
+            stmt.executeBatch();
+        }
+    }
+    
+    //
+    // This method writes a batch of daily puzzle claims, each with its day, game mode and player. It runs on the writer thread.
+    //
+    private static void _writeDailyStarts(Connection conn, ArrayList<String> dailyStarts) throws SQLException
+    {
+        try (PreparedStatement stmt = conn.prepareStatement("INSERT OR IGNORE INTO \"Leaderboard_Daily_Starts\" (\"Day\", \"GameMode\", \"Player\") VALUES (?, ?, ?)"))
+        {
+            for (String dailyStart : dailyStarts)
+            {
+                String[] parts = dailyStart.split(":", 3); // The player comes last, as a name may hold the separator
+                
+                stmt.setString(1, parts[0]);
+                stmt.setString(2, parts[1]);
+                stmt.setString(3, parts[2]);
+                stmt.addBatch();
+            }
+            
+            stmt.executeBatch();
+        }
+    }
+    
+    //
+    // This method gets the key of a board.
+    //
+    private static String _getKey(GameMode gameMode, LocalDate day, LeaderboardRanking ranking)
+    {
+        return day + ":" + gameMode + ":" + ranking;
+    }
+    
+    //
+    // Private member variables:
+    //
+    private final ConcurrentHashMap<String, _Board>         _boards;
+    private final ConcurrentHashMap<LocalDate, Set<String>> _dailyStarts;    // Game mode and player of the daily puzzles claimed, per day
+    private final ConcurrentLinkedQueue<String>             _newDailyStarts; // Day, game mode and player of the claims not yet written
+    private Thread                                          _persister;
+    
+    private static Leaderboard _instance;
+    
+    private static final long _PERSIST_INTERVAL_MS = Long.getLong("wordem.leaderboardPersistIntervalMillis", 10000);
+    private static final long _RETENTION_DAYS      = Long.getLong("wordem.leaderboardRetentionDays", 7);
+    
+    private static final int _MAX_GUESS_COUNT       = 9; // The largest guess limit of the game modes
+    private static final int _TIME_SUB_BUCKET_BITS  = 6;
+    private static final int _TIME_SUB_BUCKET_COUNT = 1 << _TIME_SUB_BUCKET_BITS;
+    private static final int _TIME_BUCKET_COUNT     = (32 - _TIME_SUB_BUCKET_BITS) * _TIME_SUB_BUCKET_COUNT;
+    
+    ///////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    //
+    // This nested class is one leaderboard. Entries are counted in buckets that only ever grow along the ranking's order:
+    // by guess count and then solve time bucket for FewestGuesses, and by solve time bucket alone for FastestSolve.
+    // Solve times are bucketed log-linearly, so a bucket holds times within 1/64 of each other.
+    //
+    private static class _Board
+    {
+        //
+        // Overloaded constructor.
+        //
+        public _Board(LocalDate day, LeaderboardRanking ranking)
+        {
+            this.day     = day;
+            bestByPlayer = new ConcurrentHashMap<String, LeaderboardEntry>();
+            dirty        = new ConcurrentHashMap<String, LeaderboardEntry>();
+            _ranking     = ranking;
+            _counts      = new AtomicLongArray((ranking == LeaderboardRanking.FewestGuesses ? _MAX_GUESS_COUNT : 1) * _TIME_BUCKET_COUNT + 1);
+            entries      = new ConcurrentSkipListMap<LeaderboardEntry, Boolean>(new Comparator<LeaderboardEntry>()
+            {
+                public int compare(LeaderboardEntry entry, LeaderboardEntry otherEntry)
+                {
+                    return _compare(entry, otherEntry);
+                }
+            });
+        }
+        
+        //
+        // This method submits an entry, replacing the player's entry if the new one ranks higher. Submissions of the same
+        // player are serialized by the player's map entry, so the list and counts always end up with one entry per player;
+        // nothing else waits on them.
+        //
+        public boolean submit(LeaderboardEntry entry)
+        {
+            LeaderboardEntry previousEntry = bestByPlayer.get(entry.getPlayer());
+            
+            //
+            // Most submissions do not improve on the player's entry, so they are turned away without locking:
+            //
+            if (previousEntry != null && _compare(entry, previousEntry) >= 0)
+            {
+                return false;
+            }
+            
+            return bestByPlayer.compute(entry.getPlayer(), new BiFunction<String, LeaderboardEntry, LeaderboardEntry>()
+            {
+                public LeaderboardEntry apply(String player, LeaderboardEntry currentEntry)
+                {
+                    if (currentEntry != null && _compare(entry, currentEntry) >= 0)
+                    {
+                        return currentEntry;
+                    }
+                    
+                    _insert(entry);
+                    
+                    if (currentEntry != null)
+                    {
+                        _delete(currentEntry);
+                    }
+                    
+                    dirty.put(player, entry);
+                    
+                    return entry;
+                }
+            }) == entry;
+        }
+        
+        //
+        // This method adds an entry loaded from the database.
+        //
+        public void add(LeaderboardEntry entry)
+        {
+            bestByPlayer.put(entry.getPlayer(), entry);
+            _insert(entry);
+        }
+        
+        //
+        // This method gets the rank of an entry on the board. While a player's entry is being replaced, the player may
+        // briefly be counted twice or not at all.
+        //
+        public int getRank(LeaderboardEntry entry)
+        {
+            int  bucket = _getBucket(entry);
+            long rank   = 1;
+            
+            for (int index = bucket; index > 0; index -= index & -index)
+            {
+                rank += _counts.get(index);
+            }
+            
+            for (LeaderboardEntry aheadEntry : entries.headMap(entry).descendingKeySet())
+            {
+                if (_getBucket(aheadEntry) != bucket)
+                {
+                    break;
+                }
+                
+                ++rank;
+            }
+            
+            return (int)rank;
+        }
+        
+        //
+        // This method adds an entry to the list and counts.
+        //
+        private void _insert(LeaderboardEntry entry)
+        {
+            entries.put(entry, Boolean.TRUE);
+            
+            for (int index = _getBucket(entry) + 1; index < _counts.length(); index += index & -index)
+            {
+                _counts.incrementAndGet(index);
+            }
+        }
+        
+        //
+        // This method removes an entry from the list and counts.
+        //
+        private void _delete(LeaderboardEntry entry)
+        {
+            entries.remove(entry);
+            
+            for (int index = _getBucket(entry) + 1; index < _counts.length(); index += index & -index)
+            {
+                _counts.decrementAndGet(index);
+            }
+        }
+        
+        //
+        // This method gets the bucket an entry is counted in.
+        //
+        private int _getBucket(LeaderboardEntry entry)
+        {
+            int timeBucket = _getTimeBucket(entry.getSolveMillis());
+            
+            if (_ranking == LeaderboardRanking.FewestGuesses)
+            {
+                return (Math.min(entry.getGuessCount(), _MAX_GUESS_COUNT) - 1) * _TIME_BUCKET_COUNT + timeBucket;
+            }
+            
+            return timeBucket;
+        }
+        
+        //
+        // This method gets the bucket of a solve time: exact below 64 milliseconds, then 64 buckets per power of two,
+        // up to the largest int.
+        //
+        private static int _getTimeBucket(long solveMillis)
+        {
+            long value = Math.min(solveMillis, Integer.MAX_VALUE);
+            
+            if (value < _TIME_SUB_BUCKET_COUNT)
+            {
+                return (int)value;
+            }
+            
+            int exponent = 63 - Long.numberOfLeadingZeros(value);
+            int subIndex = (int)(value >>> (exponent - _TIME_SUB_BUCKET_BITS)) & (_TIME_SUB_BUCKET_COUNT - 1);
+            
+            return (exponent - _TIME_SUB_BUCKET_BITS + 1) * _TIME_SUB_BUCKET_COUNT + subIndex;
+        }
+        
+        //
+        // This method compares two entries in the board's order: best first, then earliest submitted, then by player.
+        //
+        private int _compare(LeaderboardEntry entry, LeaderboardEntry otherEntry)
+        {
+            int comparison = _ranking == LeaderboardRanking.FewestGuesses ? Integer.compare(entry.getGuessCount(), otherEntry.getGuessCount())
+                                                                          : Long.compare(entry.getSolveMillis(), otherEntry.getSolveMillis());
+            
+            if (comparison == 0)
+            {
+                comparison = _ranking == LeaderboardRanking.FewestGuesses ? Long.compare(entry.getSolveMillis(), otherEntry.getSolveMillis())
+                                                                          : Integer.compare(entry.getGuessCount(), otherEntry.getGuessCount());
+            }
+            
+            if (comparison == 0)
+            {
+                comparison = Long.compare(entry.getSubmitTime(), otherEntry.getSubmitTime());
+            }
+            
+            return comparison != 0 ? comparison : entry.getPlayer().compareTo(otherEntry.getPlayer());
+        }
+        
+        public final LocalDate                                        day;
+        public final ConcurrentHashMap<String, LeaderboardEntry>      bestByPlayer;
+        public final ConcurrentHashMap<String, LeaderboardEntry>      dirty;        // Entries improved since the last write, by player
+        public final ConcurrentSkipListMap<LeaderboardEntry, Boolean> entries;
+        
+        private final LeaderboardRanking _ranking;
+        private final AtomicLongArray    _counts; // Fenwick tree of the entries per bucket, from index 1
+    }
+}
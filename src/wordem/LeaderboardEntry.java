@@ -0,0 +1,80 @@
+//
+// LeaderboardEntry.java
+//
+// This class defines a player's best solve on a leaderboard.
+//
+// The MIT License (MIT)
+// 
+// Copyright (c) 2022 WordEm Development Group.  All Rights Reserved.
+// 
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this
+// software and associated documentation files (the "Software"), to deal in the Software
+// without restriction, including without limitation the rights to use, copy, modify, merge,
+// publish, distribute, sub-license, and/or sell copies of the Software, and to permit persons
+// to whom the Software is furnished to do so, subject to the following conditions:
+// 
+// * The above copyright notice and this permission notice shall be included in all copies or
+// substantial portions of the Software.
+// 
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+// INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+// PURPOSE AND NONINFRINGEMENT.  IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE
+// FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR 
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+// DEALINGS IN THE SOFTWARE.
+//
+package wordem;
+
+public class LeaderboardEntry
+{
+    //
+    // Overloaded constructor.
+    //
+    public LeaderboardEntry(String player, int guessCount, long solveMillis, long submitTime)
+    {
+        _player      = player;
+        _guessCount  = guessCount;
+        _solveMillis = solveMillis;
+        _submitTime  = submitTime;
+    }
+    
+    //
+    // This method gets the player.
+    //
+    public String getPlayer()
+    {
+        return _player;
+    }
+    
+    //
+    // This method gets the number of guesses the solve took.
+    //
+    public int getGuessCount()
+    {
+        return _guessCount;
+    }
+    
+    //
+    // This method gets the number of milliseconds from the start of the game to the solve.
+    //
+    public long getSolveMillis()
+    {
+        return _solveMillis;
+    }
+    
+    //
+    // This method gets when the solve was submitted, in milliseconds since the epoch. Earlier submissions win ties.
+    //
+    public long getSubmitTime()
+    {
+        return _submitTime;
+    }
+    
+    //
+    // Private member variables:
+    //
+    private final String _player;
+    private final int    _guessCount;
+    private final long   _solveMillis;
+    private final long   _submitTime;
+}
@@ -0,0 +1,83 @@
+//
+// Lexicon.java
+//
+// This abstract class holds the in-memory word lists of the game, one alphabetically sorted array per
+// language and word length. Lists are read from the game store on first use and shared by every caller
+// afterwards, so indexes built over them (suggestions, pattern queries) agree on word positions.
+//
+// The MIT License (MIT)
+// 
+// Copyright (c) 2022 WordEm Development Group.  All Rights Reserved.
+// 
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this
+// software and associated documentation files (the "Software"), to deal in the Software
+// without restriction, including without limitation the rights to use, copy, modify, merge,
+// publish, distribute, sub-license, and/or sell copies of the Software, and to permit persons
+// to whom the Software is furnished to do so, subject to the following conditions:
+// 
+// * The above copyright notice and this permission notice shall be included in all copies or
+// substantial portions of the Software.
+// 
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+// INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+// PURPOSE AND NONINFRINGEMENT.  IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE
+// FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR 
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+// DEALINGS IN THE SOFTWARE.
+//
+package wordem;
+
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+public abstract class Lexicon
+{
+    //
+    // This method gets the sorted words of a given language and length, reading them from the game store
+    // the first time they are requested. The returned array is shared and must NOT be modified.
+    //
+    public static String[] getWords(Language language, int length) throws SQLException
+    {
+        String   key   = _getKey(language, length);
+        String[] words = _words.get(key);
+        
+        if (words == null)
+        {
+            words = GameStores.getInstance().getWords(language, length).clone();
+            
+            Arrays.sort(words);
+            
+            String[] existingWords = _words.putIfAbsent(key, words);
+            
+            if (existingWords != null)
+            {
+                words = existingWords;
+            }
+        }
+        
+        return words;
+    }
+    
+    //
+    // This method gets the index of a word in the sorted words of its language and length, or a negative value
+    // if the word is not in the lexicon.
+    //
+    public static int indexOf(Language language, String word) throws SQLException
+    {
+        return Arrays.binarySearch(getWords(language, word.length()), word);
+    }
+    
+    //
+    // This method gets the cache key of a given language and length.
+    //
+    private static String _getKey(Language language, int length)
+    {
+        return language + ":" + length;
+    }
+    
+    //
+    // Private member variables:
+    //
+    private static final ConcurrentHashMap<String, String[]> _words = new ConcurrentHashMap<String, String[]>();
+}
@@ -0,0 +1,227 @@
+//
+// LoadGenerator.java
+//
+// This class is the entry point of the load generator for the game server. It plays games against a running server with
+// many concurrent synthetic players, each guessing random words from the lexicon until its game is over and then asking
+// for the statistics and its rank on the leaderboard, and reports the requests served per second and the latency percentiles of each endpoint.
+//
+// Usage: LoadGenerator [server URL] [player count] [games per player]
+//
+// The MIT License (MIT)
+// 
+// Copyright (c) 2022 WordEm Development Group.  All Rights Reserved.
+// 
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this
+// software and associated documentation files (the "Software"), to deal in the Software
+// without restriction, including without limitation the rights to use, copy, modify, merge,
+// publish, distribute, sub-license, and/or sell copies of the Software, and to permit persons
+// to whom the Software is furnished to do so, subject to the following conditions:
+// 
+// * The above copyright notice and this permission notice shall be included in all copies or
+// substantial portions of the Software.
+// 
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+// INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+// PURPOSE AND NONINFRINGEMENT.  IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE
+// FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR 
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+// DEALINGS IN THE SOFTWARE.
+//
+package wordem;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+public class LoadGenerator
+{
+    //
+    // Program entry point.
+    //
+    public static void main(String[] args)
+    {
+        try
+        {
+            String serverUrl      = args.length > 0 ? args[0] : "http://localhost:8080";
+            int    playerCount    = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+            int    gamesPerPlayer = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+            
+            for (Language language : Language.values())
+            {
+                for (GameMode gameMode : GameMode.values())
+                {
+                    Lexicon.getWords(language, gameMode.getWordSize());
+                }
+            }
+            
+            ExecutorService      executor  = VirtualThreads.newPerTaskExecutor(Math.min(playerCount, _MAX_PLATFORM_THREADS));
+            ArrayList<Future<?>> futures   = new ArrayList<Future<?>>();
+            long                 startTime = System.nanoTime();
+            
+            System.out.println("Playing " + playerCount + " players of " + gamesPerPlayer + " games each against " + serverUrl + " on " + VirtualThreads.getThreadKind() + " threads");
+            
+            for (int player = 0; player < playerCount; ++player)
+            {
+                futures.add(executor.submit(new _Player(serverUrl, player, gamesPerPlayer)));
+            }
+            
+            for (Future<?> future : futures)
+            {
+                future.get();
+            }
+            
+            double          seconds  = (System.nanoTime() - startTime) / 1e9;
+            MetricsSnapshot snapshot = Metrics.getSnapshot();
+            long            requests = 0;
+            
+            executor.shutdown();
+            
+            for (LatencyHistogram histogram : new LatencyHistogram[] { _START_GAME_LATENCY, _GUESS_LATENCY, _STATISTICS_LATENCY, _LEADERBOARD_LATENCY })
+            {
+                String name = histogram.getName();
+                
+                requests += snapshot.getCount(name);
+                System.out.println(String.format("%-28s %8d requests, p50 %s, p90 %s, p99 %s, max %s", name, snapshot.getCount(name),
+                                                 Metrics.formatNanos(snapshot.getPercentile(name, 50)),
+                                                 Metrics.formatNanos(snapshot.getPercentile(name, 90)),
+                                                 Metrics.formatNanos(snapshot.getPercentile(name, 99)),
+                                                 Metrics.formatNanos(snapshot.getMax(name))));
+            }
+            
+            System.out.println(String.format("Games:    %d in %.2fs, %.0f games/sec", _GAME_COUNT.sum(), seconds, _GAME_COUNT.sum() / seconds));
+            System.out.println(String.format("Requests: %.0f requests/sec, %d failed", requests / seconds, _ERROR_COUNT.sum()));
+            System.out.println("Finished Load Generation");
+            System.exit(0);
+        }
+        catch (Exception ex)
+        {
+            System.out.println(ex);
+            ex.printStackTrace();
+            System.exit(-1);
+        }
+    }
+    
+    //
+    // This method gets the value of a string or literal field of a JSON object, or null if it has none. The server's
+    // answers are flat enough that the first field of a name is the one wanted.
+    //
+    private static String _getField(String json, String name)
+    {
+        int index = json.indexOf("\"" + name + "\":");
+        
+        if (index < 0)
+        {
+            return null;
+        }
+        
+        index += name.length() + 3;
+        
+        if (json.charAt(index) == '"')
+        {
+            return json.substring(index + 1, json.indexOf('"', index + 1));
+        }
+        
+        int endIndex = index;
+        
+        while (endIndex < json.length() && ",}]".indexOf(json.charAt(endIndex)) < 0)
+        {
+            ++endIndex;
+        }
+        
+        return json.substring(index, endIndex);
+    }
+    
+    //
+    // Private member variables:
+    //
+    private static final HttpClient       _CLIENT              = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private static final LongAdder        _GAME_COUNT          = new LongAdder();
+    private static final LongAdder        _ERROR_COUNT         = new LongAdder();
+    private static final LatencyHistogram _START_GAME_LATENCY  = Metrics.getHistogram("loadGenerator.startGame");
+    private static final LatencyHistogram _GUESS_LATENCY       = Metrics.getHistogram("loadGenerator.guess");
+    private static final LatencyHistogram _STATISTICS_LATENCY  = Metrics.getHistogram("loadGenerator.statistics");
+    private static final LatencyHistogram _LEADERBOARD_LATENCY = Metrics.getHistogram("loadGenerator.leaderboard");
+    
+    private static final int _MAX_PLATFORM_THREADS = 256;
+    
+    ///////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    //
+    // This nested class is a synthetic player. It plays its games one after the other, cycling through the languages
+    // and game modes.
+    //
+    private static class _Player implements Runnable
+    {
+        //
+        // Overloaded constructor.
+        //
+        public _Player(String serverUrl, int playerNumber, int gameCount)
+        {
+            _serverUrl    = serverUrl;
+            _playerNumber = playerNumber;
+            _gameCount    = gameCount;
+        }
+        
+        public void run()
+        {
+            for (int game = 0; game < _gameCount; ++game)
+            {
+                Language language = Language.values()[(_playerNumber + game) % Language.values().length];
+                GameMode gameMode = GameMode.values()[(_playerNumber + game) % GameMode.values().length];
+                
+                try
+                {
+                    String[] words  = Lexicon.getWords(language, gameMode.getWordSize());
+                    String   json   = _send("POST", "/games?mode=" + gameMode + "&language=" + language + "&player=player" + _playerNumber, _START_GAME_LATENCY);
+                    String   gameId = _getField(json, "game");
+                    
+                    while (_getField(json, "result") == null)
+                    {
+                        json = _send("POST", "/games/" + gameId + "/guesses?word=" + words[ThreadLocalRandom.current().nextInt(words.length)], _GUESS_LATENCY);
+                    }
+                    
+                    _send("GET", "/statistics", _STATISTICS_LATENCY);
+                    _send("GET", "/leaderboard?mode=" + gameMode + "&ranking=FewestGuesses&player=player" + _playerNumber, _LEADERBOARD_LATENCY);
+                    _GAME_COUNT.increment();
+                }
+                catch (Exception ex)
+                {
+                    if (_ERROR_COUNT.sum() == 0)
+                    {
+                        System.out.println("LoadGenerator._Player.run >> " + ex);
+                    }
+                    
+                    _ERROR_COUNT.increment();
+                }
+            }
+        }
+        
+        //
+        // This method sends a request to the server, times it, and returns the body of a successful response.
+        //
+        private String _send(String method, String path, LatencyHistogram histogram) throws Exception
+        {
+            HttpRequest          request    = HttpRequest.newBuilder(URI.create(_serverUrl + path)).method(method, HttpRequest.BodyPublishers.noBody()).build();
+            long                 startNanos = System.nanoTime();
+            HttpResponse<String> response   = _CLIENT.send(request, HttpResponse.BodyHandlers.ofString());
+            
+            histogram.recordSince(startNanos);
+            
+            if (response.statusCode() >= 300)
+            {
+                throw new IllegalStateException("LoadGenerator._Player._send >> " + method + " " + path + " answered " + response.statusCode() + ": " + response.body());
+            }
+            
+            return response.body();
+        }
+        
+        private final String _serverUrl;
+        private final int    _playerNumber;
+        private final int    _gameCount;
+    }
+}
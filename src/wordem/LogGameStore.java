@@ -0,0 +1,416 @@
+//
+// LogGameStore.java
+//
+// This class is a game store that appends every recorded game to a log file, holding words, statistics and recent history
+// in a MemoryGameStore. When it opens, the games already in the log are replayed into memory, so the statistics survive a
+// restart without a database. Each game is written as one entry of its length, a checksum and the game itself. A write
+// cut short by a crash fails its checksum or runs past the end of the file, so it is cut off when the log is opened, and
+// later games are appended after the last whole one; a write that fails is cut off at once. A bad entry with more of the
+// log after it is corruption rather than a cut-short write, so the log is not opened rather than lose the games after it.
+// Entries reach the operating system as they are appended, and the disk only when the log is closed, unless
+// -Dwordem.storeLogSync=true forces every entry to the disk.
+//
+// The MIT License (MIT)
+// 
+// Copyright (c) 2022 WordEm Development Group.  All Rights Reserved.
+// 
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this
+// software and associated documentation files (the "Software"), to deal in the Software
+// without restriction, including without limitation the rights to use, copy, modify, merge,
+// publish, distribute, sub-license, and/or sell copies of the Software, and to permit persons
+// to whom the Software is furnished to do so, subject to the following conditions:
+// 
+// * The above copyright notice and this permission notice shall be included in all copies or
+// substantial portions of the Software.
+// 
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+// INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+// PURPOSE AND NONINFRINGEMENT.  IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE
+// FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR 
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+// DEALINGS IN THE SOFTWARE.
+//
+package wordem;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.zip.CRC32;
+
+public class LogGameStore implements IGameStore
+{
+    //
+    // Overloaded constructor. Opens a given log file, creating it if it does not exist, and replays its games.
+    //
+    public LogGameStore(Path path) throws IOException
+    {
+        _path    = path;
+        _memory  = new MemoryGameStore();
+        _channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        _isSync  = Boolean.getBoolean("wordem.storeLogSync");
+        
+        try
+        {
+            _replay();
+        }
+        catch (IOException | RuntimeException ex)
+        {
+            _channel.close();
+            throw ex;
+        }
+    }
+    
+    public String getRandomWord(Language language, int length) throws SQLException
+    {
+        return _memory.getRandomWord(language, length);
+    }
+    
+    public String[] getWords(Language language, int length) throws SQLException
+    {
+        return _memory.getWords(language, length);
+    }
+    
+    public boolean isWord(String word, Language language) throws SQLException
+    {
+        return _memory.isWord(word, language);
+    }
+    
+    //
+    // This method appends a finished game to the log, then adds it to the statistics and history in memory.
+    //
+    public void record(GameRecord record) throws SQLException
+    {
+        if (!record.isFinished())
+        {
+            throw new IllegalArgumentException("LogGameStore.record >> Game has not finished");
+        }
+        
+        long       startNanos = System.nanoTime();
+        ByteBuffer entry      = _encode(record);
+        
+        try
+        {
+            synchronized (_channel)
+            {
+                long entryOffset = _channel.position();
+                
+                try
+                {
+                    while (entry.hasRemaining())
+                    {
+                        _channel.write(entry);
+                    }
+                    
+                    if (_isSync)
+                    {
+                        _channel.force(false);
+                    }
+                }
+                catch (IOException ex)
+                {
+                    _cutOff(entryOffset);
+                    throw ex;
+                }
+                
+                //
+                // Games reach memory in the order of the log, so the streaks replayed from it are the streaks seen now:
+                //
+                _memory.record(record);
+            }
+        }
+        catch (IOException ex)
+        {
+            throw new SQLException("LogGameStore.record >> Game not written to " + _path, ex);
+        }
+        
+        _APPEND_LATENCY.recordSince(startNanos);
+    }
+    
+    public StatisticsSnapshot getStatistics()
+    {
+        return _memory.getStatistics();
+    }
+    
+    public ArrayList<GameRecord> getRecentGames(GameMode gameMode, int limit)
+    {
+        return _memory.getRecentGames(gameMode, limit);
+    }
+    
+    //
+    // This method forces the log to the disk and closes it.
+    //
+    public void close() throws SQLException
+    {
+        try
+        {
+            synchronized (_channel)
+            {
+                if (_channel.isOpen())
+                {
+                    _channel.force(false);
+                    _channel.close();
+                }
+            }
+        }
+        catch (IOException ex)
+        {
+            throw new SQLException("LogGameStore.close >> Cannot close " + _path, ex);
+        }
+    }
+    
+    //
+    // This method gets the number of games in the log.
+    //
+    public long getGameCount()
+    {
+        return _memory.getStatistics().getVersion();
+    }
+    
+    //
+    // This method cuts off the log at the start of an entry whose write failed, so the games appended after it are not
+    // lost behind a partial entry. If the log cannot be cut off, it is closed, and later games fail to be recorded.
+    // Callers must hold the channel's monitor.
+    //
+    private void _cutOff(long entryOffset)
+    {
+        try
+        {
+            _channel.truncate(entryOffset);
+            _channel.position(entryOffset);
+        }
+        catch (IOException ex)
+        {
+            System.out.println("LogGameStore._cutOff >> Cannot cut off a failed write, closing " + _path + ": " + ex);
+            
+            try
+            {
+                _channel.close();
+            }
+            catch (IOException closeEx)
+            {
+                // Closed regardless
+            }
+        }
+    }
+    
+    //
+    // This method writes the header of a new log, or replays the games of an existing one and positions the log after
+    // its last whole entry, cutting off a partial entry at the end. A bad entry followed by more of the log fails the
+    // replay, since the games after it would be cut off with it.
+    //
+    private void _replay() throws IOException
+    {
+        if (_channel.size() == 0)
+        {
+            ByteBuffer header = ByteBuffer.allocate(_HEADER_SIZE);
+            
+            header.putInt(_LOG_MAGIC).putInt(_LOG_VERSION).flip();
+            
+            while (header.hasRemaining())
+            {
+                _channel.write(header);
+            }
+            
+            return;
+        }
+        
+        //
+        // The stream is not closed, since that would close the channel:
+        //
+        DataInputStream input  = new DataInputStream(new BufferedInputStream(Channels.newInputStream(_channel.position(0))));
+        long            offset = _HEADER_SIZE;
+        
+        if (_channel.size() < _HEADER_SIZE || input.readInt() != _LOG_MAGIC || input.readInt() != _LOG_VERSION)
+        {
+            throw new IOException("LogGameStore._replay >> Not a game log: " + _path);
+        }
+        
+        long size = _channel.size();
+        
+        while (offset < size)
+        {
+            byte[] payload;
+            
+            if (size - offset < _ENTRY_HEADER_SIZE)
+            {
+                break; // Cut short within the entry header
+            }
+            
+            int  length   = input.readInt();
+            long checksum = input.readInt() & 0xffffffffL;
+            long end      = offset + _ENTRY_HEADER_SIZE + length;
+            
+            if (length <= 0)
+            {
+                //
+                // A write cut short may leave the rest of the file zeroed, but anything else is not the end of one entry:
+                //
+                if (_isZeroedTail(input, length, checksum, size - offset - _ENTRY_HEADER_SIZE))
+                {
+                    break;
+                }
+                
+                throw new IOException("LogGameStore._replay >> Corrupt entry of length " + length + " at offset " + offset + " of " + _path);
+            }
+            
+            if (end > size)
+            {
+                break; // Cut short within the game
+            }
+            
+            payload = new byte[length];
+            input.readFully(payload);
+            
+            if (_checksum(payload) != checksum)
+            {
+                if (end == size)
+                {
+                    break; // The last entry, cut short before it reached the disk whole
+                }
+                
+                throw new IOException("LogGameStore._replay >> Corrupt entry at offset " + offset + " of " + _path + ", followed by "
+                                    + (size - end) + " bytes of later games");
+            }
+            
+            _memory.record(_decode(payload));
+            
+            offset = end;
+        }
+        
+        if (offset < size)
+        {
+            System.out.println("LogGameStore._replay >> Cut off " + (size - offset) + " bytes of a partial entry at the end of " + _path);
+            
+            _channel.truncate(offset);
+        }
+        
+        _channel.position(offset);
+    }
+    
+    //
+    // This method determines if the rest of the log from an entry header on is all zeroes, given the header's fields and the
+    // number of bytes after it.
+    //
+    private static boolean _isZeroedTail(DataInputStream input, int length, long checksum, long remaining) throws IOException
+    {
+        if (length != 0 || checksum != 0)
+        {
+            return false;
+        }
+        
+        for (long index = 0; index < remaining; ++index)
+        {
+            if (input.readByte() != 0)
+            {
+                return false;
+            }
+        }
+        
+        return true;
+    }
+    
+    //
+    // This method encodes a finished game as a log entry.
+    //
+    private static ByteBuffer _encode(GameRecord record)
+    {
+        ByteArrayOutputStream bytes  = new ByteArrayOutputStream(_ENTRY_HEADER_SIZE + 128);
+        DataOutputStream      output = new DataOutputStream(bytes);
+        
+        try
+        {
+            output.writeLong(0); // Room for the entry header
+            output.writeByte(record.getGameMode().ordinal());
+            output.writeByte(record.getLanguage().ordinal());
+            output.writeUTF(record.getHiddenWord());
+            output.writeBoolean(record.isDailyPuzzle());
+            output.writeByte(record.getResult().ordinal());
+            output.writeLong(record.getStartTime());
+            output.writeLong(record.getEndTime());
+            output.writeByte(record.getGuessCount());
+            
+            for (int guessIndex = 0; guessIndex < record.getGuessCount(); ++guessIndex)
+            {
+                output.writeUTF(record.getGuessedWord(guessIndex));
+                output.writeInt(record.getPattern(guessIndex));
+                output.writeLong(record.getGuessTime(guessIndex));
+            }
+        }
+        catch (IOException ex)
+        {
+            throw new IllegalStateException("LogGameStore._encode >> " + ex, ex); // Never thrown by a ByteArrayOutputStream
+        }
+        
+        ByteBuffer entry  = ByteBuffer.wrap(bytes.toByteArray());
+        CRC32      crc    = new CRC32();
+        int        length = entry.capacity() - _ENTRY_HEADER_SIZE;
+        
+        crc.update(entry.array(), _ENTRY_HEADER_SIZE, length);
+        entry.putInt(0, length).putInt(4, (int)crc.getValue());
+        
+        return entry;
+    }
+    
+    //
+    // This method decodes a finished game from the payload of a log entry.
+    //
+    private static GameRecord _decode(byte[] payload) throws IOException
+    {
+        DataInputStream input         = new DataInputStream(new ByteArrayInputStream(payload));
+        GameMode        gameMode      = GameMode.values()[input.readByte()];
+        Language        language      = Language.values()[input.readByte()];
+        String          hiddenWord    = input.readUTF();
+        boolean         isDailyPuzzle = input.readBoolean();
+        GameResult      result        = GameResult.values()[input.readByte()];
+        long            startTime     = input.readLong();
+        long            endTime       = input.readLong();
+        int             guessCount    = input.readByte();
+        GameRecord      record        = new GameRecord(gameMode, language, hiddenWord, isDailyPuzzle, startTime);
+        
+        for (int guessIndex = 0; guessIndex < guessCount; ++guessIndex)
+        {
+            record.addGuess(input.readUTF(), input.readInt(), input.readLong());
+        }
+        
+        record.finish(result, endTime);
+        
+        return record;
+    }
+    
+    //
+    // This method computes the checksum of an entry's payload.
+    //
+    private static long _checksum(byte[] payload)
+    {
+        CRC32 crc = new CRC32();
+        
+        crc.update(payload, 0, payload.length);
+        
+        return crc.getValue();
+    }
+    
+    //
+    // Private member variables:
+    //
+    private final Path            _path;
+    private final MemoryGameStore _memory;
+    private final FileChannel     _channel;
+    private final boolean         _isSync;
+    
+    private static final LatencyHistogram _APPEND_LATENCY = Metrics.getHistogram("logGameStore.append");
+    
+    private static final int _LOG_MAGIC         = 0x57454d4c; // "WEML"
+    private static final int _LOG_VERSION       = 1;
+    private static final int _HEADER_SIZE       = 8;
+    private static final int _ENTRY_HEADER_SIZE = 8;          // Payload length and checksum
+}
@@ -30,28 +30,42 @@ package wordem;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
+import java.nio.file.Path;
 import java.sql.SQLException;
+import java.util.concurrent.atomic.LongAdder;
 import javax.swing.border.Border;
 
 public class MainFrame extends JFrame implements IMainFrame, ActionListener, KeyListener
 {
     //
-    // Default constructor. Constructs the frame.
+    // Default constructor. Constructs the frame with the home panel. The statistics, achievements and about panels
+    // are constructed the first time they are opened.
     //
     public MainFrame()
     {
         _initialize();   
+        StartupTimeline.mark("frame");
         _initializeToolBar();
-        _initializeStatisticsPanel();
-        _initializeAchievementsPanel();
-        _initializeAboutPanel();
+        StartupTimeline.mark("toolBar");
         _initializeHomePanel();
+        StartupTimeline.mark("homePanel");
 
         _homePanel.repaint();
         _homePanel.setVisible(true);
         
         this.repaint();
         this.setVisible(true);
+        
+        //
+        // The game is interactive once the event queue gets past showing the home panel:
+        //
+        EventQueue.invokeLater(new Runnable()
+        {
+            public void run()
+            {
+                StartupWarmer.markInteractive();
+            }
+        });
     }
       
     //
@@ -84,6 +98,22 @@ public class MainFrame extends JFrame implements IMainFrame, ActionListener, Key
     {
         return _gameMode;
     }
+    
+    //
+    // This method sets whether the game plays the daily puzzle instead of a random word.
+    //
+    public void setDailyPuzzle(boolean isDailyPuzzle)
+    {
+        _isDailyPuzzle = isDailyPuzzle;
+    }
+    
+    //
+    // This method gets whether the game plays the daily puzzle instead of a random word.
+    //
+    public boolean isDailyPuzzle()
+    {
+        return _isDailyPuzzle;
+    }
 
     //
     // This method handles all action events heard by the frame.
@@ -95,7 +125,7 @@ public class MainFrame extends JFrame implements IMainFrame, ActionListener, Key
         //
         if (event.getSource() == _quitButton)
         {
-            if (_statisticsPanel.isVisible())
+            if (_statisticsPanel != null && _statisticsPanel.isVisible())
             {
                 _statisticsPanel.setVisible(false);
                 this.remove(_statisticsPanel);
@@ -108,7 +138,7 @@ public class MainFrame extends JFrame implements IMainFrame, ActionListener, Key
                 _aboutButton.setEnabled(true);
                 _quitButton.setEnabled(false);
             }
-            else if (_achievementsPanel.isVisible())
+            else if (_achievementsPanel != null && _achievementsPanel.isVisible())
             {
                 _achievementsPanel.setVisible(false);
                 this.remove(_achievementsPanel);
@@ -121,7 +151,7 @@ public class MainFrame extends JFrame implements IMainFrame, ActionListener, Key
                 _aboutButton.setEnabled(true);
                 _quitButton.setEnabled(false);
             }
-            else if (_aboutPanel.isVisible())
+            else if (_aboutPanel != null && _aboutPanel.isVisible())
             {
                 _aboutPanel.setVisible(false);
                 this.remove(_aboutPanel);
@@ -144,20 +174,17 @@ public class MainFrame extends JFrame implements IMainFrame, ActionListener, Key
         //
         else if (event.getSource() == _statisticsButton)
         {
+            if (_statisticsPanel == null)
+            {
+                _initializeStatisticsPanel();
+            }
+            
             _homePanel.setVisible(false);
             this.remove(_homePanel);
             
             this.add(_statisticsPanel, BorderLayout.CENTER); 
             _statisticsPanel.setVisible(true);
-            
-            try
-            {
-                _statisticsPanel.update();
-            }
-            catch (SQLException ex)
-            {
-                _handleError(ErrorCode.ProblemWithStatisticsPanel);
-            }
+            _statisticsPanel.update();
             
             _statisticsButton.setEnabled(false);
             _achievementsButton.setEnabled(false);
@@ -169,12 +196,26 @@ public class MainFrame extends JFrame implements IMainFrame, ActionListener, Key
         //
         else if (event.getSource() == _achievementsButton)
         {
+            if (_achievementsPanel == null)
+            {
+                _initializeAchievementsPanel();
+            }
+            
             _homePanel.setVisible(false);
             this.remove(_homePanel);
             
             this.add(_achievementsPanel, BorderLayout.CENTER);
             _achievementsPanel.setVisible(true);
             
+            try
+            {
+                _achievementsPanel.update();
+            }
+            catch (SQLException ex)
+            {
+                _handleError(ErrorCode.ProblemWithAchievementsPanel);
+            }
+            
             _statisticsButton.setEnabled(false);
             _achievementsButton.setEnabled(false);
             _aboutButton.setEnabled(false);
@@ -185,6 +226,11 @@ public class MainFrame extends JFrame implements IMainFrame, ActionListener, Key
         //
         else if (event.getSource() == _aboutButton)
         {
+            if (_aboutPanel == null)
+            {
+                _initializeAboutPanel();
+            }
+            
             _homePanel.setVisible(false);
             this.remove(_homePanel);
             
@@ -246,6 +292,16 @@ public class MainFrame extends JFrame implements IMainFrame, ActionListener, Key
                 _handleEndOfGame(false);
             }
         }
+        //
+        // Handle the statistics panel:
+        //
+        else if (event.getSource() == _statisticsPanel)
+        {
+            if (event.getActionCommand() == "Error")
+            {
+                _handleError(ErrorCode.ProblemWithStatisticsPanel);
+            }
+        }
     }
     
     //
@@ -294,11 +350,10 @@ public class MainFrame extends JFrame implements IMainFrame, ActionListener, Key
     {
         _language        = null;
         _gameMode        = null;
-        _databaseManager = new DatabaseManager();
+        _isDailyPuzzle   = false;
         
         BorderLayout frameLayout = new BorderLayout();
-        Toolkit      toolkit     = Toolkit.getDefaultToolkit();
-        Image        logoImage   = toolkit.getImage("art/Logo.png");
+        Image        logoImage   = ImageLoader.loadImage("art/Logo.png");
 
         this.setLayout(frameLayout);
         this.setBounds(350, 100, 1000, 800);
@@ -332,7 +387,7 @@ public class MainFrame extends JFrame implements IMainFrame, ActionListener, Key
         //
         Dimension quitButtonDim    = new Dimension(50, 50);
         Border    quitButtonBorder = BorderFactory.createEmptyBorder();
-        ImageIcon quitButtonIcon   = new ImageIcon("art/Quit Button.png");
+        ImageIcon quitButtonIcon   = ImageLoader.loadIcon("art/Quit Button.png");
         
         if (quitButtonIcon.getImageLoadStatus() != MediaTracker.COMPLETE)
         {
@@ -352,7 +407,7 @@ public class MainFrame extends JFrame implements IMainFrame, ActionListener, Key
         //
         Dimension statisticsButtonDim    = new Dimension(50, 50);
         Border    statisticsButtonBorder = BorderFactory.createEmptyBorder();
-        ImageIcon statisticsButtonIcon   = new ImageIcon("art/Statistics Button.png");
+        ImageIcon statisticsButtonIcon   = ImageLoader.loadIcon("art/Statistics Button.png");
         
         if (statisticsButtonIcon.getImageLoadStatus() != MediaTracker.COMPLETE)
         {
@@ -372,7 +427,7 @@ public class MainFrame extends JFrame implements IMainFrame, ActionListener, Key
         //
         Dimension achievementsButtonDim    = new Dimension(50, 50);
         Border    achievementsButtonBorder = BorderFactory.createEmptyBorder();
-        ImageIcon achievementsButtonIcon   = new ImageIcon("art/Achievements Button.png");
+        ImageIcon achievementsButtonIcon   = ImageLoader.loadIcon("art/Achievements Button.png");
         
         if (achievementsButtonIcon.getImageLoadStatus() != MediaTracker.COMPLETE)
         {
@@ -392,7 +447,7 @@ public class MainFrame extends JFrame implements IMainFrame, ActionListener, Key
         //
         Dimension aboutButtonDim    = new Dimension(50, 50);
         Border    aboutButtonBorder = BorderFactory.createEmptyBorder();
-        ImageIcon aboutButtonIcon   = new ImageIcon("art/About Button.png");
+        ImageIcon aboutButtonIcon   = ImageLoader.loadIcon("art/About Button.png");
         
         if (achievementsButtonIcon.getImageLoadStatus() != MediaTracker.COMPLETE)
         {
@@ -437,6 +492,7 @@ public class MainFrame extends JFrame implements IMainFrame, ActionListener, Key
         try
         {
             _statisticsPanel = new StatisticsPanel();           
+            _statisticsPanel.addActionListener(this);
             _statisticsPanel.setVisible(false);
         }
         catch (Exception ex)
@@ -487,20 +543,23 @@ public class MainFrame extends JFrame implements IMainFrame, ActionListener, Key
         //
         // Create confirmation box:
         //
-        JLabel      textArea       = new JLabel(new ImageIcon("art/Quitting.png"));
+        JLabel      textArea       = new JLabel(ImageLoader.loadIcon("art/Quitting.png"));
         JOptionPane pane           = new JOptionPane(textArea, JOptionPane.PLAIN_MESSAGE, JOptionPane.YES_NO_OPTION);
         JDialog     dialog         = pane.createDialog(this, "Quitting?");       
         Point       frameLocation  = this.getLocation();
         double      frameLocationX = frameLocation.getX();
         double      frameLocationY = frameLocation.getY();
-        Toolkit     toolKit        = Toolkit.getDefaultToolkit();
-        Image       logoImage      = toolKit.getImage("art/Logo.png");
+        Image       logoImage      = ImageLoader.loadImage("art/Logo.png");
         
         dialog.setBounds((int)(375 + frameLocationX),
                          (int)(300 + frameLocationY),
                          250, 250);
         dialog.setIconImage(logoImage);
+        
+        long startNanos = System.nanoTime();
+        
         dialog.setVisible(true);
+        _QUIT_GAME_DIALOG_LATENCY.recordSince(startNanos);
         
         //
         // Handle user response:
@@ -524,23 +583,6 @@ public class MainFrame extends JFrame implements IMainFrame, ActionListener, Key
             _achievementsButton.setEnabled(true);
             _aboutButton.setEnabled(true);
             _quitButton.setEnabled(false);
-            
-            //
-            // Update statistics:
-            //
-            try
-            {
-                GameMode gameMode = _gamePanel.getGameMode();
-                
-                _databaseManager.connect();      
-                _databaseManager.incrementGamesQuitStatistic(null);
-                _databaseManager.incrementGamesQuitStatistic(gameMode);
-                _databaseManager.disconnect();
-            }
-            catch (SQLException ex)
-            {
-                _handleError(ErrorCode.ProblemWithDatabase);
-            }
         }
         //
         // Otherwise resume game:
@@ -567,51 +609,20 @@ public class MainFrame extends JFrame implements IMainFrame, ActionListener, Key
     private void _handleEndOfGame(boolean isWinner)
     {
         //
-        // Update statistics:
+        // Statistics were updated with the game record by the game panel:
         //
-        String exclamation = "";
-        
-        try
-        {
-            GameMode gameMode = _gamePanel.getGameMode();
-            
-            _databaseManager.connect();      
-            _databaseManager.incrementGamesPlayedStatistic(null);
-            _databaseManager.incrementGamesPlayedStatistic(gameMode);
-            
-            if (isWinner)
-            {
-                exclamation = "Hooray! You guessed it!";
-                _databaseManager.incrementGamesWonStatistic(null);
-                _databaseManager.incrementGamesWonStatistic(gameMode);
-            }
-            else
-            {
-                exclamation = "Oof! Better luck next time!";
-                _databaseManager.incrementGamesLostStatistic(null);
-                _databaseManager.incrementGamesLostStatistic(gameMode);
-            }
-            
-            _databaseManager.updateWinPercentageStatistic(null);
-            _databaseManager.updateWinPercentageStatistic(gameMode);
-            _databaseManager.disconnect();
-        }
-        catch (SQLException ex)
-        {
-            _handleError(ErrorCode.ProblemWithDatabase);
-        }
+        String exclamation = isWinner ? "Hooray! You guessed it!" : "Oof! Better luck next time!";
         
         //
         // Create dialog box:
         //
-        JLabel      textLabel      = new JLabel(new ImageIcon("art/Play Again.png"));
+        JLabel      textLabel      = new JLabel(ImageLoader.loadIcon("art/Play Again.png"));
         JOptionPane pane           = new JOptionPane(textLabel, JOptionPane.PLAIN_MESSAGE, JOptionPane.YES_NO_OPTION);
         JDialog     dialog         = pane.createDialog(this, exclamation);
         Point       frameLocation  = this.getLocation();
         double      frameLocationX = frameLocation.getX();
         double      frameLocationY = frameLocation.getY();
-        Toolkit     toolKit        = Toolkit.getDefaultToolkit();
-        Image       logoImage      = toolKit.getImage("art/Logo.png");       
+        Image       logoImage      = ImageLoader.loadImage("art/Logo.png");       
         
         pane.setBackground(new Color(238,238,238));
 
@@ -619,7 +630,11 @@ public class MainFrame extends JFrame implements IMainFrame, ActionListener, Key
                          (int)(275 + frameLocationY),
                          450, 350);
         dialog.setIconImage(logoImage);
+        
+        long startNanos = System.nanoTime();
+        
         dialog.setVisible(true);
+        _END_OF_GAME_DIALOG_LATENCY.recordSince(startNanos);
         
         //
         // Handle user response:
@@ -717,6 +732,18 @@ public class MainFrame extends JFrame implements IMainFrame, ActionListener, Key
             }
         }
         
+        _ERROR_DIALOG_COUNT.increment();
+        
+        //
+        // Save what led up to the error if it was being recorded:
+        //
+        Path recordingPath = FlightRecording.dump();
+        
+        if (recordingPath != null)
+        {
+            errorMessage += "\nA recording of the problem was saved to " + recordingPath + ".";
+        }
+        
         //
         // Create and display error dialog box:
         //
@@ -746,6 +773,7 @@ public class MainFrame extends JFrame implements IMainFrame, ActionListener, Key
     //
     private Language          _language;
     private GameMode          _gameMode;
+    private boolean           _isDailyPuzzle;
     private JToolBar          _toolBar;
     private JButton           _quitButton;
     private JButton           _statisticsButton;
@@ -756,5 +784,11 @@ public class MainFrame extends JFrame implements IMainFrame, ActionListener, Key
     private AchievementsPanel _achievementsPanel;
     private AboutPanel        _aboutPanel;
     private IGamePanel        _gamePanel;
-    private DatabaseManager   _databaseManager;
+    
+    //
+    // Dialog latencies are the time the player took to answer them:
+    //
+    private static final LatencyHistogram _QUIT_GAME_DIALOG_LATENCY   = Metrics.getHistogram("dialog.quitGame");
+    private static final LatencyHistogram _END_OF_GAME_DIALOG_LATENCY = Metrics.getHistogram("dialog.endOfGame");
+    private static final LongAdder        _ERROR_DIALOG_COUNT         = Metrics.getCounter("dialog.error");
 }  
@@ -0,0 +1,317 @@
+//
+// MemoryGameStore.java
+//
+// This class is a game store held entirely in memory, for tests and benchmarks that should not touch a database. Words are
+// read from the word lists the word database is built from (Words_en.txt and Words_es.txt, in the working directory) the
+// first time a language is used. Hidden words are picked by the same weights as in the word database, read from the word
+// frequencies it is built from (Frequencies_en.txt and Frequencies_es.txt) if they exist, and uniformly otherwise.
+// Statistics are tallied as games are recorded, and only the most recent games of each game mode are kept in the history,
+// 10,000 by default (-Dwordem.storeHistorySize).
+//
+// The MIT License (MIT)
+// 
+// Copyright (c) 2022 WordEm Development Group.  All Rights Reserved.
+// 
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this
+// software and associated documentation files (the "Software"), to deal in the Software
+// without restriction, including without limitation the rights to use, copy, modify, merge,
+// publish, distribute, sub-license, and/or sell copies of the Software, and to permit persons
+// to whom the Software is furnished to do so, subject to the following conditions:
+// 
+// * The above copyright notice and this permission notice shall be included in all copies or
+// substantial portions of the Software.
+// 
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+// INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+// PURPOSE AND NONINFRINGEMENT.  IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE
+// FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR 
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+// DEALINGS IN THE SOFTWARE.
+//
+package wordem;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class MemoryGameStore implements IGameStore
+{
+    //
+    // Default constructor.
+    //
+    public MemoryGameStore()
+    {
+        _words         = new ConcurrentHashMap<Language, _WordList>();
+        _statistics    = new StatisticsTally();
+        _recordedCount = new AtomicLong();
+        _histories     = new ArrayList<ArrayDeque<GameRecord>>();
+        _historySize   = Integer.getInteger("wordem.storeHistorySize", _DEFAULT_HISTORY_SIZE);
+        
+        for (int index = 0; index < GameMode.values().length; ++index)
+        {
+            _histories.add(new ArrayDeque<GameRecord>());
+        }
+    }
+    
+    //
+    // This method picks a hidden word of a given language and length by its weight, or uniformly if there are no weights.
+    //
+    public String getRandomWord(Language language, int length) throws SQLException
+    {
+        _WordList wordList = _getWordList(language);
+        String[]  words    = getWords(language, length);
+        
+        if (words.length == 0)
+        {
+            throw new SQLException("MemoryGameStore.getRandomWord >> No words of length " + length + " for language: " + language);
+        }
+        
+        AliasSampler sampler = wordList.samplers[length];
+        
+        return words[sampler != null ? sampler.sample(ThreadLocalRandom.current()) : ThreadLocalRandom.current().nextInt(words.length)];
+    }
+    
+    //
+    // This method gets the sorted words of a given language and length. The returned array is shared and must NOT be modified.
+    //
+    public String[] getWords(Language language, int length) throws SQLException
+    {
+        String[][] wordsByLength = _getWordList(language).words;
+        
+        return length < wordsByLength.length ? wordsByLength[length] : _NO_WORDS;
+    }
+    
+    public boolean isWord(String word, Language language) throws SQLException
+    {
+        return Arrays.binarySearch(getWords(language, word.length()), word) >= 0;
+    }
+    
+    public void record(GameRecord record)
+    {
+        if (!record.isFinished())
+        {
+            throw new IllegalArgumentException("MemoryGameStore.record >> Game has not finished");
+        }
+        
+        ArrayDeque<GameRecord> history = _histories.get(record.getGameMode().ordinal());
+        
+        synchronized (history)
+        {
+            history.addFirst(record);
+            
+            if (history.size() > _historySize)
+            {
+                history.removeLast();
+            }
+        }
+        
+        _statistics.add(record);
+        _recordedCount.incrementAndGet();
+    }
+    
+    //
+    // This method gets a snapshot of the statistics, whose version is the number of games recorded.
+    //
+    public StatisticsSnapshot getStatistics()
+    {
+        return _statistics.toSnapshot(_recordedCount.get());
+    }
+    
+    public ArrayList<GameRecord> getRecentGames(GameMode gameMode, int limit)
+    {
+        ArrayList<GameRecord>  records = new ArrayList<GameRecord>();
+        ArrayDeque<GameRecord> history = _histories.get(gameMode.ordinal());
+        
+        synchronized (history)
+        {
+            Iterator<GameRecord> iterator = history.iterator();
+            
+            while (records.size() < limit && iterator.hasNext())
+            {
+                records.add(iterator.next());
+            }
+        }
+        
+        return records;
+    }
+    
+    public void close()
+    {
+    }
+    
+    //
+    // This method gets the words of a given language and their weights, reading its word list the first time.
+    //
+    private _WordList _getWordList(Language language) throws SQLException
+    {
+        _WordList wordList = _words.get(language);
+        
+        if (wordList == null)
+        {
+            String[][] wordsByLength = _readWords(language);
+            
+            wordList = new _WordList(wordsByLength, _readSamplers(language, wordsByLength));
+            
+            _WordList existingWordList = _words.putIfAbsent(language, wordList);
+            
+            if (existingWordList != null)
+            {
+                wordList = existingWordList;
+            }
+        }
+        
+        return wordList;
+    }
+    
+    //
+    // This method reads the word list of a given language, one word per line, into sorted arrays indexed by length.
+    //
+    private static String[][] _readWords(Language language) throws SQLException
+    {
+        String                       fileName = DatabaseManager.getWordTableName(language) + ".txt";
+        ArrayList<ArrayList<String>> lists    = new ArrayList<ArrayList<String>>();
+        
+        try (BufferedReader reader = Files.newBufferedReader(Paths.get(fileName), StandardCharsets.UTF_8))
+        {
+            String line;
+            
+            while ((line = reader.readLine()) != null)
+            {
+                String word = line.trim();
+                
+                while (lists.size() <= word.length())
+                {
+                    lists.add(new ArrayList<String>());
+                }
+                
+                if (!word.isEmpty())
+                {
+                    lists.get(word.length()).add(word);
+                }
+            }
+        }
+        catch (IOException ex)
+        {
+            throw new SQLException("MemoryGameStore._readWords >> Cannot read word list " + fileName, ex);
+        }
+        
+        String[][] wordsByLength = new String[lists.size()][];
+        
+        for (int length = 0; length < wordsByLength.length; ++length)
+        {
+            wordsByLength[length] = lists.get(length).toArray(new String[lists.get(length).size()]);
+            
+            Arrays.sort(wordsByLength[length]);
+        }
+        
+        return wordsByLength;
+    }
+    
+    //
+    // This method reads the word frequencies of a given language, if it has any, into a sampler of the words of each
+    // length. They are read like DatabaseConstructor reads them: words not listed weigh 1 and malformed lines are skipped.
+    // A length is left without a sampler, and so picked uniformly, if there are no frequencies or its words all weigh 0.
+    //
+    private static AliasSampler[] _readSamplers(Language language, String[][] wordsByLength) throws SQLException
+    {
+        String                  fileName    = DatabaseManager.getWordTableName(language).replace("Words_", "Frequencies_") + ".txt";
+        AliasSampler[]          samplers    = new AliasSampler[wordsByLength.length];
+        HashMap<String, Double> frequencies = new HashMap<String, Double>();
+        
+        if (!Files.exists(Paths.get(fileName)))
+        {
+            return samplers;
+        }
+        
+        try (BufferedReader reader = Files.newBufferedReader(Paths.get(fileName), StandardCharsets.UTF_8))
+        {
+            String line;
+            
+            while ((line = reader.readLine()) != null)
+            {
+                String[] fields = line.trim().split("\\s+");
+                
+                try
+                {
+                    double frequency = (fields.length == 2) ? Double.parseDouble(fields[1]) : Double.NaN;
+                    
+                    if (Double.isFinite(frequency) && frequency >= 0.0)
+                    {
+                        frequencies.put(fields[0], frequency);
+                    }
+                }
+                catch (NumberFormatException ex)
+                {
+                    // Malformed line, skipped
+                }
+            }
+        }
+        catch (IOException ex)
+        {
+            throw new SQLException("MemoryGameStore._readSamplers >> Cannot read word frequencies " + fileName, ex);
+        }
+        
+        for (int length = 0; length < wordsByLength.length; ++length)
+        {
+            double[] weights = new double[wordsByLength[length].length];
+            double   total   = 0.0;
+            
+            for (int index = 0; index < weights.length; ++index)
+            {
+                Double frequency = frequencies.get(wordsByLength[length][index]);
+                
+                weights[index] = (frequency == null) ? 1.0 : frequency;
+                total         += weights[index];
+            }
+            
+            if (total > 0.0)
+            {
+                samplers[length] = new AliasSampler(weights);
+            }
+        }
+        
+        return samplers;
+    }
+    
+    //
+    // Private member variables:
+    //
+    private final ConcurrentHashMap<Language, _WordList> _words;
+    private final StatisticsTally                        _statistics;
+    private final AtomicLong                             _recordedCount;
+    private final ArrayList<ArrayDeque<GameRecord>>      _histories;     // Most recent first, per game mode
+    private final int                                    _historySize;
+    
+    private static final String[] _NO_WORDS             = new String[0];
+    private static final int      _DEFAULT_HISTORY_SIZE = 10000;
+    
+    ///////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    //
+    // This nested class is the words of a language indexed by length, with the sampler of their weights at each length.
+    //
+    private static class _WordList
+    {
+        //
+        // Overloaded constructor.
+        //
+        public _WordList(String[][] words, AliasSampler[] samplers)
+        {
+            this.words    = words;
+            this.samplers = samplers;
+        }
+        
+        public final String[][]     words;
+        public final AliasSampler[] samplers; // Null at lengths picked uniformly
+    }
+}
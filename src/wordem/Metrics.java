@@ -0,0 +1,249 @@
+//
+// Metrics.java
+//
+// This class is the registry of the game's metrics: counters, gauges and latency histograms, each looked up by name.
+// Metrics are looked up once and kept in constants by the code that records them, so recording is only an add.
+//
+// The registry can dump a snapshot of every metric to a text file periodically and on exit, so the numbers
+// from a session survive it. Set "wordem.metricsDumpIntervalMillis" to 0 to turn the dump off.
+//
+// The MIT License (MIT)
+// 
+// Copyright (c) 2022 WordEm Development Group.  All Rights Reserved.
+// 
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this
+// software and associated documentation files (the "Software"), to deal in the Software
+// without restriction, including without limitation the rights to use, copy, modify, merge,
+// publish, distribute, sub-license, and/or sell copies of the Software, and to permit persons
+// to whom the Software is furnished to do so, subject to the following conditions:
+// 
+// * The above copyright notice and this permission notice shall be included in all copies or
+// substantial portions of the Software.
+// 
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+// INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+// PURPOSE AND NONINFRINGEMENT.  IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE
+// FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR 
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+// DEALINGS IN THE SOFTWARE.
+//
+package wordem;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+public abstract class Metrics
+{
+    //
+    // This method gets the counter with a given name, creating it on first use.
+    //
+    public static LongAdder getCounter(String name)
+    {
+        LongAdder counter = _counters.get(name);
+        
+        if (counter == null)
+        {
+            _counters.putIfAbsent(name, new LongAdder());
+            counter = _counters.get(name);
+        }
+        
+        return counter;
+    }
+    
+    //
+    // This method gets the latency histogram with a given name, creating it on first use.
+    //
+    public static LatencyHistogram getHistogram(String name)
+    {
+        LatencyHistogram histogram = _histograms.get(name);
+        
+        if (histogram == null)
+        {
+            _histograms.putIfAbsent(name, new LatencyHistogram(name));
+            histogram = _histograms.get(name);
+        }
+        
+        return histogram;
+    }
+    
+    //
+    // This method registers a gauge under a given name, replacing any gauge of that name.
+    //
+    public static void registerGauge(String name, IGauge gauge)
+    {
+        _gauges.put(name, gauge);
+    }
+    
+    //
+    // This method takes a snapshot of every metric. A gauge that fails to read is left out.
+    //
+    public static MetricsSnapshot getSnapshot()
+    {
+        TreeMap<String, Long>   counters         = new TreeMap<String, Long>();
+        TreeMap<String, Long>   gauges           = new TreeMap<String, Long>();
+        TreeMap<String, long[]> histogramBuckets = new TreeMap<String, long[]>();
+        TreeMap<String, Long>   histogramTotals  = new TreeMap<String, Long>();
+        TreeMap<String, Long>   histogramMaxes   = new TreeMap<String, Long>();
+        
+        for (Map.Entry<String, LongAdder> entry : _counters.entrySet())
+        {
+            counters.put(entry.getKey(), entry.getValue().sum());
+        }
+        
+        for (Map.Entry<String, IGauge> entry : _gauges.entrySet())
+        {
+            try
+            {
+                gauges.put(entry.getKey(), entry.getValue().getValue());
+            }
+            catch (RuntimeException ex)
+            {
+                // Left out of this snapshot
+            }
+        }
+        
+        for (LatencyHistogram histogram : _histograms.values())
+        {
+            histogramBuckets.put(histogram.getName(), histogram.getBucketCounts());
+            histogramTotals.put(histogram.getName(), histogram.getTotal());
+            histogramMaxes.put(histogram.getName(), histogram.getMax());
+        }
+        
+        return new MetricsSnapshot(System.currentTimeMillis(), counters, gauges, histogramBuckets, histogramTotals, histogramMaxes);
+    }
+    
+    //
+    // This method writes a snapshot of every metric to a given file, replacing it. The snapshot is written to
+    // a temporary file first, so a reader never sees a partly written dump.
+    //
+    public static void dump(Path path) throws IOException
+    {
+        MetricsSnapshot  snapshot = getSnapshot();
+        Path             tempPath = path.resolveSibling(path.getFileName() + ".tmp");
+        SimpleDateFormat format   = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+        
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(tempPath, StandardCharsets.UTF_8)))
+        {
+            writer.println("# WordEm metrics at " + format.format(new Date(snapshot.getTime())));
+            
+            for (String name : snapshot.getCounterNames())
+            {
+                writer.println("counter   " + name + " " + snapshot.getCounter(name));
+            }
+            
+            for (String name : snapshot.getGaugeNames())
+            {
+                writer.println("gauge     " + name + " " + snapshot.getGauge(name));
+            }
+            
+            for (String name : snapshot.getHistogramNames())
+            {
+                writer.println(String.format("histogram %s count=%d mean=%s p50=%s p90=%s p99=%s max=%s", name, snapshot.getCount(name),
+                                             formatNanos(snapshot.getMean(name)),
+                                             formatNanos(snapshot.getPercentile(name, 50)),
+                                             formatNanos(snapshot.getPercentile(name, 90)),
+                                             formatNanos(snapshot.getPercentile(name, 99)),
+                                             formatNanos(snapshot.getMax(name))));
+            }
+        }
+        
+        Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+    
+    //
+    // This method formats a number of nanoseconds as milliseconds.
+    //
+    public static String formatNanos(double nanos)
+    {
+        return String.format("%.3fms", nanos / 1000000);
+    }
+    
+    //
+    // This method starts dumping the metrics to the metrics file periodically and on exit, unless it is already
+    // doing so or the dump interval is not positive.
+    //
+    public static synchronized void startDumping()
+    {
+        if (_dumper != null || _DUMP_INTERVAL_MS <= 0)
+        {
+            return;
+        }
+        
+        _dumper = new Thread(new Runnable()
+        {
+            public void run()
+            {
+                _runDumper();
+            }
+        }, "MetricsDumper");
+        
+        _dumper.setDaemon(true);
+        _dumper.start();
+        
+        Runtime.getRuntime().addShutdownHook(new Thread(new Runnable()
+        {
+            public void run()
+            {
+                _dumpQuietly();
+            }
+        }, "MetricsDumper Shutdown"));
+    }
+    
+    //
+    // This method is the body of the dump thread.
+    //
+    private static void _runDumper()
+    {
+        while (true)
+        {
+            try
+            {
+                Thread.sleep(_DUMP_INTERVAL_MS);
+            }
+            catch (InterruptedException ex)
+            {
+                return;
+            }
+            
+            _dumpQuietly();
+        }
+    }
+    
+    //
+    // This method dumps the metrics to the metrics file, reporting rather than throwing a failure.
+    //
+    private static void _dumpQuietly()
+    {
+        try
+        {
+            dump(Paths.get(_DUMP_FILE_NAME));
+        }
+        catch (IOException ex)
+        {
+            System.out.println("Metrics._dumpQuietly >> Metrics not written: " + ex);
+        }
+    }
+    
+    //
+    // Private member variables:
+    //
+    private static final ConcurrentHashMap<String, LongAdder>        _counters   = new ConcurrentHashMap<String, LongAdder>();
+    private static final ConcurrentHashMap<String, IGauge>           _gauges     = new ConcurrentHashMap<String, IGauge>();
+    private static final ConcurrentHashMap<String, LatencyHistogram> _histograms = new ConcurrentHashMap<String, LatencyHistogram>();
+    
+    private static Thread _dumper = null;
+    
+    private static final String _DUMP_FILE_NAME   = System.getProperty("wordem.metricsFile", "Metrics.txt");
+    private static final long   _DUMP_INTERVAL_MS = Long.getLong("wordem.metricsDumpIntervalMillis", 60000);
+}
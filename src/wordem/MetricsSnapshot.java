@@ -0,0 +1,181 @@
+//
+// MetricsSnapshot.java
+//
+// This class is an immutable copy of every metric in the registry, taken at once. Counters and gauges are kept as
+// values and histograms as bucket counts, so percentiles can be computed from the snapshot after the fact.
+//
+// The MIT License (MIT)
+// 
+// Copyright (c) 2022 WordEm Development Group.  All Rights Reserved.
+// 
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this
+// software and associated documentation files (the "Software"), to deal in the Software
+// without restriction, including without limitation the rights to use, copy, modify, merge,
+// publish, distribute, sub-license, and/or sell copies of the Software, and to permit persons
+// to whom the Software is furnished to do so, subject to the following conditions:
+// 
+// * The above copyright notice and this permission notice shall be included in all copies or
+// substantial portions of the Software.
+// 
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+// INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+// PURPOSE AND NONINFRINGEMENT.  IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE
+// FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR 
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+// DEALINGS IN THE SOFTWARE.
+//
+package wordem;
+
+import java.util.Set;
+import java.util.TreeMap;
+
+public class MetricsSnapshot
+{
+    //
+    // Overloaded constructor. The maps are keyed by metric name and are taken over by the snapshot.
+    //
+    public MetricsSnapshot(long time, TreeMap<String, Long> counters, TreeMap<String, Long> gauges, TreeMap<String, long[]> histogramBuckets,
+                           TreeMap<String, Long> histogramTotals, TreeMap<String, Long> histogramMaxes)
+    {
+        _time             = time;
+        _counters         = counters;
+        _gauges           = gauges;
+        _histogramBuckets = histogramBuckets;
+        _histogramTotals  = histogramTotals;
+        _histogramMaxes   = histogramMaxes;
+    }
+    
+    //
+    // This method gets the time the snapshot was taken, in milliseconds since the epoch.
+    //
+    public long getTime()
+    {
+        return _time;
+    }
+    
+    //
+    // This method gets the names of every counter, in alphabetical order.
+    //
+    public Set<String> getCounterNames()
+    {
+        return _counters.keySet();
+    }
+    
+    //
+    // This method gets the value of a counter, or zero if there is no such counter.
+    //
+    public long getCounter(String name)
+    {
+        Long value = _counters.get(name);
+        
+        return value == null ? 0 : value;
+    }
+    
+    //
+    // This method gets the names of every gauge, in alphabetical order.
+    //
+    public Set<String> getGaugeNames()
+    {
+        return _gauges.keySet();
+    }
+    
+    //
+    // This method gets the value of a gauge, or zero if there is no such gauge.
+    //
+    public long getGauge(String name)
+    {
+        Long value = _gauges.get(name);
+        
+        return value == null ? 0 : value;
+    }
+    
+    //
+    // This method gets the names of every histogram, in alphabetical order.
+    //
+    public Set<String> getHistogramNames()
+    {
+        return _histogramBuckets.keySet();
+    }
+    
+    //
+    // This method gets the number of values recorded by a histogram.
+    //
+    public long getCount(String name)
+    {
+        long[] buckets = _histogramBuckets.get(name);
+        long   count   = 0;
+        
+        if (buckets != null)
+        {
+            for (long bucketCount : buckets)
+            {
+                count += bucketCount;
+            }
+        }
+        
+        return count;
+    }
+    
+    //
+    // This method gets the mean of the values recorded by a histogram, in nanoseconds.
+    //
+    public double getMean(String name)
+    {
+        long count = getCount(name);
+        
+        return count == 0 ? 0 : (double)_histogramTotals.get(name) / count;
+    }
+    
+    //
+    // This method gets the largest value recorded by a histogram, in nanoseconds.
+    //
+    public long getMax(String name)
+    {
+        Long max = _histogramMaxes.get(name);
+        
+        return max == null ? 0 : max;
+    }
+    
+    //
+    // This method gets a percentile of the values recorded by a histogram, in nanoseconds. The result is the upper
+    // bound of the bucket holding the percentile, so it overstates the true value by at most one bucket width.
+    //
+    //      percentile - the percentile to get, from 0 to 100
+    //
+    public long getPercentile(String name, double percentile)
+    {
+        long[] buckets = _histogramBuckets.get(name);
+        long   count   = getCount(name);
+        long   rank    = 0;
+        long   seen    = 0;
+        
+        if (count == 0)
+        {
+            return 0;
+        }
+        
+        rank = Math.max(1, (long)Math.ceil(count * percentile / 100));
+        
+        for (int index = 0; index < buckets.length; ++index)
+        {
+            seen += buckets[index];
+            
+            if (seen >= rank)
+            {
+                return Math.min(LatencyHistogram.getBucketUpperBound(index), getMax(name));
+            }
+        }
+        
+        return getMax(name);
+    }
+    
+    //
+    // Private member variables:
+    //
+    private final long                    _time;
+    private final TreeMap<String, Long>   _counters;
+    private final TreeMap<String, Long>   _gauges;
+    private final TreeMap<String, long[]> _histogramBuckets;
+    private final TreeMap<String, Long>   _histogramTotals;
+    private final TreeMap<String, Long>   _histogramMaxes;
+}
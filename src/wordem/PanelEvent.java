@@ -0,0 +1,68 @@
+//
+// PanelEvent.java
+//
+// This class is a flight recorder event timing the construction of a game panel.
+//
+// The MIT License (MIT)
+// 
+// Copyright (c) 2022 WordEm Development Group.  All Rights Reserved.
+// 
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this
+// software and associated documentation files (the "Software"), to deal in the Software
+// without restriction, including without limitation the rights to use, copy, modify, merge,
+// publish, distribute, sub-license, and/or sell copies of the Software, and to permit persons
+// to whom the Software is furnished to do so, subject to the following conditions:
+// 
+// * The above copyright notice and this permission notice shall be included in all copies or
+// substantial portions of the Software.
+// 
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+// INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+// PURPOSE AND NONINFRINGEMENT.  IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE
+// FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR 
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+// DEALINGS IN THE SOFTWARE.
+//
+package wordem;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("wordem.Panel")
+@Label("Panel Construction")
+@Category({ "WordEm", "Rendering" })
+@Description("Construction of a game panel")
+@StackTrace(false)
+public class PanelEvent extends Event
+{
+    //
+    // Overloaded constructor. Constructs the event of building the panel of a given game mode and starts timing it.
+    //
+    public PanelEvent(GameMode gameMode)
+    {
+        this.gameMode = gameMode.toString();
+        
+        begin();
+    }
+    
+    //
+    // This method sets the class of the panel that was built.
+    //
+    public void setPanel(IGamePanel gamePanel)
+    {
+        this.panel = gamePanel.getClass().getSimpleName();
+    }
+    
+    //
+    // Recorded fields. Their names are the field names shown in recordings, so they go without the member prefix:
+    //
+    @Label("Game Mode")
+    String gameMode;
+    
+    @Label("Panel")
+    String panel;
+}
@@ -0,0 +1,781 @@
+//
+// PlayerStatistics.java
+//
+// This class keeps the statistics of the game server's players, per player and game mode, in one row each of the
+// Player_Statistics table, whose key doubles as the index per-player reads use. Finished games are added up in memory
+// and written every second by default, as one batch of upserts on the database writer, so a player finishing many games
+// costs one row write per batch. Streaks are carried across a batch by how many games it won before its first loss or
+// quit and after its last.
+//
+// Statistics of recently read players are kept in a cache, which is striped into least recently used lists of its own,
+// and updated in place as their games finish. A player read while not cached is read from the database, through a small
+// pool of read connections, with the games not yet written added on top. Such a read only waits for a batch holding the
+// player's games while it is being written, and is retried if any batch was written while it was reading, so it never
+// misses or double counts the games of a batch.
+//
+// The totals of every game recorded by the SQLite game store are kept the same way, in the Server_Statistics table with
+// one row per game mode, so they are never mistaken for a player's statistics.
+//
+// The MIT License (MIT)
+// 
+// Copyright (c) 2022 WordEm Development Group.  All Rights Reserved.
+// 
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this
+// software and associated documentation files (the "Software"), to deal in the Software
+// without restriction, including without limitation the rights to use, copy, modify, merge,
+// publish, distribute, sub-license, and/or sell copies of the Software, and to permit persons
+// to whom the Software is furnished to do so, subject to the following conditions:
+// 
+// * The above copyright notice and this permission notice shall be included in all copies or
+// substantial portions of the Software.
+// 
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+// INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+// PURPOSE AND NONINFRINGEMENT.  IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE
+// FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR 
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+// DEALINGS IN THE SOFTWARE.
+//
+package wordem;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+
+public abstract class PlayerStatistics
+{
+    //
+    // This method adds a finished game to the statistics of a player.
+    //
+    public static void record(String player, GameRecord record)
+    {
+        if (player.isEmpty())
+        {
+            throw new IllegalArgumentException("PlayerStatistics.record >> Player has no name");
+        }
+        
+        _record(player, record);
+    }
+    
+    //
+    // This method adds a finished game to the totals of every game recorded by the SQLite game store.
+    //
+    public static void recordTotal(GameRecord record)
+    {
+        _record(_TOTALS, record);
+    }
+    
+    //
+    // This method gets a snapshot of the statistics of a player, including games not yet written.
+    //
+    public static StatisticsSnapshot getSnapshot(String player) throws SQLException
+    {
+        if (player.isEmpty())
+        {
+            throw new IllegalArgumentException("PlayerStatistics.getSnapshot >> Player has no name");
+        }
+        
+        return _getSnapshot(player);
+    }
+    
+    //
+    // This method gets a snapshot of the totals of every game recorded by the SQLite game store, including games not yet written.
+    //
+    public static StatisticsSnapshot getTotalSnapshot() throws SQLException
+    {
+        return _getSnapshot(_TOTALS);
+    }
+    
+    //
+    // This method writes the games added up since the last call as one batch, and waits until it has been committed.
+    //
+    public static void flush() throws SQLException
+    {
+        synchronized (_FLUSH_LOCK)
+        {
+            ArrayList<String> players = new ArrayList<String>();
+            ArrayList<_Delta> deltas  = new ArrayList<_Delta>();
+            
+            CountDownLatch    batch   = new CountDownLatch(1);
+            
+            //
+            // A player is marked in flight before the games are taken out, so a read never finds them in neither place:
+            //
+            for (String player : _PENDING.keySet())
+            {
+                _IN_FLIGHT.put(player, batch);
+                
+                _Delta delta = _PENDING.remove(player);
+                
+                if (delta != null)
+                {
+                    players.add(player);
+                    deltas.add(delta);
+                }
+                else
+                {
+                    _IN_FLIGHT.remove(player, batch);
+                }
+            }
+            
+            if (deltas.isEmpty())
+            {
+                return;
+            }
+            
+            long           startNanos = System.nanoTime();
+            DatabaseWriter writer     = DatabaseWriter.getInstance();
+            
+            writer.submit(new IDatabaseTask()
+            {
+                public void execute(Connection conn) throws SQLException
+                {
+                    _write(conn, players, deltas);
+                }
+            });
+            
+            try
+            {
+                _awaitCommit(writer);
+            }
+            catch (SQLException ex)
+            {
+                //
+                // The cached counts include the lost games, so they are dropped for the next read to match the database:
+                //
+                for (String player : players)
+                {
+                    _getCacheStripe(player).remove(player);
+                }
+                
+                throw ex;
+            }
+            finally
+            {
+                //
+                // The batch count moves on before the players are released, so a read started before the batch is retried:
+                //
+                _BATCH_COUNT.incrementAndGet();
+                
+                for (String player : players)
+                {
+                    _IN_FLIGHT.remove(player, batch);
+                }
+                
+                batch.countDown();
+            }
+            
+            _FLUSH_LATENCY.recordSince(startNanos);
+        }
+    }
+    
+    //
+    // This method adds a finished game to the statistics kept under a given key, a player or the totals.
+    //
+    private static void _record(String player, GameRecord record)
+    {
+        if (!record.isFinished())
+        {
+            throw new IllegalArgumentException("PlayerStatistics.record >> Game has not finished");
+        }
+        
+        //
+        // Updates of one player are serialized by the player's pending entry, so a cache fill never misses a game:
+        //
+        _PENDING.compute(player, new BiFunction<String, _Delta, _Delta>()
+        {
+            public _Delta apply(String key, _Delta delta)
+            {
+                StatisticsTally counts = _getCacheStripe(player).get(player);
+                
+                if (delta == null)
+                {
+                    delta = new _Delta();
+                }
+                
+                delta.add(record);
+                
+                if (counts != null)
+                {
+                    counts.add(record);
+                }
+                
+                return delta;
+            }
+        });
+    }
+    
+    
+    //
+    // This method gets a snapshot of the statistics kept under a given key, a player or the totals.
+    //
+    private static StatisticsSnapshot _getSnapshot(String player) throws SQLException
+    {
+        StatisticsTally counts = _getCacheStripe(player).get(player);
+        
+        if (counts != null)
+        {
+            _CACHE_HITS.increment();
+            
+            return counts.toSnapshot(0);
+        }
+        
+        _CACHE_MISSES.increment();
+        
+        while (true)
+        {
+            long           batchCount = _BATCH_COUNT.get();
+            CountDownLatch batch      = _IN_FLIGHT.get(player);
+            
+            //
+            // Games taken out of the pending entries but not yet in the database are in neither place, so they are waited for:
+            //
+            if (batch != null)
+            {
+                _await(batch);
+                continue;
+            }
+            
+            _Fill fill = new _Fill(player, _read(player), batchCount);
+            
+            _PENDING.compute(player, fill);
+            
+            if (fill.isCached)
+            {
+                return fill.counts.toSnapshot(0);
+            }
+        }
+    }
+    
+    //
+    // This method starts the daemon thread writing the statistics, which also writes them when the game exits.
+    // It does nothing if the thread is running.
+    //
+    public static synchronized void startFlushing()
+    {
+        if (_flusher != null)
+        {
+            return;
+        }
+        
+        _flusher = new Thread(new Runnable()
+        {
+            public void run()
+            {
+                _runFlusher();
+            }
+        }, "PlayerStatisticsFlusher");
+        
+        _flusher.setDaemon(true);
+        _flusher.start();
+        
+        Metrics.registerGauge("playerStatistics.pending", new IGauge()
+        {
+            public long getValue()
+            {
+                return _PENDING.size();
+            }
+        });
+        
+        Runtime.getRuntime().addShutdownHook(new Thread(new Runnable()
+        {
+            public void run()
+            {
+                _flushQuietly();
+            }
+        }, "PlayerStatisticsFlusher Shutdown"));
+    }
+    
+    //
+    // This method creates the player statistics table if it does not exist yet.
+    //
+    public static void prepareSchema(Connection conn) throws SQLException
+    {
+        StringBuilder columns = new StringBuilder();
+        
+        for (int guessCount = 1; guessCount <= _MAX_GUESS_COUNT; ++guessCount)
+        {
+            columns.append(", \"Wins").append(guessCount).append("\" INTEGER NOT NULL DEFAULT 0");
+        }
+        
+        conn.createStatement().execute("CREATE TABLE IF NOT EXISTS \"Player_Statistics\" (\"Player\" TEXT, \"GameMode\" TEXT, \"GamesPlayed\" INTEGER, "
+                                     + "\"GamesWon\" INTEGER, \"GamesLost\" INTEGER, \"GamesQuit\" INTEGER, \"CurrentStreak\" INTEGER, \"MaxStreak\" INTEGER"
+                                     + columns + ", PRIMARY KEY (\"Player\", \"GameMode\")) WITHOUT ROWID");
+    }
+    
+    //
+    // This method creates the totals table if it does not exist yet, and moves in the totals that used to be kept as the
+    // statistics of the unnamed player.
+    //
+    public static void prepareTotalSchema(Connection conn) throws SQLException
+    {
+        StringBuilder columns     = new StringBuilder();
+        StringBuilder columnNames = new StringBuilder();
+        
+        for (int guessCount = 1; guessCount <= _MAX_GUESS_COUNT; ++guessCount)
+        {
+            columns.append(", \"Wins").append(guessCount).append("\" INTEGER NOT NULL DEFAULT 0");
+            columnNames.append(", \"Wins").append(guessCount).append('"');
+        }
+        
+        try (Statement stmt = conn.createStatement())
+        {
+            stmt.execute("CREATE TABLE IF NOT EXISTS \"Server_Statistics\" (\"GameMode\" TEXT PRIMARY KEY, \"GamesPlayed\" INTEGER, \"GamesWon\" INTEGER, "
+                       + "\"GamesLost\" INTEGER, \"GamesQuit\" INTEGER, \"CurrentStreak\" INTEGER, \"MaxStreak\" INTEGER" + columns + ") WITHOUT ROWID");
+            
+            stmt.execute("INSERT OR IGNORE INTO \"Server_Statistics\" SELECT \"GameMode\", \"GamesPlayed\", \"GamesWon\", \"GamesLost\", \"GamesQuit\", "
+                       + "\"CurrentStreak\", \"MaxStreak\"" + columnNames + " FROM \"Player_Statistics\" WHERE \"Player\" = ''");
+            stmt.execute("DELETE FROM \"Player_Statistics\" WHERE \"Player\" = ''");
+        }
+    }
+    
+    //
+    // This method is the body of the flusher thread.
+    //
+    private static void _runFlusher()
+    {
+        while (true)
+        {
+            try
+            {
+                Thread.sleep(_FLUSH_INTERVAL_MS);
+            }
+            catch (InterruptedException ex)
+            {
+                return;
+            }
+            
+            _flushQuietly();
+        }
+    }
+    
+    //
+    // This method flushes the statistics, reporting rather than throwing a failure.
+    //
+    private static void _flushQuietly()
+    {
+        try
+        {
+            flush();
+        }
+        catch (SQLException ex)
+        {
+            System.out.println("PlayerStatistics._flushQuietly >> Statistics not written: " + ex);
+        }
+    }
+    
+    //
+    // This method waits until a batch has been committed or has failed. Its players are waited on by reads, so it
+    // does not give up when interrupted; the interrupt is kept for the caller instead.
+    //
+    private static void _awaitCommit(DatabaseWriter writer) throws SQLException
+    {
+        boolean isInterrupted = false;
+        
+        try
+        {
+            while (true)
+            {
+                try
+                {
+                    writer.flush();
+                    return;
+                }
+                catch (InterruptedException ex)
+                {
+                    isInterrupted = true;
+                }
+            }
+        }
+        finally
+        {
+            if (isInterrupted)
+            {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+    
+    //
+    // This method waits until a batch being written has been committed or has failed.
+    //
+    private static void _await(CountDownLatch batch) throws SQLException
+    {
+        try
+        {
+            batch.await();
+        }
+        catch (InterruptedException ex)
+        {
+            Thread.currentThread().interrupt();
+            throw new SQLException("PlayerStatistics.getSnapshot >> Interrupted waiting for the player's games to be written");
+        }
+    }
+    
+    //
+    // This method reads the statistics of a player, or the totals, from the database, through a pooled read connection.
+    // A connection that failed is closed rather than pooled again.
+    //
+    private static StatisticsTally _read(String player) throws SQLException
+    {
+        StatisticsTally counts = new StatisticsTally();
+        Connection      conn   = _READ_CONNECTIONS.poll();
+        boolean         isRead = false;
+        
+        if (conn == null)
+        {
+            conn = DatabaseManager.createConnection();
+        }
+        
+        try (PreparedStatement stmt = conn.prepareStatement(player.equals(_TOTALS) ? "SELECT * FROM \"Server_Statistics\""
+                                                                                   : "SELECT * FROM \"Player_Statistics\" WHERE \"Player\" = ?"))
+        {
+            if (!player.equals(_TOTALS))
+            {
+                stmt.setString(1, player);
+            }
+            
+            try (ResultSet rs = stmt.executeQuery())
+            {
+                while (rs.next())
+                {
+                    int index = GameMode.valueOf(rs.getString("GameMode")).ordinal();
+                    
+                    counts.gamesPlayed[index]    = rs.getInt("GamesPlayed");
+                    counts.gamesWon[index]       = rs.getInt("GamesWon");
+                    counts.gamesLost[index]      = rs.getInt("GamesLost");
+                    counts.gamesQuit[index]      = rs.getInt("GamesQuit");
+                    counts.currentStreaks[index] = rs.getInt("CurrentStreak");
+                    counts.maxStreaks[index]     = rs.getInt("MaxStreak");
+                    
+                    for (int guessCount = 1; guessCount <= _MAX_GUESS_COUNT; ++guessCount)
+                    {
+                        counts.winDistributions[index][guessCount] = rs.getInt("Wins" + guessCount);
+                    }
+                }
+            }
+            
+            isRead = true;
+        }
+        finally
+        {
+            if (isRead && _READ_CONNECTIONS.offer(conn))
+            {
+                conn = null;
+            }
+            
+            DatabaseManager.closeQuietly(conn);
+        }
+        
+        return counts;
+    }
+    
+    //
+    // This method writes a batch of added-up games, one upsert per player (or the totals) and game mode. It runs on the writer thread.
+    //
+    // A new row takes the batch's counts as they are. An existing row adds them up; its current streak is either extended
+    // by the batch's wins, or replaced by the wins after the batch's last break, and the streak the batch may have extended
+    // before its first break is a candidate for the longest streak.
+    //
+    private static void _write(Connection conn, ArrayList<String> players, ArrayList<_Delta> deltas) throws SQLException
+    {
+        try (PreparedStatement playerStmt = conn.prepareStatement(_getUpsert("Player_Statistics", true));
+             PreparedStatement totalStmt  = conn.prepareStatement(_getUpsert("Server_Statistics", false)))
+        {
+            for (int index = 0; index < deltas.size(); ++index)
+            {
+                _Delta            delta   = deltas.get(index);
+                boolean           isTotal = players.get(index).equals(_TOTALS);
+                PreparedStatement stmt    = isTotal ? totalStmt : playerStmt;
+                
+                for (GameMode gameMode : GameMode.values())
+                {
+                    int modeIndex = gameMode.ordinal();
+                    int parameter = 1;
+                    
+                    if (!delta.isTouched[modeIndex])
+                    {
+                        continue;
+                    }
+                    
+                    if (!isTotal)
+                    {
+                        stmt.setString(parameter++, players.get(index));
+                    }
+                    
+                    stmt.setString(parameter++, gameMode.toString());
+                    stmt.setInt(parameter++, delta.gamesPlayed[modeIndex]);
+                    stmt.setInt(parameter++, delta.gamesWon[modeIndex]);
+                    stmt.setInt(parameter++, delta.gamesLost[modeIndex]);
+                    stmt.setInt(parameter++, delta.gamesQuit[modeIndex]);
+                    stmt.setInt(parameter++, delta.trailingWins[modeIndex]);
+                    stmt.setInt(parameter++, delta.maxStreaks[modeIndex]);
+                    
+                    for (int guessCount = 1; guessCount <= _MAX_GUESS_COUNT; ++guessCount)
+                    {
+                        stmt.setInt(parameter++, delta.winDistributions[modeIndex][guessCount]);
+                    }
+                    
+                    stmt.setInt(parameter++, delta.leadingWins[modeIndex]);
+                    stmt.setBoolean(parameter++, delta.isBroken[modeIndex]);
+                    stmt.addBatch();
+                }
+            }
+            
+            playerStmt.executeBatch();
+            totalStmt.executeBatch();
+        }
+    }
+    
+    //
+    // This method gets the upsert of one game mode's row of a given statistics table, keyed by the game mode and,
+    // if it has one, the player.
+    //
+    private static String _getUpsert(String table, boolean hasPlayer)
+    {
+        String        keys      = hasPlayer ? "\"Player\", " : "";
+        String        keyValues = hasPlayer ? "?, " : "";
+        StringBuilder columns   = new StringBuilder();
+        StringBuilder values    = new StringBuilder();
+        StringBuilder updates   = new StringBuilder();
+        
+        for (int guessCount = 1; guessCount <= _MAX_GUESS_COUNT; ++guessCount)
+        {
+            columns.append(", \"Wins").append(guessCount).append('"');
+            values.append(", ?");
+            updates.append(", \"Wins").append(guessCount).append("\" = \"Wins").append(guessCount).append("\" + excluded.\"Wins").append(guessCount).append('"');
+        }
+        
+        return "INSERT INTO \"" + table + "\" (" + keys + "\"GameMode\", \"GamesPlayed\", \"GamesWon\", \"GamesLost\", "
+             + "\"GamesQuit\", \"CurrentStreak\", \"MaxStreak\"" + columns + ") VALUES (" + keyValues + "?, ?, ?, ?, ?, ?, ?" + values + ") "
+             + "ON CONFLICT (" + keys + "\"GameMode\") DO UPDATE SET "
+             + "\"GamesPlayed\" = \"GamesPlayed\" + excluded.\"GamesPlayed\", \"GamesWon\" = \"GamesWon\" + excluded.\"GamesWon\", "
+             + "\"GamesLost\" = \"GamesLost\" + excluded.\"GamesLost\", \"GamesQuit\" = \"GamesQuit\" + excluded.\"GamesQuit\", "
+             + "\"MaxStreak\" = MAX(\"MaxStreak\", excluded.\"MaxStreak\", \"CurrentStreak\" + ?), "
+             + "\"CurrentStreak\" = CASE WHEN ? THEN excluded.\"CurrentStreak\" ELSE \"CurrentStreak\" + excluded.\"CurrentStreak\" END"
+             + updates;
+    }
+    
+    //
+    // This method adds the games of a batch not yet written to a player's statistics, the same way the database will.
+    //
+    private static void _add(StatisticsTally counts, _Delta delta)
+    {
+        synchronized (counts)
+        {
+            for (int index = 0; index < delta.gamesPlayed.length; ++index)
+            {
+                counts.gamesPlayed[index] += delta.gamesPlayed[index];
+                counts.gamesWon[index]    += delta.gamesWon[index];
+                counts.gamesLost[index]   += delta.gamesLost[index];
+                counts.gamesQuit[index]   += delta.gamesQuit[index];
+                counts.maxStreaks[index]   = Math.max(counts.maxStreaks[index], Math.max(delta.maxStreaks[index], counts.currentStreaks[index] + delta.leadingWins[index]));
+                
+                counts.currentStreaks[index] = delta.isBroken[index] ? delta.trailingWins[index] : counts.currentStreaks[index] + delta.trailingWins[index];
+                
+                for (int guessCount = 1; guessCount <= _MAX_GUESS_COUNT; ++guessCount)
+                {
+                    counts.winDistributions[index][guessCount] += delta.winDistributions[index][guessCount];
+                }
+            }
+        }
+    }
+    
+    //
+    // This method gets the cache stripe of a player.
+    //
+    private static _LruCache _getCacheStripe(String player)
+    {
+        return _CACHE[(player.hashCode() & 0x7fffffff) % _CACHE.length];
+    }
+    
+    //
+    // This method creates the cache stripes, sharing the cache size between them.
+    //
+    private static _LruCache[] _createCache()
+    {
+        _LruCache[] cache = new _LruCache[_CACHE_STRIPE_COUNT];
+        
+        for (int index = 0; index < cache.length; ++index)
+        {
+            cache[index] = new _LruCache(Math.max(1, Integer.getInteger("wordem.playerStatisticsCacheSize", _DEFAULT_CACHE_SIZE) / cache.length));
+        }
+        
+        return cache;
+    }
+    
+    //
+    // Private member variables:
+    //
+    private static Thread _flusher;
+    
+    private static final ConcurrentHashMap<String, _Delta>         _PENDING          = new ConcurrentHashMap<String, _Delta>();
+    private static final ConcurrentHashMap<String, CountDownLatch> _IN_FLIGHT        = new ConcurrentHashMap<String, CountDownLatch>();
+    private static final AtomicLong                                _BATCH_COUNT      = new AtomicLong();
+    private static final _LruCache[]                               _CACHE            = _createCache();
+    private static final ArrayBlockingQueue<Connection>            _READ_CONNECTIONS = new ArrayBlockingQueue<Connection>(Math.max(1, Integer.getInteger("wordem.playerStatisticsReadConnections", 4)));
+    private static final Object                                    _FLUSH_LOCK       = new Object();
+    private static final LongAdder                                 _CACHE_HITS       = Metrics.getCounter("playerStatistics.cacheHits");
+    private static final LongAdder                                 _CACHE_MISSES     = Metrics.getCounter("playerStatistics.cacheMisses");
+    private static final LatencyHistogram                          _FLUSH_LATENCY    = Metrics.getHistogram("playerStatistics.flush");
+    
+    private static final long _FLUSH_INTERVAL_MS   = Long.getLong("wordem.playerStatisticsFlushIntervalMillis", 1000);
+    private static final int  _DEFAULT_CACHE_SIZE  = 100000;
+    private static final int  _CACHE_STRIPE_COUNT  = 16;
+    private static final int  _MAX_GUESS_COUNT     = StatisticsTally.MAX_GUESS_COUNT;
+    
+    private static final String _TOTALS = ""; // The key of the totals, which no player can have
+    
+    ///////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    //
+    // This nested class is the games of a player added up since the last batch, per game mode. Besides the counts,
+    // it tracks the wins before the first loss or quit, the wins after the last one, and the longest run of wins,
+    // which is all a batch needs to carry streaks over. It is only touched under the player's pending entry.
+    //
+    private static class _Delta
+    {
+        //
+        // This method adds a finished game.
+        //
+        public void add(GameRecord record)
+        {
+            int index = record.getGameMode().ordinal();
+            
+            isTouched[index] = true;
+            
+            if (record.getResult() == GameResult.Won)
+            {
+                ++gamesPlayed[index];
+                ++gamesWon[index];
+                ++winDistributions[index][Math.min(record.getGuessCount(), _MAX_GUESS_COUNT)];
+                ++trailingWins[index];
+                
+                if (!isBroken[index])
+                {
+                    ++leadingWins[index];
+                }
+                
+                maxStreaks[index] = Math.max(maxStreaks[index], trailingWins[index]);
+                return;
+            }
+            
+            if (record.getResult() == GameResult.Lost)
+            {
+                ++gamesPlayed[index];
+                ++gamesLost[index];
+            }
+            else
+            {
+                ++gamesQuit[index];
+            }
+            
+            isBroken[index]     = true;
+            trailingWins[index] = 0;
+        }
+        
+        public final boolean[] isTouched        = new boolean[GameMode.values().length];
+        public final boolean[] isBroken         = new boolean[GameMode.values().length];
+        public final int[]     gamesPlayed      = new int[GameMode.values().length];
+        public final int[]     gamesWon         = new int[GameMode.values().length];
+        public final int[]     gamesLost        = new int[GameMode.values().length];
+        public final int[]     gamesQuit        = new int[GameMode.values().length];
+        public final int[]     leadingWins      = new int[GameMode.values().length];
+        public final int[]     trailingWins     = new int[GameMode.values().length];
+        public final int[]     maxStreaks       = new int[GameMode.values().length];
+        public final int[][]   winDistributions = new int[GameMode.values().length][_MAX_GUESS_COUNT + 1];
+    }
+    
+    ///////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    //
+    // This nested class is a stripe of the cache: a map in access order that drops its least recently used player when full.
+    //
+    private static class _LruCache
+    {
+        //
+        // Overloaded constructor.
+        //
+        public _LruCache(int capacity)
+        {
+            _capacity = capacity;
+            _map      = new LinkedHashMap<String, StatisticsTally>(16, 0.75f, true)
+            {
+                protected boolean removeEldestEntry(Map.Entry<String, StatisticsTally> eldest)
+                {
+                    return size() > _capacity;
+                }
+            };
+        }
+        
+        public synchronized StatisticsTally get(String player)
+        {
+            return _map.get(player);
+        }
+        
+        public synchronized void put(String player, StatisticsTally counts)
+        {
+            _map.put(player, counts);
+        }
+        
+        public synchronized void remove(String player)
+        {
+            _map.remove(player);
+        }
+        
+        private final int                                    _capacity;
+        private final LinkedHashMap<String, StatisticsTally> _map;
+    }
+    
+    ///////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    //
+    // This nested class fills the cache with a player read from the database, under the player's pending entry. The read is
+    // only cached if no batch of the player is being written and none was written since it started; otherwise it may have
+    // missed or already included the batch, and is read again.
+    //
+    private static class _Fill implements BiFunction<String, _Delta, _Delta>
+    {
+        //
+        // Overloaded constructor.
+        //
+        public _Fill(String player, StatisticsTally counts, long batchCount)
+        {
+            this.player     = player;
+            this.counts     = counts;
+            this.batchCount = batchCount;
+        }
+        
+        public _Delta apply(String key, _Delta delta)
+        {
+            if (_IN_FLIGHT.containsKey(player) || _BATCH_COUNT.get() != batchCount)
+            {
+                return delta;
+            }
+            
+            if (delta != null)
+            {
+                _add(counts, delta);
+            }
+            
+            _getCacheStripe(player).put(player, counts);
+            
+            isCached = true;
+            
+            return delta;
+        }
+        
+        public final String          player;
+        public final StatisticsTally counts;
+        public final long            batchCount;
+        public boolean               isCached;
+    }
+}
@@ -0,0 +1,283 @@
+//
+// SchemaMigrations.java
+//
+// This class lists the migrations of the user database in order. The migration at index i brings a database from
+// version i to version i + 1, where version 0 is the statistics tables first written by DatabaseConstructor, back
+// when words and statistics shared one database.
+// Migrations must be idempotent, since databases written before versioning may already have some of their tables.
+// New migrations are only ever appended.
+//
+// The MIT License (MIT)
+// 
+// Copyright (c) 2022 WordEm Development Group.  All Rights Reserved.
+// 
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this
+// software and associated documentation files (the "Software"), to deal in the Software
+// without restriction, including without limitation the rights to use, copy, modify, merge,
+// publish, distribute, sub-license, and/or sell copies of the Software, and to permit persons
+// to whom the Software is furnished to do so, subject to the following conditions:
+// 
+// * The above copyright notice and this permission notice shall be included in all copies or
+// substantial portions of the Software.
+// 
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+// INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+// PURPOSE AND NONINFRINGEMENT.  IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE
+// FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR 
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+// DEALINGS IN THE SOFTWARE.
+//
+package wordem;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+public abstract class SchemaMigrations
+{
+    //
+    // This method gets every migration in order.
+    //
+    public static IMigration[] getMigrations()
+    {
+        return _MIGRATIONS.clone();
+    }
+    
+    //
+    // This method creates the version 0 statistics tables in a new, empty user database.
+    //
+    public static void createBaseline(Connection conn) throws SQLException
+    {
+        Statement stmt   = conn.createStatement();
+        String[]  tables = { "Statistics_Global", "Statistics_Nursery", "Statistics_Elementary", "Statistics_Classic", "Statistics_Advanced", "Statistics_Ludicrous" };
+        
+        for (String table : tables)
+        {
+            stmt.execute("CREATE TABLE \"" + table + "\" (\"Statistic\" TEXT, \"Value\" INTEGER)");
+            
+            stmt.execute("INSERT INTO \"" + table + "\" (\"Statistic\", \"Value\") VALUES (\"Games Played\", 0)");
+            stmt.execute("INSERT INTO \"" + table + "\" (\"Statistic\", \"Value\") VALUES (\"Games Quit\", 0)");
+            stmt.execute("INSERT INTO \"" + table + "\" (\"Statistic\", \"Value\") VALUES (\"Games Won\", 0)");
+            stmt.execute("INSERT INTO \"" + table + "\" (\"Statistic\", \"Value\") VALUES (\"Games Lost\", 0)");
+            stmt.execute("INSERT INTO \"" + table + "\" (\"Statistic\", \"Value\") VALUES (\"Win Percentage\", 0)");
+        }
+    }
+    
+    //
+    // Private member variables:
+    //
+    private static final IMigration[] _MIGRATIONS =
+    {
+        //
+        // Version 1: word difficulty ratings and weights, in databases that still hold the words.
+        //
+        new IMigration()
+        {
+            public void migrate(Connection conn) throws SQLException
+            {
+                Statement stmt = conn.createStatement();
+                
+                for (Language language : Language.values())
+                {
+                    String table = DatabaseManager.getWordTableName(language);
+                    
+                    if (!DatabaseManager.hasTable(conn, table))
+                    {
+                        continue;
+                    }
+                    
+                    if (!DatabaseManager.hasColumn(conn, table, "Difficulty"))
+                    {
+                        stmt.execute("ALTER TABLE \"" + table + "\" ADD COLUMN \"Difficulty\" REAL");
+                    }
+                    
+                    if (!DatabaseManager.hasColumn(conn, table, "Weight"))
+                    {
+                        stmt.execute("ALTER TABLE \"" + table + "\" ADD COLUMN \"Weight\" REAL NOT NULL DEFAULT 1.0");
+                    }
+                }
+                
+                stmt.execute("CREATE TABLE IF NOT EXISTS \"Difficulty_Checksums\" (\"WordTable\" TEXT, \"Length\" INTEGER, \"Checksum\" INTEGER, "
+                           + "PRIMARY KEY (\"WordTable\", \"Length\"))");
+            }
+            
+            public int backfill(Connection conn, int chunkSize)
+            {
+                return 0;
+            }
+        },
+        
+        //
+        // Version 2: game and guess history.
+        //
+        new IMigration()
+        {
+            public void migrate(Connection conn) throws SQLException
+            {
+                GameHistory.prepareSchema(conn);
+            }
+            
+            public int backfill(Connection conn, int chunkSize)
+            {
+                return 0;
+            }
+        },
+        
+        //
+        // Version 3: guess distribution and streak rollups.
+        //
+        new IMigration()
+        {
+            public void migrate(Connection conn) throws SQLException
+            {
+                GameStatistics.prepareSchema(conn);
+            }
+            
+            public int backfill(Connection conn, int chunkSize)
+            {
+                return 0;
+            }
+        },
+        
+        //
+        // Version 4: achievements.
+        //
+        new IMigration()
+        {
+            public void migrate(Connection conn) throws SQLException
+            {
+                AchievementsEngine.prepareSchema(conn);
+            }
+            
+            public int backfill(Connection conn, int chunkSize)
+            {
+                return 0;
+            }
+        },
+        
+        //
+        // Version 5: guess count of each recorded game, so it can be aggregated without joining the guess log.
+        // Games recorded before this version are counted in the background. A partial index holds the games
+        // still to be counted, so each chunk finds its rows without scanning the ones already done.
+        //
+        new IMigration()
+        {
+            public void migrate(Connection conn) throws SQLException
+            {
+                Statement stmt = conn.createStatement();
+                
+                if (!DatabaseManager.hasColumn(conn, "Game_History", "GuessCount"))
+                {
+                    stmt.execute("ALTER TABLE \"Game_History\" ADD COLUMN \"GuessCount\" INTEGER");
+                    stmt.execute("CREATE INDEX \"Game_History_Uncounted\" ON \"Game_History\" (\"Id\") WHERE \"GuessCount\" IS NULL");
+                }
+            }
+            
+            public int backfill(Connection conn, int chunkSize) throws SQLException
+            {
+                PreparedStatement stmt  = conn.prepareStatement("UPDATE \"Game_History\" SET \"GuessCount\" = "
+                                                              + "(SELECT COUNT(*) FROM \"Guess_History\" WHERE \"GameId\" = \"Game_History\".\"Id\") "
+                                                              + "WHERE \"Id\" IN (SELECT \"Id\" FROM \"Game_History\" WHERE \"GuessCount\" IS NULL LIMIT ?)");
+                int               count = 0;
+                
+                stmt.setInt(1, chunkSize);
+                count = stmt.executeUpdate();
+                
+                if (count < chunkSize)
+                {
+                    conn.createStatement().execute("DROP INDEX IF EXISTS \"Game_History_Uncounted\"");
+                }
+                
+                return count;
+            }
+        },
+        
+        //
+        // Version 6: words moved to their own database, built by DatabaseConstructor, so the words left over here are dropped.
+        //
+        new IMigration()
+        {
+            public void migrate(Connection conn) throws SQLException
+            {
+                Statement stmt = conn.createStatement();
+                
+                for (Language language : Language.values())
+                {
+                    stmt.execute("DROP TABLE IF EXISTS \"" + DatabaseManager.getWordTableName(language) + "\"");
+                }
+                
+                stmt.execute("DROP TABLE IF EXISTS \"Difficulty_Checksums\"");
+            }
+            
+            public int backfill(Connection conn, int chunkSize)
+            {
+                return 0;
+            }
+        },
+        
+        //
+        // Version 7: leaderboards of the game server.
+        //
+        new IMigration()
+        {
+            public void migrate(Connection conn) throws SQLException
+            {
+                Leaderboard.prepareSchema(conn);
+            }
+            
+            public int backfill(Connection conn, int chunkSize)
+            {
+                return 0;
+            }
+        },
+        
+        //
+        // Version 8: statistics of the game server's players.
+        //
+        new IMigration()
+        {
+            public void migrate(Connection conn) throws SQLException
+            {
+                PlayerStatistics.prepareSchema(conn);
+            }
+            
+            public int backfill(Connection conn, int chunkSize)
+            {
+                return 0;
+            }
+        },
+        
+        //
+        // Version 9: daily puzzles claimed by the game server's players.
+        //
+        new IMigration()
+        {
+            public void migrate(Connection conn) throws SQLException
+            {
+                Leaderboard.prepareDailyStartSchema(conn);
+            }
+            
+            public int backfill(Connection conn, int chunkSize)
+            {
+                return 0;
+            }
+        },
+        
+        //
+        // Version 10: totals of the games played on the game server, moved out of the player statistics.
+        //
+        new IMigration()
+        {
+            public void migrate(Connection conn) throws SQLException
+            {
+                PlayerStatistics.prepareTotalSchema(conn);
+            }
+            
+            public int backfill(Connection conn, int chunkSize)
+            {
+                return 0;
+            }
+        }
+    };
+}
@@ -0,0 +1,978 @@
+//
+// SessionStore.java
+//
+// This class holds the running games of the game server. The state of a game (its player, mode and language, hidden word,
+// guesses, and times) is packed into primitive arrays, with words stored as their indexes in the lexicon, rather than
+// held in a graph of objects: a table slot is a hundred bytes, and a million sessions take under 250 MB of heap.
+// Sessions are spread by ID over lock-striped segments, each an open-addressing hash table with a lock of its own.
+// Sessions left idle are evicted by a timer wheel per segment and quit, their games handed to a listener to finish outside
+// the segment locks, so an abandoned game counts like a quit one. The store can be saved to and restored from a
+// snapshot file so games survive a restart. The number of sessions is capped, a million by default
+// (-Dwordem.sessionMaxCount), so clients cannot grow the store without bound; each segment holds its share of the cap.
+//
+// Games are handed out as HeadlessGame objects rebuilt from their state, so the rules of the game stay in HeadlessGame.
+//
+// The MIT License (MIT)
+// 
+// Copyright (c) 2022 WordEm Development Group.  All Rights Reserved.
+// 
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this
+// software and associated documentation files (the "Software"), to deal in the Software
+// without restriction, including without limitation the rights to use, copy, modify, merge,
+// publish, distribute, sub-license, and/or sell copies of the Software, and to permit persons
+// to whom the Software is furnished to do so, subject to the following conditions:
+// 
+// * The above copyright notice and this permission notice shall be included in all copies or
+// substantial portions of the Software.
+// 
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+// INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+// PURPOSE AND NONINFRINGEMENT.  IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE
+// FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR 
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+// DEALINGS IN THE SOFTWARE.
+//
+package wordem;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.SecureRandom;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+public class SessionStore
+{
+    //
+    // Default constructor. Constructs with the segment count, idle timeout and maximum session count of the system properties.
+    //
+    public SessionStore()
+    {
+        this(Integer.getInteger("wordem.sessionSegments", _DEFAULT_SEGMENT_COUNT), Long.getLong("wordem.sessionIdleTimeoutSeconds", _DEFAULT_IDLE_TIMEOUT_SECONDS) * 1000,
+             Integer.getInteger("wordem.sessionMaxCount", _DEFAULT_MAX_SESSION_COUNT));
+    }
+    
+    //
+    // Overloaded constructor. Constructs with a given number of segments, which must be a power of two, a given idle timeout
+    // and a given maximum number of sessions.
+    //
+    public SessionStore(int segmentCount, long idleTimeoutMillis, int maxSessionCount)
+    {
+        if (segmentCount <= 0 || Integer.bitCount(segmentCount) != 1)
+        {
+            throw new IllegalArgumentException("SessionStore.SessionStore >> Segment count must be a power of two: " + segmentCount);
+        }
+        
+        _segments         = new _Segment[segmentCount];
+        _idleTimeoutTicks = (int)Math.max(1, (idleTimeoutMillis + _TICK_MILLIS - 1) / _TICK_MILLIS);
+        _originNanos      = System.nanoTime();
+        _maxSessionCount  = maxSessionCount;
+        _maxSegmentSize   = Math.max(1, (maxSessionCount + segmentCount - 1) / segmentCount);
+        
+        for (int index = 0; index < segmentCount; ++index)
+        {
+            _segments[index] = new _Segment(_idleTimeoutTicks);
+        }
+    }
+    
+    //
+    // This method starts a session for a new game of a player, who may be null for an anonymous game, and returns its ID,
+    // which is never zero. The hidden word must be in the lexicon. Throws an IllegalStateException if the store is full.
+    //
+    public long create(GameMode gameMode, Language language, String hiddenWord, boolean isDailyPuzzle, String player) throws SQLException
+    {
+        int  hiddenWordIndex = _getWordIndex(language, hiddenWord);
+        long startTime       = System.currentTimeMillis();
+        int  state           = _packState(gameMode, language, isDailyPuzzle, 0);
+        
+        if (hiddenWord.length() != gameMode.getWordSize())
+        {
+            throw new IllegalArgumentException("SessionStore.create >> Hidden word \"" + hiddenWord + "\" does not fit game mode: " + gameMode);
+        }
+        
+        while (true)
+        {
+            long     sessionId = _RANDOM.nextLong();
+            _Segment segment   = _getSegment(sessionId);
+            
+            synchronized (segment)
+            {
+                if (segment.size >= _maxSegmentSize)
+                {
+                    throw new IllegalStateException("SessionStore.create >> Too many sessions, at most " + _maxSessionCount);
+                }
+                
+                if (sessionId != 0 && segment.insert(sessionId, startTime, player, hiddenWordIndex, state, _getTick(), null, null))
+                {
+                    return sessionId;
+                }
+            }
+        }
+    }
+    
+    //
+    // This method gets the game of a session, or null if there is no such session.
+    //
+    public HeadlessGame get(long sessionId) throws SQLException
+    {
+        _Segment segment = _getSegment(sessionId);
+        
+        synchronized (segment)
+        {
+            int index = segment.find(sessionId);
+            
+            return index < 0 ? null : segment.getGame(index);
+        }
+    }
+    
+    //
+    // This method guesses a word, which must be in the lexicon, in the game of a session. It returns the game after the guess,
+    // or null if there is no such session. The session ends if the game is over.
+    //
+    public HeadlessGame guess(long sessionId, String guessedWord) throws SQLException
+    {
+        _Segment segment = _getSegment(sessionId);
+        
+        synchronized (segment)
+        {
+            int index = segment.find(sessionId);
+            
+            if (index < 0)
+            {
+                return null;
+            }
+            
+            HeadlessGame game      = segment.getGame(index);
+            int          wordIndex = _getWordIndex(game.getLanguage(), guessedWord);
+            
+            game.guess(guessedWord);
+            
+            if (game.isOver())
+            {
+                segment.remove(index);
+            }
+            else
+            {
+                GameRecord record = game.getRecord();
+                int        count  = record.getGuessCount();
+                
+                segment.addGuess(index, wordIndex, (int)(record.getGuessTime(count - 1) - record.getStartTime()), _getTick());
+            }
+            
+            return game;
+        }
+    }
+    
+    //
+    // This method quits the game of a session and ends the session. It returns the quit game, or null if there is no such session.
+    //
+    public HeadlessGame quit(long sessionId) throws SQLException
+    {
+        _Segment segment = _getSegment(sessionId);
+        
+        synchronized (segment)
+        {
+            int index = segment.find(sessionId);
+            
+            if (index < 0)
+            {
+                return null;
+            }
+            
+            HeadlessGame game = segment.getGame(index);
+            
+            game.quit();
+            segment.remove(index);
+            
+            return game;
+        }
+    }
+    
+    //
+    // This method gets the number of sessions. Segments are counted one after the other, so the count is only exact at rest.
+    //
+    public int getSize()
+    {
+        int size = 0;
+        
+        for (_Segment segment : _segments)
+        {
+            synchronized (segment)
+            {
+                size += segment.size;
+            }
+        }
+        
+        return size;
+    }
+    
+    //
+    // This method sets the listener handed the games of evicted sessions, or null for none. It must be set before the evictor
+    // thread is started.
+    //
+    public void setListener(ISessionListener listener)
+    {
+        _listener = listener;
+    }
+    
+    //
+    // This method evicts the sessions that have been idle for longer than the idle timeout, and returns how many were evicted.
+    // Their games are quit and handed to the listener once every segment is unlocked. It is called by the evictor thread
+    // every tick, but can be called directly.
+    //
+    public int evictIdleSessions()
+    {
+        int                     tick         = _getTick();
+        int                     evictedCount = 0;
+        ArrayList<HeadlessGame> evictedGames = new ArrayList<HeadlessGame>();
+        
+        for (_Segment segment : _segments)
+        {
+            synchronized (segment)
+            {
+                evictedCount += segment.evict(tick, evictedGames);
+            }
+        }
+        
+        _EVICTED_COUNT.add(evictedCount);
+        _abandon(evictedGames);
+        
+        return evictedCount;
+    }
+    
+    //
+    // This method starts the daemon thread evicting idle sessions. It does nothing if the thread is running.
+    //
+    public synchronized void startEvicting()
+    {
+        if (_evictor != null)
+        {
+            return;
+        }
+        
+        _evictor = new Thread(new Runnable()
+        {
+            public void run()
+            {
+                _runEvictor();
+            }
+        }, "SessionEvictor");
+        
+        _evictor.setDaemon(true);
+        _evictor.start();
+    }
+    
+    //
+    // This method stops the daemon thread evicting idle sessions.
+    //
+    public synchronized void stopEvicting()
+    {
+        if (_evictor != null)
+        {
+            _evictor.interrupt();
+            _evictor = null;
+        }
+    }
+    
+    //
+    // This method saves every session to a snapshot file, replacing it atomically. Segments are saved one after the other,
+    // so sessions can be created and ended in segments not yet saved. Words are saved as text, so a snapshot can be restored
+    // against a rebuilt lexicon, and the time of the save is kept, so the time until the restore counts as idle.
+    //
+    public void save(Path path) throws IOException, SQLException
+    {
+        Path tempPath = path.resolveSibling(path.getFileName() + ".tmp");
+        
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempPath))))
+        {
+            output.writeInt(_SNAPSHOT_MAGIC);
+            output.writeInt(_SNAPSHOT_VERSION);
+            output.writeLong(System.currentTimeMillis());
+            
+            for (_Segment segment : _segments)
+            {
+                synchronized (segment)
+                {
+                    segment.save(output, _getTick());
+                }
+            }
+            
+            output.writeLong(0);
+        }
+        
+        Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+    
+    //
+    // This method restores the sessions of a snapshot file, and returns how many were restored. Each keeps how long it had
+    // been idle, plus the time since the snapshot was saved. Sessions that would have been evicted, whose words are no longer
+    // in the lexicon, or that do not fit under the maximum session count, are quit and handed to the listener like evicted
+    // ones. The file is deleted once restored, so a later crash cannot restore games that have been finished since.
+    // Throws an IOException if the snapshot is corrupt, having restored the sessions before the corruption and renamed the
+    // file with a .corrupt suffix.
+    //
+    public int restore(Path path) throws IOException, SQLException
+    {
+        int                     restoredCount  = 0;
+        ArrayList<HeadlessGame> abandonedGames = new ArrayList<HeadlessGame>();
+        boolean                 isRead         = false;
+        
+        //
+        // The file is moved away even if it is corrupt, since the sessions read before the corruption were restored:
+        //
+        try
+        {
+            try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(path))))
+            {
+                if (input.readInt() != _SNAPSHOT_MAGIC || input.readInt() != _SNAPSHOT_VERSION)
+                {
+                    throw new IOException("SessionStore.restore >> Not a session snapshot: " + path);
+                }
+                
+                long downtimeMillis = Math.max(0, System.currentTimeMillis() - input.readLong());
+                long sessionId;
+                
+                while ((sessionId = input.readLong()) != 0)
+                {
+                    long     startTime     = input.readLong();
+                    String   player        = input.readBoolean() ? input.readUTF() : null;
+                    long     idleMillis    = _readRange(input.readLong(), 0, Long.MAX_VALUE - downtimeMillis, "idle time") + downtimeMillis;
+                    GameMode gameMode      = GameMode.values()[_readRange(input.readByte(), 0, GameMode.values().length - 1, "game mode")];
+                    Language language      = Language.values()[_readRange(input.readByte(), 0, Language.values().length - 1, "language")];
+                    boolean  isDailyPuzzle = input.readBoolean();
+                    String   hiddenWord    = _readWord(input, gameMode);
+                    int      guessCount    = _readRange(input.readByte(), 0, gameMode.getGuessLimit(), "guess count");
+                    String[] guesses       = new String[guessCount];
+                    int[]    guessedWords  = new int[guessCount];
+                    int[]    guessOffsets  = new int[guessCount];
+                    int      idleTicks     = (int)Math.min(_idleTimeoutTicks, idleMillis / _TICK_MILLIS);
+                    int      hiddenIndex   = Lexicon.indexOf(language, hiddenWord);
+                    boolean  isRestorable  = hiddenIndex >= 0 && idleTicks < _idleTimeoutTicks;
+                    
+                    for (int guessIndex = 0; guessIndex < guessCount; ++guessIndex)
+                    {
+                        guesses[guessIndex]      = _readWord(input, gameMode);
+                        guessedWords[guessIndex] = Lexicon.indexOf(language, guesses[guessIndex]);
+                        guessOffsets[guessIndex] = input.readInt();
+                        
+                        isRestorable &= guessedWords[guessIndex] >= 0;
+                    }
+                    
+                    if (isRestorable && _insert(sessionId, startTime, player, hiddenIndex, _packState(gameMode, language, isDailyPuzzle, guessCount),
+                                                _getTick() - idleTicks, guessedWords, guessOffsets))
+                    {
+                        ++restoredCount;
+                        continue;
+                    }
+                    
+                    GameRecord record = new GameRecord(gameMode, language, hiddenWord, isDailyPuzzle, startTime);
+                    
+                    for (int guessIndex = 0; guessIndex < guessCount; ++guessIndex)
+                    {
+                        record.addGuess(guesses[guessIndex], Feedback.score(guesses[guessIndex], hiddenWord), startTime + guessOffsets[guessIndex]);
+                    }
+                    
+                    HeadlessGame game = new HeadlessGame(record);
+                    
+                    game.setPlayer(player);
+                    game.quit();
+                    abandonedGames.add(game);
+                }
+            }
+            
+            isRead = true;
+        }
+        finally
+        {
+            if (isRead)
+            {
+                Files.delete(path);
+            }
+            else if (Files.exists(path))
+            {
+                Files.move(path, path.resolveSibling(path.getFileName() + ".corrupt"), StandardCopyOption.REPLACE_EXISTING);
+            }
+            
+            _abandon(abandonedGames);
+        }
+        
+        return restoredCount;
+    }
+    
+    //
+    // This method formats a session ID for clients.
+    //
+    public static String formatId(long sessionId)
+    {
+        return Long.toHexString(sessionId);
+    }
+    
+    //
+    // This method parses a session ID from a client, returning zero, which is never an ID, if it is malformed.
+    //
+    public static long parseId(String text)
+    {
+        try
+        {
+            return Long.parseUnsignedLong(text, 16);
+        }
+        catch (NumberFormatException ex)
+        {
+            return 0;
+        }
+    }
+    
+    //
+    // This method is the body of the evictor thread.
+    //
+    private void _runEvictor()
+    {
+        while (true)
+        {
+            try
+            {
+                Thread.sleep(_TICK_MILLIS);
+            }
+            catch (InterruptedException ex)
+            {
+                return;
+            }
+            
+            evictIdleSessions();
+        }
+    }
+    
+    //
+    // This method checks a number read from a snapshot against its range, so corrupt bytes are reported as such rather than
+    // failing on an index or being written past a session's slots.
+    //
+    private static int _readRange(int value, int min, int max, String name) throws IOException
+    {
+        return (int)_readRange((long)value, min, max, name);
+    }
+    
+    //
+    // This method checks a number read from a snapshot against its range.
+    //
+    private static long _readRange(long value, long min, long max, String name) throws IOException
+    {
+        if (value < min || value > max)
+        {
+            throw new IOException("SessionStore.restore >> Corrupt snapshot, " + name + " out of range: " + value);
+        }
+        
+        return value;
+    }
+    
+    //
+    // This method reads a word from a snapshot, checking that it fits a game mode.
+    //
+    private static String _readWord(DataInputStream input, GameMode gameMode) throws IOException
+    {
+        String word = input.readUTF();
+        
+        if (word.length() != gameMode.getWordSize())
+        {
+            throw new IOException("SessionStore.restore >> Corrupt snapshot, word \"" + word + "\" does not fit game mode: " + gameMode);
+        }
+        
+        return word;
+    }
+    
+    //
+    // This method hands the quit games of ended sessions to the listener. A game the listener fails on is only reported,
+    // so it does not keep the others from being finished.
+    //
+    private void _abandon(ArrayList<HeadlessGame> games)
+    {
+        ISessionListener listener = _listener;
+        
+        if (listener == null)
+        {
+            return;
+        }
+        
+        for (HeadlessGame game : games)
+        {
+            try
+            {
+                listener.sessionAbandoned(game);
+            }
+            catch (SQLException | RuntimeException ex)
+            {
+                System.out.println("SessionStore._abandon >> Abandoned game not finished: " + ex);
+            }
+        }
+    }
+    
+    //
+    // This method inserts a session into its segment, unless its ID is taken or the segment is full.
+    //
+    private boolean _insert(long sessionId, long startTime, String player, int hiddenWord, int state, int lastAccessTick, int[] guessedWords, int[] guessOffsets)
+    {
+        _Segment segment = _getSegment(sessionId);
+        
+        synchronized (segment)
+        {
+            return segment.size < _maxSegmentSize && segment.insert(sessionId, startTime, player, hiddenWord, state, lastAccessTick, guessedWords, guessOffsets);
+        }
+    }
+    
+    //
+    // This method gets the segment holding a session ID.
+    //
+    private _Segment _getSegment(long sessionId)
+    {
+        return _segments[(int)(_mix(sessionId) >>> 32) & (_segments.length - 1)];
+    }
+    
+    //
+    // This method gets the number of ticks since the store was constructed.
+    //
+    private int _getTick()
+    {
+        return (int)((System.nanoTime() - _originNanos) / (_TICK_MILLIS * 1000000L));
+    }
+    
+    //
+    // This method gets the index of a word in the lexicon, which it must be in.
+    //
+    private static int _getWordIndex(Language language, String word) throws SQLException
+    {
+        int wordIndex = Lexicon.indexOf(language, word);
+        
+        if (wordIndex < 0)
+        {
+            throw new IllegalArgumentException("SessionStore._getWordIndex >> Word \"" + word + "\" is not in the lexicon");
+        }
+        
+        return wordIndex;
+    }
+    
+    //
+    // This method packs the game mode, language, daily puzzle flag and guess count of a session into an int.
+    //
+    private static int _packState(GameMode gameMode, Language language, boolean isDailyPuzzle, int guessCount)
+    {
+        return guessCount | (gameMode.ordinal() << 8) | (language.ordinal() << 16) | (isDailyPuzzle ? _DAILY_PUZZLE_FLAG : 0);
+    }
+    
+    //
+    // This method scrambles the bits of a session ID for hashing, with the finalizer of MurmurHash3.
+    //
+    private static long _mix(long value)
+    {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        
+        return value;
+    }
+    
+    //
+    // Private member variables:
+    //
+    private final _Segment[] _segments;
+    private final int        _idleTimeoutTicks;
+    private final long       _originNanos;
+    private final int        _maxSessionCount;
+    private final int        _maxSegmentSize;
+    private Thread           _evictor;
+    private ISessionListener _listener;
+    
+    private static final SecureRandom _RANDOM        = new SecureRandom(); // Thread safe, and seeded once rather than per thread
+    private static final LongAdder    _EVICTED_COUNT = Metrics.getCounter("sessions.evicted");
+    
+    private static final int  _DEFAULT_SEGMENT_COUNT        = 64;
+    private static final long _DEFAULT_IDLE_TIMEOUT_SECONDS = 30 * 60;
+    private static final int  _DEFAULT_MAX_SESSION_COUNT    = 1000000;
+    private static final long _TICK_MILLIS                  = 1000;
+    private static final int  _MAX_GUESSES                  = 9;          // The largest guess limit of the game modes
+    private static final int  _GUESS_COUNT_MASK             = 0xff;
+    private static final int  _DAILY_PUZZLE_FLAG            = 1 << 24;
+    private static final int  _INITIAL_CAPACITY             = 16;
+    private static final int  _WHEEL_SIZE                   = 64;         // Slots of the timer wheel, one per tick
+    private static final int  _SNAPSHOT_MAGIC               = 0x57454d53; // "WEMS"
+    private static final int  _SNAPSHOT_VERSION             = 3;
+    
+    ///////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    //
+    // This nested class is a segment of the store: an open-addressing hash table with linear probing, its entries spread over
+    // parallel arrays, and a timer wheel of the sessions to check for idleness. Callers must hold the segment's monitor.
+    //
+    // The wheel has a slot per tick, modulo its size. A session is put in the slot of the tick it would become evictable at
+    // if left idle, and is not moved when it is used; when its slot comes round it is either evicted or put in the slot of
+    // its new deadline. Ended sessions are left in the wheel and skipped when their slot comes round.
+    //
+    private static class _Segment
+    {
+        //
+        // Overloaded constructor. Constructs with the number of ticks after which idle sessions are evicted.
+        //
+        public _Segment(int idleTimeoutTicks)
+        {
+            _allocate(_INITIAL_CAPACITY);
+            
+            _wheel            = new long[_WHEEL_SIZE][];
+            _wheelSize        = new int[_WHEEL_SIZE];
+            _idleTimeoutTicks = idleTimeoutTicks;
+        }
+        
+        //
+        // This method finds the index of a session, or returns -1 if it is not in the segment.
+        //
+        public int find(long sessionId)
+        {
+            int index = (int)_mix(sessionId) & _mask;
+            
+            while (_ids[index] != 0)
+            {
+                if (_ids[index] == sessionId)
+                {
+                    return index;
+                }
+                
+                index = (index + 1) & _mask;
+            }
+            
+            return -1;
+        }
+        
+        //
+        // This method inserts a session, unless its ID is taken, and schedules it for eviction. Guesses may be null for none.
+        //
+        public boolean insert(long sessionId, long startTime, String player, int hiddenWord, int state, int lastAccessTick, int[] guessedWords, int[] guessOffsets)
+        {
+            if (find(sessionId) >= 0)
+            {
+                return false;
+            }
+            
+            if ((size + 1) * 4 > _ids.length * 3)
+            {
+                _resize(_ids.length * 2);
+            }
+            
+            int index = (int)_mix(sessionId) & _mask;
+            
+            while (_ids[index] != 0)
+            {
+                index = (index + 1) & _mask;
+            }
+            
+            _ids[index]             = sessionId;
+            _startTimes[index]      = startTime;
+            _players[index]         = player;
+            _hiddenWords[index]     = hiddenWord;
+            _states[index]          = state;
+            _lastAccessTicks[index] = lastAccessTick;
+            
+            if (guessedWords != null)
+            {
+                System.arraycopy(guessedWords, 0, _guessedWords, index * _MAX_GUESSES, guessedWords.length);
+                System.arraycopy(guessOffsets, 0, _guessOffsets, index * _MAX_GUESSES, guessOffsets.length);
+            }
+            
+            ++size;
+            _schedule(sessionId, lastAccessTick + _idleTimeoutTicks);
+            
+            return true;
+        }
+        
+        //
+        // This method appends a guess to a session and marks it used.
+        //
+        public void addGuess(int index, int wordIndex, int offset, int tick)
+        {
+            int guessCount = _states[index] & _GUESS_COUNT_MASK;
+            
+            _guessedWords[index * _MAX_GUESSES + guessCount] = wordIndex;
+            _guessOffsets[index * _MAX_GUESSES + guessCount] = offset;
+            _lastAccessTicks[index]                          = tick;
+            
+            ++_states[index];
+        }
+        
+        //
+        // This method rebuilds the game of a session from its state.
+        //
+        public HeadlessGame getGame(int index) throws SQLException
+        {
+            int        state    = _states[index];
+            GameMode   gameMode = GameMode.values()[(state >>> 8) & 0xff];
+            Language   language = Language.values()[(state >>> 16) & 0xff];
+            String[]   words    = Lexicon.getWords(language, gameMode.getWordSize());
+            String     hidden   = words[_hiddenWords[index]];
+            GameRecord record   = new GameRecord(gameMode, language, hidden, (state & _DAILY_PUZZLE_FLAG) != 0, _startTimes[index]);
+            
+            for (int guessIndex = 0; guessIndex < (state & _GUESS_COUNT_MASK); ++guessIndex)
+            {
+                String guessedWord = words[_guessedWords[index * _MAX_GUESSES + guessIndex]];
+                
+                record.addGuess(guessedWord, Feedback.score(guessedWord, hidden), _startTimes[index] + _guessOffsets[index * _MAX_GUESSES + guessIndex]);
+            }
+            
+            HeadlessGame game = new HeadlessGame(record);
+            
+            game.setPlayer(_players[index]);
+            
+            return game;
+        }
+        
+        //
+        // This method removes the session at an index, shifting back the entries after it that probed past it,
+        // so lookups never need tombstones.
+        //
+        public void remove(int index)
+        {
+            int hole = index;
+            int next = (index + 1) & _mask;
+            
+            while (_ids[next] != 0)
+            {
+                int home = (int)_mix(_ids[next]) & _mask;
+                
+                if (((next - home) & _mask) >= ((next - hole) & _mask))
+                {
+                    _copy(next, hole);
+                    hole = next;
+                }
+                
+                next = (next + 1) & _mask;
+            }
+            
+            _ids[hole]     = 0;
+            _players[hole] = null;
+            --size;
+        }
+        
+        //
+        // This method checks the sessions of the wheel slots due since the last call, up to a given tick, and returns how many
+        // were evicted. The games of evicted sessions are quit and added to a given list. A session not idle for long enough
+        // is put in the slot of its new deadline.
+        //
+        public int evict(int tick, ArrayList<HeadlessGame> evictedGames)
+        {
+            int evictedCount = 0;
+            int firstTick    = Math.max(_evictedTick + 1, tick - _WHEEL_SIZE + 1);
+            
+            for (int dueTick = firstTick; dueTick <= tick; ++dueTick)
+            {
+                int    slot       = dueTick & (_WHEEL_SIZE - 1);
+                long[] entries    = _wheel[slot];
+                int    entryCount = _wheelSize[slot];
+                
+                _wheel[slot]     = null;
+                _wheelSize[slot] = 0;
+                
+                for (int entryIndex = 0; entryIndex < entryCount; ++entryIndex)
+                {
+                    int index = find(entries[entryIndex]);
+                    
+                    if (index < 0)
+                    {
+                        continue;
+                    }
+                    
+                    int deadline = _lastAccessTicks[index] + _idleTimeoutTicks;
+                    
+                    if (deadline <= tick)
+                    {
+                        _quit(index, evictedGames);
+                        remove(index);
+                        ++evictedCount;
+                    }
+                    else
+                    {
+                        _schedule(entries[entryIndex], deadline);
+                    }
+                }
+            }
+            
+            _evictedTick = Math.max(_evictedTick, tick);
+            
+            return evictedCount;
+        }
+        
+        //
+        // This method writes the sessions of the segment to a snapshot.
+        //
+        public void save(DataOutputStream output, int tick) throws IOException, SQLException
+        {
+            for (int index = 0; index < _ids.length; ++index)
+            {
+                if (_ids[index] == 0)
+                {
+                    continue;
+                }
+                
+                int      state    = _states[index];
+                GameMode gameMode = GameMode.values()[(state >>> 8) & 0xff];
+                Language language = Language.values()[(state >>> 16) & 0xff];
+                String[] words    = Lexicon.getWords(language, gameMode.getWordSize());
+                
+                output.writeLong(_ids[index]);
+                output.writeLong(_startTimes[index]);
+                output.writeBoolean(_players[index] != null);
+                
+                if (_players[index] != null)
+                {
+                    output.writeUTF(_players[index]);
+                }
+                
+                output.writeLong((tick - _lastAccessTicks[index]) * _TICK_MILLIS);
+                output.writeByte(gameMode.ordinal());
+                output.writeByte(language.ordinal());
+                output.writeBoolean((state & _DAILY_PUZZLE_FLAG) != 0);
+                output.writeUTF(words[_hiddenWords[index]]);
+                output.writeByte(state & _GUESS_COUNT_MASK);
+                
+                for (int guessIndex = 0; guessIndex < (state & _GUESS_COUNT_MASK); ++guessIndex)
+                {
+                    output.writeUTF(words[_guessedWords[index * _MAX_GUESSES + guessIndex]]);
+                    output.writeInt(_guessOffsets[index * _MAX_GUESSES + guessIndex]);
+                }
+            }
+        }
+        
+        //
+        // This method quits the game of a session and adds it to a given list. A game that cannot be rebuilt is only reported.
+        //
+        private void _quit(int index, ArrayList<HeadlessGame> games)
+        {
+            try
+            {
+                HeadlessGame game = getGame(index);
+                
+                game.quit();
+                games.add(game);
+            }
+            catch (SQLException ex)
+            {
+                System.out.println("SessionStore._Segment._quit >> Game of session " + formatId(_ids[index]) + " not rebuilt: " + ex);
+            }
+        }
+        
+        //
+        // This method puts a session in the wheel slot of a given tick.
+        //
+        private void _schedule(long sessionId, int tick)
+        {
+            int    slot    = tick & (_WHEEL_SIZE - 1);
+            long[] entries = _wheel[slot];
+            
+            if (entries == null)
+            {
+                entries      = new long[_INITIAL_CAPACITY];
+                _wheel[slot] = entries;
+            }
+            else if (_wheelSize[slot] == entries.length)
+            {
+                entries      = Arrays.copyOf(entries, entries.length * 2);
+                _wheel[slot] = entries;
+            }
+            
+            entries[_wheelSize[slot]++] = sessionId;
+        }
+        
+        //
+        // This method copies the entry at one index over the entry at another.
+        //
+        private void _copy(int fromIndex, int toIndex)
+        {
+            _ids[toIndex]             = _ids[fromIndex];
+            _startTimes[toIndex]      = _startTimes[fromIndex];
+            _players[toIndex]         = _players[fromIndex];
+            _hiddenWords[toIndex]     = _hiddenWords[fromIndex];
+            _states[toIndex]          = _states[fromIndex];
+            _lastAccessTicks[toIndex] = _lastAccessTicks[fromIndex];
+            
+            System.arraycopy(_guessedWords, fromIndex * _MAX_GUESSES, _guessedWords, toIndex * _MAX_GUESSES, _MAX_GUESSES);
+            System.arraycopy(_guessOffsets, fromIndex * _MAX_GUESSES, _guessOffsets, toIndex * _MAX_GUESSES, _MAX_GUESSES);
+        }
+        
+        //
+        // This method rehashes the entries into arrays of a given capacity, which must be a power of two.
+        //
+        private void _resize(int capacity)
+        {
+            long[]   ids             = _ids;
+            long[]   startTimes      = _startTimes;
+            String[] players         = _players;
+            int[]    hiddenWords     = _hiddenWords;
+            int[]    states          = _states;
+            int[]    lastAccessTicks = _lastAccessTicks;
+            int[]    guessedWords    = _guessedWords;
+            int[]    guessOffsets    = _guessOffsets;
+            
+            _allocate(capacity);
+            
+            for (int fromIndex = 0; fromIndex < ids.length; ++fromIndex)
+            {
+                if (ids[fromIndex] == 0)
+                {
+                    continue;
+                }
+                
+                int index = (int)_mix(ids[fromIndex]) & _mask;
+                
+                while (_ids[index] != 0)
+                {
+                    index = (index + 1) & _mask;
+                }
+                
+                _ids[index]             = ids[fromIndex];
+                _startTimes[index]      = startTimes[fromIndex];
+                _players[index]         = players[fromIndex];
+                _hiddenWords[index]     = hiddenWords[fromIndex];
+                _states[index]          = states[fromIndex];
+                _lastAccessTicks[index] = lastAccessTicks[fromIndex];
+                
+                System.arraycopy(guessedWords, fromIndex * _MAX_GUESSES, _guessedWords, index * _MAX_GUESSES, _MAX_GUESSES);
+                System.arraycopy(guessOffsets, fromIndex * _MAX_GUESSES, _guessOffsets, index * _MAX_GUESSES, _MAX_GUESSES);
+            }
+        }
+        
+        //
+        // This method allocates empty arrays of a given capacity.
+        //
+        private void _allocate(int capacity)
+        {
+            _ids             = new long[capacity];
+            _startTimes      = new long[capacity];
+            _players         = new String[capacity];
+            _hiddenWords     = new int[capacity];
+            _states          = new int[capacity];
+            _lastAccessTicks = new int[capacity];
+            _guessedWords    = new int[capacity * _MAX_GUESSES];
+            _guessOffsets    = new int[capacity * _MAX_GUESSES];
+            _mask            = capacity - 1;
+        }
+        
+        public int size;
+        
+        private long[]   _ids;
+        private long[]   _startTimes;      // Milliseconds since the epoch
+        private String[] _players;         // Null for anonymous games
+        private int[]    _hiddenWords;     // Lexicon indexes
+        private int[]    _states;          // Guess count, game mode, language and daily puzzle flag
+        private int[]    _lastAccessTicks;
+        private int[]    _guessedWords;    // Lexicon indexes, _MAX_GUESSES per session
+        private int[]    _guessOffsets;    // Milliseconds since the start, _MAX_GUESSES per session
+        private int      _mask;
+        private long[][] _wheel;
+        private int[]    _wheelSize;
+        private int      _evictedTick;
+        
+        private final int _idleTimeoutTicks;
+    }
+}
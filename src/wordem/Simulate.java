@@ -0,0 +1,310 @@
+//
+// Simulate.java
+//
+// This class is the entry point of the game simulator. It plays games with many concurrent synthetic players, each on a
+// thread of its own, through the rules of the game panels (HeadlessGame), and reports the games and guesses played per
+// second, the latency percentiles of validating guesses and the allocation rate. Players use virtual threads when the
+// JDK has them, and otherwise share a bounded pool of platform threads.
+//
+// Guesses are validated either against the in-memory lexicon or through the game store (-Dwordem.store), which for the
+// word database means the Bloom filter and a query per word that passes it, so the two can be compared under load.
+// Players either guess random words or solve with the candidate solver. Simulated games are only recorded, in the game
+// store, when asked to, and the latency of recording them is then reported, so stores can be compared on their own.
+//
+// Usage: Simulate [player count] [games per player] [lexicon | store] [random | solver] [record]
+//
+// The MIT License (MIT)
+// 
+// Copyright (c) 2022 WordEm Development Group.  All Rights Reserved.
+// 
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this
+// software and associated documentation files (the "Software"), to deal in the Software
+// without restriction, including without limitation the rights to use, copy, modify, merge,
+// publish, distribute, sub-license, and/or sell copies of the Software, and to permit persons
+// to whom the Software is furnished to do so, subject to the following conditions:
+// 
+// * The above copyright notice and this permission notice shall be included in all copies or
+// substantial portions of the Software.
+// 
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+// INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+// PURPOSE AND NONINFRINGEMENT.  IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE
+// FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR 
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+// DEALINGS IN THE SOFTWARE.
+//
+package wordem;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+public class Simulate
+{
+    //
+    // Program entry point.
+    //
+    public static void main(String[] args)
+    {
+        try
+        {
+            int     playerCount    = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+            int     gamesPerPlayer = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+            boolean isStore        = args.length > 2 && args[2].equals("store");
+            boolean isSolver       = args.length > 3 && args[3].equals("solver");
+            
+            _store      = GameStores.getInstance();
+            _isRecorded = args.length > 4 && args[4].equals("record");
+            _wordSource = isStore ? new _StoreWordSource() : new _LexiconWordSource();
+            _warmUp();
+            
+            ExecutorService      executor   = VirtualThreads.newPerTaskExecutor(Math.min(playerCount, _MAX_PLATFORM_THREADS));
+            ArrayList<Future<?>> futures    = new ArrayList<Future<?>>();
+            long                 startBytes = _getAllocatedBytes();
+            long                 startTime  = System.nanoTime();
+            
+            System.out.println("Simulating " + playerCount + " players of " + gamesPerPlayer + " games each on " + VirtualThreads.getThreadKind() + " threads, validating guesses "
+                             + (isStore ? "through the " + System.getProperty("wordem.store", GameStores.SQLITE) + " store" : "against the lexicon") + ", guessing "
+                             + (isSolver ? "with the solver" : "random words") + (_isRecorded ? ", recording games" : ""));
+            
+            for (int player = 0; player < playerCount; ++player)
+            {
+                futures.add(executor.submit(new _Player(player, gamesPerPlayer, isSolver)));
+            }
+            
+            for (Future<?> future : futures)
+            {
+                future.get();
+            }
+            
+            double          seconds       = (System.nanoTime() - startTime) / 1e9;
+            long            allocated     = _getAllocatedBytes() - startBytes;
+            MetricsSnapshot snapshot      = Metrics.getSnapshot();
+            String          histogramName = _VALIDATION_LATENCY.getName();
+            String          recordName    = _RECORD_LATENCY.getName();
+            
+            executor.shutdown();
+            
+            System.out.println(String.format("Games:       %d in %.2fs, %.0f games/sec", _GAME_COUNT.sum(), seconds, _GAME_COUNT.sum() / seconds));
+            System.out.println(String.format("Guesses:     %d, %.0f guesses/sec, %d rejected", _GUESS_COUNT.sum(), _GUESS_COUNT.sum() / seconds, _REJECTED_COUNT.sum()));
+            System.out.println(String.format("Validation:  p50 %s, p90 %s, p99 %s, p99.9 %s, max %s",
+                                             Metrics.formatNanos(snapshot.getPercentile(histogramName, 50)),
+                                             Metrics.formatNanos(snapshot.getPercentile(histogramName, 90)),
+                                             Metrics.formatNanos(snapshot.getPercentile(histogramName, 99)),
+                                             Metrics.formatNanos(snapshot.getPercentile(histogramName, 99.9)),
+                                             Metrics.formatNanos(snapshot.getMax(histogramName))));
+            
+            if (_isRecorded)
+            {
+                System.out.println(String.format("Recording:   p50 %s, p90 %s, p99 %s, p99.9 %s, max %s",
+                                                 Metrics.formatNanos(snapshot.getPercentile(recordName, 50)),
+                                                 Metrics.formatNanos(snapshot.getPercentile(recordName, 90)),
+                                                 Metrics.formatNanos(snapshot.getPercentile(recordName, 99)),
+                                                 Metrics.formatNanos(snapshot.getPercentile(recordName, 99.9)),
+                                                 Metrics.formatNanos(snapshot.getMax(recordName))));
+            }
+            
+            if (allocated >= 0)
+            {
+                System.out.println(String.format("Allocation:  %.1f MB/sec, %d bytes/game", allocated / seconds / 1e6, allocated / Math.max(1, _GAME_COUNT.sum())));
+            }
+            
+            _store.close();
+            
+            System.out.println("Finished Simulating");
+            System.exit(0);
+        }
+        catch (Exception ex)
+        {
+            System.out.println(ex);
+            ex.printStackTrace();
+            System.exit(-1);
+        }
+    }
+    
+    //
+    // This method loads the word lists, word filters and solver indexes up front, so they are not timed.
+    //
+    private static void _warmUp() throws SQLException
+    {
+        for (Language language : Language.values())
+        {
+            for (GameMode gameMode : GameMode.values())
+            {
+                Lexicon.getWords(language, gameMode.getWordSize());
+                WordPatternIndex.getIndex(language, gameMode.getWordSize());
+                _wordSource.getRandomWord(language, gameMode);
+            }
+        }
+    }
+    
+    //
+    // This method gets the number of bytes allocated so far by every live thread, or -1 if the JVM does not count them.
+    // Virtual threads allocate on their carrier threads, so they are counted too.
+    //
+    private static long _getAllocatedBytes()
+    {
+        ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        long         total      = 0;
+        
+        if (!(threadBean instanceof com.sun.management.ThreadMXBean) || !((com.sun.management.ThreadMXBean)threadBean).isThreadAllocatedMemoryEnabled())
+        {
+            return -1;
+        }
+        
+        for (long bytes : ((com.sun.management.ThreadMXBean)threadBean).getThreadAllocatedBytes(threadBean.getAllThreadIds()))
+        {
+            total += Math.max(0, bytes);
+        }
+        
+        return total;
+    }
+    
+    //
+    // Private member variables:
+    //
+    private static IGameStore  _store;
+    private static boolean     _isRecorded;
+    private static _WordSource _wordSource;
+    
+    private static final LongAdder        _GAME_COUNT         = new LongAdder();
+    private static final LongAdder        _GUESS_COUNT        = new LongAdder();
+    private static final LongAdder        _REJECTED_COUNT     = new LongAdder();
+    private static final LatencyHistogram _VALIDATION_LATENCY = Metrics.getHistogram("simulate.isWord");
+    private static final LatencyHistogram _RECORD_LATENCY     = Metrics.getHistogram("simulate.record");
+    
+    private static final int _MAX_PLATFORM_THREADS = 256;
+    
+    ///////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    //
+    // This nested class is a synthetic player. It plays its games one after the other, cycling through the languages
+    // and game modes, and validates every guess before it is scored, as the game panels do.
+    //
+    private static class _Player implements Runnable
+    {
+        //
+        // Overloaded constructor.
+        //
+        public _Player(int playerNumber, int gameCount, boolean isSolver)
+        {
+            _playerNumber = playerNumber;
+            _gameCount    = gameCount;
+            _isSolver     = isSolver;
+        }
+        
+        public void run()
+        {
+            try
+            {
+                ISolverStrategy solver = _isSolver ? new CandidateSolverStrategy() : null;
+                
+                for (int game = 0; game < _gameCount; ++game)
+                {
+                    Language     language = Language.values()[(_playerNumber + game) % Language.values().length];
+                    GameMode     gameMode = GameMode.values()[(_playerNumber + game) % GameMode.values().length];
+                    String[]     words    = Lexicon.getWords(language, gameMode.getWordSize());
+                    HeadlessGame session  = new HeadlessGame(gameMode, language, _wordSource.getRandomWord(language, gameMode), false);
+                    
+                    if (solver != null)
+                    {
+                        solver.reset(language, gameMode);
+                    }
+                    
+                    while (!session.isOver())
+                    {
+                        String guessedWord = solver != null ? solver.nextGuess() : words[ThreadLocalRandom.current().nextInt(words.length)];
+                        long   startNanos  = System.nanoTime();
+                        
+                        boolean isWord = _wordSource.isWord(guessedWord, language);
+                        
+                        _VALIDATION_LATENCY.recordSince(startNanos);
+                        _GUESS_COUNT.increment();
+                        
+                        if (!isWord)
+                        {
+                            _REJECTED_COUNT.increment();
+                            continue;
+                        }
+                        
+                        int pattern = session.guess(guessedWord);
+                        
+                        if (solver != null)
+                        {
+                            solver.update(guessedWord, pattern);
+                        }
+                    }
+                    
+                    if (_isRecorded)
+                    {
+                        long startNanos = System.nanoTime();
+                        
+                        _store.record(session.getRecord());
+                        _RECORD_LATENCY.recordSince(startNanos);
+                    }
+                    
+                    _GAME_COUNT.increment();
+                }
+            }
+            catch (Exception ex)
+            {
+                throw new RuntimeException("Simulate._Player.run >> Player " + _playerNumber + " failed", ex);
+            }
+        }
+        
+        private final int     _playerNumber;
+        private final int     _gameCount;
+        private final boolean _isSolver;
+    }
+    
+    ///////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    //
+    // This nested class is where players get hidden words and validate guesses.
+    //
+    private static abstract class _WordSource
+    {
+        public abstract String getRandomWord(Language language, GameMode gameMode) throws SQLException;
+        
+        public abstract boolean isWord(String word, Language language) throws SQLException;
+    }
+    
+    ///////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    //
+    // This nested class is a word source backed by the in-memory lexicon.
+    //
+    private static class _LexiconWordSource extends _WordSource
+    {
+        public String getRandomWord(Language language, GameMode gameMode) throws SQLException
+        {
+            String[] words = Lexicon.getWords(language, gameMode.getWordSize());
+            
+            return words[ThreadLocalRandom.current().nextInt(words.length)];
+        }
+        
+        public boolean isWord(String word, Language language) throws SQLException
+        {
+            return Lexicon.indexOf(language, word) >= 0;
+        }
+    }
+    
+    ///////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    //
+    // This nested class is a word source backed by the game store.
+    //
+    private static class _StoreWordSource extends _WordSource
+    {
+        public String getRandomWord(Language language, GameMode gameMode) throws SQLException
+        {
+            return _store.getRandomWord(language, gameMode.getWordSize());
+        }
+        
+        public boolean isWord(String word, Language language) throws SQLException
+        {
+            return _store.isWord(word, language);
+        }
+    }
+}
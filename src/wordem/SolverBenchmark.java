@@ -0,0 +1,244 @@
+//
+// SolverBenchmark.java
+//
+// This class is the entry point of the solver benchmark. It plays every word of each game mode's length in each
+// language as the hidden word, letting a solving strategy guess until it wins or runs out of guesses, and reports
+// the average number of guesses, the failure rate and the throughput. Games are spread across all processors.
+//
+// Games are scored with the Feedback rules the game panels use, and each scored pattern is checked against the
+// hidden word: the hidden word must always satisfy the constraints revealed so far. Any violation is reported
+// and fails the run, so the benchmark doubles as a regression test of scoring.
+//
+// Usage: SolverBenchmark [strategy class name] [thread count]
+// The strategy defaults to wordem.CandidateSolverStrategy and the thread count to the number of processors.
+//
+// The MIT License (MIT)
+// 
+// Copyright (c) 2022 WordEm Development Group.  All Rights Reserved.
+// 
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this
+// software and associated documentation files (the "Software"), to deal in the Software
+// without restriction, including without limitation the rights to use, copy, modify, merge,
+// publish, distribute, sub-license, and/or sell copies of the Software, and to permit persons
+// to whom the Software is furnished to do so, subject to the following conditions:
+// 
+// * The above copyright notice and this permission notice shall be included in all copies or
+// substantial portions of the Software.
+// 
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+// INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+// PURPOSE AND NONINFRINGEMENT.  IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE
+// FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR 
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+// DEALINGS IN THE SOFTWARE.
+//
+package wordem;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class SolverBenchmark
+{
+    //
+    // Program entry point.
+    //
+    public static void main(String[] args)
+    {
+        try
+        {
+            String strategyName = args.length > 0 ? args[0] : CandidateSolverStrategy.class.getName();
+            int    threadCount  = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+            
+            _strategyClass = Class.forName(strategyName);
+            _executor      = Executors.newFixedThreadPool(threadCount);
+            
+            System.out.println("Benchmarking " + strategyName + " on " + threadCount + " threads");
+            System.out.println(String.format("%-10s %-12s %8s %12s %13s %12s", "Language", "Mode", "Games", "Avg Guesses", "Failure Rate", "Games/sec"));
+            
+            long inconsistencies = 0;
+            
+            for (Language language : Language.values())
+            {
+                for (GameMode gameMode : GameMode.values())
+                {
+                    inconsistencies += _benchmark(language, gameMode);
+                }
+            }
+            
+            _executor.shutdown();
+            
+            if (inconsistencies != 0)
+            {
+                System.out.println("*** " + inconsistencies + " scoring inconsistencies found ***");
+                System.exit(1);
+            }
+            
+            System.out.println("Finished Benchmarking");
+        }
+        catch (Exception ex)
+        {
+            System.out.println(ex);
+            ex.printStackTrace();
+            System.exit(-1);
+        }
+    }
+    
+    //
+    // This method plays every word of a given language and game mode, prints the results and returns
+    // the number of scoring inconsistencies found.
+    //
+    private static long _benchmark(Language language, GameMode gameMode) throws Exception
+    {
+        String[] words = Lexicon.getWords(language, gameMode.getWordSize());
+        
+        if (words.length == 0)
+        {
+            return 0;
+        }
+        
+        WordPatternIndex.getIndex(language, gameMode.getWordSize()); // Build once before the workers share it
+        
+        ArrayList<Future<_Result>> futures   = new ArrayList<Future<_Result>>();
+        _Result                    total     = new _Result();
+        long                       startTime = System.nanoTime();
+        
+        for (int start = 0; start < words.length; start += _CHUNK_SIZE)
+        {
+            final int chunkStart = start;
+            final int chunkEnd   = Math.min(start + _CHUNK_SIZE, words.length);
+            
+            futures.add(_executor.submit(new Callable<_Result>()
+            {
+                public _Result call() throws Exception
+                {
+                    return _playGames(language, gameMode, words, chunkStart, chunkEnd);
+                }
+            }));
+        }
+        
+        for (Future<_Result> future : futures)
+        {
+            total.add(future.get());
+        }
+        
+        double seconds     = (System.nanoTime() - startTime) / 1e9;
+        double avgGuesses  = total.wins == 0 ? 0.0 : (double)total.guessesInWins / total.wins;
+        double failureRate = (double)(total.games - total.wins) / total.games;
+        
+        System.out.println(String.format("%-10s %-12s %8d %12.3f %12.2f%% %12.0f",
+                                         language, gameMode, total.games, avgGuesses, failureRate * 100, total.games / seconds));
+        
+        return total.inconsistencies;
+    }
+    
+    //
+    // This method plays the words in a given range of the word array as hidden words.
+    //
+    private static _Result _playGames(Language language, GameMode gameMode, String[] words, int start, int end) throws Exception
+    {
+        _Result          result    = new _Result();
+        ISolverStrategy  strategy  = (ISolverStrategy)_strategyClass.getDeclaredConstructor().newInstance();
+        WordPatternIndex index     = WordPatternIndex.getIndex(language, gameMode.getWordSize());
+        int              wordSize  = gameMode.getWordSize();
+        
+        for (int hiddenIndex = start; hiddenIndex < end; ++hiddenIndex)
+        {
+            String          hiddenWord  = words[hiddenIndex];
+            WordConstraints constraints = new WordConstraints(wordSize);
+            boolean         isSolved    = false;
+            int             guessCount  = 0;
+            
+            if (!Feedback.isSolved(Feedback.score(hiddenWord, hiddenWord), wordSize))
+            {
+                result.addInconsistency(language, hiddenWord, hiddenWord, "guessing the hidden word is not all green");
+            }
+            
+            strategy.reset(language, gameMode);
+            
+            while (!isSolved && guessCount < gameMode.getGuessLimit())
+            {
+                String guessedWord = strategy.nextGuess();
+                
+                if (guessedWord == null || Arrays.binarySearch(words, guessedWord) < 0)
+                {
+                    break; // Strategies may only guess words of the lexicon
+                }
+                
+                int pattern = Feedback.score(guessedWord, hiddenWord);
+                
+                ++guessCount;
+                isSolved = Feedback.isSolved(pattern, wordSize);
+                constraints.addFeedback(guessedWord, pattern);
+                
+                if (!index.query(constraints).contains(hiddenIndex))
+                {
+                    result.addInconsistency(language, guessedWord, hiddenWord, "pattern " + Feedback.toString(pattern, wordSize)
+                                                                              + " rules out the hidden word");
+                }
+                
+                strategy.update(guessedWord, pattern);
+            }
+            
+            ++result.games;
+            
+            if (isSolved)
+            {
+                ++result.wins;
+                result.guessesInWins += guessCount;
+            }
+        }
+        
+        return result;
+    }
+    
+    //
+    // Private member variables:
+    //
+    private static Class<?>        _strategyClass;
+    private static ExecutorService _executor;
+    
+    private static final int _CHUNK_SIZE = 64;
+    
+    ///////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    //
+    // This nested class accumulates the results of a range of games.
+    //
+    private static class _Result
+    {
+        //
+        // This method adds the results of another range of games to these results.
+        //
+        public void add(_Result other)
+        {
+            games           += other.games;
+            wins            += other.wins;
+            guessesInWins   += other.guessesInWins;
+            inconsistencies += other.inconsistencies;
+        }
+        
+        //
+        // This method records a scoring inconsistency, printing the first few found.
+        //
+        public void addInconsistency(Language language, String guessedWord, String hiddenWord, String description)
+        {
+            if (inconsistencies++ < _REPORT_LIMIT)
+            {
+                System.out.println("Scoring inconsistency (" + language + "): guessing \"" + guessedWord + "\" for \"" + hiddenWord + "\": " + description);
+            }
+        }
+        
+        //
+        // Public member variables:
+        //
+        public long games;
+        public long wins;
+        public long guessesInWins;
+        public long inconsistencies;
+        
+        private static final int _REPORT_LIMIT = 10;
+    }
+}
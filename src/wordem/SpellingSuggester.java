@@ -0,0 +1,289 @@
+//
+// SpellingSuggester.java
+//
+// This class suggests valid words that are close to a rejected guess. It keeps a SymSpell-style deletion index
+// over the lexicon words of one language and length: every word is indexed under each string that can be made
+// by deleting up to two of its letters. A guess is looked up under its own deletions, so only words that share a
+// deletion with it are ever compared, and the surviving candidates are ranked by their true edit distance.
+//
+// Suggesters are built once per language and length and shared, so lookups take microseconds after the first.
+//
+// The MIT License (MIT)
+// 
+// Copyright (c) 2022 WordEm Development Group.  All Rights Reserved.
+// 
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this
+// software and associated documentation files (the "Software"), to deal in the Software
+// without restriction, including without limitation the rights to use, copy, modify, merge,
+// publish, distribute, sub-license, and/or sell copies of the Software, and to permit persons
+// to whom the Software is furnished to do so, subject to the following conditions:
+// 
+// * The above copyright notice and this permission notice shall be included in all copies or
+// substantial portions of the Software.
+// 
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+// INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+// PURPOSE AND NONINFRINGEMENT.  IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE
+// FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR 
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+// DEALINGS IN THE SOFTWARE.
+//
+package wordem;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class SpellingSuggester
+{
+    //
+    // Overloaded constructor. Constructs the deletion index over a given array of words of equal length.
+    //
+    public SpellingSuggester(String[] words)
+    {
+        HashMap<String, ArrayList<Integer>> index = new HashMap<String, ArrayList<Integer>>();
+        
+        for (int wordIndex = 0; wordIndex < words.length; ++wordIndex)
+        {
+            for (String deletion : _getDeletions(words[wordIndex], _MAX_DISTANCE))
+            {
+                ArrayList<Integer> wordIndices = index.get(deletion);
+                
+                if (wordIndices == null)
+                {
+                    wordIndices = new ArrayList<Integer>(1);
+                    index.put(deletion, wordIndices);
+                }
+                
+                wordIndices.add(wordIndex);
+            }
+        }
+        
+        _words        = words;
+        _deletions    = new HashMap<String, int[]>(index.size() * 4 / 3 + 1);
+        _visitedStamp = new ThreadLocal<int[]>()
+        {
+            @Override
+            protected int[] initialValue()
+            {
+                return new int[_words.length + 1];
+            }
+        };
+        
+        for (String deletion : index.keySet())
+        {
+            ArrayList<Integer> wordIndices = index.get(deletion);
+            int[]              packed      = new int[wordIndices.size()];
+            
+            for (int position = 0; position < packed.length; ++position)
+            {
+                packed[position] = wordIndices.get(position);
+            }
+            
+            _deletions.put(deletion, packed);
+        }
+    }
+    
+    //
+    // This method gets the shared suggester of a given language and word length, building it on first use.
+    //
+    public static SpellingSuggester getSuggester(Language language, int length) throws SQLException
+    {
+        String            key       = language + ":" + length;
+        SpellingSuggester suggester = _suggesters.get(key);
+        
+        if (suggester == null)
+        {
+            suggester = new SpellingSuggester(Lexicon.getWords(language, length));
+            
+            SpellingSuggester existingSuggester = _suggesters.putIfAbsent(key, suggester);
+            
+            if (existingSuggester != null)
+            {
+                suggester = existingSuggester;
+            }
+        }
+        
+        return suggester;
+    }
+    
+    //
+    // This method gets the closest words to a given word, nearest first and alphabetically among equals.
+    // The word itself is never suggested.
+    //
+    //      word        - the rejected word
+    //      maxDistance - the largest edit distance (1 or 2) a suggestion may be from the word
+    //      maxCount    - the largest number of suggestions to return
+    //
+    public String[] suggest(String word, int maxDistance, int maxCount)
+    {
+        if (maxDistance < 1 || maxDistance > _MAX_DISTANCE)
+        {
+            throw new IllegalArgumentException("SpellingSuggester.suggest >> Distance out of range: " + maxDistance);
+        }
+        
+        int[]                        visited              = _visitedStamp.get();
+        ArrayList<ArrayList<String>> candidatesByDistance = new ArrayList<ArrayList<String>>();
+        ArrayList<String>            suggestions          = new ArrayList<String>();
+        
+        if (visited[_words.length] == Integer.MAX_VALUE)
+        {
+            Arrays.fill(visited, 0);
+        }
+        
+        int stamp = ++visited[_words.length];
+        
+        for (int distance = 0; distance <= maxDistance; ++distance)
+        {
+            candidatesByDistance.add(new ArrayList<String>());
+        }
+        
+        for (String deletion : _getDeletions(word, maxDistance))
+        {
+            int[] wordIndices = _deletions.get(deletion);
+            
+            if (wordIndices == null)
+            {
+                continue;
+            }
+            
+            for (int wordIndex : wordIndices)
+            {
+                if (visited[wordIndex] != stamp)
+                {
+                    visited[wordIndex] = stamp;
+                    
+                    String candidate = _words[wordIndex];
+                    int    distance  = getDistance(word, candidate, maxDistance);
+                    
+                    if (distance > 0 && distance <= maxDistance)
+                    {
+                        candidatesByDistance.get(distance).add(candidate);
+                    }
+                }
+            }
+        }
+        
+        for (ArrayList<String> candidates : candidatesByDistance)
+        {
+            Collections.sort(candidates);
+            
+            for (String candidate : candidates)
+            {
+                if (suggestions.size() < maxCount)
+                {
+                    suggestions.add(candidate);
+                }
+            }
+        }
+        
+        return suggestions.toArray(new String[suggestions.size()]);
+    }
+    
+    //
+    // This method computes the edit distance between two words, counting insertions, deletions, substitutions
+    // and transpositions of adjacent letters. Any distance above a given limit is reported as limit + 1.
+    //
+    public static int getDistance(String first, String second, int limit)
+    {
+        if (Math.abs(first.length() - second.length()) > limit)
+        {
+            return limit + 1;
+        }
+        
+        int[] previousRow  = new int[second.length() + 1];
+        int[] currentRow   = new int[second.length() + 1];
+        int[] twoRowsAbove = new int[second.length() + 1];
+        
+        for (int column = 0; column <= second.length(); ++column)
+        {
+            previousRow[column] = column;
+        }
+        
+        for (int row = 1; row <= first.length(); ++row)
+        {
+            int rowMinimum = row;
+            
+            currentRow[0] = row;
+            
+            for (int column = 1; column <= second.length(); ++column)
+            {
+                int cost     = first.charAt(row - 1) == second.charAt(column - 1) ? 0 : 1;
+                int distance = Math.min(Math.min(previousRow[column] + 1, currentRow[column - 1] + 1), previousRow[column - 1] + cost);
+                
+                if (row > 1 && column > 1
+                 && first.charAt(row - 1) == second.charAt(column - 2)
+                 && first.charAt(row - 2) == second.charAt(column - 1))
+                {
+                    distance = Math.min(distance, twoRowsAbove[column - 2] + 1);
+                }
+                
+                currentRow[column] = distance;
+                rowMinimum         = Math.min(rowMinimum, distance);
+            }
+            
+            if (rowMinimum > limit)
+            {
+                return limit + 1;
+            }
+            
+            int[] recycledRow = twoRowsAbove;
+            
+            twoRowsAbove = previousRow;
+            previousRow  = currentRow;
+            currentRow   = recycledRow;
+        }
+        
+        return Math.min(previousRow[second.length()], limit + 1);
+    }
+    
+    //
+    // This method gets every distinct string made by deleting up to a given number of letters from a word,
+    // including the word itself.
+    //
+    private static HashSet<String> _getDeletions(String word, int maxDeletions)
+    {
+        HashSet<String>   deletions = new HashSet<String>();
+        ArrayList<String> frontier  = new ArrayList<String>();
+        
+        deletions.add(word);
+        frontier.add(word);
+        
+        for (int depth = 0; depth < maxDeletions; ++depth)
+        {
+            ArrayList<String> nextFrontier = new ArrayList<String>();
+            
+            for (String current : frontier)
+            {
+                for (int position = 0; position < current.length(); ++position)
+                {
+                    String deletion = current.substring(0, position) + current.substring(position + 1);
+                    
+                    if (deletions.add(deletion))
+                    {
+                        nextFrontier.add(deletion);
+                    }
+                }
+            }
+            
+            frontier = nextFrontier;
+        }
+        
+        return deletions;
+    }
+    
+    //
+    // Private member variables:
+    //
+    private final String[]               _words;
+    private final HashMap<String, int[]> _deletions;
+    private final ThreadLocal<int[]>     _visitedStamp;
+    
+    private static final int _MAX_DISTANCE = 2;
+    
+    private static final ConcurrentHashMap<String, SpellingSuggester> _suggesters = new ConcurrentHashMap<String, SpellingSuggester>();
+}
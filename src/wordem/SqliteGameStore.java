@@ -0,0 +1,144 @@
+//
+// SqliteGameStore.java
+//
+// This class is the game store backed by the game's SQLite databases: words are read from the word database through a
+// pool of database managers, connected on first use, and games are appended to the game history. The statistics and
+// achievements of the game window belong to its local player, so games recorded here do not touch them. Their statistics
+// are kept apart, as the totals of PlayerStatistics in a table of their own.
+//
+// The MIT License (MIT)
+// 
+// Copyright (c) 2022 WordEm Development Group.  All Rights Reserved.
+// 
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this
+// software and associated documentation files (the "Software"), to deal in the Software
+// without restriction, including without limitation the rights to use, copy, modify, merge,
+// publish, distribute, sub-license, and/or sell copies of the Software, and to permit persons
+// to whom the Software is furnished to do so, subject to the following conditions:
+// 
+// * The above copyright notice and this permission notice shall be included in all copies or
+// substantial portions of the Software.
+// 
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+// INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+// PURPOSE AND NONINFRINGEMENT.  IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE
+// FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR 
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+// DEALINGS IN THE SOFTWARE.
+//
+package wordem;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+
+public class SqliteGameStore implements IGameStore
+{
+    //
+    // Overloaded constructor. The pool holds a given number of database managers.
+    //
+    public SqliteGameStore(int connectionCount)
+    {
+        _connectionCount = connectionCount;
+    }
+    
+    public String getRandomWord(Language language, int length) throws SQLException
+    {
+        DatabaseManagerPool pool            = _getPool();
+        DatabaseManager     databaseManager = pool.borrow();
+        
+        try
+        {
+            return databaseManager.getRandomWord(language, length);
+        }
+        finally
+        {
+            pool.release(databaseManager);
+        }
+    }
+    
+    //
+    // This method reads the words of a given language and length on a connection of their own, like the game panels,
+    // since it is only called once per language and length by the lexicon.
+    //
+    public String[] getWords(Language language, int length) throws SQLException
+    {
+        DatabaseManager databaseManager = new DatabaseManager();
+        
+        databaseManager.connect();
+        
+        try
+        {
+            return databaseManager.getWords(language, length);
+        }
+        finally
+        {
+            databaseManager.disconnect();
+        }
+    }
+    
+    public boolean isWord(String word, Language language) throws SQLException
+    {
+        DatabaseManagerPool pool            = _getPool();
+        DatabaseManager     databaseManager = pool.borrow();
+        
+        try
+        {
+            return databaseManager.isWord(word, language);
+        }
+        finally
+        {
+            pool.release(databaseManager);
+        }
+    }
+    
+    public void record(GameRecord record)
+    {
+        GameHistory.append(record);
+        PlayerStatistics.recordTotal(record);
+        PlayerStatistics.startFlushing();
+    }
+    
+    //
+    // This method gets the statistics of the games recorded here. They are cached once read, so the database writer is not waited for.
+    //
+    public StatisticsSnapshot getStatistics() throws SQLException
+    {
+        return PlayerStatistics.getTotalSnapshot();
+    }
+    
+    public ArrayList<GameRecord> getRecentGames(GameMode gameMode, int limit) throws SQLException
+    {
+        return GameHistory.getRecentGames(gameMode, limit);
+    }
+    
+    //
+    // This method disconnects the pooled database managers. Games already recorded are written by the database writer.
+    //
+    public synchronized void close() throws SQLException
+    {
+        if (_pool != null)
+        {
+            _pool.close();
+            _pool = null;
+        }
+    }
+    
+    //
+    // This method gets the pool of database managers, connecting it on first use.
+    //
+    private synchronized DatabaseManagerPool _getPool() throws SQLException
+    {
+        if (_pool == null)
+        {
+            _pool = new DatabaseManagerPool(_connectionCount);
+        }
+        
+        return _pool;
+    }
+    
+    //
+    // Private member variables:
+    //
+    private final int           _connectionCount;
+    private DatabaseManagerPool _pool;
+}
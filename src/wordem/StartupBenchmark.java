@@ -0,0 +1,220 @@
+//
+// StartupBenchmark.java
+//
+// This class is the entry point of the startup benchmark. It launches the game (or the database constructor) cold, over
+// and over, alternating between the JDK's default class data sharing and the application archive made by
+// TrainStartupArchives.sh, and reports the wall time of each kind of launch. The game is launched with
+// "wordem.exitWhenStarted", so a launch lasts until it is interactive and warm; its time-to-interactive is read back
+// from Startup.log. The database constructor is run in a scratch folder so Words.sqlite is left alone.
+//
+// The game jar and archives are built by TrainStartupArchives.sh; run this from the project folder.
+//
+// Usage: StartupBenchmark [game | constructor] [run count]
+//
+// The MIT License (MIT)
+// 
+// Copyright (c) 2022 WordEm Development Group.  All Rights Reserved.
+// 
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this
+// software and associated documentation files (the "Software"), to deal in the Software
+// without restriction, including without limitation the rights to use, copy, modify, merge,
+// publish, distribute, sub-license, and/or sell copies of the Software, and to permit persons
+// to whom the Software is furnished to do so, subject to the following conditions:
+// 
+// * The above copyright notice and this permission notice shall be included in all copies or
+// substantial portions of the Software.
+// 
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+// INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+// PURPOSE AND NONINFRINGEMENT.  IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE
+// FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR 
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+// DEALINGS IN THE SOFTWARE.
+//
+package wordem;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class StartupBenchmark
+{
+    //
+    // Program entry point.
+    //
+    public static void main(String[] args)
+    {
+        try
+        {
+            boolean isGame              = args.length == 0 || args[0].equals("game");
+            int     runCount            = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+            File    jarFile             = new File(_JAR_FILE_NAME).getAbsoluteFile();
+            File    archive             = new File(isGame ? _GAME_ARCHIVE_FILE_NAME : _CONSTRUCTOR_ARCHIVE_FILE_NAME).getAbsoluteFile();
+            long[]  coldTimes           = new long[runCount];
+            long[]  archivedTimes       = new long[runCount];
+            long[]  coldInteractive     = new long[runCount];
+            long[]  archivedInteractive = new long[runCount];
+            
+            if (!jarFile.exists() || !archive.exists())
+            {
+                throw new IOException("StartupBenchmark.main >> Missing " + jarFile + " or " + archive + ", run TrainStartupArchives.sh first");
+            }
+            
+            System.out.println("Benchmarking " + runCount + " cold starts of the " + (isGame ? "game" : "database constructor") + " with and without " + archive.getName());
+            
+            //
+            // Alternate the two kinds of launch, so a change in machine load affects both alike:
+            //
+            for (int run = 0; run < runCount; ++run)
+            {
+                coldTimes[run]       = _launch(isGame, jarFile, null);
+                coldInteractive[run] = isGame ? _readTimeToInteractive() : 0;
+                
+                archivedTimes[run]       = _launch(isGame, jarFile, archive);
+                archivedInteractive[run] = isGame ? _readTimeToInteractive() : 0;
+            }
+            
+            System.out.println(String.format("%-24s %12s %12s %20s", "Launch", "Median", "Best", "Median Interactive"));
+            System.out.println(String.format("%-24s %10dms %10dms %18s", "Default CDS", _median(coldTimes), _min(coldTimes),
+                                             isGame ? _median(coldInteractive) + "ms" : "-"));
+            System.out.println(String.format("%-24s %10dms %10dms %18s", "AppCDS archive", _median(archivedTimes), _min(archivedTimes),
+                                             isGame ? _median(archivedInteractive) + "ms" : "-"));
+            System.out.println("Finished Benchmarking");
+        }
+        catch (Exception ex)
+        {
+            System.out.println(ex);
+            ex.printStackTrace();
+            System.exit(-1);
+        }
+    }
+    
+    //
+    // This method launches the game or the database constructor in a new JVM, with a given archive or none,
+    // waits for it to exit and returns the milliseconds it took.
+    //
+    private static long _launch(boolean isGame, File jarFile, File archive) throws IOException, InterruptedException
+    {
+        ArrayList<String> command   = new ArrayList<String>();
+        File              directory = isGame ? new File(".") : _createScratchFolder();
+        
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        
+        if (archive != null)
+        {
+            command.add("-XX:SharedArchiveFile=" + archive);
+        }
+        
+        command.add("-Dwordem.exitWhenStarted=true");
+        command.add("-cp");
+        command.add(jarFile.toString());
+        command.add(isGame ? "wordem.GameLauncher" : "wordem.DatabaseConstructor");
+        
+        ProcessBuilder builder   = new ProcessBuilder(command).directory(directory).redirectErrorStream(true).redirectOutput(ProcessBuilder.Redirect.DISCARD);
+        long           startTime = System.nanoTime();
+        int            exitCode  = builder.start().waitFor();
+        long           elapsed   = (System.nanoTime() - startTime) / 1000000;
+        
+        if (!isGame)
+        {
+            _deleteScratchFolder(directory);
+        }
+        
+        if (exitCode != 0)
+        {
+            throw new IOException("StartupBenchmark._launch >> Launch exited with code " + exitCode + ": " + command);
+        }
+        
+        return elapsed;
+    }
+    
+    //
+    // This method reads the time-to-interactive of the last launch from the startup log.
+    //
+    private static long _readTimeToInteractive() throws IOException
+    {
+        List<String> lines = Files.readAllLines(Paths.get(_STARTUP_LOG_FILE_NAME));
+        
+        for (String field : lines.get(lines.size() - 1).split(" "))
+        {
+            if (field.startsWith("interactive="))
+            {
+                return Long.parseLong(field.substring("interactive=".length(), field.length() - "ms".length()));
+            }
+        }
+        
+        return 0;
+    }
+    
+    //
+    // This method creates a scratch folder holding copies of the word lists, for the database constructor to run in.
+    //
+    private static File _createScratchFolder() throws IOException
+    {
+        Path folder = Files.createTempDirectory("WordEm-Startup");
+        
+        for (String fileName : new String[] { "Words_en.txt", "Words_es.txt", "Frequencies_en.txt", "Frequencies_es.txt" })
+        {
+            if (new File(fileName).exists())
+            {
+                Files.copy(Paths.get(fileName), folder.resolve(fileName), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        
+        return folder.toFile();
+    }
+    
+    //
+    // This method deletes a scratch folder and everything in it.
+    //
+    private static void _deleteScratchFolder(File folder)
+    {
+        for (File file : folder.listFiles())
+        {
+            file.delete();
+        }
+        
+        folder.delete();
+    }
+    
+    //
+    // This method gets the median of some times.
+    //
+    private static long _median(long[] times)
+    {
+        long[] sortedTimes = times.clone();
+        
+        Arrays.sort(sortedTimes);
+        
+        return sortedTimes[sortedTimes.length / 2];
+    }
+    
+    //
+    // This method gets the shortest of some times.
+    //
+    private static long _min(long[] times)
+    {
+        long min = Long.MAX_VALUE;
+        
+        for (long time : times)
+        {
+            min = Math.min(min, time);
+        }
+        
+        return min;
+    }
+    
+    //
+    // Private member variables:
+    //
+    private static final String _JAR_FILE_NAME                 = "game/target/WordEm.jar";
+    private static final String _GAME_ARCHIVE_FILE_NAME        = "game/target/WordEm.jsa";
+    private static final String _CONSTRUCTOR_ARCHIVE_FILE_NAME = "game/target/DatabaseConstructor.jsa";
+    private static final String _STARTUP_LOG_FILE_NAME         = "Startup.log";
+}
@@ -0,0 +1,130 @@
+//
+// StartupTimeline.java
+//
+// This class keeps the timeline of the game's startup: the time each phase finished, in milliseconds since the process
+// started. When startup is over, the timeline is published as gauges in the metrics registry and appended as one line to
+// Startup.log, so time-to-interactive can be tracked from launch to launch.
+//
+// The MIT License (MIT)
+// 
+// Copyright (c) 2022 WordEm Development Group.  All Rights Reserved.
+// 
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this
+// software and associated documentation files (the "Software"), to deal in the Software
+// without restriction, including without limitation the rights to use, copy, modify, merge,
+// publish, distribute, sub-license, and/or sell copies of the Software, and to permit persons
+// to whom the Software is furnished to do so, subject to the following conditions:
+// 
+// * The above copyright notice and this permission notice shall be included in all copies or
+// substantial portions of the Software.
+// 
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+// INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+// PURPOSE AND NONINFRINGEMENT.  IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE
+// FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR 
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+// DEALINGS IN THE SOFTWARE.
+//
+package wordem;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.text.SimpleDateFormat;
+import java.time.Instant;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+public abstract class StartupTimeline
+{
+    //
+    // This method records that a given phase of startup has finished. A phase recorded twice keeps its first time.
+    //
+    public static synchronized void mark(String phase)
+    {
+        if (!_phases.containsKey(phase))
+        {
+            _phases.put(phase, getElapsedMillis());
+        }
+    }
+    
+    //
+    // This method gets the number of milliseconds since the process started, or since this class was loaded
+    // if the start time of the process is unknown.
+    //
+    public static long getElapsedMillis()
+    {
+        return (System.nanoTime() - _ORIGIN_NANOS) / 1000000;
+    }
+    
+    //
+    // This method publishes the timeline, once: every phase becomes a gauge and the timeline is appended to the log.
+    //
+    public static synchronized void report()
+    {
+        if (_isReported)
+        {
+            return;
+        }
+        
+        StringBuilder line = new StringBuilder(new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").format(new Date()));
+        
+        for (Map.Entry<String, Long> entry : _phases.entrySet())
+        {
+            final long elapsedMillis = entry.getValue();
+            
+            Metrics.registerGauge("startup." + entry.getKey() + "Millis", new IGauge()
+            {
+                public long getValue()
+                {
+                    return elapsedMillis;
+                }
+            });
+            
+            line.append(' ').append(entry.getKey()).append('=').append(elapsedMillis).append("ms");
+        }
+        
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(Paths.get(_LOG_FILE_NAME), StandardCharsets.UTF_8,
+                                                                          StandardOpenOption.CREATE, StandardOpenOption.APPEND)))
+        {
+            writer.println(line);
+        }
+        catch (IOException ex)
+        {
+            System.out.println("StartupTimeline.report >> Timeline not written: " + ex);
+        }
+        
+        _isReported = true;
+    }
+    
+    //
+    // This method gets the System.nanoTime() reading of the moment the process started.
+    //
+    private static long _getOriginNanos()
+    {
+        long              nowNanos     = System.nanoTime();
+        long              nowMillis    = System.currentTimeMillis();
+        Optional<Instant> startInstant = ProcessHandle.current().info().startInstant();
+        
+        if (!startInstant.isPresent())
+        {
+            return nowNanos;
+        }
+        
+        return nowNanos - (nowMillis - startInstant.get().toEpochMilli()) * 1000000;
+    }
+    
+    //
+    // Private member variables:
+    //
+    private static final LinkedHashMap<String, Long> _phases     = new LinkedHashMap<String, Long>();
+    private static boolean                           _isReported = false;
+    
+    private static final long   _ORIGIN_NANOS  = _getOriginNanos();
+    private static final String _LOG_FILE_NAME = "Startup.log";
+}
@@ -0,0 +1,252 @@
+//
+// StartupWarmer.java
+//
+// This class warms up the game in the background while the window is being built. The database connection, the word
+// filters, the word lists, the spelling suggesters, the statistics snapshot and the achievements are each loaded on a
+// thread of their own, so the first guess, the first rejected guess, the first game and the first visit to the
+// statistics or achievements page do not wait on the database or on building an index.
+//
+// Each task marks the startup timeline when it is done. A failure is only printed, since the game reports
+// it properly when it next needs what failed to load. With "wordem.exitWhenStarted" set, the game exits as soon as
+// it is interactive and warm, which makes a run a measurement of startup alone.
+//
+// The MIT License (MIT)
+// 
+// Copyright (c) 2022 WordEm Development Group.  All Rights Reserved.
+// 
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this
+// software and associated documentation files (the "Software"), to deal in the Software
+// without restriction, including without limitation the rights to use, copy, modify, merge,
+// publish, distribute, sub-license, and/or sell copies of the Software, and to permit persons
+// to whom the Software is furnished to do so, subject to the following conditions:
+// 
+// * The above copyright notice and this permission notice shall be included in all copies or
+// substantial portions of the Software.
+// 
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+// INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+// PURPOSE AND NONINFRINGEMENT.  IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE
+// FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR 
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+// DEALINGS IN THE SOFTWARE.
+//
+package wordem;
+
+import java.util.ArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public abstract class StartupWarmer
+{
+    //
+    // This method starts the warm-up tasks and returns at once. The startup timeline is reported once
+    // every task is done and the game has become interactive.
+    //
+    public static synchronized void start()
+    {
+        if (_coordinator != null)
+        {
+            return;
+        }
+        
+        final ArrayList<_Task> tasks = new ArrayList<_Task>();
+        
+        tasks.add(new _Task("database")
+        {
+            protected void warm() throws Exception
+            {
+                DatabaseManager.createConnection().close();
+            }
+        });
+        
+        for (final Language language : Language.values())
+        {
+            tasks.add(new _Task("wordFilters" + language)
+            {
+                protected void warm() throws Exception
+                {
+                    DatabaseManager databaseManager = new DatabaseManager();
+                    
+                    databaseManager.connect();
+                    databaseManager.loadWordFilters(language);
+                    databaseManager.disconnect();
+                }
+            });
+            
+            tasks.add(new _Task("lexicon" + language)
+            {
+                protected void warm() throws Exception
+                {
+                    for (GameMode gameMode : GameMode.values())
+                    {
+                        Lexicon.getWords(language, gameMode.getWordSize());
+                    }
+                }
+            });
+            
+            //
+            // The suggester is otherwise built on the event dispatch thread by the first rejected guess:
+            //
+            tasks.add(new _Task("spellingSuggester" + language)
+            {
+                protected void warm() throws Exception
+                {
+                    for (GameMode gameMode : GameMode.values())
+                    {
+                        SpellingSuggester.getSuggester(language, gameMode.getWordSize());
+                    }
+                }
+            });
+        }
+        
+        tasks.add(new _Task("statistics")
+        {
+            protected void warm() throws Exception
+            {
+                GameStatistics.getSnapshot();
+            }
+        });
+        
+        tasks.add(new _Task("achievements")
+        {
+            protected void warm() throws Exception
+            {
+                AchievementsEngine.getInstance();
+            }
+        });
+        
+        _coordinator = new Thread(new Runnable()
+        {
+            public void run()
+            {
+                _runTasks(tasks);
+            }
+        }, "StartupWarmer");
+        
+        _coordinator.setDaemon(true);
+        _coordinator.start();
+    }
+    
+    //
+    // This method records that the game has become interactive, and reports the startup timeline if the warm-up is done.
+    //
+    public static synchronized void markInteractive()
+    {
+        StartupTimeline.mark("interactive");
+        
+        _isInteractive = true;
+        
+        if (_isWarm)
+        {
+            _finish();
+        }
+    }
+    
+    //
+    // This method is the body of the coordinating thread. It runs the tasks on a pool of daemon threads, waits for them,
+    // and reports the startup timeline if the game has already become interactive.
+    //
+    private static void _runTasks(ArrayList<_Task> tasks)
+    {
+        int             threadCount = Math.max(1, Math.min(tasks.size(), Runtime.getRuntime().availableProcessors()));
+        ExecutorService executor    = Executors.newFixedThreadPool(threadCount, new ThreadFactory()
+        {
+            public Thread newThread(Runnable runnable)
+            {
+                Thread thread = new Thread(runnable, "StartupWarmer-" + _threadNumber.incrementAndGet());
+                
+                thread.setDaemon(true);
+                
+                return thread;
+            }
+            
+            private final AtomicInteger _threadNumber = new AtomicInteger();
+        });
+        
+        for (_Task task : tasks)
+        {
+            executor.execute(task);
+        }
+        
+        executor.shutdown();
+        
+        try
+        {
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        }
+        catch (InterruptedException ex)
+        {
+            return;
+        }
+        
+        synchronized (StartupWarmer.class)
+        {
+            StartupTimeline.mark("warm");
+            
+            _isWarm = true;
+            
+            if (_isInteractive)
+            {
+                _finish();
+            }
+        }
+    }
+    
+    //
+    // This method reports the startup timeline, then exits if the game was only launched to start up,
+    // as it is by training runs and the startup benchmark.
+    //
+    private static void _finish()
+    {
+        StartupTimeline.report();
+        
+        if (_IS_EXIT_WHEN_STARTED)
+        {
+            System.exit(0);
+        }
+    }
+    
+    //
+    // Private member variables:
+    //
+    private static Thread  _coordinator   = null;
+    private static boolean _isWarm        = false;
+    private static boolean _isInteractive = false;
+    
+    private static final boolean _IS_EXIT_WHEN_STARTED = Boolean.getBoolean("wordem.exitWhenStarted");
+    
+    ///////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    //
+    // This nested class is a warm-up task. It marks its phase of the startup timeline when it is done.
+    //
+    private static abstract class _Task implements Runnable
+    {
+        //
+        // Overloaded constructor.
+        //
+        public _Task(String phase)
+        {
+            _phase = phase;
+        }
+        
+        public void run()
+        {
+            try
+            {
+                warm();
+                StartupTimeline.mark(_phase);
+            }
+            catch (Exception ex)
+            {
+                System.out.println("StartupWarmer._Task.run >> Warm-up of " + _phase + " failed: " + ex);
+            }
+        }
+        
+        protected abstract void warm() throws Exception;
+        
+        private final String _phase;
+    }
+}
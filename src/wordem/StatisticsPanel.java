@@ -28,7 +28,7 @@ package wordem;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
-import java.sql.SQLException;
+import java.util.concurrent.ExecutionException;
 
 public class StatisticsPanel extends JPanel
 {
@@ -43,67 +43,67 @@ public class StatisticsPanel extends JPanel
     }
     
     //
-    // This method clears the statistics text and reconstructs it with the current statistics.
+    // This method adds a passed action listener to the current array of action listeners.
     //
-    public void update() throws SQLException
+    public void addActionListener(ActionListener actionListener)
     {
-        _statisticsText.setText("");
-        _databaseManager.connect();
+        ActionListener[] newActionListeners = new ActionListener[_actionListeners.length + 1];
 
-        int value = 0;
-        
-        //
-        // Global statistics:
-        //
-        _statisticsText.append("[Global Stats]\n");
-
-        value = _databaseManager.getGamesPlayedStatistic(null);
-        _statisticsText.append(value + " games played\n");
-        
-        value = _databaseManager.getGamesQuitStatistic(null);
-        _statisticsText.append(value + " games quit\n");
-            
-        value = _databaseManager.getGamesWonStatistic(null);
-        _statisticsText.append(value + " games won\n");
+        for (int index = 0; index < _actionListeners.length; ++index)
+        {
+            newActionListeners[index] = _actionListeners[index];
+        }
         
-        value = _databaseManager.getGamesLostStatistic(null);
-        _statisticsText.append(value + " games lost\n");
+        newActionListeners[_actionListeners.length] = actionListener;
         
-        value = _databaseManager.getWinPercentageStatistic(null);
-        _statisticsText.append(value + "% win percentage\n");
+        _actionListeners = newActionListeners;
+    }
+    
+    //
+    // This method reconstructs the statistics text with the current statistics. The snapshot is taken on a background
+    // thread, since it waits for pending games to be written, and the text is shown once it is ready. A failure is passed
+    // to every handler of this panel as an "Error" action event.
+    //
+    public void update()
+    {
+        if (_updater != null)
+        {
+            _updater.cancel(false);
+        }
         
-        _statisticsText.append("\n");
+        _statisticsText.setText("Loading statistics...\n");
         
-        //
-        // Game mode statistics:
-        //
-        for (GameMode gameMode : GameMode.values())
+        _updater = new SwingWorker<StatisticsSnapshot, Void>()
         {
-            value = _databaseManager.getGamesPlayedStatistic(gameMode);
-            
-            _statisticsText.append("[" + gameMode + " Stats]\n");
-
-            value = _databaseManager.getGamesPlayedStatistic(gameMode);
-            _statisticsText.append(value + " games played\n");
+            protected StatisticsSnapshot doInBackground() throws Exception
+            {
+                return GameStatistics.getSnapshot();
+            }
             
-            value = _databaseManager.getGamesQuitStatistic(gameMode);
-            _statisticsText.append(value + " games quit\n");
+            protected void done()
+            {
+                if (isCancelled())
+                {
+                    return;
+                }
                 
-            value = _databaseManager.getGamesWonStatistic(gameMode);
-            _statisticsText.append(value + " games won\n");
-            
-            value = _databaseManager.getGamesLostStatistic(gameMode);
-            _statisticsText.append(value + " games lost\n");
-            
-            value = _databaseManager.getWinPercentageStatistic(gameMode);
-            _statisticsText.append(value + "% win percentage\n");
-            
-            _statisticsText.append("\n");
-        }
-
-        _databaseManager.disconnect();
+                try
+                {
+                    _showStatistics(get());
+                }
+                catch (InterruptedException | ExecutionException ex)
+                {
+                    ActionEvent eventForward = new ActionEvent(StatisticsPanel.this, 0, "Error");
+                    
+                    for (int index = 0; index < _actionListeners.length; ++index)
+                    {
+                        _actionListeners[index].actionPerformed(eventForward);
+                    }
+                }
+            }
+        };
         
-        _statisticsText.select(0,0); // Force scroll bar to top
+        _updater.execute();
     }
     
     //
@@ -119,15 +119,45 @@ public class StatisticsPanel extends JPanel
         graphics.drawImage(_backgroundImage, 0, 0, this);
     }
     
+    //
+    // This method clears the statistics text and reconstructs it with a given snapshot of the statistics.
+    //
+    private void _showStatistics(StatisticsSnapshot snapshot)
+    {
+        _statisticsText.setText("");
+        
+        //
+        // Global statistics:
+        //
+        _statisticsText.append("[Global Stats]\n");
+        _appendCounters(snapshot, null);
+        _statisticsText.append("\n");
+        
+        //
+        // Game mode statistics:
+        //
+        for (GameMode gameMode : GameMode.values())
+        {
+            _statisticsText.append("[" + gameMode + " Stats]\n");
+            _appendCounters(snapshot, gameMode);
+            
+            _statisticsText.append(snapshot.getCurrentStreak(gameMode) + " current streak\n");
+            _statisticsText.append(snapshot.getMaxStreak(gameMode) + " max streak\n");
+            
+            _appendWinDistribution(snapshot, gameMode);
+            _statisticsText.append("\n");
+        }
+        
+        _statisticsText.select(0,0); // Force scroll bar to top
+    }
+    
     //
     // This method initializes this panel.
     //
     private void _initialize()
     {
-        _databaseManager = new DatabaseManager();
         _actionListeners = new ActionListener[0];
-        _toolkit         = Toolkit.getDefaultToolkit();
-        _backgroundImage = _toolkit.getImage("art/Statistics Panel Background.png");
+        _backgroundImage = ImageLoader.loadImage("art/Statistics Panel Background.png");
         
         this.setFocusable(false);
         this.setLayout(null);
@@ -161,13 +191,60 @@ public class StatisticsPanel extends JPanel
         this.add(_scrollPane);
     }
        
+    //
+    // This method appends the game counters of a given game mode, or of every mode if it is null, to the statistics text.
+    //
+    private void _appendCounters(StatisticsSnapshot snapshot, GameMode gameMode)
+    {
+        _statisticsText.append(snapshot.getGamesPlayed(gameMode) + " games played\n");
+        _statisticsText.append(snapshot.getGamesQuit(gameMode) + " games quit\n");
+        _statisticsText.append(snapshot.getGamesWon(gameMode) + " games won\n");
+        _statisticsText.append(snapshot.getGamesLost(gameMode) + " games lost\n");
+        _statisticsText.append(snapshot.getWinPercentage(gameMode) + "% win percentage\n");
+    }
+    
+    //
+    // This method appends a bar chart of the wins of a given game mode at each guess count to the statistics text.
+    //
+    private void _appendWinDistribution(StatisticsSnapshot snapshot, GameMode gameMode)
+    {
+        int maxWinCount = 0;
+        
+        for (int guessCount = 1; guessCount <= gameMode.getGuessLimit(); ++guessCount)
+        {
+            maxWinCount = Math.max(maxWinCount, snapshot.getWinCount(gameMode, guessCount));
+        }
+        
+        _statisticsText.append("Guess distribution:\n");
+        
+        for (int guessCount = 1; guessCount <= gameMode.getGuessLimit(); ++guessCount)
+        {
+            int           winCount  = snapshot.getWinCount(gameMode, guessCount);
+            int           barLength = (maxWinCount == 0) ? 0 : (int)Math.ceil((double)winCount * _MAX_BAR_LENGTH / maxWinCount);
+            StringBuilder line      = new StringBuilder();
+            
+            line.append(' ').append(guessCount).append(" |");
+            
+            for (int index = 0; index < barLength; ++index)
+            {
+                line.append('#');
+            }
+            
+            line.append(' ').append(winCount).append('\n');
+            
+            _statisticsText.append(line.toString());
+        }
+    }
+    
     //
     // Private member variables:
     //
-    private DatabaseManager  _databaseManager;
     private ActionListener[] _actionListeners;
-    private Toolkit          _toolkit;
     private Image            _backgroundImage;
     private JTextArea        _statisticsText;
     private JScrollPane      _scrollPane;
+    
+    private SwingWorker<StatisticsSnapshot, Void> _updater;
+    
+    private static final int _MAX_BAR_LENGTH = 16;
 }
@@ -0,0 +1,143 @@
+//
+// StatisticsSnapshot.java
+//
+// This class is an immutable copy of every statistic shown on the statistics panel, read from the rollup tables at once.
+// A snapshot is tagged with the writer commit count it was read at, so it can be reused until another write is committed.
+//
+// The MIT License (MIT)
+// 
+// Copyright (c) 2022 WordEm Development Group.  All Rights Reserved.
+// 
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this
+// software and associated documentation files (the "Software"), to deal in the Software
+// without restriction, including without limitation the rights to use, copy, modify, merge,
+// publish, distribute, sub-license, and/or sell copies of the Software, and to permit persons
+// to whom the Software is furnished to do so, subject to the following conditions:
+// 
+// * The above copyright notice and this permission notice shall be included in all copies or
+// substantial portions of the Software.
+// 
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+// INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+// PURPOSE AND NONINFRINGEMENT.  IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE
+// FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR 
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+// DEALINGS IN THE SOFTWARE.
+//
+package wordem;
+
+public class StatisticsSnapshot
+{
+    //
+    // Overloaded constructor. Constructs from the counters of every game mode, where index GameMode.values().length holds
+    // the global counters, and from the win distributions and streaks of every game mode.
+    //
+    public StatisticsSnapshot(long version, int[] gamesPlayed, int[] gamesQuit, int[] gamesWon, int[] gamesLost, int[] winPercentages,
+                              int[][] winDistributions, int[] currentStreaks, int[] maxStreaks)
+    {
+        _version          = version;
+        _gamesPlayed      = gamesPlayed;
+        _gamesQuit        = gamesQuit;
+        _gamesWon         = gamesWon;
+        _gamesLost        = gamesLost;
+        _winPercentages   = winPercentages;
+        _winDistributions = winDistributions;
+        _currentStreaks   = currentStreaks;
+        _maxStreaks       = maxStreaks;
+    }
+    
+    //
+    // This method gets the writer commit count this snapshot was read at.
+    //
+    public long getVersion()
+    {
+        return _version;
+    }
+    
+    //
+    // This method gets the number of games played of a given game mode, or of every mode if it is null.
+    //
+    public int getGamesPlayed(GameMode gameMode)
+    {
+        return _gamesPlayed[_getIndex(gameMode)];
+    }
+    
+    //
+    // This method gets the number of games quit of a given game mode, or of every mode if it is null.
+    //
+    public int getGamesQuit(GameMode gameMode)
+    {
+        return _gamesQuit[_getIndex(gameMode)];
+    }
+    
+    //
+    // This method gets the number of games won of a given game mode, or of every mode if it is null.
+    //
+    public int getGamesWon(GameMode gameMode)
+    {
+        return _gamesWon[_getIndex(gameMode)];
+    }
+    
+    //
+    // This method gets the number of games lost of a given game mode, or of every mode if it is null.
+    //
+    public int getGamesLost(GameMode gameMode)
+    {
+        return _gamesLost[_getIndex(gameMode)];
+    }
+    
+    //
+    // This method gets the win percentage of a given game mode, or of every mode if it is null.
+    //
+    public int getWinPercentage(GameMode gameMode)
+    {
+        return _winPercentages[_getIndex(gameMode)];
+    }
+    
+    //
+    // This method gets the number of games of a given game mode won with a given number of guesses, from 1 to the guess limit.
+    //
+    public int getWinCount(GameMode gameMode, int guessCount)
+    {
+        int[] winDistribution = _winDistributions[gameMode.ordinal()];
+        
+        return (guessCount > 0 && guessCount < winDistribution.length) ? winDistribution[guessCount] : 0;
+    }
+    
+    //
+    // This method gets the number of games of a given game mode won in a row up to the most recent one.
+    //
+    public int getCurrentStreak(GameMode gameMode)
+    {
+        return _currentStreaks[gameMode.ordinal()];
+    }
+    
+    //
+    // This method gets the longest run of games of a given game mode ever won in a row.
+    //
+    public int getMaxStreak(GameMode gameMode)
+    {
+        return _maxStreaks[gameMode.ordinal()];
+    }
+    
+    //
+    // This method gets the array index of a given game mode's counters.
+    //
+    private static int _getIndex(GameMode gameMode)
+    {
+        return (gameMode == null) ? GameMode.values().length : gameMode.ordinal();
+    }
+    
+    //
+    // Private member variables:
+    //
+    private final long    _version;
+    private final int[]   _gamesPlayed;
+    private final int[]   _gamesQuit;
+    private final int[]   _gamesWon;
+    private final int[]   _gamesLost;
+    private final int[]   _winPercentages;
+    private final int[][] _winDistributions;
+    private final int[]   _currentStreaks;
+    private final int[]   _maxStreaks;
+}
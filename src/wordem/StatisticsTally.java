@@ -0,0 +1,124 @@
+//
+// StatisticsTally.java
+//
+// This class tallies the statistics of finished games in memory, per game mode, by the rules of GameStatistics: quit games
+// are not counted as played, and a loss or a quit ends the current streak. It is used for the statistics of a single player
+// and by the in-memory game store. Its methods are synchronized, and code reading or writing its counts directly must hold
+// its lock.
+//
+// The MIT License (MIT)
+// 
+// Copyright (c) 2022 WordEm Development Group.  All Rights Reserved.
+// 
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this
+// software and associated documentation files (the "Software"), to deal in the Software
+// without restriction, including without limitation the rights to use, copy, modify, merge,
+// publish, distribute, sub-license, and/or sell copies of the Software, and to permit persons
+// to whom the Software is furnished to do so, subject to the following conditions:
+// 
+// * The above copyright notice and this permission notice shall be included in all copies or
+// substantial portions of the Software.
+// 
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+// INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+// PURPOSE AND NONINFRINGEMENT.  IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE
+// FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR 
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+// DEALINGS IN THE SOFTWARE.
+//
+package wordem;
+
+public class StatisticsTally
+{
+    //
+    // This method adds a finished game.
+    //
+    public synchronized void add(GameRecord record)
+    {
+        int index = record.getGameMode().ordinal();
+        
+        switch (record.getResult())
+        {
+            case Won:
+            {
+                ++gamesPlayed[index];
+                ++gamesWon[index];
+                ++winDistributions[index][Math.min(record.getGuessCount(), MAX_GUESS_COUNT)];
+                ++currentStreaks[index];
+                
+                maxStreaks[index] = Math.max(maxStreaks[index], currentStreaks[index]);
+                break;
+            }
+            
+            case Lost:
+            {
+                ++gamesPlayed[index];
+                ++gamesLost[index];
+                
+                currentStreaks[index] = 0;
+                break;
+            }
+            
+            case Quit:
+            {
+                ++gamesQuit[index];
+                
+                currentStreaks[index] = 0;
+                break;
+            }
+        }
+    }
+    
+    //
+    // This method copies the counts into a snapshot of a given version.
+    //
+    public synchronized StatisticsSnapshot toSnapshot(long version)
+    {
+        GameMode[] gameModes          = GameMode.values();
+        int[]      gamesPlayedTotals  = new int[gameModes.length + 1];
+        int[]      gamesQuitTotals    = new int[gameModes.length + 1];
+        int[]      gamesWonTotals     = new int[gameModes.length + 1];
+        int[]      gamesLostTotals    = new int[gameModes.length + 1];
+        int[]      winPercentages     = new int[gameModes.length + 1];
+        int[][]    distributions      = new int[gameModes.length][];
+        
+        for (GameMode gameMode : gameModes)
+        {
+            int index = gameMode.ordinal();
+            
+            gamesPlayedTotals[index] = gamesPlayed[index];
+            gamesQuitTotals[index]   = gamesQuit[index];
+            gamesWonTotals[index]    = gamesWon[index];
+            gamesLostTotals[index]   = gamesLost[index];
+            distributions[index]     = new int[gameMode.getGuessLimit() + 1];
+            
+            System.arraycopy(winDistributions[index], 0, distributions[index], 0, distributions[index].length);
+            
+            gamesPlayedTotals[gameModes.length] += gamesPlayed[index];
+            gamesQuitTotals[gameModes.length]   += gamesQuit[index];
+            gamesWonTotals[gameModes.length]    += gamesWon[index];
+            gamesLostTotals[gameModes.length]   += gamesLost[index];
+        }
+        
+        for (int index = 0; index <= gameModes.length; ++index)
+        {
+            winPercentages[index] = gamesPlayedTotals[index] == 0 ? 0 : (int)(((double)gamesWonTotals[index] / (double)gamesPlayedTotals[index]) * 100);
+        }
+        
+        return new StatisticsSnapshot(version, gamesPlayedTotals, gamesQuitTotals, gamesWonTotals, gamesLostTotals, winPercentages, distributions,
+                                      currentStreaks.clone(), maxStreaks.clone());
+    }
+    
+    //
+    // Public member variables:
+    //
+    public final int[]   gamesPlayed      = new int[GameMode.values().length];
+    public final int[]   gamesWon         = new int[GameMode.values().length];
+    public final int[]   gamesLost        = new int[GameMode.values().length];
+    public final int[]   gamesQuit        = new int[GameMode.values().length];
+    public final int[]   currentStreaks   = new int[GameMode.values().length];
+    public final int[]   maxStreaks       = new int[GameMode.values().length];
+    public final int[][] winDistributions = new int[GameMode.values().length][MAX_GUESS_COUNT + 1];
+    
+    public static final int MAX_GUESS_COUNT = 9; // The largest guess limit of the game modes
+}
@@ -0,0 +1,92 @@
+//
+// VirtualThreads.java
+//
+// This class creates executors that run each task on a thread of its own: a virtual thread when the JDK has them, and
+// otherwise a thread from a bounded pool of platform threads. The game builds for a JDK without virtual threads, so they
+// are looked up reflectively.
+//
+// The MIT License (MIT)
+// 
+// Copyright (c) 2022 WordEm Development Group.  All Rights Reserved.
+// 
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this
+// software and associated documentation files (the "Software"), to deal in the Software
+// without restriction, including without limitation the rights to use, copy, modify, merge,
+// publish, distribute, sub-license, and/or sell copies of the Software, and to permit persons
+// to whom the Software is furnished to do so, subject to the following conditions:
+// 
+// * The above copyright notice and this permission notice shall be included in all copies or
+// substantial portions of the Software.
+// 
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+// INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+// PURPOSE AND NONINFRINGEMENT.  IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE
+// FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR 
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+// DEALINGS IN THE SOFTWARE.
+//
+package wordem;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public abstract class VirtualThreads
+{
+    //
+    // This method determines if the JDK has virtual threads.
+    //
+    public static boolean isAvailable()
+    {
+        return _NEW_PER_TASK_EXECUTOR != null;
+    }
+    
+    //
+    // This method creates an executor running each task on a new virtual thread, or, without virtual threads, on a pool
+    // of a given number of platform threads.
+    //
+    public static ExecutorService newPerTaskExecutor(int platformThreadCount)
+    {
+        if (_NEW_PER_TASK_EXECUTOR != null)
+        {
+            try
+            {
+                return (ExecutorService)_NEW_PER_TASK_EXECUTOR.invoke(null);
+            }
+            catch (ReflectiveOperationException ex)
+            {
+                System.out.println("VirtualThreads.newPerTaskExecutor >> Falling back to platform threads: " + ex);
+            }
+        }
+        
+        return Executors.newFixedThreadPool(platformThreadCount);
+    }
+    
+    //
+    // This method gets the kind of threads executors run tasks on, for reports.
+    //
+    public static String getThreadKind()
+    {
+        return isAvailable() ? "virtual" : "platform";
+    }
+    
+    //
+    // This method looks up the factory of virtual thread executors, or returns null if the JDK has none.
+    //
+    private static Method _findNewPerTaskExecutor()
+    {
+        try
+        {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        }
+        catch (NoSuchMethodException ex)
+        {
+            return null;
+        }
+    }
+    
+    //
+    // Private member variables:
+    //
+    private static final Method _NEW_PER_TASK_EXECUTOR = _findNewPerTaskExecutor();
+}
@@ -0,0 +1,201 @@
+//
+// WordConstraints.java
+//
+// This class describes what is known about a hidden word from the game board: letters fixed at a position,
+// letters ruled out of a position, and the fewest and most times a letter may appear. A word pattern index
+// resolves a set of constraints to the words that satisfy all of them.
+//
+// For example, a green G in the first position, a yellow R in the third position and a gray E are written as:
+//
+//      constraints.requireLetterAt(0, 'g');
+//      constraints.requireMinimumCount('r', 1);
+//      constraints.excludeLetterAt(2, 'r');
+//      constraints.limitMaximumCount('e', 0);
+//
+// The MIT License (MIT)
+// 
+// Copyright (c) 2022 WordEm Development Group.  All Rights Reserved.
+// 
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this
+// software and associated documentation files (the "Software"), to deal in the Software
+// without restriction, including without limitation the rights to use, copy, modify, merge,
+// publish, distribute, sub-license, and/or sell copies of the Software, and to permit persons
+// to whom the Software is furnished to do so, subject to the following conditions:
+// 
+// * The above copyright notice and this permission notice shall be included in all copies or
+// substantial portions of the Software.
+// 
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+// INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+// PURPOSE AND NONINFRINGEMENT.  IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE
+// FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR 
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+// DEALINGS IN THE SOFTWARE.
+//
+package wordem;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Set;
+
+public class WordConstraints
+{
+    //
+    // Overloaded constructor. Constructs an empty set of constraints for words of a given length.
+    //
+    public WordConstraints(int length)
+    {
+        _requiredLetters = new char[length];
+        _excludedLetters = new ArrayList<HashSet<Character>>();
+        _minimumCounts   = new HashMap<Character, Integer>();
+        _maximumCounts   = new HashMap<Character, Integer>();
+        
+        for (int position = 0; position < length; ++position)
+        {
+            _excludedLetters.add(new HashSet<Character>());
+        }
+    }
+    
+    //
+    // This method gets the length of the words described by these constraints.
+    //
+    public int getLength()
+    {
+        return _requiredLetters.length;
+    }
+    
+    //
+    // This method requires a letter at a given position (a green tile).
+    //
+    public void requireLetterAt(int position, char letter)
+    {
+        _requiredLetters[position] = letter;
+    }
+    
+    //
+    // This method rules a letter out of a given position (a yellow or gray tile).
+    //
+    public void excludeLetterAt(int position, char letter)
+    {
+        _excludedLetters.get(position).add(letter);
+    }
+    
+    //
+    // This method requires a letter to appear at least a given number of times. Only the largest minimum is kept.
+    //
+    public void requireMinimumCount(char letter, int count)
+    {
+        Integer current = _minimumCounts.get(letter);
+        
+        if (current == null || current < count)
+        {
+            _minimumCounts.put(letter, count);
+        }
+    }
+    
+    //
+    // This method limits a letter to appear at most a given number of times. Only the smallest maximum is kept.
+    //
+    public void limitMaximumCount(char letter, int count)
+    {
+        Integer current = _maximumCounts.get(letter);
+        
+        if (current == null || current > count)
+        {
+            _maximumCounts.put(letter, count);
+        }
+    }
+    
+    //
+    // This method adds everything a scored guess reveals about the hidden word. See the Feedback class for
+    // the pattern encoding.
+    //
+    public void addFeedback(String guessedWord, int pattern)
+    {
+        for (int letterIndex = 0; letterIndex < guessedWord.length(); ++letterIndex)
+        {
+            char letter = guessedWord.charAt(letterIndex);
+            
+            if (Feedback.getTile(pattern, letterIndex) == Feedback.GREEN)
+            {
+                requireLetterAt(letterIndex, letter);
+            }
+            else
+            {
+                excludeLetterAt(letterIndex, letter);
+            }
+            
+            //
+            // Count the letter's colored tiles. A gray tile of the same letter means the count is exact:
+            //
+            int     coloredCount = 0;
+            boolean hasGrayTile  = false;
+            
+            for (int otherIndex = 0; otherIndex < guessedWord.length(); ++otherIndex)
+            {
+                if (guessedWord.charAt(otherIndex) == letter)
+                {
+                    if (Feedback.getTile(pattern, otherIndex) == Feedback.GRAY)
+                    {
+                        hasGrayTile = true;
+                    }
+                    else
+                    {
+                        ++coloredCount;
+                    }
+                }
+            }
+            
+            if (coloredCount > 0)
+            {
+                requireMinimumCount(letter, coloredCount);
+            }
+            
+            if (hasGrayTile)
+            {
+                limitMaximumCount(letter, coloredCount);
+            }
+        }
+    }
+    
+    //
+    // This method gets the letter required at a given position, or 0 if the position is open.
+    //
+    public char getRequiredLetter(int position)
+    {
+        return _requiredLetters[position];
+    }
+    
+    //
+    // This method gets the letters ruled out of a given position.
+    //
+    public Set<Character> getExcludedLetters(int position)
+    {
+        return _excludedLetters.get(position);
+    }
+    
+    //
+    // This method gets the letters with a minimum count, mapped to that count.
+    //
+    public HashMap<Character, Integer> getMinimumCounts()
+    {
+        return _minimumCounts;
+    }
+    
+    //
+    // This method gets the letters with a maximum count, mapped to that count.
+    //
+    public HashMap<Character, Integer> getMaximumCounts()
+    {
+        return _maximumCounts;
+    }
+    
+    //
+    // Private member variables:
+    //
+    private char[]                        _requiredLetters;
+    private ArrayList<HashSet<Character>> _excludedLetters;
+    private HashMap<Character, Integer>   _minimumCounts;
+    private HashMap<Character, Integer>   _maximumCounts;
+}
@@ -0,0 +1,340 @@
+//
+// WordPatternIndex.java
+//
+// This class answers "which words fit this board" queries over the lexicon words of one language and length.
+// Each word has a bit position, and the index keeps one bitset per (position, letter) and one per (letter, count)
+// holding the words with at least that many of the letter. Any set of word constraints then resolves to a handful
+// of bitset intersections, and matching words are produced lazily from the resulting bitset.
+//
+// Indexes are built once per language and length and shared. They are read-only after construction and safe to
+// query from any thread.
+//
+// The MIT License (MIT)
+// 
+// Copyright (c) 2022 WordEm Development Group.  All Rights Reserved.
+// 
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this
+// software and associated documentation files (the "Software"), to deal in the Software
+// without restriction, including without limitation the rights to use, copy, modify, merge,
+// publish, distribute, sub-license, and/or sell copies of the Software, and to permit persons
+// to whom the Software is furnished to do so, subject to the following conditions:
+// 
+// * The above copyright notice and this permission notice shall be included in all copies or
+// substantial portions of the Software.
+// 
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, 
+// INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+// PURPOSE AND NONINFRINGEMENT.  IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE
+// FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR 
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+// DEALINGS IN THE SOFTWARE.
+//
+package wordem;
+
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class WordPatternIndex
+{
+    //
+    // Overloaded constructor. Constructs the index over a given array of words of a given length.
+    //
+    public WordPatternIndex(String[] words, int length)
+    {
+        _words     = words;
+        _length    = length;
+        _wordLongs = (words.length + 63) >>> 6;
+        _letters   = new HashMap<Character, Integer>();
+        
+        for (String word : words)
+        {
+            for (int position = 0; position < length; ++position)
+            {
+                _letters.putIfAbsent(word.charAt(position), _letters.size());
+            }
+        }
+        
+        _positionPostings = new long[length * _letters.size()][_wordLongs];
+        _countPostings    = new long[_letters.size() * (length + 1)][_wordLongs];
+        
+        int[] letterCounts = new int[_letters.size()];
+        
+        for (int wordIndex = 0; wordIndex < words.length; ++wordIndex)
+        {
+            int  wordLong = wordIndex >>> 6;
+            long wordBit  = 1L << wordIndex;
+            
+            for (int position = 0; position < length; ++position)
+            {
+                int letter = _letters.get(words[wordIndex].charAt(position));
+                
+                _positionPostings[position * _letters.size() + letter][wordLong] |= wordBit;
+                ++letterCounts[letter];
+                _countPostings[letter * (length + 1) + letterCounts[letter]][wordLong] |= wordBit;
+            }
+            
+            for (int position = 0; position < length; ++position)
+            {
+                letterCounts[_letters.get(words[wordIndex].charAt(position))] = 0;
+            }
+        }
+    }
+    
+    //
+    // This method gets the shared index of a given language and word length, building it on first use.
+    //
+    public static WordPatternIndex getIndex(Language language, int length) throws SQLException
+    {
+        String           key   = language + ":" + length;
+        WordPatternIndex index = _indexes.get(key);
+        
+        if (index == null)
+        {
+            index = new WordPatternIndex(Lexicon.getWords(language, length), length);
+            
+            WordPatternIndex existingIndex = _indexes.putIfAbsent(key, index);
+            
+            if (existingIndex != null)
+            {
+                index = existingIndex;
+            }
+        }
+        
+        return index;
+    }
+    
+    //
+    // This method gets the words of the index that satisfy every given constraint.
+    //
+    public Matches query(WordConstraints constraints)
+    {
+        if (constraints.getLength() != _length)
+        {
+            throw new IllegalArgumentException("WordPatternIndex.query >> Constraints are for words of length " + constraints.getLength()
+                                             + ", not " + _length);
+        }
+        
+        long[] result = new long[_wordLongs];
+        
+        for (int wordLong = 0; wordLong < _wordLongs; ++wordLong)
+        {
+            result[wordLong] = -1L;
+        }
+        
+        if ((_words.length & 63) != 0)
+        {
+            result[_wordLongs - 1] = (1L << _words.length) - 1;
+        }
+        
+        for (int position = 0; position < _length; ++position)
+        {
+            char required = constraints.getRequiredLetter(position);
+            
+            if (required != 0)
+            {
+                _intersect(result, _getPositionPosting(position, required));
+            }
+            
+            for (char excluded : constraints.getExcludedLetters(position))
+            {
+                _subtract(result, _getPositionPosting(position, excluded));
+            }
+        }
+        
+        for (Map.Entry<Character, Integer> entry : constraints.getMinimumCounts().entrySet())
+        {
+            if (entry.getValue() > 0)
+            {
+                _intersect(result, _getCountPosting(entry.getKey(), entry.getValue()));
+            }
+        }
+        
+        for (Map.Entry<Character, Integer> entry : constraints.getMaximumCounts().entrySet())
+        {
+            _subtract(result, _getCountPosting(entry.getKey(), entry.getValue() + 1));
+        }
+        
+        return new Matches(result);
+    }
+    
+    //
+    // This method gets the bitset of words with a given letter at a given position, or null if there are none.
+    //
+    private long[] _getPositionPosting(int position, char letter)
+    {
+        Integer letterIndex = _letters.get(letter);
+        
+        return letterIndex == null ? null : _positionPostings[position * _letters.size() + letterIndex];
+    }
+    
+    //
+    // This method gets the bitset of words with at least a given count of a letter, or null if there are none.
+    //
+    private long[] _getCountPosting(char letter, int count)
+    {
+        Integer letterIndex = _letters.get(letter);
+        
+        return letterIndex == null || count > _length ? null : _countPostings[letterIndex * (_length + 1) + count];
+    }
+    
+    //
+    // This method intersects a result bitset with a posting. A missing posting matches no words.
+    //
+    private static void _intersect(long[] result, long[] posting)
+    {
+        for (int wordLong = 0; wordLong < result.length; ++wordLong)
+        {
+            result[wordLong] &= posting == null ? 0L : posting[wordLong];
+        }
+    }
+    
+    //
+    // This method removes the words of a posting from a result bitset. A missing posting removes nothing.
+    //
+    private static void _subtract(long[] result, long[] posting)
+    {
+        if (posting != null)
+        {
+            for (int wordLong = 0; wordLong < result.length; ++wordLong)
+            {
+                result[wordLong] &= ~posting[wordLong];
+            }
+        }
+    }
+    
+    //
+    // Private member variables:
+    //
+    private final String[]                    _words;
+    private final int                         _length;
+    private final int                         _wordLongs;
+    private final HashMap<Character, Integer> _letters;
+    private final long[][]                    _positionPostings;
+    private final long[][]                    _countPostings;
+    
+    private static final ConcurrentHashMap<String, WordPatternIndex> _indexes = new ConcurrentHashMap<String, WordPatternIndex>();
+    
+    ///////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    //
+    // This nested class is the result of a query. Matching words are only materialized as they are iterated or paged.
+    //
+    public class Matches implements Iterable<String>
+    {
+        //
+        // Overloaded constructor. Constructs over a bitset of matching word indices.
+        //
+        private Matches(long[] bits)
+        {
+            _bits = bits;
+        }
+        
+        //
+        // This method gets the number of matching words.
+        //
+        public int getCount()
+        {
+            int count = 0;
+            
+            for (long bits : _bits)
+            {
+                count += Long.bitCount(bits);
+            }
+            
+            return count;
+        }
+        
+        //
+        // This method determines if a given word is among the matches.
+        //
+        public boolean contains(int wordIndex)
+        {
+            return (_bits[wordIndex >>> 6] & (1L << wordIndex)) != 0;
+        }
+        
+        //
+        // This method gets a page of matching words in alphabetical order. The last page may be short.
+        //
+        public String[] getPage(int pageIndex, int pageSize)
+        {
+            int skip     = pageIndex * pageSize;
+            int wordLong = 0;
+            
+            while (wordLong < _bits.length && Long.bitCount(_bits[wordLong]) <= skip)
+            {
+                skip -= Long.bitCount(_bits[wordLong]);
+                ++wordLong;
+            }
+            
+            String[] page  = new String[pageSize];
+            int      count = 0;
+            long     bits  = wordLong < _bits.length ? _bits[wordLong] : 0L;
+            
+            for (; skip > 0; --skip)
+            {
+                bits &= bits - 1;
+            }
+            
+            while (count < pageSize && wordLong < _bits.length)
+            {
+                if (bits == 0)
+                {
+                    ++wordLong;
+                    bits = wordLong < _bits.length ? _bits[wordLong] : 0L;
+                }
+                else
+                {
+                    page[count++] = _words[(wordLong << 6) + Long.numberOfTrailingZeros(bits)];
+                    bits &= bits - 1;
+                }
+            }
+            
+            return count == pageSize ? page : Arrays.copyOf(page, count);
+        }
+        
+        //
+        // This method gets a lazy iterator over the matching words in alphabetical order.
+        //
+        public Iterator<String> iterator()
+        {
+            return new Iterator<String>()
+            {
+                public boolean hasNext()
+                {
+                    while (_bitsLeft == 0 && _wordLong + 1 < _bits.length)
+                    {
+                        _bitsLeft = _bits[++_wordLong];
+                    }
+                    
+                    return _bitsLeft != 0;
+                }
+                
+                public String next()
+                {
+                    if (!hasNext())
+                    {
+                        throw new NoSuchElementException();
+                    }
+                    
+                    String word = _words[(_wordLong << 6) + Long.numberOfTrailingZeros(_bitsLeft)];
+                    
+                    _bitsLeft &= _bitsLeft - 1;
+                    
+                    return word;
+                }
+                
+                private int  _wordLong = 0;
+                private long _bitsLeft = _bits.length > 0 ? _bits[0] : 0L;
+            };
+        }
+        
+        //
+        // Private member variables:
+        //
+        private final long[] _bits;
+    }
+}